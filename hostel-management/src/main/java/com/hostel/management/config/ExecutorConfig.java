@@ -0,0 +1,42 @@
+package com.hostel.management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Thread pools used to fan work out across the DB connection pool.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Boot's application task executor, declared here because any user-defined {@code Executor}
+     * bean, such as {@link #statsExecutor}, makes the auto-configured one back off. MVC async
+     * requests, streaming exports among them, run on it (see {@link WebConfig}); without it they
+     * would fall back to a thread-per-request executor. Sized by {@code spring.task.execution.*}.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Runs the per-module dashboard stats queries in parallel. Keep the pool size below the
+     * Hikari pool size so stats never starve regular requests of connections.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor statsExecutor(@Value("${stats.executor.pool-size:5}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("stats-");
+        return executor;
+    }
+}
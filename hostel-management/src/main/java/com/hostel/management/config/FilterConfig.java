@@ -1,6 +1,8 @@
 package com.hostel.management.config;
 
+import com.hostel.management.security.IdempotencyFilter;
 import com.hostel.management.security.JwtAuthFilter;
+import com.hostel.management.security.RateLimitFilter;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,6 +10,16 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class FilterConfig {
 
+    /** Runs first so abusive traffic to the public endpoints is dropped before any other work. */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(rateLimitFilter);
+        registration.addUrlPatterns("/api/visits", "/api/auth/*");
+        registration.setOrder(0);
+        return registration;
+    }
+
     @Bean
     public FilterRegistrationBean<JwtAuthFilter> jwtFilter(JwtAuthFilter jwtAuthFilter) {
         FilterRegistrationBean<JwtAuthFilter> registration = new FilterRegistrationBean<>();
@@ -16,4 +28,18 @@ public class FilterConfig {
         registration.setOrder(1);
         return registration;
     }
+
+    /**
+     * Runs after the JWT filter so idempotency keys can be scoped to the authenticated caller.
+     * Covers every authenticated API POST, since the dashboards retry any POST that carries a
+     * key; the filter itself skips {@code /api/auth/*} and anonymous callers.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyFilter idempotencyFilter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(idempotencyFilter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(2);
+        return registration;
+    }
 }
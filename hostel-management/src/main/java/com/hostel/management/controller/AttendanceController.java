@@ -1,12 +1,24 @@
 package com.hostel.management.controller;
 
+import com.hostel.management.dto.attendance.AttendanceMonthDto;
 import com.hostel.management.dto.attendance.AttendanceRequestDto;
 import com.hostel.management.dto.attendance.AttendanceResponseDto;
+import com.hostel.management.dto.attendance.GateEventBatchDto;
+import com.hostel.management.dto.attendance.RollCallRequestDto;
+import com.hostel.management.dto.attendance.RollCallResultDto;
+import com.hostel.management.enums.ExportFormat;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.response.ApiResponse;
 import com.hostel.management.service.AttendanceService;
+import com.hostel.management.service.ExportService;
+import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,9 +29,11 @@ import java.util.Map;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final ExportService exportService;
 
-    public AttendanceController(AttendanceService attendanceService) {
+    public AttendanceController(AttendanceService attendanceService, ExportService exportService) {
         this.attendanceService = attendanceService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -40,8 +54,12 @@ public class AttendanceController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<AttendanceResponseDto>>> getAllAttendance() {
-        return ResponseEntity.ok(ApiResponse.success("Attendance retrieved.", attendanceService.getAllAttendance()));
+    public ResponseEntity<ApiResponse<List<AttendanceResponseDto>>> getAllAttendance(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "ASC") SortDirection sort) {
+        return ResponseEntity.ok(ApiResponse.page("Attendance retrieved.",
+                attendanceService.getAllAttendance(after, limit, sort)));
     }
 
     @GetMapping("/date/{date}")
@@ -61,6 +79,57 @@ public class AttendanceController {
         return ResponseEntity.ok(ApiResponse.success("Attendance marked.", attendanceService.markAttendance(residentId, status)));
     }
 
+    @PostMapping("/roll-call")
+    public ResponseEntity<ApiResponse<RollCallResultDto>> recordRollCall(@Valid @RequestBody RollCallRequestDto dto) {
+        return ResponseEntity.ok(ApiResponse.success("Roll call recorded.", attendanceService.recordRollCall(dto)));
+    }
+
+    @GetMapping("/resident/{residentId}/month")
+    public ResponseEntity<ApiResponse<AttendanceMonthDto>> getResidentMonth(
+            @PathVariable Long residentId, @RequestParam(required = false) String month) {
+        return ResponseEntity.ok(ApiResponse.success("Monthly attendance retrieved.",
+                attendanceService.getResidentMonth(residentId, month)));
+    }
+
+    @GetMapping("/matrix")
+    public ResponseEntity<ApiResponse<List<AttendanceMonthDto>>> getMonthMatrix(
+            @RequestParam(required = false) String month) {
+        return ResponseEntity.ok(ApiResponse.success("Attendance matrix retrieved.",
+                attendanceService.getMonthMatrix(month)));
+    }
+
+    @GetMapping("/absentees")
+    public ResponseEntity<ApiResponse<List<AttendanceMonthDto>>> getFrequentAbsentees(
+            @RequestParam(required = false) String month,
+            @RequestParam(defaultValue = "5") int absentOver) {
+        return ResponseEntity.ok(ApiResponse.success("Frequent absentees retrieved.",
+                attendanceService.getFrequentAbsentees(month, absentOver)));
+    }
+
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildMonthlySummary() {
+        return ResponseEntity.ok(ApiResponse.success("Monthly attendance summary rebuilt.",
+                Map.of("months", attendanceService.rebuildMonthlySummary())));
+    }
+
+    @PostMapping("/gate-events")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> ingestGateEvents(@Valid @RequestBody GateEventBatchDto dto) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Gate events accepted.",
+                Map.of("accepted", attendanceService.ingestGateEvents(dto))));
+    }
+
+    @GetMapping("/gate-events/metrics")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getGatePipelineMetrics() {
+        return ResponseEntity.ok(ApiResponse.success("Gate pipeline metrics retrieved.",
+                attendanceService.getGatePipelineMetrics()));
+    }
+
+    @PostMapping("/gate-events/dead-letters/replay")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> replayGateDeadLetters() {
+        return ResponseEntity.ok(ApiResponse.success("Dead-lettered gate events replayed.",
+                Map.of("replayed", attendanceService.replayGateDeadLetters())));
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getAttendanceStats() {
         return ResponseEntity.ok(ApiResponse.success("Stats retrieved.", attendanceService.getAttendanceStats()));
@@ -70,4 +139,18 @@ public class AttendanceController {
     public ResponseEntity<ApiResponse<List<AttendanceResponseDto>>> getTodayAttendance() {
         return ResponseEntity.ok(ApiResponse.success("Today's attendance.", attendanceService.getAttendanceByDate(LocalDate.now())));
     }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        StreamingResponseBody body = exportService.exportAttendance(format, status, from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"attendance." + format.getExtension() + "\"")
+                .body(body);
+    }
 }
@@ -5,6 +5,7 @@ import com.hostel.management.dto.auth.LoginRequest;
 import com.hostel.management.dto.auth.RegisterRequest;
 import com.hostel.management.dto.auth.RegisterResponse;
 import com.hostel.management.response.ApiResponse;
+import com.hostel.management.security.RateLimits;
 import com.hostel.management.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -15,19 +16,23 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final RateLimits rateLimits;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, RateLimits rateLimits) {
         this.authService = authService;
+        this.rateLimits = rateLimits;
     }
 
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        rateLimits.requireEmailPermit(RateLimits.Policy.AUTH, request.getEmailOrUsername());
         AuthResponse response = authService.login(request);
         return ResponseEntity.ok(ApiResponse.success("Login successful.", response));
     }
 
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<RegisterResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        rateLimits.requireEmailPermit(RateLimits.Policy.AUTH, request.getEmail());
         RegisterResponse response = authService.register(request);
         return ResponseEntity.status(201).body(ApiResponse.success(response.getMessage(), response));
     }
@@ -1,5 +1,8 @@
 package com.hostel.management.controller;
 
+import com.hostel.management.dto.cleaning.CleaningScheduleRequestDto;
+import com.hostel.management.dto.cleaning.CleaningScheduleResultDto;
+import com.hostel.management.dto.cleaning.CleaningScheduleValidationDto;
 import com.hostel.management.dto.cleaning.CleaningTaskRequestDto;
 import com.hostel.management.dto.cleaning.CleaningTaskResponseDto;
 import com.hostel.management.response.ApiResponse;
@@ -51,8 +54,24 @@ public class CleaningController {
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<CleaningTaskResponseDto>>> getAllTasks(
-            @RequestParam(required = false) String dayOfWeek) {
+            @RequestParam(required = false) String dayOfWeek,
+            @RequestParam(required = false) String staff) {
         return ResponseEntity.ok(ApiResponse.success("Cleaning tasks retrieved.",
-                cleaningTaskService.getAllTasks(dayOfWeek)));
+                cleaningTaskService.getAllTasks(dayOfWeek, staff)));
+    }
+
+    @PostMapping("/schedule/generate")
+    public ResponseEntity<ApiResponse<CleaningScheduleResultDto>> generateSchedule(
+            @Valid @RequestBody CleaningScheduleRequestDto requestDto) {
+        CleaningScheduleResultDto result = cleaningTaskService.generateSchedule(requestDto);
+        return ResponseEntity.ok(ApiResponse.success(
+                requestDto.isDryRun() ? "Cleaning schedule planned." : "Cleaning schedule generated.", result));
+    }
+
+    @GetMapping("/schedule/conflicts")
+    public ResponseEntity<ApiResponse<CleaningScheduleValidationDto>> validateSchedule(
+            @RequestParam(required = false) Integer defaultSlotMinutes) {
+        return ResponseEntity.ok(ApiResponse.success("Cleaning schedule checked.",
+                cleaningTaskService.validateSchedule(defaultSlotMinutes)));
     }
 }
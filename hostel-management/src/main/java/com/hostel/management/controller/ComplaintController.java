@@ -1,8 +1,12 @@
 package com.hostel.management.controller;
 
+import com.hostel.management.dto.complaint.ComplaintEscalationResultDto;
 import com.hostel.management.dto.complaint.ComplaintRequestDto;
 import com.hostel.management.dto.complaint.ComplaintResponseDto;
+import com.hostel.management.dto.complaint.ComplaintSearchHitDto;
+import com.hostel.management.dto.complaint.ComplaintSearchRebuildResultDto;
 import com.hostel.management.enums.ComplaintStatus;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.response.ApiResponse;
 import com.hostel.management.service.ComplaintService;
 import jakarta.validation.Valid;
@@ -54,9 +58,12 @@ public class ComplaintController {
     @GetMapping
     public ResponseEntity<ApiResponse<List<ComplaintResponseDto>>> getAllComplaints(
             @RequestParam(required = false) Long residentId,
-            @RequestParam(required = false) ComplaintStatus status) {
-        return ResponseEntity.ok(ApiResponse.success("Complaints retrieved.",
-                complaintService.getAllComplaints(residentId, status)));
+            @RequestParam(required = false) ComplaintStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "ASC") SortDirection sort) {
+        return ResponseEntity.ok(ApiResponse.page("Complaints retrieved.",
+                complaintService.getAllComplaints(residentId, status, after, limit, sort)));
     }
 
     @PutMapping("/{id}/status")
@@ -68,6 +75,34 @@ public class ComplaintController {
                 complaintService.updateStatus(id, status, resolution)));
     }
 
+    @GetMapping("/queue")
+    public ResponseEntity<ApiResponse<List<ComplaintResponseDto>>> getComplaintQueue(
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success("Complaint queue retrieved.",
+                complaintService.getComplaintQueue(limit)));
+    }
+
+    @PostMapping("/escalate")
+    public ResponseEntity<ApiResponse<ComplaintEscalationResultDto>> escalateOverdueComplaints() {
+        return ResponseEntity.ok(ApiResponse.success("Overdue complaints escalated.",
+                complaintService.escalateOverdueComplaints()));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<ComplaintSearchHitDto>>> searchComplaints(
+            @RequestParam String q,
+            @RequestParam(required = false) ComplaintStatus status,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success("Complaint search completed.",
+                complaintService.searchComplaints(q, status, limit)));
+    }
+
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<ApiResponse<ComplaintSearchRebuildResultDto>> rebuildSearchIndex() {
+        return ResponseEntity.ok(ApiResponse.success("Complaint search index rebuilt.",
+                complaintService.rebuildSearchIndex()));
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getComplaintStats() {
         return ResponseEntity.ok(ApiResponse.success("Complaint stats retrieved.",
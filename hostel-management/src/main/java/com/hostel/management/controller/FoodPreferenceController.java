@@ -2,11 +2,20 @@ package com.hostel.management.controller;
 
 import com.hostel.management.dto.food.FoodPreferenceRequestDto;
 import com.hostel.management.dto.food.FoodPreferenceResponseDto;
+import com.hostel.management.dto.food.FoodTemplateRequestDto;
+import com.hostel.management.dto.food.FoodTemplateResponseDto;
+import com.hostel.management.dto.food.MealCountDto;
+import com.hostel.management.enums.ExportFormat;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.response.ApiResponse;
+import com.hostel.management.service.ExportService;
 import com.hostel.management.service.FoodPreferenceService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,9 +26,11 @@ import java.util.Map;
 public class FoodPreferenceController {
 
     private final FoodPreferenceService foodPreferenceService;
+    private final ExportService exportService;
 
-    public FoodPreferenceController(FoodPreferenceService foodPreferenceService) {
+    public FoodPreferenceController(FoodPreferenceService foodPreferenceService, ExportService exportService) {
         this.foodPreferenceService = foodPreferenceService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -34,8 +45,12 @@ public class FoodPreferenceController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<FoodPreferenceResponseDto>>> getAllPreferences() {
-        return ResponseEntity.ok(ApiResponse.success("Preferences retrieved.", foodPreferenceService.getAllPreferences()));
+    public ResponseEntity<ApiResponse<List<FoodPreferenceResponseDto>>> getAllPreferences(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "ASC") SortDirection sort) {
+        return ResponseEntity.ok(ApiResponse.page("Preferences retrieved.",
+                foodPreferenceService.getAllPreferences(after, limit, sort)));
     }
 
     @GetMapping("/date/{date}")
@@ -63,8 +78,59 @@ public class FoodPreferenceController {
         return ResponseEntity.ok(ApiResponse.success("Stats retrieved.", foodPreferenceService.getFoodStats()));
     }
 
+    @GetMapping("/counts")
+    public ResponseEntity<ApiResponse<List<MealCountDto>>> getMealCounts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success("Meal counts retrieved.", foodPreferenceService.getMealCounts(from, to)));
+    }
+
+    @PostMapping("/counts/rebuild")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildMealCounts() {
+        return ResponseEntity.ok(ApiResponse.success("Meal counts rebuilt.",
+                Map.of("rows", foodPreferenceService.rebuildMealCounts())));
+    }
+
+    @GetMapping("/templates/resident/{residentId}")
+    public ResponseEntity<ApiResponse<List<FoodTemplateResponseDto>>> getTemplates(@PathVariable Long residentId) {
+        return ResponseEntity.ok(ApiResponse.success("Templates retrieved.", foodPreferenceService.getTemplates(residentId)));
+    }
+
+    @PutMapping("/templates/resident/{residentId}")
+    public ResponseEntity<ApiResponse<List<FoodTemplateResponseDto>>> setTemplate(
+            @PathVariable Long residentId, @RequestBody FoodTemplateRequestDto dto) {
+        return ResponseEntity.ok(ApiResponse.success("Template saved.", foodPreferenceService.setTemplate(residentId, dto)));
+    }
+
+    @DeleteMapping("/templates/resident/{residentId}")
+    public ResponseEntity<ApiResponse<List<FoodTemplateResponseDto>>> endTemplate(
+            @PathVariable Long residentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        return ResponseEntity.ok(ApiResponse.success("Template ended.", foodPreferenceService.endTemplate(residentId, from)));
+    }
+
+    @PostMapping("/templates/collapse")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> collapseToTemplates() {
+        return ResponseEntity.ok(ApiResponse.success("Preferences collapsed into templates.",
+                foodPreferenceService.collapseToTemplates()));
+    }
+
     @GetMapping("/today")
     public ResponseEntity<ApiResponse<List<FoodPreferenceResponseDto>>> getTodayPreferences() {
         return ResponseEntity.ok(ApiResponse.success("Today's preferences.", foodPreferenceService.getPreferencesByDate(LocalDate.now())));
     }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFoodPreferences(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) String mealType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        StreamingResponseBody body = exportService.exportFoodPreferences(format, mealType, from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"food-preferences." + format.getExtension() + "\"")
+                .body(body);
+    }
 }
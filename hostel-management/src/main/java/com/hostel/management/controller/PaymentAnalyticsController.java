@@ -0,0 +1,52 @@
+package com.hostel.management.controller;
+
+import com.hostel.management.dto.payment.MonthlyRevenueDto;
+import com.hostel.management.dto.payment.RevenueBucketDto;
+import com.hostel.management.dto.payment.RollupRebuildResultDto;
+import com.hostel.management.response.ApiResponse;
+import com.hostel.management.service.PaymentAnalyticsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payments/analytics")
+public class PaymentAnalyticsController {
+
+    private final PaymentAnalyticsService paymentAnalyticsService;
+
+    public PaymentAnalyticsController(PaymentAnalyticsService paymentAnalyticsService) {
+        this.paymentAnalyticsService = paymentAnalyticsService;
+    }
+
+    @GetMapping("/trend")
+    public ResponseEntity<ApiResponse<List<MonthlyRevenueDto>>> getMonthlyTrend(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return ResponseEntity.ok(ApiResponse.success("Monthly revenue trend retrieved.",
+                paymentAnalyticsService.getMonthlyTrend(from, to)));
+    }
+
+    @GetMapping("/method-mix")
+    public ResponseEntity<ApiResponse<List<RevenueBucketDto>>> getMethodMix(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ResponseEntity.ok(ApiResponse.success("Payment method mix retrieved.",
+                paymentAnalyticsService.getMethodMix(month)));
+    }
+
+    @GetMapping("/outstanding-by-room-type")
+    public ResponseEntity<ApiResponse<List<RevenueBucketDto>>> getOutstandingByRoomType() {
+        return ResponseEntity.ok(ApiResponse.success("Outstanding payments by room type retrieved.",
+                paymentAnalyticsService.getOutstandingByRoomType()));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse<RollupRebuildResultDto>> rebuildRollups() {
+        RollupRebuildResultDto result = paymentAnalyticsService.rebuildRollups();
+        return ResponseEntity.ok(ApiResponse.success(
+                "Payment rollup rebuilt: " + result.getBuckets() + " buckets.", result));
+    }
+}
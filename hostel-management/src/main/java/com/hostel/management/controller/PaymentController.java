@@ -1,16 +1,30 @@
 package com.hostel.management.controller;
 
+import com.hostel.management.dto.payment.BillingRunResultDto;
+import com.hostel.management.dto.payment.BulkPaymentResultDto;
+import com.hostel.management.dto.payment.LateFeeSweepResultDto;
+import com.hostel.management.dto.payment.MonthlyRevenueDto;
 import com.hostel.management.dto.payment.PaymentRequestDto;
 import com.hostel.management.dto.payment.PaymentResponseDto;
+import com.hostel.management.dto.payment.PeriodBackfillResultDto;
+import com.hostel.management.enums.ExportFormat;
 import com.hostel.management.enums.PaymentMethod;
 import com.hostel.management.enums.PaymentStatus;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.response.ApiResponse;
+import com.hostel.management.service.ExportService;
 import com.hostel.management.service.PaymentService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
 
@@ -19,9 +33,11 @@ import java.util.Map;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final ExportService exportService;
 
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService, ExportService exportService) {
         this.paymentService = paymentService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -55,9 +71,29 @@ public class PaymentController {
     @GetMapping
     public ResponseEntity<ApiResponse<List<PaymentResponseDto>>> getAllPayments(
             @RequestParam(required = false) Long residentId,
-            @RequestParam(required = false) PaymentStatus status) {
-        return ResponseEntity.ok(ApiResponse.success("Payments retrieved.",
-                paymentService.getAllPayments(residentId, status)));
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "ASC") SortDirection sort) {
+        return ResponseEntity.ok(ApiResponse.page("Payments retrieved.",
+                paymentService.getAllPayments(residentId, status, from, to, after, limit, sort)));
+    }
+
+    @GetMapping("/period-summary")
+    public ResponseEntity<ApiResponse<List<MonthlyRevenueDto>>> getPeriodSummary(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return ResponseEntity.ok(ApiResponse.success("Payment period summary retrieved.",
+                paymentService.getPeriodSummary(from, to)));
+    }
+
+    @PostMapping("/backfill-periods")
+    public ResponseEntity<ApiResponse<PeriodBackfillResultDto>> backfillPeriods() {
+        PeriodBackfillResultDto result = paymentService.backfillPeriods();
+        return ResponseEntity.ok(ApiResponse.success(
+                "Billing periods backfilled: " + result.getPaymentsUpdated() + " payments updated.", result));
     }
 
     @PutMapping("/{id}/pay")
@@ -69,15 +105,52 @@ public class PaymentController {
     }
 
     @PostMapping("/pay-all")
-    public ResponseEntity<ApiResponse<List<PaymentResponseDto>>> payAllPending(
+    public ResponseEntity<ApiResponse<BulkPaymentResultDto>> payAllPending(
             @RequestParam Long residentId,
             @RequestParam(required = false) PaymentMethod method) {
         return ResponseEntity.ok(ApiResponse.success("All pending payments marked as paid.",
                 paymentService.payAllPending(residentId, method)));
     }
 
+    @PostMapping("/pay-month")
+    public ResponseEntity<ApiResponse<BulkPaymentResultDto>> payAllPendingForMonth(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(defaultValue = "BANK_TRANSFER") PaymentMethod method) {
+        return ResponseEntity.ok(ApiResponse.success("Pending payments for the month marked as paid.",
+                paymentService.payAllPendingForMonth(month, method)));
+    }
+
+    @PostMapping("/billing-run")
+    public ResponseEntity<ApiResponse<BillingRunResultDto>> runMonthlyBilling(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        BillingRunResultDto result = paymentService.runMonthlyBilling(month);
+        return ResponseEntity.ok(ApiResponse.success(
+                "Billing run completed: " + result.getPaymentsCreated() + " payments created.", result));
+    }
+
+    @PostMapping("/late-fee-sweep")
+    public ResponseEntity<ApiResponse<LateFeeSweepResultDto>> sweepOverduePayments() {
+        LateFeeSweepResultDto result = paymentService.sweepOverduePayments();
+        return ResponseEntity.ok(ApiResponse.success(
+                "Late-fee sweep completed: " + result.getPaymentsMarkedLate() + " payments marked late.", result));
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getPaymentStats() {
         return ResponseEntity.ok(ApiResponse.success("Payment stats retrieved.", paymentService.getPaymentStats()));
     }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        StreamingResponseBody body = exportService.exportPayments(format, status, from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"payments." + format.getExtension() + "\"")
+                .body(body);
+    }
 }
@@ -1,8 +1,12 @@
 package com.hostel.management.controller;
 
+import com.hostel.management.dto.resident.BulkRoomAssignmentRequestDto;
 import com.hostel.management.dto.resident.ResidentRequestDto;
 import com.hostel.management.dto.resident.ResidentResponseDto;
+import com.hostel.management.dto.resident.ResidentSearchRequestDto;
+import com.hostel.management.dto.resident.RoomAssignmentResultDto;
 import com.hostel.management.enums.ResidentStatus;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.response.ApiResponse;
 import com.hostel.management.service.ResidentService;
 import jakarta.validation.Valid;
@@ -54,9 +58,22 @@ public class ResidentController {
     @GetMapping
     public ResponseEntity<ApiResponse<List<ResidentResponseDto>>> getAllResidents(
             @RequestParam(required = false) String name,
-            @RequestParam(required = false) ResidentStatus status) {
-        return ResponseEntity.ok(ApiResponse.success("Residents retrieved successfully.",
-                residentService.getAllResidents(name, status)));
+            @RequestParam(required = false) ResidentStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "ASC") SortDirection sort) {
+        return ResponseEntity.ok(ApiResponse.page("Residents retrieved successfully.",
+                residentService.getAllResidents(name, status, after, limit, sort)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<ResidentResponseDto>>> searchResidents(
+            @ModelAttribute ResidentSearchRequestDto criteria,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "ASC") SortDirection sort) {
+        return ResponseEntity.ok(ApiResponse.page("Residents retrieved successfully.",
+                residentService.searchResidents(criteria, after, limit, sort)));
     }
 
     @PutMapping("/{id}/assign-room/{roomId}")
@@ -66,6 +83,15 @@ public class ResidentController {
                 residentService.assignRoom(id, roomId)));
     }
 
+    @PostMapping("/assign-rooms")
+    public ResponseEntity<ApiResponse<List<RoomAssignmentResultDto>>> assignRooms(
+            @Valid @RequestBody BulkRoomAssignmentRequestDto requestDto) {
+        List<RoomAssignmentResultDto> results = residentService.assignRooms(requestDto.getAssignments());
+        long assigned = results.stream().filter(RoomAssignmentResultDto::isSuccess).count();
+        return ResponseEntity.ok(ApiResponse.success("Processed " + results.size() + " assignment(s): "
+                + assigned + " succeeded, " + (results.size() - assigned) + " failed.", results));
+    }
+
     @PutMapping("/{id}/remove-from-room")
     public ResponseEntity<ApiResponse<ResidentResponseDto>> removeFromRoom(@PathVariable Long id) {
         return ResponseEntity.ok(ApiResponse.success("Resident removed from room.",
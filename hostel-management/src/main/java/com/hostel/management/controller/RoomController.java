@@ -4,6 +4,7 @@ import com.hostel.management.dto.room.RoomRequestDto;
 import com.hostel.management.dto.room.RoomResponseDto;
 import com.hostel.management.enums.RoomStatus;
 import com.hostel.management.enums.RoomType;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.response.ApiResponse;
 import com.hostel.management.service.RoomService;
 import jakarta.validation.Valid;
@@ -54,14 +55,21 @@ public class RoomController {
     @GetMapping
     public ResponseEntity<ApiResponse<List<RoomResponseDto>>> getAllRooms(
             @RequestParam(required = false) RoomStatus status,
-            @RequestParam(required = false) RoomType roomType) {
-        List<RoomResponseDto> rooms = roomService.getAllRooms(status, roomType);
-        return ResponseEntity.ok(ApiResponse.success("Rooms retrieved successfully.", rooms));
+            @RequestParam(required = false) RoomType roomType,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "ASC") SortDirection sort) {
+        return ResponseEntity.ok(ApiResponse.page("Rooms retrieved successfully.",
+                roomService.getAllRooms(status, roomType, after, limit, sort)));
     }
 
     @GetMapping("/available")
-    public ResponseEntity<ApiResponse<List<RoomResponseDto>>> getAvailableRooms() {
-        List<RoomResponseDto> rooms = roomService.getAvailableRooms();
+    public ResponseEntity<ApiResponse<List<RoomResponseDto>>> getAvailableRooms(
+            @RequestParam(required = false) RoomType roomType,
+            @RequestParam(required = false) RoomStatus status,
+            @RequestParam(required = false) Integer minFreeBeds,
+            @RequestParam(required = false) Double maxPrice) {
+        List<RoomResponseDto> rooms = roomService.getAvailableRooms(roomType, status, minFreeBeds, maxPrice);
         return ResponseEntity.ok(ApiResponse.success("Available rooms retrieved successfully.", rooms));
     }
 
@@ -0,0 +1,24 @@
+package com.hostel.management.controller;
+
+import com.hostel.management.response.ApiResponse;
+import com.hostel.management.service.StatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final StatsService statsService;
+
+    public StatsController(StatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDashboardStats() {
+        return ResponseEntity.ok(ApiResponse.success("Dashboard stats retrieved.", statsService.getDashboardStats()));
+    }
+}
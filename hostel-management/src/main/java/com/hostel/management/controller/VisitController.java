@@ -2,14 +2,21 @@ package com.hostel.management.controller;
 
 import com.hostel.management.dto.visit.VisitRequestDto;
 import com.hostel.management.dto.visit.VisitResponseDto;
+import com.hostel.management.dto.visit.VisitSlotRequestDto;
+import com.hostel.management.dto.visit.VisitSlotResponseDto;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.enums.VisitStatus;
 import com.hostel.management.response.ApiResponse;
+import com.hostel.management.security.RateLimits;
 import com.hostel.management.service.VisitService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -18,14 +25,17 @@ import java.util.Map;
 public class VisitController {
 
     private final VisitService visitService;
+    private final RateLimits rateLimits;
 
-    public VisitController(VisitService visitService) {
+    public VisitController(VisitService visitService, RateLimits rateLimits) {
         this.visitService = visitService;
+        this.rateLimits = rateLimits;
     }
 
     @PostMapping
     public ResponseEntity<ApiResponse<VisitResponseDto>> createVisit(
             @Valid @RequestBody VisitRequestDto requestDto) {
+        rateLimits.requireEmailPermit(RateLimits.Policy.VISITS, requestDto.getVisitorEmail());
         VisitResponseDto visit = visitService.createVisit(requestDto);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Visit request submitted.", visit));
@@ -53,9 +63,12 @@ public class VisitController {
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<VisitResponseDto>>> getAllVisits(
-            @RequestParam(required = false) VisitStatus status) {
-        return ResponseEntity.ok(ApiResponse.success("Visits retrieved.",
-                visitService.getAllVisits(status)));
+            @RequestParam(required = false) VisitStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "ASC") SortDirection sort) {
+        return ResponseEntity.ok(ApiResponse.page("Visits retrieved.",
+                visitService.getAllVisits(status, after, limit, sort)));
     }
 
     @PutMapping("/{id}/status")
@@ -67,6 +80,34 @@ public class VisitController {
                 visitService.updateStatus(id, status, adminNotes)));
     }
 
+    @PostMapping("/slots")
+    public ResponseEntity<ApiResponse<List<VisitSlotResponseDto>>> createSlots(
+            @Valid @RequestBody VisitSlotRequestDto requestDto) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Visit slots opened.", visitService.createSlots(requestDto)));
+    }
+
+    @DeleteMapping("/slots/{id}")
+    public ResponseEntity<ApiResponse<?>> deleteSlot(@PathVariable Long id) {
+        visitService.deleteSlot(id);
+        return ResponseEntity.ok(ApiResponse.success("Visit slot deleted."));
+    }
+
+    @GetMapping("/slots")
+    public ResponseEntity<ApiResponse<List<VisitSlotResponseDto>>> getSlotsForDay(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(ApiResponse.success("Visit slots retrieved.",
+                visitService.getSlotsForDay(date)));
+    }
+
+    @GetMapping("/slots/free")
+    public ResponseEntity<ApiResponse<List<VisitSlotResponseDto>>> getFreeSlots(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success("Free visit slots retrieved.",
+                visitService.getFreeSlots(from, limit)));
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getVisitStats() {
         return ResponseEntity.ok(ApiResponse.success("Visit stats retrieved.", visitService.getVisitStats()));
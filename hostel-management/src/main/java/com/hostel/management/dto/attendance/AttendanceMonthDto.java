@@ -0,0 +1,55 @@
+package com.hostel.management.dto.attendance;
+
+/**
+ * One resident's month of attendance. {@code days} holds one character per day of the month:
+ * P (present), A (absent), L (leave) or - (not marked).
+ */
+public class AttendanceMonthDto {
+
+    private Long residentId;
+    private String residentName;
+    private String roomNumber;
+    private String month;
+    private String days;
+    private int present;
+    private int absent;
+    private int leave;
+
+    public AttendanceMonthDto() {}
+
+    public AttendanceMonthDto(Long residentId, String residentName, String roomNumber, String month,
+                              String days, int present, int absent, int leave) {
+        this.residentId = residentId;
+        this.residentName = residentName;
+        this.roomNumber = roomNumber;
+        this.month = month;
+        this.days = days;
+        this.present = present;
+        this.absent = absent;
+        this.leave = leave;
+    }
+
+    public Long getResidentId() { return residentId; }
+    public void setResidentId(Long residentId) { this.residentId = residentId; }
+
+    public String getResidentName() { return residentName; }
+    public void setResidentName(String residentName) { this.residentName = residentName; }
+
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+
+    public String getMonth() { return month; }
+    public void setMonth(String month) { this.month = month; }
+
+    public String getDays() { return days; }
+    public void setDays(String days) { this.days = days; }
+
+    public int getPresent() { return present; }
+    public void setPresent(int present) { this.present = present; }
+
+    public int getAbsent() { return absent; }
+    public void setAbsent(int absent) { this.absent = absent; }
+
+    public int getLeave() { return leave; }
+    public void setLeave(int leave) { this.leave = leave; }
+}
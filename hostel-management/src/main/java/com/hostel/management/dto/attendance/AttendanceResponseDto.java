@@ -17,6 +17,22 @@ public class AttendanceResponseDto {
     private String checkOutTime;
     private String remarks;
 
+    public AttendanceResponseDto() {}
+
+    /** Used by JPQL constructor expressions that select straight into the DTO. */
+    public AttendanceResponseDto(Long id, Long residentId, String residentName, String roomNumber, LocalDate date,
+                                 String status, String checkInTime, String checkOutTime, String remarks) {
+        this.id = id;
+        this.residentId = residentId;
+        this.residentName = residentName;
+        this.roomNumber = roomNumber;
+        this.date = date;
+        this.status = status;
+        this.checkInTime = checkInTime;
+        this.checkOutTime = checkOutTime;
+        this.remarks = remarks;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -0,0 +1,43 @@
+package com.hostel.management.dto.attendance;
+
+import com.hostel.management.enums.GateDirection;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A batch of gate card-reader events, in the order the reader saw them.
+ */
+public class GateEventBatchDto {
+
+    @NotEmpty(message = "Batch must contain at least one event")
+    @Valid
+    private List<Event> events;
+
+    public List<Event> getEvents() { return events; }
+    public void setEvents(List<Event> events) { this.events = events; }
+
+    /** One card swipe. {@code at} is the reader's local time and defaults to the time of receipt. */
+    public static class Event {
+
+        @NotNull(message = "Resident ID is required")
+        private Long residentId;
+
+        @NotNull(message = "Direction is required")
+        private GateDirection direction;
+
+        private LocalDateTime at;
+
+        public Long getResidentId() { return residentId; }
+        public void setResidentId(Long residentId) { this.residentId = residentId; }
+
+        public GateDirection getDirection() { return direction; }
+        public void setDirection(GateDirection direction) { this.direction = direction; }
+
+        public LocalDateTime getAt() { return at; }
+        public void setAt(LocalDateTime at) { this.at = at; }
+    }
+}
@@ -0,0 +1,58 @@
+package com.hostel.management.dto.attendance;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One roll call: the attendance of many residents on one date. Defaults to today.
+ */
+public class RollCallRequestDto {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    @NotEmpty(message = "Roll call must contain at least one entry")
+    @Valid
+    private List<Entry> entries;
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public List<Entry> getEntries() { return entries; }
+    public void setEntries(List<Entry> entries) { this.entries = entries; }
+
+    /** One resident's line in the roll call. */
+    public static class Entry {
+
+        @NotNull(message = "Resident ID is required")
+        private Long residentId;
+
+        @NotBlank(message = "Status is required")
+        private String status;
+
+        private String checkInTime;
+        private String checkOutTime;
+        private String remarks;
+
+        public Long getResidentId() { return residentId; }
+        public void setResidentId(Long residentId) { this.residentId = residentId; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public String getCheckInTime() { return checkInTime; }
+        public void setCheckInTime(String checkInTime) { this.checkInTime = checkInTime; }
+
+        public String getCheckOutTime() { return checkOutTime; }
+        public void setCheckOutTime(String checkOutTime) { this.checkOutTime = checkOutTime; }
+
+        public String getRemarks() { return remarks; }
+        public void setRemarks(String remarks) { this.remarks = remarks; }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hostel.management.dto.attendance;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of a roll call: how many residents' attendance was recorded for the date.
+ */
+public class RollCallResultDto {
+
+    private LocalDate date;
+    private int recorded;
+    private long elapsedMs;
+
+    public RollCallResultDto(LocalDate date, int recorded, long elapsedMs) {
+        this.date = date;
+        this.recorded = recorded;
+        this.elapsedMs = elapsedMs;
+    }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public int getRecorded() { return recorded; }
+    public void setRecorded(int recorded) { this.recorded = recorded; }
+
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+}
@@ -0,0 +1,97 @@
+package com.hostel.management.dto.cleaning;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Input for generating a weekly cleaning plan: the areas to cover and the staff available.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CleaningScheduleRequestDto {
+
+    @NotEmpty(message = "At least one area is required")
+    @Size(max = 5000, message = "At most 5000 areas can be planned at once")
+    private List<@Valid Area> areas;
+
+    @NotEmpty(message = "At least one staff member is required")
+    private List<@Valid Staff> staff;
+
+    /** Delete previously generated tasks before planning (default true). Hand-entered tasks are always kept. */
+    private Boolean replaceGenerated;
+
+    /** Plan without saving anything and return the tasks that would be created. */
+    private boolean dryRun;
+
+    /** Length assumed for existing tasks whose slot is a single time (default 60). */
+    @Min(value = 5, message = "Default slot must be at least 5 minutes")
+    @Max(value = 720, message = "Default slot must be at most 720 minutes")
+    private Integer defaultSlotMinutes;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Area {
+
+        @NotBlank(message = "Area name is required")
+        private String name;
+
+        private String building;
+
+        @NotNull(message = "Visits per week is required")
+        @Min(value = 1, message = "Visits per week must be at least 1")
+        @Max(value = 7, message = "Visits per week must be at most 7")
+        private Integer visitsPerWeek;
+
+        @NotNull(message = "Duration is required")
+        @Min(value = 5, message = "Duration must be at least 5 minutes")
+        @Max(value = 720, message = "Duration must be at most 720 minutes")
+        private Integer durationMinutes;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Staff {
+
+        @NotBlank(message = "Staff name is required")
+        private String name;
+
+        /** Buildings this person covers; empty means any building. */
+        private List<String> buildings;
+
+        @NotEmpty(message = "At least one shift is required")
+        private List<@Valid Shift> shifts;
+
+        /** Weekly cap on cleaning minutes; null or 0 means no cap. */
+        @Min(value = 0, message = "Weekly cap cannot be negative")
+        private Integer maxMinutesPerWeek;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Shift {
+
+        @NotNull(message = "Shift day is required")
+        private DayOfWeek day;
+
+        @NotNull(message = "Shift start is required")
+        private LocalTime start;
+
+        /** 00:00 means the shift runs to midnight. */
+        @NotNull(message = "Shift end is required")
+        private LocalTime end;
+    }
+}
@@ -0,0 +1,38 @@
+package com.hostel.management.dto.cleaning;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CleaningScheduleResultDto {
+
+    private int visitsRequested;
+    private int visitsScheduled;
+    private int tasksCreated;
+    private int generatedTasksRemoved;
+    private List<Shortfall> shortfalls;
+
+    /** Weekly cleaning minutes per staff member, including hand-entered tasks. */
+    private Map<String, Integer> staffMinutes;
+
+    private long elapsedMs;
+
+    /** Only filled for dry runs. */
+    private List<CleaningTaskResponseDto> tasks;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Shortfall {
+        private String area;
+        private String building;
+        private int missingVisits;
+    }
+}
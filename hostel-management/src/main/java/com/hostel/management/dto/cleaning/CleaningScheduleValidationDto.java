@@ -0,0 +1,39 @@
+package com.hostel.management.dto.cleaning;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CleaningScheduleValidationDto {
+
+    private int tasksChecked;
+    private List<Conflict> conflicts;
+
+    /** Tasks whose day or time slot could not be read, so they were not checked. */
+    private List<Long> unparsedTaskIds;
+
+    /** Weekly cleaning minutes per staff member. */
+    private Map<String, Integer> staffMinutes;
+
+    /** Two tasks that overlap for the same staff member on the same day. */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Conflict {
+        private String staff;
+        private String dayOfWeek;
+        private Long firstTaskId;
+        private String firstArea;
+        private String firstTimeSlot;
+        private Long secondTaskId;
+        private String secondArea;
+        private String secondTimeSlot;
+    }
+}
@@ -13,6 +13,8 @@ public class CleaningTaskRequestDto {
     @NotBlank(message = "Area is required")
     private String area;
 
+    private String building;
+
     @NotBlank(message = "Day of week is required")
     private String dayOfWeek;
 
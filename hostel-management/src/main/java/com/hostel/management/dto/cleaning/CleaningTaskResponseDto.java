@@ -13,11 +13,13 @@ public class CleaningTaskResponseDto {
 
     private Long id;
     private String area;
+    private String building;
     private String dayOfWeek;
     private String timeSlot;
     private String assignedStaff;
     private String notes;
     private String completionStatus;
+    private Boolean autoGenerated;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
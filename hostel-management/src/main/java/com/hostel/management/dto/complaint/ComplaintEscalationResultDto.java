@@ -0,0 +1,22 @@
+package com.hostel.management.dto.complaint;
+
+import lombok.*;
+
+/**
+ * Outcome of one SLA escalation pass over open complaints.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComplaintEscalationResultDto {
+
+    /** LOW complaints raised to MEDIUM. */
+    private int escalatedToMedium;
+
+    /** MEDIUM complaints raised to HIGH. */
+    private int escalatedToHigh;
+
+    private long elapsedMs;
+}
@@ -0,0 +1,28 @@
+package com.hostel.management.dto.complaint;
+
+import com.hostel.management.enums.ComplaintStatus;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * One full-text search match, built from the search index alone so a search never hits the database.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComplaintSearchHitDto {
+
+    private Long id;
+    private String title;
+    private String category;
+    private String roomNumber;
+    private ComplaintStatus status;
+    private String resolution;
+    private LocalDate complaintDate;
+
+    /** BM25 relevance; higher is better, only comparable within one search. */
+    private float score;
+}
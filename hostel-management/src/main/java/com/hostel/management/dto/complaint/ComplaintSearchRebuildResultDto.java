@@ -0,0 +1,18 @@
+package com.hostel.management.dto.complaint;
+
+import lombok.*;
+
+/**
+ * Outcome of rebuilding the complaint search index from the database.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComplaintSearchRebuildResultDto {
+
+    private long complaintsIndexed;
+
+    private long elapsedMs;
+}
@@ -18,6 +18,27 @@ public class FoodPreferenceResponseDto {
     private String mealType;
     private String specialRequirements;
 
+    /** True when the preference comes from the resident's weekly template rather than a stored row; {@code id} is then null. */
+    private boolean fromTemplate;
+
+    public FoodPreferenceResponseDto() {}
+
+    /** Used by JPQL constructor expressions that select straight into the DTO. */
+    public FoodPreferenceResponseDto(Long id, Long residentId, String residentName, String roomNumber, LocalDate date,
+                                     Boolean breakfast, Boolean lunch, Boolean dinner, String mealType,
+                                     String specialRequirements) {
+        this.id = id;
+        this.residentId = residentId;
+        this.residentName = residentName;
+        this.roomNumber = roomNumber;
+        this.date = date;
+        this.breakfast = breakfast;
+        this.lunch = lunch;
+        this.dinner = dinner;
+        this.mealType = mealType;
+        this.specialRequirements = specialRequirements;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -47,4 +68,7 @@ public class FoodPreferenceResponseDto {
 
     public String getSpecialRequirements() { return specialRequirements; }
     public void setSpecialRequirements(String specialRequirements) { this.specialRequirements = specialRequirements; }
+
+    public boolean isFromTemplate() { return fromTemplate; }
+    public void setFromTemplate(boolean fromTemplate) { this.fromTemplate = fromTemplate; }
 }
@@ -0,0 +1,43 @@
+package com.hostel.management.dto.food;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+public class FoodTemplateRequestDto {
+
+    /** First date the template applies to; defaults to today. */
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate effectiveFrom;
+
+    /** Days the template applies to; defaults to every day of the week. */
+    private List<DayOfWeek> daysOfWeek;
+
+    private Boolean breakfast;
+    private Boolean lunch;
+    private Boolean dinner;
+    private String mealType;
+    private String specialRequirements;
+
+    public LocalDate getEffectiveFrom() { return effectiveFrom; }
+    public void setEffectiveFrom(LocalDate effectiveFrom) { this.effectiveFrom = effectiveFrom; }
+
+    public List<DayOfWeek> getDaysOfWeek() { return daysOfWeek; }
+    public void setDaysOfWeek(List<DayOfWeek> daysOfWeek) { this.daysOfWeek = daysOfWeek; }
+
+    public Boolean getBreakfast() { return breakfast; }
+    public void setBreakfast(Boolean breakfast) { this.breakfast = breakfast; }
+
+    public Boolean getLunch() { return lunch; }
+    public void setLunch(Boolean lunch) { this.lunch = lunch; }
+
+    public Boolean getDinner() { return dinner; }
+    public void setDinner(Boolean dinner) { this.dinner = dinner; }
+
+    public String getMealType() { return mealType; }
+    public void setMealType(String mealType) { this.mealType = mealType; }
+
+    public String getSpecialRequirements() { return specialRequirements; }
+    public void setSpecialRequirements(String specialRequirements) { this.specialRequirements = specialRequirements; }
+}
@@ -0,0 +1,53 @@
+package com.hostel.management.dto.food;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+public class FoodTemplateResponseDto {
+    private Long id;
+    private Long residentId;
+    private DayOfWeek dayOfWeek;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate effectiveFrom;
+
+    /** False for a version that ends the recurrence. */
+    private boolean active;
+
+    private Boolean breakfast;
+    private Boolean lunch;
+    private Boolean dinner;
+    private String mealType;
+    private String specialRequirements;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getResidentId() { return residentId; }
+    public void setResidentId(Long residentId) { this.residentId = residentId; }
+
+    public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(DayOfWeek dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+
+    public LocalDate getEffectiveFrom() { return effectiveFrom; }
+    public void setEffectiveFrom(LocalDate effectiveFrom) { this.effectiveFrom = effectiveFrom; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+
+    public Boolean getBreakfast() { return breakfast; }
+    public void setBreakfast(Boolean breakfast) { this.breakfast = breakfast; }
+
+    public Boolean getLunch() { return lunch; }
+    public void setLunch(Boolean lunch) { this.lunch = lunch; }
+
+    public Boolean getDinner() { return dinner; }
+    public void setDinner(Boolean dinner) { this.dinner = dinner; }
+
+    public String getMealType() { return mealType; }
+    public void setMealType(String mealType) { this.mealType = mealType; }
+
+    public String getSpecialRequirements() { return specialRequirements; }
+    public void setSpecialRequirements(String specialRequirements) { this.specialRequirements = specialRequirements; }
+}
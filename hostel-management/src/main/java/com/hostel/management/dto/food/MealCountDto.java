@@ -0,0 +1,46 @@
+package com.hostel.management.dto.food;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+
+public class MealCountDto {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    private String mealType;
+    private long breakfast;
+    private long lunch;
+    private long dinner;
+    private long total;
+
+    public MealCountDto() {}
+
+    /** Used by JPQL constructor expressions that select straight into the DTO. */
+    public MealCountDto(LocalDate date, String mealType, long breakfast, long lunch, long dinner, long total) {
+        this.date = date;
+        this.mealType = mealType;
+        this.breakfast = breakfast;
+        this.lunch = lunch;
+        this.dinner = dinner;
+        this.total = total;
+    }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public String getMealType() { return mealType; }
+    public void setMealType(String mealType) { this.mealType = mealType; }
+
+    public long getBreakfast() { return breakfast; }
+    public void setBreakfast(long breakfast) { this.breakfast = breakfast; }
+
+    public long getLunch() { return lunch; }
+    public void setLunch(long lunch) { this.lunch = lunch; }
+
+    public long getDinner() { return dinner; }
+    public void setDinner(long dinner) { this.dinner = dinner; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+}
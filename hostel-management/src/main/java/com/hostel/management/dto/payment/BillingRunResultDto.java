@@ -0,0 +1,30 @@
+package com.hostel.management.dto.payment;
+
+import lombok.*;
+
+/**
+ * Outcome of a monthly billing run.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BillingRunResultDto {
+
+    /** Month label the payments were created for, e.g. "March 2026". */
+    private String month;
+
+    private int paymentsCreated;
+
+    /** Residents skipped because nothing was owed (no room and no meals). */
+    private int residentsSkipped;
+
+    private int chunks;
+
+    private Double totalBilled;
+
+    private long elapsedMs;
+
+    private double paymentsPerSecond;
+}
@@ -0,0 +1,25 @@
+package com.hostel.management.dto.payment;
+
+import com.hostel.management.enums.PaymentMethod;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Summary of a bulk settlement: how many payments were marked paid and for how much.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPaymentResultDto {
+
+    private int count;
+
+    private Double totalAmount;
+
+    private PaymentMethod method;
+
+    private LocalDate paidDate;
+}
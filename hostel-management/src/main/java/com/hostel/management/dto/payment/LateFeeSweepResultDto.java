@@ -0,0 +1,25 @@
+package com.hostel.management.dto.payment;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of one overdue-payment sweep.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LateFeeSweepResultDto {
+
+    /** PENDING payments dated before this day were considered overdue. */
+    private LocalDate dueBefore;
+
+    private int paymentsMarkedLate;
+
+    private int chunks;
+
+    private long elapsedMs;
+}
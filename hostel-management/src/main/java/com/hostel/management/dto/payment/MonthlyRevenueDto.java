@@ -0,0 +1,42 @@
+package com.hostel.management.dto.payment;
+
+import com.hostel.management.enums.PaymentStatus;
+import lombok.*;
+
+import java.time.YearMonth;
+
+/**
+ * One month of the revenue trend: what was billed, what has been collected and what is still owed.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyRevenueDto {
+
+    /** Month label, e.g. "March 2026". */
+    private String month;
+
+    /** The month as a billing period. */
+    private YearMonth period;
+
+    private long paymentCount;
+
+    /** Sum of every payment total for the month. */
+    private double billed;
+
+    /** PAID totals. */
+    private double collected;
+
+    /** PENDING and LATE totals. */
+    private double outstanding;
+
+    /** Folds one (status, count, sum) aggregate row into the month. */
+    public void add(PaymentStatus status, long count, double amount) {
+        paymentCount += count;
+        billed += amount;
+        if (status == PaymentStatus.PAID) collected += amount;
+        if (status == PaymentStatus.PENDING || status == PaymentStatus.LATE) outstanding += amount;
+    }
+}
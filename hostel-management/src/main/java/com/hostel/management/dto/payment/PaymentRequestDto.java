@@ -17,6 +17,7 @@ public class PaymentRequestDto {
     @NotNull(message = "Resident ID is required")
     private Long residentId;
 
+    /** Billing month, e.g. "March 2026" or "2026-03". */
     @NotBlank(message = "Month is required")
     private String month;
 
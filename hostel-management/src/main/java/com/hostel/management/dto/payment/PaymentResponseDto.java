@@ -6,6 +6,7 @@ import lombok.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 
 @Getter
 @Setter
@@ -19,6 +20,7 @@ public class PaymentResponseDto {
     private String residentName;
     private String roomNumber;
     private String month;
+    private YearMonth period;
     private Double amount;
     private Double foodCharge;
     private Double lateFee;
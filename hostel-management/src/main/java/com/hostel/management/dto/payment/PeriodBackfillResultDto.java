@@ -0,0 +1,24 @@
+package com.hostel.management.dto.payment;
+
+import lombok.*;
+
+/**
+ * Outcome of filling in billing periods on payments recorded with only a month label.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PeriodBackfillResultDto {
+
+    private int paymentsUpdated;
+
+    /** Labels in none of the known month forms; these keep a null period. */
+    private int unparseable;
+
+    /** Labels that would give a resident a second payment for the same period. */
+    private int conflicts;
+
+    private long elapsedMs;
+}
@@ -0,0 +1,24 @@
+package com.hostel.management.dto.payment;
+
+import lombok.*;
+
+/**
+ * Payment count and total for one group of an analytics breakdown, such as a payment method or
+ * room type, with its share of the breakdown's total amount.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueBucketDto {
+
+    private String key;
+
+    private long paymentCount;
+
+    private double totalAmount;
+
+    /** Percentage of the breakdown's total amount, 0–100. */
+    private double share;
+}
@@ -0,0 +1,21 @@
+package com.hostel.management.dto.payment;
+
+import lombok.*;
+
+/**
+ * Outcome of rebuilding the payment rollup from the payments table.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupRebuildResultDto {
+
+    /** Older payments that were given a room type before the rebuild. */
+    private int paymentsBackfilled;
+
+    private int buckets;
+
+    private long elapsedMs;
+}
@@ -0,0 +1,19 @@
+package com.hostel.management.dto.resident;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRoomAssignmentRequestDto {
+
+    @NotEmpty(message = "At least one assignment is required")
+    @Size(max = 2000, message = "A batch may contain at most 2000 assignments")
+    private List<@Valid RoomAssignmentRequestDto> assignments;
+}
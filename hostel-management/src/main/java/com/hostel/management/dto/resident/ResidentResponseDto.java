@@ -1,6 +1,7 @@
 package com.hostel.management.dto.resident;
 
 import com.hostel.management.enums.ResidentStatus;
+import com.hostel.management.enums.RoomType;
 import lombok.*;
 
 import java.time.LocalDate;
@@ -31,4 +32,13 @@ public class ResidentResponseDto {
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /** Used by JPQL constructor expressions, which select the room type as the enum itself. */
+    public ResidentResponseDto(Long id, String name, String nic, String contact, String email, String course,
+                               Integer rating, LocalDate joinDate, LocalDate leaveDate, ResidentStatus status,
+                               Long roomId, String roomNumber, RoomType roomType,
+                               LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, name, nic, contact, email, course, rating, joinDate, leaveDate, status,
+                roomId, roomNumber, roomType != null ? roomType.name() : null, createdAt, updatedAt);
+    }
 }
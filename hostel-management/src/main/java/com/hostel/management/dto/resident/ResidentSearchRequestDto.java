@@ -0,0 +1,39 @@
+package com.hostel.management.dto.resident;
+
+import com.hostel.management.enums.ResidentStatus;
+import com.hostel.management.enums.RoomType;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Resident search filters, bound from query parameters. Every filter is optional and
+ * the ones given are combined with AND. {@code name} matches any part of the name;
+ * the other text filters match exactly (case-insensitively under the default collation).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResidentSearchRequestDto {
+
+    private String name;
+
+    private String nic;
+
+    private String email;
+
+    private String course;
+
+    private ResidentStatus status;
+
+    private RoomType roomType;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate joinedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate joinedTo;
+}
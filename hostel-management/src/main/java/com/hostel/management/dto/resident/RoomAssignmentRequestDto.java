@@ -0,0 +1,24 @@
+package com.hostel.management.dto.resident;
+
+import com.hostel.management.enums.RoomType;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+/**
+ * One entry of a bulk room assignment. Either a specific {@code roomId} or a
+ * {@code roomType} preference must be given; an explicit room wins if both are set.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomAssignmentRequestDto {
+
+    @NotNull(message = "Resident ID is required")
+    private Long residentId;
+
+    private Long roomId;
+
+    private RoomType roomType;
+}
@@ -0,0 +1,17 @@
+package com.hostel.management.dto.resident;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomAssignmentResultDto {
+
+    private Long residentId;
+    private Long roomId;
+    private String roomNumber;
+    private boolean success;
+    private String message;
+}
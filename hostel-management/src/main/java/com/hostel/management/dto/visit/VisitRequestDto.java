@@ -27,4 +27,7 @@ public class VisitRequestDto {
 
     private LocalDate visitDate;
     private String visitTime;
+
+    /** Slot to book; when set, it supplies the visit date and time. */
+    private Long slotId;
 }
@@ -21,6 +21,7 @@ public class VisitResponseDto {
     private String message;
     private LocalDate visitDate;
     private String visitTime;
+    private Long slotId;
     private VisitStatus status;
     private String adminNotes;
     private LocalDateTime createdAt;
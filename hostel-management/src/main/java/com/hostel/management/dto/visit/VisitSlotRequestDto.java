@@ -0,0 +1,39 @@
+package com.hostel.management.dto.visit;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Opens back-to-back visit slots of {@code durationMinutes} between {@code startTime} and
+ * {@code endTime} on every day from {@code fromDate} to {@code toDate} (inclusive; defaults to
+ * {@code fromDate}).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VisitSlotRequestDto {
+
+    @NotNull(message = "From date is required")
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    @NotNull(message = "End time is required")
+    private LocalTime endTime;
+
+    @NotNull(message = "Duration is required")
+    @Min(value = 5, message = "Duration must be at least 5 minutes")
+    private Integer durationMinutes;
+
+    @NotNull(message = "Capacity is required")
+    @Min(value = 1, message = "Capacity must be at least 1")
+    private Integer capacity;
+}
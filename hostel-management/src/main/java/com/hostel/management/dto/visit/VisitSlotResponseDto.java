@@ -0,0 +1,22 @@
+package com.hostel.management.dto.visit;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VisitSlotResponseDto {
+
+    private Long id;
+    private LocalDate slotDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private int capacity;
+    private int booked;
+    private int available;
+}
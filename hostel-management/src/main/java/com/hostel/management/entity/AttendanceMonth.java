@@ -0,0 +1,60 @@
+package com.hostel.management.entity;
+
+import com.hostel.management.util.YearMonthConverter;
+import jakarta.persistence.*;
+
+import java.time.YearMonth;
+
+/**
+ * One resident's attendance for one month as three day bitsets: bit {@code d - 1} of
+ * {@code presentDays}, {@code absentDays} or {@code leaveDays} is set when day {@code d} was
+ * marked with that status, and at most one of the three is set for any day. Kept in step with
+ * {@code attendance} by every attendance write, so calendar views and absence thresholds read a
+ * few bytes per resident instead of the attendance rows.
+ */
+@Entity
+@Table(name = "attendance_months",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_months_resident_period",
+                columnNames = {"resident_id", "period"}),
+        indexes = @Index(name = "idx_attendance_months_period", columnList = "period"))
+public class AttendanceMonth {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "resident_id", nullable = false)
+    private Long residentId;
+
+    /** Month, stored as yyyymm. */
+    @Convert(converter = YearMonthConverter.class)
+    @Column(nullable = false)
+    private YearMonth period;
+
+    @Column(nullable = false)
+    private int presentDays;
+
+    @Column(nullable = false)
+    private int absentDays;
+
+    @Column(nullable = false)
+    private int leaveDays;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getResidentId() { return residentId; }
+    public void setResidentId(Long residentId) { this.residentId = residentId; }
+
+    public YearMonth getPeriod() { return period; }
+    public void setPeriod(YearMonth period) { this.period = period; }
+
+    public int getPresentDays() { return presentDays; }
+    public void setPresentDays(int presentDays) { this.presentDays = presentDays; }
+
+    public int getAbsentDays() { return absentDays; }
+    public void setAbsentDays(int absentDays) { this.absentDays = absentDays; }
+
+    public int getLeaveDays() { return leaveDays; }
+    public void setLeaveDays(int leaveDays) { this.leaveDays = leaveDays; }
+}
@@ -6,7 +6,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "cleaning_tasks")
+@Table(name = "cleaning_tasks",
+        indexes = @Index(name = "idx_cleaning_tasks_staff_day", columnList = "assigned_staff, day_of_week"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,6 +22,8 @@ public class CleaningTask {
     @Column(nullable = false)
     private String area;
 
+    private String building;
+
     @Column(nullable = false)
     private String dayOfWeek;
 
@@ -35,6 +38,10 @@ public class CleaningTask {
     /** e.g. "Completed", "Pending", "Skipped" */
     private String completionStatus = "Pending";
 
+    /** True for tasks created by the schedule generator, which a new plan replaces. */
+    @Column(name = "auto_generated")
+    private Boolean autoGenerated;
+
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
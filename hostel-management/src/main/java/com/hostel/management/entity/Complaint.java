@@ -9,7 +9,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "complaints")
+@Table(name = "complaints", indexes = {
+        @Index(name = "idx_complaints_status_id", columnList = "status, id"),
+        @Index(name = "idx_complaints_priority_status", columnList = "priority, status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,6 +40,9 @@ public class Complaint {
     @Column(nullable = false)
     private ComplaintPriority priority = ComplaintPriority.LOW;
 
+    /** When the priority was last set; the SLA window for the current priority runs from here. */
+    private LocalDateTime priorityUpdatedAt;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ComplaintStatus status = ComplaintStatus.PENDING;
@@ -58,6 +64,7 @@ public class Complaint {
         updatedAt = LocalDateTime.now();
         if (status == null) status = ComplaintStatus.PENDING;
         if (priority == null) priority = ComplaintPriority.LOW;
+        if (priorityUpdatedAt == null) priorityUpdatedAt = createdAt;
         if (complaintDate == null) complaintDate = LocalDate.now();
     }
 
@@ -3,15 +3,21 @@ package com.hostel.management.entity;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
+/**
+ * A resident's food preference for one date. Stored only where it differs from the resident's
+ * {@link FoodTemplate} for that day, or where no template applies.
+ */
 @Entity
-@Table(name = "food_preference")
+@Table(name = "food_preference",
+        uniqueConstraints = @UniqueConstraint(name = "uk_food_preference_resident_date",
+                columnNames = {"resident_id", "date"}))
 public class FoodPreference {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "resident_id")
     private Resident resident;
 
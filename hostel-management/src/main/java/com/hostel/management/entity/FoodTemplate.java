@@ -0,0 +1,79 @@
+package com.hostel.management.entity;
+
+import com.hostel.management.util.DayOfWeekConverter;
+import jakarta.persistence.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * One version of a resident's recurring preference for one day of the week. The version with the
+ * latest {@code effectiveFrom} on or before a date applies to that date, unless the resident has a
+ * {@link FoodPreference} row for the date, which then overrides it. An inactive version ends the
+ * recurrence: from its date on only override rows count.
+ */
+@Entity
+@Table(name = "food_templates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_food_templates_resident_day_from",
+                columnNames = {"resident_id", "day_of_week", "effective_from"}),
+        indexes = @Index(name = "idx_food_templates_day_from", columnList = "day_of_week, effective_from"))
+public class FoodTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "resident_id", nullable = false)
+    private Resident resident;
+
+    @Convert(converter = DayOfWeekConverter.class)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    private Boolean breakfast;
+
+    private Boolean lunch;
+
+    private Boolean dinner;
+
+    private String mealType;
+
+    private String specialRequirements;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Resident getResident() { return resident; }
+    public void setResident(Resident resident) { this.resident = resident; }
+
+    public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(DayOfWeek dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+
+    public LocalDate getEffectiveFrom() { return effectiveFrom; }
+    public void setEffectiveFrom(LocalDate effectiveFrom) { this.effectiveFrom = effectiveFrom; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+
+    public Boolean getBreakfast() { return breakfast; }
+    public void setBreakfast(Boolean breakfast) { this.breakfast = breakfast; }
+
+    public Boolean getLunch() { return lunch; }
+    public void setLunch(Boolean lunch) { this.lunch = lunch; }
+
+    public Boolean getDinner() { return dinner; }
+    public void setDinner(Boolean dinner) { this.dinner = dinner; }
+
+    public String getMealType() { return mealType; }
+    public void setMealType(String mealType) { this.mealType = mealType; }
+
+    public String getSpecialRequirements() { return specialRequirements; }
+    public void setSpecialRequirements(String specialRequirements) { this.specialRequirements = specialRequirements; }
+}
@@ -0,0 +1,45 @@
+package com.hostel.management.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A claimed {@code Idempotency-Key} and, once the first request finished, the response to replay.
+ * Only used when the idempotency store is shared through the database.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyKey {
+
+    /** SHA-256 of the caller and the client's key. */
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    /** SHA-256 of the request the key was first used for. */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    /** HTTP status of the stored response; null while the first request is still running. */
+    private Integer responseStatus;
+
+    private String contentType;
+
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,63 @@
+package com.hostel.management.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Per-date part of the kitchen head-count for one date and meal type: what the date's
+ * {@code food_preference} override rows add on top of the recurring counts in
+ * {@link MealTemplateCount} (each override minus the template it replaces, so it may be
+ * negative). Kept in step by applying the difference every preference write makes, so counts are
+ * read instead of recomputed from the preference rows.
+ */
+@Entity
+@Table(name = "meal_counts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_meal_counts_date_type",
+                columnNames = {"count_date", "meal_type"}))
+public class MealCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "count_date", nullable = false)
+    private LocalDate countDate;
+
+    /** Upper-cased meal type, or UNSPECIFIED for preferences without one. */
+    @Column(name = "meal_type", nullable = false)
+    private String mealType;
+
+    @Column(nullable = false)
+    private long breakfast;
+
+    @Column(nullable = false)
+    private long lunch;
+
+    @Column(nullable = false)
+    private long dinner;
+
+    @Column(nullable = false)
+    private long total;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getCountDate() { return countDate; }
+    public void setCountDate(LocalDate countDate) { this.countDate = countDate; }
+
+    public String getMealType() { return mealType; }
+    public void setMealType(String mealType) { this.mealType = mealType; }
+
+    public long getBreakfast() { return breakfast; }
+    public void setBreakfast(long breakfast) { this.breakfast = breakfast; }
+
+    public long getLunch() { return lunch; }
+    public void setLunch(long lunch) { this.lunch = lunch; }
+
+    public long getDinner() { return dinner; }
+    public void setDinner(long dinner) { this.dinner = dinner; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+}
@@ -0,0 +1,72 @@
+package com.hostel.management.entity;
+
+import com.hostel.management.util.DayOfWeekConverter;
+import jakarta.persistence.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Change in the recurring head-count for one day of the week, meal type and start date: the
+ * difference every {@link FoodTemplate} version starting that day makes against the version it
+ * replaces. Summing the rows for a date's day of week with {@code effectiveFrom} on or before the
+ * date gives the head-count the templates contribute to that date; {@link MealCount} adds the
+ * per-date overrides on top.
+ */
+@Entity
+@Table(name = "meal_template_counts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_meal_template_counts_day_from_type",
+                columnNames = {"day_of_week", "effective_from", "meal_type"}))
+public class MealTemplateCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Convert(converter = DayOfWeekConverter.class)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    /** Upper-cased meal type, or UNSPECIFIED for templates without one. */
+    @Column(name = "meal_type", nullable = false)
+    private String mealType;
+
+    @Column(nullable = false)
+    private long breakfast;
+
+    @Column(nullable = false)
+    private long lunch;
+
+    @Column(nullable = false)
+    private long dinner;
+
+    @Column(nullable = false)
+    private long total;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(DayOfWeek dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+
+    public LocalDate getEffectiveFrom() { return effectiveFrom; }
+    public void setEffectiveFrom(LocalDate effectiveFrom) { this.effectiveFrom = effectiveFrom; }
+
+    public String getMealType() { return mealType; }
+    public void setMealType(String mealType) { this.mealType = mealType; }
+
+    public long getBreakfast() { return breakfast; }
+    public void setBreakfast(long breakfast) { this.breakfast = breakfast; }
+
+    public long getLunch() { return lunch; }
+    public void setLunch(long lunch) { this.lunch = lunch; }
+
+    public long getDinner() { return dinner; }
+    public void setDinner(long dinner) { this.dinner = dinner; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+}
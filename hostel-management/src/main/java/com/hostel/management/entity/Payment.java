@@ -2,14 +2,23 @@ package com.hostel.management.entity;
 
 import com.hostel.management.enums.PaymentMethod;
 import com.hostel.management.enums.PaymentStatus;
+import com.hostel.management.util.YearMonthConverter;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments",
+        indexes = {
+                @Index(name = "idx_payments_status_id", columnList = "status, id"),
+                @Index(name = "idx_payments_status_payment_date", columnList = "status, payment_date"),
+                @Index(name = "idx_payments_period_status", columnList = "billing_period, status")
+        },
+        uniqueConstraints = @UniqueConstraint(name = "uk_payments_resident_period",
+                columnNames = {"resident_id", "billing_period"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,9 +34,15 @@ public class Payment {
     @JoinColumn(name = "resident_id", nullable = false)
     private Resident resident;
 
+    /** Display label, e.g. "March 2026". */
     @Column(nullable = false)
     private String month;
 
+    /** Billing period, stored as yyyymm; null only on old rows the backfill could not parse. */
+    @Convert(converter = YearMonthConverter.class)
+    @Column(name = "billing_period")
+    private YearMonth period;
+
     private Double amount = 0.0;
     private Double foodCharge = 0.0;
     private Double lateFee = 0.0;
@@ -40,6 +55,14 @@ public class Payment {
     @Enumerated(EnumType.STRING)
     private PaymentMethod method = PaymentMethod.CASH;
 
+    /**
+     * Room type the resident was in when the payment was recorded, or
+     * {@link PaymentRollup#UNASSIGNED}. Fixed at creation so the payment always stays in the
+     * same rollup bucket, even after the resident moves.
+     */
+    @Column(name = "room_type", updatable = false)
+    private String roomType;
+
     private LocalDate paymentDate;
     private LocalDate paidDate;
 
@@ -0,0 +1,56 @@
+package com.hostel.management.entity;
+
+import com.hostel.management.enums.PaymentMethod;
+import com.hostel.management.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Running payment count and total per (billing period, status, method, room type), kept up to
+ * date by every payment write so revenue analytics read a handful of rows per month instead of
+ * scanning {@code payments}.
+ */
+@Entity
+@Table(name = "payment_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_rollups_bucket",
+                columnNames = {"billing_period", "status", "method", "room_type"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentRollup {
+
+    /** Room type bucket for payments billed while the resident had no room. */
+    public static final String UNASSIGNED = "UNASSIGNED";
+
+    /** Billing period bucket for old payments whose month label could not be given a period. */
+    public static final int UNDATED = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Billing period as yyyymm, the same encoding as {@code payments.billing_period}, or {@link #UNDATED}. */
+    @Column(name = "billing_period", nullable = false)
+    private int billingPeriod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentMethod method;
+
+    @Column(name = "room_type", nullable = false)
+    private String roomType;
+
+    @Column(nullable = false)
+    private long paymentCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+}
@@ -10,7 +10,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "residents")
+@Table(name = "residents", indexes = {
+        @Index(name = "idx_residents_status_id", columnList = "status, id"),
+        @Index(name = "idx_residents_email", columnList = "email"),
+        @Index(name = "idx_residents_course", columnList = "course"),
+        @Index(name = "idx_residents_join_date", columnList = "join_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
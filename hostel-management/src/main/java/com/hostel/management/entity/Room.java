@@ -11,7 +11,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = {
+        @Index(name = "idx_rooms_status_id", columnList = "status, id"),
+        @Index(name = "idx_rooms_room_type", columnList = "room_type")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -8,7 +8,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "visits")
+@Table(name = "visits", indexes = @Index(name = "idx_visits_status_id", columnList = "status, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,6 +35,11 @@ public class Visit {
     private LocalDate visitDate;
     private String visitTime;
 
+    /** Booked tour slot; null for requests that only give a free-form date and time. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "slot_id")
+    private VisitSlot slot;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private VisitStatus status = VisitStatus.NEW;
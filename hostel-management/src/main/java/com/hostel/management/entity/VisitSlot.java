@@ -0,0 +1,52 @@
+package com.hostel.management.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A bookable tour window on one day. {@code booked} counts the visits holding the slot and is
+ * only changed through the conditional updates in
+ * {@link com.hostel.management.repository.VisitSlotRepository}, so it never exceeds {@code capacity}.
+ */
+@Entity
+@Table(name = "visit_slots", uniqueConstraints = @UniqueConstraint(
+        name = "uk_visit_slots_date_start", columnNames = {"slot_date", "start_time"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VisitSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate slotDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(nullable = false)
+    private Integer booked;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (booked == null) booked = 0;
+    }
+}
@@ -0,0 +1,6 @@
+package com.hostel.management.enums;
+
+public enum GateDirection {
+    IN,
+    OUT
+}
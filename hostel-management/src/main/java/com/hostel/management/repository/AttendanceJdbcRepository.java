@@ -0,0 +1,150 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.util.DateUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Plain JDBC access for roll calls, where one upsert per resident through JPA would cost
+ * two selects and a save each.
+ */
+@Repository
+public class AttendanceJdbcRepository {
+
+    /** One resident's attendance to record. Null fields keep what is already stored. */
+    public record RollCallRow(long residentId, String status, String checkInTime, String checkOutTime,
+                              String remarks) {}
+
+    /** A resident's gate activity on one day: earliest check-in and latest check-out, either may be null. */
+    public record GatePresence(long residentId, LocalDate date, String firstIn, String lastOut) {}
+
+    public static final String UNIQUE_KEY = "uk_attendance_resident_date";
+
+    /** Rows per JDBC batch; the driver rewrites each batch into one multi-row INSERT. */
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO attendance (resident_id, date, status, check_in_time, check_out_time, remarks)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                status = COALESCE(VALUES(status), status),
+                check_in_time = COALESCE(VALUES(check_in_time), check_in_time),
+                check_out_time = COALESCE(VALUES(check_out_time), check_out_time),
+                remarks = COALESCE(VALUES(remarks), remarks)
+            """;
+
+    /**
+     * A check-in marks the day PRESENT; a check-out alone only creates the day as PRESENT. Times
+     * only ever widen (earliest in, latest out), so replaying an event changes nothing.
+     */
+    private static final String GATE_PRESENCE_SQL = """
+            INSERT INTO attendance (resident_id, date, status, check_in_time, check_out_time)
+            VALUES (?, ?, 'PRESENT', ?, ?)
+            ON DUPLICATE KEY UPDATE
+                status = IF(VALUES(check_in_time) IS NULL, status, 'PRESENT'),
+                check_in_time = LEAST(COALESCE(check_in_time, VALUES(check_in_time)),
+                                      COALESCE(VALUES(check_in_time), check_in_time)),
+                check_out_time = GREATEST(COALESCE(check_out_time, VALUES(check_out_time)),
+                                          COALESCE(VALUES(check_out_time), check_out_time))
+            """;
+
+    private static final String MARK_DAY_SQL = """
+            INSERT INTO attendance_months (resident_id, period, present_days, absent_days, leave_days)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                present_days = (present_days & ~?) | VALUES(present_days),
+                absent_days = (absent_days & ~?) | VALUES(absent_days),
+                leave_days = (leave_days & ~?) | VALUES(leave_days)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public AttendanceJdbcRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /** Ids among {@code residentIds} that exist. */
+    public List<Long> findExistingResidentIds(Collection<Long> residentIds) {
+        return namedJdbcTemplate.queryForList("SELECT id FROM residents WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", residentIds), Long.class);
+    }
+
+    /**
+     * Inserts or overwrites the attendance of every row for {@code date}, relying on the unique
+     * (resident_id, date) key to turn repeats into updates.
+     */
+    public void upsert(LocalDate date, List<RollCallRow> rows) {
+        Date day = Date.valueOf(date);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.residentId());
+            ps.setDate(2, day);
+            ps.setString(3, row.status());
+            ps.setString(4, row.checkInTime());
+            ps.setString(5, row.checkOutTime());
+            ps.setString(6, row.remarks());
+        });
+    }
+
+    /**
+     * Sets {@code date} in each row's monthly bitsets, batched like {@link #upsert}. Statuses
+     * must already be validated upper-case PRESENT, ABSENT or LEAVE.
+     */
+    public void markDays(LocalDate date, List<RollCallRow> rows) {
+        int period = DateUtil.toYyyymm(YearMonth.from(date));
+        int bit = 1 << (date.getDayOfMonth() - 1);
+        jdbcTemplate.batchUpdate(MARK_DAY_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.residentId());
+            ps.setInt(2, period);
+            ps.setInt(3, "PRESENT".equals(row.status()) ? bit : 0);
+            ps.setInt(4, "ABSENT".equals(row.status()) ? bit : 0);
+            ps.setInt(5, "LEAVE".equals(row.status()) ? bit : 0);
+            ps.setInt(6, bit);
+            ps.setInt(7, bit);
+            ps.setInt(8, bit);
+        });
+    }
+
+    /** Folds gate activity into attendance rows, batched like {@link #upsert}. */
+    public void upsertGatePresence(List<GatePresence> rows) {
+        jdbcTemplate.batchUpdate(GATE_PRESENCE_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.residentId());
+            ps.setDate(2, Date.valueOf(row.date()));
+            ps.setString(3, row.firstIn());
+            ps.setString(4, row.lastOut());
+        });
+    }
+
+    /** True if the unique (resident_id, date) key is in place. */
+    public boolean hasUniqueKey() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'attendance' AND index_name = ?",
+                Integer.class, UNIQUE_KEY);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Removes repeated (resident, date) rows, keeping the most recent one, so the unique key can
+     * be added to a table that predates it.
+     *
+     * @return the number of rows removed
+     */
+    public int deleteDuplicates() {
+        return jdbcTemplate.update("DELETE a FROM attendance a JOIN attendance b "
+                + "ON b.resident_id = a.resident_id AND b.date = a.date AND b.id > a.id");
+    }
+
+    public void addUniqueKey() {
+        jdbcTemplate.execute("ALTER TABLE attendance ADD CONSTRAINT " + UNIQUE_KEY + " UNIQUE (resident_id, date)");
+    }
+}
@@ -0,0 +1,96 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.entity.AttendanceMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains and reads the per-month attendance bitsets. Each write is a single upsert that
+ * clears the day in all three sets and sets it in the new status's set, so rewriting a day
+ * never leaves it in two sets.
+ */
+@Repository
+public interface AttendanceMonthRepository extends JpaRepository<AttendanceMonth, Long> {
+
+    /**
+     * Records one day: {@code bit} is the day's bit, and each of {@code present}, {@code absent}
+     * and {@code leave} is either {@code bit} or 0. All three 0 clears the day.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_months (resident_id, period, present_days, absent_days, leave_days) "
+            + "VALUES (:residentId, :period, :present, :absent, :leave) "
+            + "ON DUPLICATE KEY UPDATE present_days = (present_days & ~:bit) | VALUES(present_days), "
+            + "absent_days = (absent_days & ~:bit) | VALUES(absent_days), "
+            + "leave_days = (leave_days & ~:bit) | VALUES(leave_days)", nativeQuery = true)
+    int markDay(@Param("residentId") Long residentId, @Param("period") int period, @Param("bit") int bit,
+                @Param("present") int present, @Param("absent") int absent, @Param("leave") int leave);
+
+    /**
+     * Recomputes the given residents' bitsets for one month from {@code attendance}, for writes
+     * whose resulting status is decided by the database rather than known up front.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_months (resident_id, period, present_days, absent_days, leave_days) "
+            + "SELECT a.resident_id, :period, "
+            + "BIT_OR(CASE WHEN UPPER(a.status) = 'PRESENT' THEN 1 << (DAY(a.date) - 1) ELSE 0 END), "
+            + "BIT_OR(CASE WHEN UPPER(a.status) = 'ABSENT' THEN 1 << (DAY(a.date) - 1) ELSE 0 END), "
+            + "BIT_OR(CASE WHEN UPPER(a.status) = 'LEAVE' THEN 1 << (DAY(a.date) - 1) ELSE 0 END) "
+            + "FROM attendance a WHERE a.resident_id IN (:residentIds) AND a.date BETWEEN :from AND :to "
+            + "GROUP BY a.resident_id "
+            + "ON DUPLICATE KEY UPDATE present_days = VALUES(present_days), absent_days = VALUES(absent_days), "
+            + "leave_days = VALUES(leave_days)", nativeQuery = true)
+    int recompute(@Param("residentIds") Collection<Long> residentIds, @Param("period") int period,
+                  @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "DELETE FROM attendance_months WHERE resident_id = :residentId", nativeQuery = true)
+    int deleteByResident(@Param("residentId") Long residentId);
+
+    @Modifying
+    @Query(value = "DELETE FROM attendance_months", nativeQuery = true)
+    int deleteAllMonths();
+
+    /**
+     * Recomputes every month from {@code attendance} in one statement. Statuses other than
+     * PRESENT, ABSENT and LEAVE leave their day unmarked.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_months (resident_id, period, present_days, absent_days, leave_days) "
+            + "SELECT a.resident_id, YEAR(a.date) * 100 + MONTH(a.date), "
+            + "BIT_OR(CASE WHEN UPPER(a.status) = 'PRESENT' THEN 1 << (DAY(a.date) - 1) ELSE 0 END), "
+            + "BIT_OR(CASE WHEN UPPER(a.status) = 'ABSENT' THEN 1 << (DAY(a.date) - 1) ELSE 0 END), "
+            + "BIT_OR(CASE WHEN UPPER(a.status) = 'LEAVE' THEN 1 << (DAY(a.date) - 1) ELSE 0 END) "
+            + "FROM attendance a WHERE a.resident_id IS NOT NULL AND a.date IS NOT NULL "
+            + "GROUP BY a.resident_id, YEAR(a.date) * 100 + MONTH(a.date)", nativeQuery = true)
+    int insertAllFromAttendance();
+
+    /** One resident's month as (present, absent, leave) bitsets; empty if nothing was marked. */
+    @Query(value = "SELECT present_days, absent_days, leave_days FROM attendance_months "
+            + "WHERE resident_id = :residentId AND period = :period", nativeQuery = true)
+    List<Object[]> findBitsets(@Param("residentId") Long residentId, @Param("period") int period);
+
+    /**
+     * Every resident with attendance in the month, as (residentId, name, roomNumber, present,
+     * absent, leave) rows ordered by name.
+     */
+    @Query(value = "SELECT m.resident_id, r.name, rm.room_number, m.present_days, m.absent_days, m.leave_days "
+            + "FROM attendance_months m JOIN residents r ON r.id = m.resident_id "
+            + "LEFT JOIN rooms rm ON rm.id = r.room_id "
+            + "WHERE m.period = :period ORDER BY r.name, m.resident_id", nativeQuery = true)
+    List<Object[]> findMatrix(@Param("period") int period);
+
+    /** Same rows as {@link #findMatrix} for residents absent on more than {@code over} days, most absences first. */
+    @Query(value = "SELECT m.resident_id, r.name, rm.room_number, m.present_days, m.absent_days, m.leave_days "
+            + "FROM attendance_months m JOIN residents r ON r.id = m.resident_id "
+            + "LEFT JOIN rooms rm ON rm.id = r.room_id "
+            + "WHERE m.period = :period AND BIT_COUNT(m.absent_days) > :over "
+            + "ORDER BY BIT_COUNT(m.absent_days) DESC, r.name", nativeQuery = true)
+    List<Object[]> findAbsentOver(@Param("period") int period, @Param("over") int over);
+}
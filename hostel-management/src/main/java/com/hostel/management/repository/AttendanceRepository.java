@@ -1,7 +1,12 @@
 package com.hostel.management.repository;
 
+import com.hostel.management.dto.attendance.AttendanceResponseDto;
 import com.hostel.management.entity.Attendance;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -9,8 +14,32 @@ import java.util.List;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<Attendance> findByDate(LocalDate date);
+
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<Attendance> findByResidentId(Long residentId);
+
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<Attendance> findByResidentIdAndDate(Long residentId, LocalDate date);
+
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<Attendance> findByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Keyset page in ascending id order: all attendance records after the cursor id.
+     * Selects straight into the response DTO, so no entities are hydrated or dirty-checked.
+     */
+    @Query("SELECT new com.hostel.management.dto.attendance.AttendanceResponseDto("
+            + "a.id, r.id, r.name, rm.roomNumber, a.date, a.status, a.checkInTime, a.checkOutTime, a.remarks) "
+            + "FROM Attendance a JOIN a.resident r LEFT JOIN r.room rm "
+            + "WHERE a.id > :after ORDER BY a.id ASC")
+    List<AttendanceResponseDto> findPageAsc(@Param("after") long after, Pageable pageable);
+
+    /** Descending counterpart of {@link #findPageAsc}. */
+    @Query("SELECT new com.hostel.management.dto.attendance.AttendanceResponseDto("
+            + "a.id, r.id, r.name, rm.roomNumber, a.date, a.status, a.checkInTime, a.checkOutTime, a.remarks) "
+            + "FROM Attendance a JOIN a.resident r LEFT JOIN r.room rm "
+            + "WHERE a.id < :before ORDER BY a.id DESC")
+    List<AttendanceResponseDto> findPageDesc(@Param("before") long before, Pageable pageable);
 }
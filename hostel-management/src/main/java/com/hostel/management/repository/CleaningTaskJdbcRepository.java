@@ -0,0 +1,50 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.entity.CleaningTask;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC writes for generated cleaning schedules. Task ids are IDENTITY, which stops
+ * Hibernate from batching inserts, so a week's plan would otherwise cost one round trip per visit.
+ */
+@Repository
+public class CleaningTaskJdbcRepository {
+
+    /** Rows per JDBC batch; the driver rewrites each batch into one multi-row INSERT. */
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO cleaning_tasks (area, building, day_of_week, time_slot, assigned_staff,
+                                        completion_status, auto_generated, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CleaningTaskJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Inserts the tasks in batches; ids and timestamps on the passed objects are left unset. */
+    public int insertAll(List<CleaningTask> tasks) {
+        if (tasks.isEmpty()) return 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, tasks, BATCH_SIZE, (ps, t) -> {
+            ps.setString(1, t.getArea());
+            ps.setString(2, t.getBuilding());
+            ps.setString(3, t.getDayOfWeek());
+            ps.setString(4, t.getTimeSlot());
+            ps.setString(5, t.getAssignedStaff());
+            ps.setString(6, t.getCompletionStatus());
+            ps.setBoolean(7, Boolean.TRUE.equals(t.getAutoGenerated()));
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+        return tasks.size();
+    }
+}
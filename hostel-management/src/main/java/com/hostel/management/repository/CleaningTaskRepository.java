@@ -2,6 +2,8 @@ package com.hostel.management.repository;
 
 import com.hostel.management.entity.CleaningTask;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,7 +13,14 @@ public interface CleaningTaskRepository extends JpaRepository<CleaningTask, Long
 
     List<CleaningTask> findByDayOfWeek(String dayOfWeek);
 
-    List<CleaningTask> findByAssignedStaffContainingIgnoreCase(String staff);
+    /** Exact match on the indexed staff column; the column collation already ignores case. */
+    List<CleaningTask> findByAssignedStaff(String staff);
+
+    List<CleaningTask> findByAssignedStaffAndDayOfWeek(String staff, String dayOfWeek);
 
     List<CleaningTask> findByCompletionStatus(String completionStatus);
+
+    @Modifying
+    @Query("DELETE FROM CleaningTask t WHERE t.autoGenerated = true")
+    int deleteGenerated();
 }
@@ -1,20 +1,95 @@
 package com.hostel.management.repository;
 
+import com.hostel.management.dto.complaint.ComplaintResponseDto;
 import com.hostel.management.entity.Complaint;
+import com.hostel.management.enums.ComplaintPriority;
 import com.hostel.management.enums.ComplaintStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
 
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<Complaint> findByResidentId(Long residentId);
 
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<Complaint> findByStatus(ComplaintStatus status);
 
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<Complaint> findByResidentIdAndStatus(Long residentId, ComplaintStatus status);
 
     long countByStatus(ComplaintStatus status);
+
+    /** Complaint counts per status in one round trip, as (status, count) rows. */
+    @Query("SELECT c.status, COUNT(c) FROM Complaint c GROUP BY c.status")
+    List<Object[]> countGroupedByStatus();
+
+    /** Every complaint not yet resolved, as response DTOs; used to load the work queue. */
+    @Query("SELECT new com.hostel.management.dto.complaint.ComplaintResponseDto("
+            + "c.id, r.id, r.name, rm.roomNumber, c.title, c.description, c.category, c.priority, c.status, "
+            + "c.resolution, c.complaintDate, c.resolvedDate, c.createdAt, c.updatedAt) "
+            + "FROM Complaint c JOIN c.resident r LEFT JOIN r.room rm "
+            + "WHERE c.status <> com.hostel.management.enums.ComplaintStatus.RESOLVED")
+    List<ComplaintResponseDto> findOpen();
+
+    /** The given complaints as response DTOs, for re-indexing after a bulk change. */
+    @Query("SELECT new com.hostel.management.dto.complaint.ComplaintResponseDto("
+            + "c.id, r.id, r.name, rm.roomNumber, c.title, c.description, c.category, c.priority, c.status, "
+            + "c.resolution, c.complaintDate, c.resolvedDate, c.createdAt, c.updatedAt) "
+            + "FROM Complaint c JOIN c.resident r LEFT JOIN r.room rm WHERE c.id IN :ids")
+    List<ComplaintResponseDto> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    /** One id-ordered chunk of (id, updatedAt) rows, for checking the search index against the table. */
+    @Query("SELECT c.id, c.updatedAt FROM Complaint c WHERE c.id > :after ORDER BY c.id ASC")
+    List<Object[]> findVersions(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Locks the open complaints that have held {@code priority} since before {@code cutoff}
+     * and returns their ids; served by the (priority, status) index.
+     */
+    @Query(value = "SELECT id FROM complaints WHERE priority = :priority AND status <> 'RESOLVED' "
+            + "AND COALESCE(priority_updated_at, created_at) < :cutoff FOR UPDATE", nativeQuery = true)
+    List<Long> lockSlaBreaches(@Param("priority") String priority, @Param("cutoff") LocalDateTime cutoff);
+
+    /** Raises the given complaints to {@code priority} in one statement and restarts their SLA clock. */
+    @Modifying
+    @Query("UPDATE Complaint c SET c.priority = :priority, c.priorityUpdatedAt = :now, c.updatedAt = :now "
+            + "WHERE c.id IN :ids")
+    int escalate(@Param("ids") Collection<Long> ids, @Param("priority") ComplaintPriority priority,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Complaints filtered by optional resident and status, one keyset page in ascending id order.
+     * Selects straight into the response DTO, so no entities are hydrated or dirty-checked.
+     */
+    @Query("SELECT new com.hostel.management.dto.complaint.ComplaintResponseDto("
+            + "c.id, r.id, r.name, rm.roomNumber, c.title, c.description, c.category, c.priority, c.status, "
+            + "c.resolution, c.complaintDate, c.resolvedDate, c.createdAt, c.updatedAt) "
+            + "FROM Complaint c JOIN c.resident r LEFT JOIN r.room rm "
+            + "WHERE (:residentId IS NULL OR r.id = :residentId) AND (:status IS NULL OR c.status = :status) "
+            + "AND c.id > :after ORDER BY c.id ASC")
+    List<ComplaintResponseDto> findPageAsc(@Param("residentId") Long residentId,
+                                           @Param("status") ComplaintStatus status,
+                                           @Param("after") long after, Pageable pageable);
+
+    /** Descending counterpart of {@link #findPageAsc}. */
+    @Query("SELECT new com.hostel.management.dto.complaint.ComplaintResponseDto("
+            + "c.id, r.id, r.name, rm.roomNumber, c.title, c.description, c.category, c.priority, c.status, "
+            + "c.resolution, c.complaintDate, c.resolvedDate, c.createdAt, c.updatedAt) "
+            + "FROM Complaint c JOIN c.resident r LEFT JOIN r.room rm "
+            + "WHERE (:residentId IS NULL OR r.id = :residentId) AND (:status IS NULL OR c.status = :status) "
+            + "AND c.id < :before ORDER BY c.id DESC")
+    List<ComplaintResponseDto> findPageDesc(@Param("residentId") Long residentId,
+                                            @Param("status") ComplaintStatus status,
+                                            @Param("before") long before, Pageable pageable);
 }
@@ -0,0 +1,197 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.enums.PaymentStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only, streaming reads for the export endpoints. Rows are handed to the consumer as
+ * they arrive from the driver and are never collected, so memory stays flat for any row count.
+ */
+@Repository
+public class ExportJdbcRepository {
+
+    public static final String[] PAYMENT_COLUMNS = {
+            "id", "residentId", "residentName", "roomNumber", "month", "amount", "foodCharge",
+            "lateFee", "total", "status", "method", "paymentDate", "paidDate"};
+
+    public static final String[] ATTENDANCE_COLUMNS = {
+            "id", "residentId", "residentName", "roomNumber", "date", "status",
+            "checkInTime", "checkOutTime", "remarks"};
+
+    public static final String[] FOOD_PREFERENCE_COLUMNS = {
+            "id", "residentId", "residentName", "roomNumber", "date", "breakfast", "lunch",
+            "dinner", "mealType", "specialRequirements"};
+
+    /** Calendar days expanded per food export statement, which keeps the recursion shallow. */
+    private static final int FOOD_CHUNK_DAYS = 31;
+
+    /**
+     * Effective meals for each day in {@code [?, ?]}: stored rows for the range, plus one row per
+     * day where an active template version applies and no stored row overrides it. Mirrors the
+     * resolution behind the kitchen head-counts.
+     */
+    private static final String FOOD_DAYS_SQL = """
+            WITH RECURSIVE export_days (meal_date) AS (
+                SELECT CAST(? AS DATE)
+                UNION ALL
+                SELECT meal_date + INTERVAL 1 DAY FROM export_days WHERE meal_date < ?
+            )
+            SELECT e.id, e.resident_id, e.name, e.room_number, e.meal_date, e.breakfast, e.lunch,
+                   e.dinner, e.meal_type, e.special_requirements
+            FROM (
+                SELECT f.id, r.id AS resident_id, r.name, rm.room_number, f.date AS meal_date,
+                       f.breakfast, f.lunch, f.dinner, f.meal_type, f.special_requirements
+                FROM food_preference f
+                JOIN residents r ON r.id = f.resident_id
+                LEFT JOIN rooms rm ON rm.id = r.room_id
+                WHERE f.date BETWEEN ? AND ?
+                UNION ALL
+                SELECT NULL, r.id, r.name, rm.room_number, d.meal_date,
+                       t.breakfast, t.lunch, t.dinner, t.meal_type, t.special_requirements
+                FROM export_days d
+                JOIN food_templates t ON t.day_of_week = WEEKDAY(d.meal_date) + 1
+                     AND t.effective_from = (SELECT MAX(t2.effective_from) FROM food_templates t2
+                                             WHERE t2.resident_id = t.resident_id AND t2.day_of_week = t.day_of_week
+                                               AND t2.effective_from <= d.meal_date)
+                JOIN residents r ON r.id = t.resident_id
+                LEFT JOIN rooms rm ON rm.id = r.room_id
+                WHERE t.active = 1
+                  AND NOT EXISTS (SELECT 1 FROM food_preference f WHERE f.resident_id = t.resident_id
+                                  AND f.date = d.meal_date)
+            ) e""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Streams payments, optionally filtered by status and a payment-date range, in id order. */
+    public void streamPayments(PaymentStatus status, LocalDate from, LocalDate to, Consumer<Object[]> rows) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT p.id, r.id, r.name, rm.room_number, p.month, p.amount, p.food_charge,
+                       p.late_fee, p.total, p.status, p.method, p.payment_date, p.paid_date
+                FROM payments p
+                JOIN residents r ON r.id = p.resident_id
+                LEFT JOIN rooms rm ON rm.id = r.room_id
+                WHERE 1 = 1""");
+        List<Object> params = new ArrayList<>();
+        if (status != null) {
+            sql.append(" AND p.status = ?");
+            params.add(status.name());
+        }
+        appendDateRange(sql, params, "p.payment_date", from, to);
+        sql.append(" ORDER BY p.id");
+        stream(sql.toString(), params, PAYMENT_COLUMNS.length, rows);
+    }
+
+    /** Streams attendance records, optionally filtered by status and a date range, in id order. */
+    public void streamAttendance(String status, LocalDate from, LocalDate to, Consumer<Object[]> rows) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT a.id, r.id, r.name, rm.room_number, a.date, a.status,
+                       a.check_in_time, a.check_out_time, a.remarks
+                FROM attendance a
+                JOIN residents r ON r.id = a.resident_id
+                LEFT JOIN rooms rm ON rm.id = r.room_id
+                WHERE 1 = 1""");
+        List<Object> params = new ArrayList<>();
+        if (status != null) {
+            sql.append(" AND a.status = ?");
+            params.add(status);
+        }
+        appendDateRange(sql, params, "a.date", from, to);
+        sql.append(" ORDER BY a.id");
+        stream(sql.toString(), params, ATTENDANCE_COLUMNS.length, rows);
+    }
+
+    /**
+     * Streams every resident's effective meals per day, optionally filtered by meal type and a
+     * date range, in date then resident order. A day's meals are the resident's
+     * {@code food_preference} row or, without one, the active template version in force for that
+     * weekday; template days have no id. Without {@code from} the range starts at the earliest
+     * preference row or template version, and without {@code to} it ends at today or the last
+     * preference row, whichever is later. The calendar is expanded {@value #FOOD_CHUNK_DAYS} days
+     * per statement.
+     */
+    public void streamFoodPreferences(String mealType, LocalDate from, LocalDate to, Consumer<Object[]> rows) {
+        LocalDate start = from != null ? from : earliestFoodDate();
+        LocalDate end = to != null ? to : latestFoodDate();
+        if (start == null) return;
+        StringBuilder sql = new StringBuilder(FOOD_DAYS_SQL);
+        if (mealType != null) sql.append(" WHERE e.meal_type = ?");
+        sql.append(" ORDER BY e.meal_date, e.resident_id");
+
+        for (LocalDate chunkStart = start; !chunkStart.isAfter(end); chunkStart = chunkStart.plusDays(FOOD_CHUNK_DAYS)) {
+            LocalDate chunkEnd = chunkStart.plusDays(FOOD_CHUNK_DAYS - 1);
+            if (chunkEnd.isAfter(end)) chunkEnd = end;
+            Date first = Date.valueOf(chunkStart);
+            Date last = Date.valueOf(chunkEnd);
+            List<Object> params = new ArrayList<>(List.of(first, last, first, last));
+            if (mealType != null) params.add(mealType);
+            stream(sql.toString(), params, FOOD_PREFERENCE_COLUMNS.length, rows);
+        }
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    /** Earliest stored preference date or active template start, or null if there is neither. */
+    private LocalDate earliestFoodDate() {
+        LocalDate row = jdbcTemplate.queryForObject("SELECT MIN(date) FROM food_preference", LocalDate.class);
+        LocalDate template = jdbcTemplate.queryForObject(
+                "SELECT MIN(effective_from) FROM food_templates WHERE active = 1", LocalDate.class);
+        if (row == null) return template;
+        return template != null && template.isBefore(row) ? template : row;
+    }
+
+    private LocalDate latestFoodDate() {
+        LocalDate last = jdbcTemplate.queryForObject("SELECT MAX(date) FROM food_preference", LocalDate.class);
+        LocalDate today = LocalDate.now();
+        return last != null && last.isAfter(today) ? last : today;
+    }
+
+    private static void appendDateRange(StringBuilder sql, List<Object> params, String column,
+                                        LocalDate from, LocalDate to) {
+        if (from != null) {
+            sql.append(" AND ").append(column).append(" >= ?");
+            params.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND ").append(column).append(" <= ?");
+            params.add(Date.valueOf(to));
+        }
+    }
+
+    /**
+     * Runs the query on a forward-only, read-only statement with fetch size
+     * {@link Integer#MIN_VALUE}, which makes MySQL Connector/J stream rows instead of
+     * buffering the whole result set.
+     */
+    private void stream(String sql, List<Object> params, int columnCount, Consumer<Object[]> rows) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            Object[] values = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                Object value = rs.getObject(i + 1);
+                values[i] = value instanceof Date date ? date.toLocalDate() : value;
+            }
+            rows.accept(values);
+        });
+    }
+}
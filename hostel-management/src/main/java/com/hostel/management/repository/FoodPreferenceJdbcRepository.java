@@ -0,0 +1,42 @@
+package com.hostel.management.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Schema upkeep for {@code food_preference} that JPA schema update cannot do on its own.
+ */
+@Repository
+public class FoodPreferenceJdbcRepository {
+
+    public static final String UNIQUE_KEY = "uk_food_preference_resident_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FoodPreferenceJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean hasUniqueKey() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'food_preference' AND index_name = ?",
+                Integer.class, UNIQUE_KEY);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Removes repeated (resident, date) rows, keeping the most recent one, so the unique key can
+     * be added to a table that predates it.
+     *
+     * @return the number of rows removed
+     */
+    public int deleteDuplicates() {
+        return jdbcTemplate.update("DELETE a FROM food_preference a JOIN food_preference b "
+                + "ON b.resident_id = a.resident_id AND b.date = a.date AND b.id > a.id");
+    }
+
+    public void addUniqueKey() {
+        jdbcTemplate.execute("ALTER TABLE food_preference ADD CONSTRAINT " + UNIQUE_KEY + " UNIQUE (resident_id, date)");
+    }
+}
@@ -1,7 +1,12 @@
 package com.hostel.management.repository;
 
+import com.hostel.management.dto.food.FoodPreferenceResponseDto;
 import com.hostel.management.entity.FoodPreference;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -10,8 +15,45 @@ import java.util.Optional;
 
 @Repository
 public interface FoodPreferenceRepository extends JpaRepository<FoodPreference, Long> {
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<FoodPreference> findByDate(LocalDate date);
+
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<FoodPreference> findByResidentId(Long residentId);
+
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     Optional<FoodPreference> findByResidentIdAndDate(Long residentId, LocalDate date);
+
+    @Query("SELECT f.resident.id FROM FoodPreference f WHERE f.id = :id")
+    Optional<Long> findResidentIdById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<FoodPreference> findByDateBetween(LocalDate startDate, LocalDate endDate);
+
+    List<FoodPreference> findByResidentIdAndDateGreaterThanEqual(Long residentId, LocalDate from);
+
+    List<FoodPreference> findByResidentIdOrderByDateAsc(Long residentId);
+
+    /** Ids of residents with at least one row after the cursor id, ascending, for chunked walks. */
+    @Query("SELECT DISTINCT f.resident.id FROM FoodPreference f WHERE f.resident.id > :after ORDER BY f.resident.id")
+    List<Long> findResidentIdsAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Keyset page in ascending id order: all food preferences after the cursor id.
+     * Selects straight into the response DTO, so no entities are hydrated or dirty-checked.
+     */
+    @Query("SELECT new com.hostel.management.dto.food.FoodPreferenceResponseDto("
+            + "f.id, r.id, r.name, rm.roomNumber, f.date, f.breakfast, f.lunch, f.dinner, f.mealType, "
+            + "f.specialRequirements) "
+            + "FROM FoodPreference f JOIN f.resident r LEFT JOIN r.room rm "
+            + "WHERE f.id > :after ORDER BY f.id ASC")
+    List<FoodPreferenceResponseDto> findPageAsc(@Param("after") long after, Pageable pageable);
+
+    /** Descending counterpart of {@link #findPageAsc}. */
+    @Query("SELECT new com.hostel.management.dto.food.FoodPreferenceResponseDto("
+            + "f.id, r.id, r.name, rm.roomNumber, f.date, f.breakfast, f.lunch, f.dinner, f.mealType, "
+            + "f.specialRequirements) "
+            + "FROM FoodPreference f JOIN f.resident r LEFT JOIN r.room rm "
+            + "WHERE f.id < :before ORDER BY f.id DESC")
+    List<FoodPreferenceResponseDto> findPageDesc(@Param("before") long before, Pageable pageable);
 }
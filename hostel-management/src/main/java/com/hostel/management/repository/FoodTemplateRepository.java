@@ -0,0 +1,47 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.entity.FoodTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FoodTemplateRepository extends JpaRepository<FoodTemplate, Long> {
+
+    Optional<FoodTemplate> findFirstByResidentIdAndDayOfWeekOrderByEffectiveFromDesc(Long residentId, DayOfWeek dayOfWeek);
+
+    Optional<FoodTemplate> findFirstByResidentIdAndDayOfWeekAndEffectiveFromLessThanEqualOrderByEffectiveFromDesc(
+            Long residentId, DayOfWeek dayOfWeek, LocalDate date);
+
+    List<FoodTemplate> findByResidentIdOrderByDayOfWeekAscEffectiveFromAsc(Long residentId);
+
+    boolean existsByResidentId(Long residentId);
+
+    /** The resident's newest version for the day of week, whatever its start date. */
+    default Optional<FoodTemplate> findLatest(Long residentId, DayOfWeek dayOfWeek) {
+        return findFirstByResidentIdAndDayOfWeekOrderByEffectiveFromDesc(residentId, dayOfWeek);
+    }
+
+    /** The resident's version that applies to the date, active or not; empty if none has started. */
+    default Optional<FoodTemplate> findEffective(Long residentId, LocalDate date) {
+        return findFirstByResidentIdAndDayOfWeekAndEffectiveFromLessThanEqualOrderByEffectiveFromDesc(
+                residentId, date.getDayOfWeek(), date);
+    }
+
+    /**
+     * Every active version that applies to the date for a resident without an override row on
+     * that date, i.e. the date's preferences that come from templates alone.
+     */
+    @Query("SELECT t FROM FoodTemplate t JOIN FETCH t.resident r LEFT JOIN FETCH r.room "
+            + "WHERE t.dayOfWeek = :day AND t.active = true "
+            + "AND t.effectiveFrom = (SELECT MAX(t2.effectiveFrom) FROM FoodTemplate t2 "
+            + "WHERE t2.resident = t.resident AND t2.dayOfWeek = :day AND t2.effectiveFrom <= :date) "
+            + "AND NOT EXISTS (SELECT f.id FROM FoodPreference f WHERE f.resident = t.resident AND f.date = :date)")
+    List<FoodTemplate> findUnoverriddenForDate(@Param("day") DayOfWeek day, @Param("date") LocalDate date);
+}
@@ -0,0 +1,39 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /** Claims a key; returns 1 if this call inserted it, 0 if it was already held. */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO idempotency_keys (key_hash, fingerprint, created_at, expires_at) "
+            + "VALUES (:keyHash, :fingerprint, :createdAt, :expiresAt)", nativeQuery = true)
+    int insertIfAbsent(@Param("keyHash") String keyHash, @Param("fingerprint") String fingerprint,
+                       @Param("createdAt") LocalDateTime createdAt, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.responseStatus = :status, k.contentType = :contentType, "
+            + "k.responseBody = :body WHERE k.keyHash = :keyHash")
+    int saveResponse(@Param("keyHash") String keyHash, @Param("status") int status,
+                     @Param("contentType") String contentType, @Param("body") byte[] body);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.keyHash = :keyHash")
+    int deleteByKeyHash(@Param("keyHash") String keyHash);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.keyHash = :keyHash AND k.expiresAt < :now")
+    int deleteIfExpired(@Param("keyHash") String keyHash, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,79 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.dto.food.MealCountDto;
+import com.hostel.management.entity.MealCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Maintains and reads the per-date part of the kitchen head-counts (see {@link MealCount}). Writes are deltas applied by a single upsert,
+ * so concurrent preference changes for the same date add up instead of overwriting each other.
+ */
+@Repository
+public interface MealCountRepository extends JpaRepository<MealCount, Long> {
+
+    /** Adds the given (possibly negative) deltas to one date and meal type, creating the row if needed. */
+    @Modifying
+    @Query(value = "INSERT INTO meal_counts (count_date, meal_type, breakfast, lunch, dinner, total) "
+            + "VALUES (:date, :mealType, :breakfast, :lunch, :dinner, :total) "
+            + "ON DUPLICATE KEY UPDATE breakfast = breakfast + VALUES(breakfast), "
+            + "lunch = lunch + VALUES(lunch), dinner = dinner + VALUES(dinner), "
+            + "total = total + VALUES(total)", nativeQuery = true)
+    int applyDelta(@Param("date") LocalDate date, @Param("mealType") String mealType,
+                   @Param("breakfast") int breakfast, @Param("lunch") int lunch,
+                   @Param("dinner") int dinner, @Param("total") int total);
+
+    /** Counts for every date in {@code [from, to]}, ordered by date then meal type. */
+    @Query("SELECT new com.hostel.management.dto.food.MealCountDto("
+            + "m.countDate, m.mealType, m.breakfast, m.lunch, m.dinner, m.total) "
+            + "FROM MealCount m WHERE m.countDate BETWEEN :from AND :to "
+            + "ORDER BY m.countDate, m.mealType")
+    List<MealCountDto> findRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** Counts for {@code from} and every later date. */
+    @Query("SELECT new com.hostel.management.dto.food.MealCountDto("
+            + "m.countDate, m.mealType, m.breakfast, m.lunch, m.dinner, m.total) "
+            + "FROM MealCount m WHERE m.countDate >= :from")
+    List<MealCountDto> findFrom(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = "DELETE FROM meal_counts", nativeQuery = true)
+    int deleteAllCounts();
+
+    /**
+     * Recomputes every count from {@code food_preference} in one statement: each override row
+     * adds its own meals and takes away those of the active template version it replaces.
+     * Meal types are normalised the same way the service does.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO meal_counts (count_date, meal_type, breakfast, lunch, dinner, total) "
+            + "SELECT d.count_date, d.meal_type, "
+            + "SUM(d.breakfast), SUM(d.lunch), SUM(d.dinner), SUM(d.total) FROM ("
+            + "SELECT f.date AS count_date, "
+            + "COALESCE(NULLIF(UPPER(TRIM(f.meal_type)), ''), 'UNSPECIFIED') AS meal_type, "
+            + "CASE WHEN f.breakfast = 1 THEN 1 ELSE 0 END AS breakfast, "
+            + "CASE WHEN f.lunch = 1 THEN 1 ELSE 0 END AS lunch, "
+            + "CASE WHEN f.dinner = 1 THEN 1 ELSE 0 END AS dinner, 1 AS total "
+            + "FROM food_preference f WHERE f.date IS NOT NULL "
+            + "UNION ALL "
+            + "SELECT f.date, COALESCE(NULLIF(UPPER(TRIM(t.meal_type)), ''), 'UNSPECIFIED'), "
+            + "CASE WHEN t.breakfast = 1 THEN -1 ELSE 0 END, "
+            + "CASE WHEN t.lunch = 1 THEN -1 ELSE 0 END, "
+            + "CASE WHEN t.dinner = 1 THEN -1 ELSE 0 END, -1 "
+            + "FROM food_preference f JOIN food_templates t ON t.resident_id = f.resident_id "
+            + "AND t.day_of_week = WEEKDAY(f.date) + 1 "
+            + "AND t.effective_from = (SELECT MAX(t2.effective_from) FROM food_templates t2 "
+            + "WHERE t2.resident_id = f.resident_id AND t2.day_of_week = t.day_of_week "
+            + "AND t2.effective_from <= f.date) "
+            + "WHERE t.active = 1"
+            + ") d GROUP BY d.count_date, d.meal_type "
+            + "HAVING SUM(d.breakfast) <> 0 OR SUM(d.lunch) <> 0 OR SUM(d.dinner) <> 0 OR SUM(d.total) <> 0",
+            nativeQuery = true)
+    int insertAllFromPreferences();
+}
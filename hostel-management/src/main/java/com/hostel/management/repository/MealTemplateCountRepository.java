@@ -0,0 +1,66 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.entity.MealTemplateCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Maintains and reads the recurring head-count deltas contributed by food templates. Like
+ * {@link MealCountRepository}, writes are deltas applied by a single upsert.
+ */
+@Repository
+public interface MealTemplateCountRepository extends JpaRepository<MealTemplateCount, Long> {
+
+    /** Adds the given (possibly negative) deltas to one day of week, start date and meal type. */
+    @Modifying
+    @Query(value = "INSERT INTO meal_template_counts (day_of_week, effective_from, meal_type, breakfast, lunch, dinner, total) "
+            + "VALUES (:day, :from, :mealType, :breakfast, :lunch, :dinner, :total) "
+            + "ON DUPLICATE KEY UPDATE breakfast = breakfast + VALUES(breakfast), "
+            + "lunch = lunch + VALUES(lunch), dinner = dinner + VALUES(dinner), "
+            + "total = total + VALUES(total)", nativeQuery = true)
+    int applyDelta(@Param("day") int day, @Param("from") LocalDate from, @Param("mealType") String mealType,
+                   @Param("breakfast") int breakfast, @Param("lunch") int lunch,
+                   @Param("dinner") int dinner, @Param("total") int total);
+
+    /** Every delta that has started by {@code date}; summing them per day of week gives that date's recurring counts. */
+    List<MealTemplateCount> findByEffectiveFromLessThanEqual(LocalDate date);
+
+    @Modifying
+    @Query(value = "DELETE FROM meal_template_counts", nativeQuery = true)
+    int deleteAllCounts();
+
+    /**
+     * Recomputes every delta from {@code food_templates} in one statement: each active version
+     * adds its meals from its own start date and takes them away again from the start of the
+     * resident's next version for that day. Meal types are normalised the same way the service does.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO meal_template_counts (day_of_week, effective_from, meal_type, breakfast, lunch, dinner, total) "
+            + "SELECT d.day_of_week, d.effective_from, d.meal_type, "
+            + "SUM(d.breakfast), SUM(d.lunch), SUM(d.dinner), SUM(d.total) FROM ("
+            + "SELECT t.day_of_week, t.effective_from, "
+            + "COALESCE(NULLIF(UPPER(TRIM(t.meal_type)), ''), 'UNSPECIFIED') AS meal_type, "
+            + "CASE WHEN t.breakfast = 1 THEN 1 ELSE 0 END AS breakfast, "
+            + "CASE WHEN t.lunch = 1 THEN 1 ELSE 0 END AS lunch, "
+            + "CASE WHEN t.dinner = 1 THEN 1 ELSE 0 END AS dinner, 1 AS total "
+            + "FROM food_templates t WHERE t.active = 1 "
+            + "UNION ALL "
+            + "SELECT v.day_of_week, v.next_from, "
+            + "COALESCE(NULLIF(UPPER(TRIM(v.meal_type)), ''), 'UNSPECIFIED'), "
+            + "CASE WHEN v.breakfast = 1 THEN -1 ELSE 0 END, "
+            + "CASE WHEN v.lunch = 1 THEN -1 ELSE 0 END, "
+            + "CASE WHEN v.dinner = 1 THEN -1 ELSE 0 END, -1 "
+            + "FROM (SELECT t.*, LEAD(t.effective_from) OVER "
+            + "(PARTITION BY t.resident_id, t.day_of_week ORDER BY t.effective_from) AS next_from "
+            + "FROM food_templates t) v WHERE v.active = 1 AND v.next_from IS NOT NULL"
+            + ") d GROUP BY d.day_of_week, d.effective_from, d.meal_type "
+            + "HAVING SUM(d.breakfast) <> 0 OR SUM(d.lunch) <> 0 OR SUM(d.dinner) <> 0 OR SUM(d.total) <> 0",
+            nativeQuery = true)
+    int insertAllFromTemplates();
+}
@@ -0,0 +1,128 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.util.DateUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Plain JDBC access for bulk payment work, where loading and saving entities one by one
+ * would dominate the cost.
+ */
+@Repository
+public class PaymentJdbcRepository {
+
+    /** An ACTIVE resident with no payment yet for the month, with what they owe for it. */
+    public record BillableResident(long residentId, String roomType, double rent,
+                                   int breakfasts, int lunches, int dinners) {}
+
+    /** One payment row to insert for a billing run. */
+    public record NewCharge(long residentId, String roomType, double amount, double foodCharge) {}
+
+    /**
+     * A day's meals are the resident's {@code food_preference} row for it or, without one, the
+     * active template version in force for that weekday, the same resolution the kitchen
+     * head-counts use. Templates are expanded over the month's calendar, which the recursive
+     * {@code month_days} builds; only the chunk of residents being billed is expanded.
+     */
+    private static final String BILLABLE_RESIDENTS_SQL = """
+            WITH RECURSIVE month_days (meal_date) AS (
+                SELECT CAST(? AS DATE)
+                UNION ALL
+                SELECT meal_date + INTERVAL 1 DAY FROM month_days WHERE meal_date < ?
+            ),
+            billable AS (
+                SELECT r.id, r.room_id
+                FROM residents r
+                WHERE r.status = 'ACTIVE'
+                  AND r.id > ?
+                  AND NOT EXISTS (SELECT 1 FROM payments p WHERE p.resident_id = r.id AND p.billing_period = ?)
+                ORDER BY r.id
+                LIMIT ?
+            ),
+            meals AS (
+                SELECT f.resident_id, f.breakfast, f.lunch, f.dinner
+                FROM billable b
+                JOIN food_preference f ON f.resident_id = b.id AND f.date BETWEEN ? AND ?
+                UNION ALL
+                SELECT t.resident_id, t.breakfast, t.lunch, t.dinner
+                FROM billable b
+                CROSS JOIN month_days d
+                JOIN food_templates t ON t.resident_id = b.id
+                     AND t.day_of_week = WEEKDAY(d.meal_date) + 1
+                     AND t.effective_from = (SELECT MAX(t2.effective_from) FROM food_templates t2
+                                             WHERE t2.resident_id = b.id AND t2.day_of_week = t.day_of_week
+                                               AND t2.effective_from <= d.meal_date)
+                WHERE t.active = 1
+                  AND NOT EXISTS (SELECT 1 FROM food_preference f WHERE f.resident_id = b.id AND f.date = d.meal_date)
+            )
+            SELECT b.id,
+                   COALESCE(rm.room_type, 'UNASSIGNED'),
+                   COALESCE(rm.price_per_month, 0),
+                   COUNT(CASE WHEN m.breakfast = 1 THEN 1 END),
+                   COUNT(CASE WHEN m.lunch = 1 THEN 1 END),
+                   COUNT(CASE WHEN m.dinner = 1 THEN 1 END)
+            FROM billable b
+            LEFT JOIN rooms rm ON rm.id = b.room_id
+            LEFT JOIN meals m ON m.resident_id = b.id
+            GROUP BY b.id, rm.room_type, rm.price_per_month
+            ORDER BY b.id
+            """;
+
+    private static final String INSERT_PENDING_SQL = """
+            INSERT INTO payments
+                (resident_id, month, billing_period, room_type, amount, food_charge, late_fee, total,
+                 status, method, payment_date, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, 0, ?, 'PENDING', 'CASH', ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Next chunk of ACTIVE residents, in id order after {@code afterResidentId}, who have no
+     * payment for {@code period} yet, with their room rent and meal opt-in counts for the month,
+     * counting template meals as well as stored preference rows.
+     */
+    public List<BillableResident> findBillableResidents(YearMonth period, long afterResidentId, int limit) {
+        return jdbcTemplate.query(BILLABLE_RESIDENTS_SQL,
+                (rs, rowNum) -> new BillableResident(rs.getLong(1), rs.getString(2), rs.getDouble(3),
+                        rs.getInt(4), rs.getInt(5), rs.getInt(6)),
+                Date.valueOf(period.atDay(1)), Date.valueOf(period.atEndOfMonth()), afterResidentId,
+                DateUtil.toYyyymm(period), limit,
+                Date.valueOf(period.atDay(1)), Date.valueOf(period.atEndOfMonth()));
+    }
+
+    /**
+     * Inserts PENDING payments in one JDBC batch. Either every row is inserted or, if one would
+     * duplicate an existing (resident, period) payment, the batch fails with a
+     * {@link org.springframework.dao.DuplicateKeyException} and the caller's transaction rolls
+     * back, so callers always know exactly which rows exist.
+     */
+    public void insertPendingPayments(YearMonth period, LocalDate paymentDate, List<NewCharge> charges) {
+        String month = DateUtil.formatMonth(period);
+        int yyyymm = DateUtil.toYyyymm(period);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PENDING_SQL, charges, charges.size(), (ps, c) -> {
+            ps.setLong(1, c.residentId());
+            ps.setString(2, month);
+            ps.setInt(3, yyyymm);
+            ps.setString(4, c.roomType());
+            ps.setDouble(5, c.amount());
+            ps.setDouble(6, c.foodCharge());
+            ps.setDouble(7, c.amount() + c.foodCharge());
+            ps.setDate(8, Date.valueOf(paymentDate));
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        });
+    }
+}
@@ -1,27 +1,131 @@
 package com.hostel.management.repository;
 
+import com.hostel.management.dto.payment.PaymentResponseDto;
 import com.hostel.management.entity.Payment;
+import com.hostel.management.enums.PaymentMethod;
 import com.hostel.management.enums.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<Payment> findByResidentId(Long residentId);
 
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<Payment> findByStatus(PaymentStatus status);
 
+    @EntityGraph(attributePaths = {"resident", "resident.room"})
     List<Payment> findByResidentIdAndStatus(Long residentId, PaymentStatus status);
 
     boolean existsByResidentIdAndMonth(Long residentId, String month);
 
+    boolean existsByResidentIdAndPeriod(Long residentId, YearMonth period);
+
     @Query("SELECT COALESCE(SUM(p.total), 0) FROM Payment p WHERE p.status = :status")
     Double sumTotalByStatus(@Param("status") PaymentStatus status);
 
     long countByStatus(PaymentStatus status);
+
+    /** Loads a payment holding a row lock, so its rollup bucket cannot change until the transaction ends. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.id = :id")
+    Optional<Payment> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Locks up to {@code limit} PENDING payments dated before {@code dueBefore} and returns their
+     * ids; served by the (status, payment_date) index.
+     */
+    @Query(value = "SELECT id FROM payments WHERE status = 'PENDING' AND payment_date < :dueBefore "
+            + "LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Long> lockOverdueIds(@Param("dueBefore") LocalDate dueBefore, @Param("limit") int limit);
+
+    /**
+     * Marks the given payments LATE and applies the late-fee policy ({@code flatFee} plus
+     * {@code rate} times amount and food charge) unless a late fee was already set by hand.
+     * Payments no longer PENDING are left alone. MySQL applies SET assignments left to right,
+     * so {@code total} is computed from the new late fee.
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET "
+            + "p.lateFee = CASE WHEN COALESCE(p.lateFee, 0) > 0 THEN p.lateFee "
+            + "ELSE :flatFee + (COALESCE(p.amount, 0) + COALESCE(p.foodCharge, 0)) * :rate END, "
+            + "p.total = COALESCE(p.amount, 0) + COALESCE(p.foodCharge, 0) + p.lateFee, "
+            + "p.status = com.hostel.management.enums.PaymentStatus.LATE, "
+            + "p.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE p.id IN :ids AND p.status = com.hostel.management.enums.PaymentStatus.PENDING")
+    int markLate(@Param("ids") Collection<Long> ids, @Param("flatFee") double flatFee, @Param("rate") double rate);
+
+    /** Locks up to {@code limit} of a resident's PENDING payments, as (id, total) rows. */
+    @Query(value = "SELECT id, total FROM payments WHERE resident_id = :residentId AND status = 'PENDING' "
+            + "LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockPendingByResident(@Param("residentId") Long residentId, @Param("limit") int limit);
+
+    /** Locks up to {@code limit} PENDING payments for a yyyymm billing period, as (id, total) rows. */
+    @Query(value = "SELECT id, total FROM payments WHERE billing_period = :period AND status = 'PENDING' "
+            + "LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockPendingByPeriod(@Param("period") int period, @Param("limit") int limit);
+
+    /**
+     * Locks the next {@code limit} payments, in id order after {@code after}, that have no billing
+     * period yet, as (id, residentId, month) rows.
+     */
+    @Query(value = "SELECT id, resident_id, month FROM payments WHERE billing_period IS NULL AND id > :after "
+            + "ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockWithoutPeriod(@Param("after") long after, @Param("limit") int limit);
+
+    /** Sets a payment's billing period and rewrites its label in the canonical form. */
+    @Modifying
+    @Query("UPDATE Payment p SET p.period = :period, p.month = :month WHERE p.id = :id")
+    int setPeriod(@Param("id") Long id, @Param("period") YearMonth period, @Param("month") String month);
+
+    /** Marks the given PENDING payments paid in one statement. */
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = com.hostel.management.enums.PaymentStatus.PAID, "
+            + "p.method = :method, p.paidDate = :paidDate, p.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE p.id IN :ids AND p.status = com.hostel.management.enums.PaymentStatus.PENDING")
+    int markPaid(@Param("ids") Collection<Long> ids, @Param("method") PaymentMethod method,
+                 @Param("paidDate") LocalDate paidDate);
+
+    /**
+     * Payments filtered by optional resident, status and billing period range, one keyset page in
+     * ascending id order.
+     * Selects straight into the response DTO, so no entities are hydrated or dirty-checked.
+     */
+    @Query("SELECT new com.hostel.management.dto.payment.PaymentResponseDto("
+            + "p.id, r.id, r.name, rm.roomNumber, p.month, p.period, p.amount, p.foodCharge, p.lateFee, p.total, "
+            + "p.status, p.method, p.paymentDate, p.paidDate, p.createdAt, p.updatedAt) "
+            + "FROM Payment p JOIN p.resident r LEFT JOIN r.room rm "
+            + "WHERE (:residentId IS NULL OR r.id = :residentId) AND (:status IS NULL OR p.status = :status) "
+            + "AND (:from IS NULL OR p.period >= :from) AND (:to IS NULL OR p.period <= :to) "
+            + "AND p.id > :after ORDER BY p.id ASC")
+    List<PaymentResponseDto> findPageAsc(@Param("residentId") Long residentId, @Param("status") PaymentStatus status,
+                                         @Param("from") YearMonth from, @Param("to") YearMonth to,
+                                         @Param("after") long after, Pageable pageable);
+
+    /** Descending counterpart of {@link #findPageAsc}. */
+    @Query("SELECT new com.hostel.management.dto.payment.PaymentResponseDto("
+            + "p.id, r.id, r.name, rm.roomNumber, p.month, p.period, p.amount, p.foodCharge, p.lateFee, p.total, "
+            + "p.status, p.method, p.paymentDate, p.paidDate, p.createdAt, p.updatedAt) "
+            + "FROM Payment p JOIN p.resident r LEFT JOIN r.room rm "
+            + "WHERE (:residentId IS NULL OR r.id = :residentId) AND (:status IS NULL OR p.status = :status) "
+            + "AND (:from IS NULL OR p.period >= :from) AND (:to IS NULL OR p.period <= :to) "
+            + "AND p.id < :before ORDER BY p.id DESC")
+    List<PaymentResponseDto> findPageDesc(@Param("residentId") Long residentId, @Param("status") PaymentStatus status,
+                                          @Param("from") YearMonth from, @Param("to") YearMonth to,
+                                          @Param("before") long before, Pageable pageable);
 }
@@ -0,0 +1,104 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.entity.PaymentRollup;
+import com.hostel.management.enums.PaymentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains and reads the payment rollup. Deltas are applied with MySQL upserts, so concurrent
+ * writers to the same bucket only contend on that one row, and only until they commit.
+ */
+@Repository
+public interface PaymentRollupRepository extends JpaRepository<PaymentRollup, Long> {
+
+    /**
+     * Adds {@code count} and {@code amount} (either may be negative) to one bucket. Payments without
+     * a billing period go to {@link com.hostel.management.entity.PaymentRollup#UNDATED}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payment_rollups (billing_period, status, method, room_type, payment_count, total_amount) "
+            + "VALUES (:period, :status, :method, :roomType, :count, :amount) "
+            + "ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), "
+            + "total_amount = total_amount + VALUES(total_amount)", nativeQuery = true)
+    int applyDelta(@Param("period") int period, @Param("status") String status, @Param("method") String method,
+                   @Param("roomType") String roomType, @Param("count") long count, @Param("amount") BigDecimal amount);
+
+    /**
+     * Adds ({@code sign} = 1) or removes ({@code sign} = -1) the current state of the given
+     * payments. Callers must hold row locks on them so the state cannot change in between.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payment_rollups (billing_period, status, method, room_type, payment_count, total_amount) "
+            + "SELECT COALESCE(p.billing_period, 0), p.status, COALESCE(p.method, 'CASH'), COALESCE(p.room_type, 'UNASSIGNED'), "
+            + ":sign * COUNT(*), :sign * COALESCE(SUM(p.total), 0) FROM payments p WHERE p.id IN (:ids) "
+            + "GROUP BY COALESCE(p.billing_period, 0), p.status, COALESCE(p.method, 'CASH'), COALESCE(p.room_type, 'UNASSIGNED') "
+            + "ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), "
+            + "total_amount = total_amount + VALUES(total_amount)", nativeQuery = true)
+    int applyForPayments(@Param("ids") Collection<Long> ids, @Param("sign") int sign);
+
+    /** Same as {@link #applyForPayments} for every payment of one resident. */
+    @Modifying
+    @Query(value = "INSERT INTO payment_rollups (billing_period, status, method, room_type, payment_count, total_amount) "
+            + "SELECT COALESCE(p.billing_period, 0), p.status, COALESCE(p.method, 'CASH'), COALESCE(p.room_type, 'UNASSIGNED'), "
+            + ":sign * COUNT(*), :sign * COALESCE(SUM(p.total), 0) FROM payments p WHERE p.resident_id = :residentId "
+            + "GROUP BY COALESCE(p.billing_period, 0), p.status, COALESCE(p.method, 'CASH'), COALESCE(p.room_type, 'UNASSIGNED') "
+            + "ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), "
+            + "total_amount = total_amount + VALUES(total_amount)", nativeQuery = true)
+    int applyForResident(@Param("residentId") Long residentId, @Param("sign") int sign);
+
+    /** Stamps payments recorded before room types were tracked with the resident's current room type. */
+    @Modifying
+    @Query(value = "UPDATE payments p JOIN residents r ON r.id = p.resident_id "
+            + "LEFT JOIN rooms rm ON rm.id = r.room_id "
+            + "SET p.room_type = COALESCE(rm.room_type, 'UNASSIGNED') WHERE p.room_type IS NULL", nativeQuery = true)
+    int backfillPaymentRoomTypes();
+
+    @Modifying
+    @Query(value = "DELETE FROM payment_rollups", nativeQuery = true)
+    int deleteAllBuckets();
+
+    /**
+     * Recomputes every bucket from {@code payments} in one statement. INSERT ... SELECT takes
+     * shared locks on the rows it reads, so payment writes wait for the rebuild to commit.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payment_rollups (billing_period, status, method, room_type, payment_count, total_amount) "
+            + "SELECT COALESCE(p.billing_period, 0), p.status, COALESCE(p.method, 'CASH'), COALESCE(p.room_type, 'UNASSIGNED'), "
+            + "COUNT(*), COALESCE(SUM(p.total), 0) FROM payments p "
+            + "GROUP BY COALESCE(p.billing_period, 0), p.status, COALESCE(p.method, 'CASH'), COALESCE(p.room_type, 'UNASSIGNED')",
+            nativeQuery = true)
+    int insertAllFromPayments();
+
+    /** Payment count and summed total per status, as (status, count, sum) rows. */
+    @Query("SELECT r.status, SUM(r.paymentCount), SUM(r.totalAmount) FROM PaymentRollup r GROUP BY r.status")
+    List<Object[]> summarizeByStatus();
+
+    /**
+     * Payment count and summed total per billing period and status, as (period, status, count, sum)
+     * rows in period order. Undated payments are left out; {@code from} and {@code to} are yyyymm.
+     */
+    @Query("SELECT r.billingPeriod, r.status, SUM(r.paymentCount), SUM(r.totalAmount) FROM PaymentRollup r "
+            + "WHERE r.billingPeriod <> 0 "
+            + "AND (:from IS NULL OR r.billingPeriod >= :from) AND (:to IS NULL OR r.billingPeriod <= :to) "
+            + "GROUP BY r.billingPeriod, r.status ORDER BY r.billingPeriod")
+    List<Object[]> summarizeByPeriodAndStatus(@Param("from") Integer from, @Param("to") Integer to);
+
+    /** PAID count and total per method, optionally for one yyyymm period, as (method, count, sum) rows. */
+    @Query("SELECT r.method, SUM(r.paymentCount), SUM(r.totalAmount) FROM PaymentRollup r "
+            + "WHERE r.status = com.hostel.management.enums.PaymentStatus.PAID "
+            + "AND (:period IS NULL OR r.billingPeriod = :period) GROUP BY r.method ORDER BY r.method")
+    List<Object[]> summarizePaidByMethod(@Param("period") Integer period);
+
+    /** Count and total per room type for the given statuses, as (roomType, count, sum) rows. */
+    @Query("SELECT r.roomType, SUM(r.paymentCount), SUM(r.totalAmount) FROM PaymentRollup r "
+            + "WHERE r.status IN :statuses GROUP BY r.roomType ORDER BY r.roomType")
+    List<Object[]> summarizeByRoomType(@Param("statuses") Collection<PaymentStatus> statuses);
+}
@@ -3,23 +3,41 @@ package com.hostel.management.repository;
 import com.hostel.management.entity.Resident;
 import com.hostel.management.entity.Room;
 import com.hostel.management.enums.ResidentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ResidentRepository extends JpaRepository<Resident, Long> {
+public interface ResidentRepository extends JpaRepository<Resident, Long>, ResidentSearchRepository {
 
+    @EntityGraph(attributePaths = "room")
     List<Resident> findByNameContainingIgnoreCase(String name);
 
     Optional<Resident> findByNic(String nic);
 
+    /** Loads a resident holding a row lock, so writes keyed on the resident are serialised until the transaction ends. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Resident r WHERE r.id = :id")
+    Optional<Resident> findByIdForUpdate(@Param("id") Long id);
+
+    /** Loads the given residents holding row locks, taken in id order so concurrent batches cannot deadlock. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Resident r WHERE r.id IN :ids ORDER BY r.id")
+    List<Resident> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
     Optional<Resident> findByEmail(String email);
 
     boolean existsByNic(String nic);
 
+    @EntityGraph(attributePaths = "room")
     List<Resident> findByStatus(ResidentStatus status);
 
     List<Resident> findByRoom(Room room);
@@ -27,4 +45,16 @@ public interface ResidentRepository extends JpaRepository<Resident, Long> {
     List<Resident> findByRoomId(Long roomId);
 
     long countByStatus(ResidentStatus status);
+
+    /** Resident counts per status in one round trip, as (status, count) rows. */
+    @Query("SELECT r.status, COUNT(r) FROM Resident r GROUP BY r.status")
+    List<Object[]> countGroupedByStatus();
+
+    /** (id, name) rows for every resident in id order, used to load the name index. */
+    @Query("SELECT r.id, r.name FROM Resident r ORDER BY r.id")
+    List<Object[]> findAllIdAndName();
+
+    /** (id, name) rows for the given residents, used to re-read residents changed mid-rebuild. */
+    @Query("SELECT r.id, r.name FROM Resident r WHERE r.id IN :ids")
+    List<Object[]> findIdAndNameByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,25 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.dto.resident.ResidentResponseDto;
+import com.hostel.management.dto.resident.ResidentSearchRequestDto;
+import com.hostel.management.enums.SortDirection;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Composable resident search. Only the filters that are set end up in the SQL, so each
+ * query can use the index on its most selective column.
+ */
+public interface ResidentSearchRepository {
+
+    /**
+     * One keyset page of residents matching the criteria, projected straight into DTOs.
+     *
+     * @param residentIds when non-null the name filter has already been resolved to these ids
+     *                    and is applied as an id list instead of a {@code LIKE}
+     */
+    List<ResidentResponseDto> search(ResidentSearchRequestDto criteria, Collection<Long> residentIds,
+                                     Long after, SortDirection sort, Pageable pageable);
+}
@@ -0,0 +1,90 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.dto.resident.ResidentResponseDto;
+import com.hostel.management.dto.resident.ResidentSearchRequestDto;
+import com.hostel.management.enums.SortDirection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPQL implementation of {@link ResidentSearchRepository}, picked up by Spring Data as a
+ * fragment of {@link ResidentRepository}.
+ */
+public class ResidentSearchRepositoryImpl implements ResidentSearchRepository {
+
+    private static final String SELECT = "SELECT new com.hostel.management.dto.resident.ResidentResponseDto("
+            + "r.id, r.name, r.nic, r.contact, r.email, r.course, r.rating, r.joinDate, r.leaveDate, r.status, "
+            + "rm.id, rm.roomNumber, rm.roomType, r.createdAt, r.updatedAt) "
+            + "FROM Resident r LEFT JOIN r.room rm WHERE 1 = 1";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ResidentResponseDto> search(ResidentSearchRequestDto criteria, Collection<Long> residentIds,
+                                            Long after, SortDirection sort, Pageable pageable) {
+        StringBuilder jpql = new StringBuilder(SELECT);
+        Map<String, Object> params = new HashMap<>();
+
+        if (residentIds != null) {
+            jpql.append(" AND r.id IN :ids");
+            params.put("ids", residentIds);
+        } else if (hasText(criteria.getName())) {
+            jpql.append(" AND LOWER(r.name) LIKE :name");
+            params.put("name", "%" + criteria.getName().trim().toLowerCase() + "%");
+        }
+        if (hasText(criteria.getNic())) {
+            jpql.append(" AND r.nic = :nic");
+            params.put("nic", criteria.getNic().trim());
+        }
+        if (hasText(criteria.getEmail())) {
+            jpql.append(" AND r.email = :email");
+            params.put("email", criteria.getEmail().trim());
+        }
+        if (hasText(criteria.getCourse())) {
+            jpql.append(" AND r.course = :course");
+            params.put("course", criteria.getCourse().trim());
+        }
+        if (criteria.getStatus() != null) {
+            jpql.append(" AND r.status = :status");
+            params.put("status", criteria.getStatus());
+        }
+        if (criteria.getRoomType() != null) {
+            jpql.append(" AND rm.roomType = :roomType");
+            params.put("roomType", criteria.getRoomType());
+        }
+        if (criteria.getJoinedFrom() != null) {
+            jpql.append(" AND r.joinDate >= :joinedFrom");
+            params.put("joinedFrom", criteria.getJoinedFrom());
+        }
+        if (criteria.getJoinedTo() != null) {
+            jpql.append(" AND r.joinDate <= :joinedTo");
+            params.put("joinedTo", criteria.getJoinedTo());
+        }
+
+        boolean descending = sort == SortDirection.DESC;
+        if (after != null) {
+            jpql.append(descending ? " AND r.id < :after" : " AND r.id > :after");
+            params.put("after", after);
+        }
+        jpql.append(descending ? " ORDER BY r.id DESC" : " ORDER BY r.id ASC");
+
+        TypedQuery<ResidentResponseDto> query = entityManager.createQuery(jpql.toString(), ResidentResponseDto.class);
+        params.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
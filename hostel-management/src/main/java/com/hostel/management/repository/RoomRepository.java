@@ -3,10 +3,16 @@ package com.hostel.management.repository;
 import com.hostel.management.entity.Room;
 import com.hostel.management.enums.RoomStatus;
 import com.hostel.management.enums.RoomType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,4 +33,81 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     List<Room> findRoomsWithAvailableSpots();
 
     long countByStatus(RoomStatus status);
+
+    /** Room counts per status in one round trip, as (status, count) rows. */
+    @Query("SELECT r.status, COUNT(r) FROM Room r GROUP BY r.status")
+    List<Object[]> countGroupedByStatus();
+
+    /** Rooms filtered by optional status and type, one keyset page in ascending id order. */
+    @Query("SELECT r FROM Room r WHERE (:status IS NULL OR r.status = :status) "
+            + "AND (:roomType IS NULL OR r.roomType = :roomType) "
+            + "AND r.id > :after ORDER BY r.id ASC")
+    List<Room> findPageAsc(@Param("status") RoomStatus status, @Param("roomType") RoomType roomType,
+                           @Param("after") long after, Pageable pageable);
+
+    /** Rooms filtered by optional status and type, one keyset page in descending id order. */
+    @Query("SELECT r FROM Room r WHERE (:status IS NULL OR r.status = :status) "
+            + "AND (:roomType IS NULL OR r.roomType = :roomType) "
+            + "AND r.id < :before ORDER BY r.id DESC")
+    List<Room> findPageDesc(@Param("status") RoomStatus status, @Param("roomType") RoomType roomType,
+                            @Param("before") long before, Pageable pageable);
+
+    /** Loads a room holding a row lock, so occupancy cannot change until the transaction ends. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id = :id")
+    Optional<Room> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Takes row locks on the given rooms in ascending id order without loading them, so two
+     * single-room moves in opposite directions queue behind each other instead of deadlocking.
+     */
+    @Query(value = "SELECT id FROM rooms WHERE id IN :ids ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockInIdOrder(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks, in id order, the given rooms plus (when {@code byType} is true) every room of the
+     * given types that still has a free bed. A single ordered query keeps lock acquisition
+     * deadlock-free between concurrent bulk allocations.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id IN :ids "
+            + "OR (:byType = true AND r.roomType IN :types AND r.currentOccupancy < r.capacity "
+            + "AND r.status <> com.hostel.management.enums.RoomStatus.MAINTENANCE) "
+            + "ORDER BY r.id")
+    List<Room> findForAllocation(@Param("ids") Collection<Long> ids,
+                                 @Param("byType") boolean byType,
+                                 @Param("types") Collection<RoomType> types);
+
+    /**
+     * Atomically takes one bed in the room and recomputes its status in the same statement.
+     * Status is assigned before occupancy so both MySQL (left-to-right SET) and standard SQL
+     * evaluate it against the pre-update occupancy.
+     *
+     * @return 1 if a bed was reserved, 0 if the room is missing, full or under maintenance
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Room r SET "
+            + "r.status = CASE WHEN r.currentOccupancy + 1 >= r.capacity "
+            + "THEN com.hostel.management.enums.RoomStatus.OCCUPIED "
+            + "ELSE com.hostel.management.enums.RoomStatus.AVAILABLE END, "
+            + "r.currentOccupancy = r.currentOccupancy + 1, "
+            + "r.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE r.id = :id AND r.currentOccupancy < r.capacity "
+            + "AND r.status <> com.hostel.management.enums.RoomStatus.MAINTENANCE")
+    int reserveBed(@Param("id") Long id);
+
+    /**
+     * Atomically frees one bed in the room. MAINTENANCE is never overwritten.
+     *
+     * @return 1 if a bed was released, 0 if the room is missing or already empty
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Room r SET "
+            + "r.status = CASE WHEN r.status = com.hostel.management.enums.RoomStatus.MAINTENANCE THEN r.status "
+            + "WHEN r.currentOccupancy - 1 >= r.capacity THEN com.hostel.management.enums.RoomStatus.OCCUPIED "
+            + "ELSE com.hostel.management.enums.RoomStatus.AVAILABLE END, "
+            + "r.currentOccupancy = r.currentOccupancy - 1, "
+            + "r.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE r.id = :id AND r.currentOccupancy > 0")
+    int releaseBed(@Param("id") Long id);
 }
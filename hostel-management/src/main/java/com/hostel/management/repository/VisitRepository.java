@@ -2,7 +2,10 @@ package com.hostel.management.repository;
 
 import com.hostel.management.entity.Visit;
 import com.hostel.management.enums.VisitStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -18,4 +21,18 @@ public interface VisitRepository extends JpaRepository<Visit, Long> {
     List<Visit> findByVisitDate(LocalDate visitDate);
 
     long countByStatus(VisitStatus status);
+
+    /** Visit counts per status in one round trip, as (status, count) rows. */
+    @Query("SELECT v.status, COUNT(v) FROM Visit v GROUP BY v.status")
+    List<Object[]> countGroupedByStatus();
+
+    /** Keyset page in ascending id order: visits filtered by optional status after the cursor id. */
+    @Query("SELECT v FROM Visit v WHERE (:status IS NULL OR v.status = :status) "
+            + "AND v.id > :after ORDER BY v.id ASC")
+    List<Visit> findPageAsc(@Param("status") VisitStatus status, @Param("after") long after, Pageable pageable);
+
+    /** Keyset page in descending id order: visits filtered by optional status before the cursor id. */
+    @Query("SELECT v FROM Visit v WHERE (:status IS NULL OR v.status = :status) "
+            + "AND v.id < :before ORDER BY v.id DESC")
+    List<Visit> findPageDesc(@Param("status") VisitStatus status, @Param("before") long before, Pageable pageable);
 }
@@ -0,0 +1,40 @@
+package com.hostel.management.repository;
+
+import com.hostel.management.entity.VisitSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Repository
+public interface VisitSlotRepository extends JpaRepository<VisitSlot, Long> {
+
+    /** Slots from the given day onwards, used to load the in-memory slot index. */
+    List<VisitSlot> findBySlotDateGreaterThanEqual(LocalDate from);
+
+    /**
+     * Atomically takes one place in a slot that has not started yet: a later day, or today with
+     * a start time after {@code time}.
+     *
+     * @return 1 if a place was taken, 0 if the slot is missing, already started or fully booked
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE VisitSlot s SET s.booked = s.booked + 1 "
+            + "WHERE s.id = :id AND s.booked < s.capacity "
+            + "AND (s.slotDate > :today OR (s.slotDate = :today AND s.startTime > :time))")
+    int reserve(@Param("id") Long id, @Param("today") LocalDate today, @Param("time") LocalTime time);
+
+    /**
+     * Atomically gives back one place in a slot.
+     *
+     * @return 1 if a place was released, 0 if the slot is missing or has no bookings
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE VisitSlot s SET s.booked = s.booked - 1 WHERE s.id = :id AND s.booked > 0")
+    int release(@Param("id") Long id);
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Standard API response wrapper used across all endpoints.
@@ -17,28 +18,35 @@ public class ApiResponse<T> {
     private final boolean success;
     private final String message;
     private final T data;
+    /** Cursor for the next page of a keyset-paginated listing; omitted on the last page. */
+    private final Long nextCursor;
     private final LocalDateTime timestamp;
 
-    private ApiResponse(boolean success, String message, T data) {
+    private ApiResponse(boolean success, String message, T data, Long nextCursor) {
         this.success = success;
         this.message = message;
         this.data = data;
+        this.nextCursor = nextCursor;
         this.timestamp = LocalDateTime.now();
     }
 
     public static <T> ApiResponse<T> success(String message, T data) {
-        return new ApiResponse<>(true, message, data);
+        return new ApiResponse<>(true, message, data, null);
+    }
+
+    public static <T> ApiResponse<List<T>> page(String message, CursorPage<T> page) {
+        return new ApiResponse<>(true, message, page.getItems(), page.getNextCursor());
     }
 
     public static <T> ApiResponse<T> success(String message) {
-        return new ApiResponse<>(true, message, null);
+        return new ApiResponse<>(true, message, null, null);
     }
 
     public static <T> ApiResponse<T> error(String message) {
-        return new ApiResponse<>(false, message, null);
+        return new ApiResponse<>(false, message, null, null);
     }
 
     public static <T> ApiResponse<T> error(String message, T data) {
-        return new ApiResponse<>(false, message, data);
+        return new ApiResponse<>(false, message, data, null);
     }
 }
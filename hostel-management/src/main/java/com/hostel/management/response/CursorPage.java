@@ -0,0 +1,63 @@
+package com.hostel.management.response;
+
+import com.hostel.management.enums.SortDirection;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. Pages are ordered by id, so a page is fetched with a
+ * plain index range scan ({@code id > cursor} or {@code id < cursor}) regardless of table size.
+ *
+ * <p>A request without a limit gets {@link #DEFAULT_LIMIT} items and no request gets more than
+ * {@link #MAX_LIMIT}. Callers that need the whole listing follow {@code nextCursor} page by page.</p>
+ *
+ * @param <T> the type of the page items
+ */
+@Getter
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    private CursorPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds a page; the next cursor is the last item's id when the page came back full.
+     */
+    public static <T> CursorPage<T> of(List<T> items, Pageable pageable, Function<T, Long> idOf) {
+        Long next = pageable.isPaged() && !items.isEmpty() && items.size() == pageable.getPageSize()
+                ? idOf.apply(items.get(items.size() - 1))
+                : null;
+        return new CursorPage<>(items, next);
+    }
+
+    /** Page size for the request: the default when no limit was given, otherwise clamped to 1..{@link #MAX_LIMIT}. */
+    public static Pageable pageable(Integer limit) {
+        if (limit == null) return PageRequest.ofSize(DEFAULT_LIMIT);
+        return PageRequest.ofSize(Math.min(Math.max(limit, 1), MAX_LIMIT));
+    }
+
+    /** Exclusive lower bound for ascending pages. */
+    public static long lowerBound(Long cursor) {
+        return cursor != null ? cursor : 0L;
+    }
+
+    /** Exclusive upper bound for descending pages. */
+    public static long upperBound(Long cursor) {
+        return cursor != null ? cursor : Long.MAX_VALUE;
+    }
+
+    public static boolean isDescending(SortDirection sort) {
+        return sort == SortDirection.DESC;
+    }
+}
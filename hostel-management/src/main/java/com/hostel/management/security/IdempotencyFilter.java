@@ -0,0 +1,178 @@
+package com.hostel.management.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.management.response.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Makes POSTs that carry an {@code Idempotency-Key} header safe to retry. The first request with
+ * a key runs normally and its response is stored; a retry with the same key and the same request
+ * gets the stored response back without running the request again. Keys are scoped to the
+ * authenticated caller. Server errors are not stored, so those can be retried for real.
+ *
+ * <p>Login and registration are never covered, since their responses carry tokens, and neither
+ * are requests without an authenticated caller, who would otherwise all share one key scope.</p>
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final String AUTH_PATH = "/api/auth/";
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equalsIgnoreCase(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || request.getRequestURI().startsWith(request.getContextPath() + AUTH_PATH)
+                || request.getAttribute("jwtEmail") == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String clientKey = request.getHeader(HEADER).trim();
+        if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpServletResponse.SC_BAD_REQUEST, "Idempotency-Key must be 1 to 255 characters.");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = sha256(request.getAttribute("jwtEmail") + "\n" + clientKey);
+        String query = request.getQueryString() != null ? request.getQueryString() : "";
+        String fingerprint = sha256(request.getRequestURI() + "?" + query + "\n"
+                + new String(cachedRequest.body, StandardCharsets.UTF_8));
+
+        IdempotencyStore.Entry held = idempotencyStore.claim(key, fingerprint);
+        if (held != null) {
+            if (!held.fingerprint().equals(fingerprint)) {
+                reject(response, 422, "Idempotency-Key was already used for a different request.");
+            } else if (held.isInProgress()) {
+                reject(response, HttpServletResponse.SC_CONFLICT,
+                        "A request with this Idempotency-Key is still being processed.");
+            } else {
+                replay(held.response(), response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper capturing = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(cachedRequest, capturing);
+            if (capturing.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                idempotencyStore.complete(key, new IdempotencyStore.StoredResponse(
+                        capturing.getStatus(), capturing.getContentType(), capturing.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) idempotencyStore.release(key);
+            capturing.copyBodyToResponse();
+        }
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private static void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) response.setContentType(stored.contentType());
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = stored.body() != null ? stored.body() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** Reads the body up front so it can be fingerprinted and still be read by the controller. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
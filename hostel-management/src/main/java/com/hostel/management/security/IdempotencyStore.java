@@ -0,0 +1,31 @@
+package com.hostel.management.security;
+
+/**
+ * Remembers which {@code Idempotency-Key}s have been used and the response each one produced,
+ * for as long as the configured TTL.
+ */
+public interface IdempotencyStore {
+
+    /** A response captured for replay. */
+    record StoredResponse(int status, String contentType, byte[] body) {}
+
+    /** What a key is held for: the request's fingerprint, and its response once it finished. */
+    record Entry(String fingerprint, StoredResponse response) {
+
+        public boolean isInProgress() {
+            return response == null;
+        }
+    }
+
+    /**
+     * Claims {@code key} for a new request. Returns null if the caller now owns the key and
+     * should run the request, or the entry already held under the key otherwise.
+     */
+    Entry claim(String key, String fingerprint);
+
+    /** Records the owner's response so later requests with the key replay it. */
+    void complete(String key, StoredResponse response);
+
+    /** Gives the key up without a response, e.g. after a server error, so the client can retry. */
+    void release(String key);
+}
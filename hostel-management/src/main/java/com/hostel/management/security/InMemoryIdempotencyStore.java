@@ -0,0 +1,60 @@
+package com.hostel.management.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Per-node {@link IdempotencyStore}. Every key lives for the same TTL, so insertion order is
+ * also expiry order: expired keys are dropped from the head of the map on each claim, and the
+ * oldest key is evicted early if the map reaches its size bound.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Slot(Entry entry, long expiresAt) {}
+
+    private final LinkedHashMap<String, Slot> slots = new LinkedHashMap<>();
+    private final long ttlMs;
+    private final int maxEntries;
+
+    public InMemoryIdempotencyStore(@Value("${idempotency.ttl-ms:86400000}") long ttlMs,
+                                    @Value("${idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public synchronized Entry claim(String key, String fingerprint) {
+        long now = System.currentTimeMillis();
+        Iterator<Slot> oldest = slots.values().iterator();
+        while (oldest.hasNext() && oldest.next().expiresAt() <= now) oldest.remove();
+
+        Slot held = slots.get(key);
+        if (held != null) return held.entry();
+
+        slots.put(key, new Slot(new Entry(fingerprint, null), now + ttlMs));
+        if (slots.size() > maxEntries) {
+            Iterator<String> eldest = slots.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void complete(String key, StoredResponse response) {
+        Slot held = slots.get(key);
+        // Replacing the value of an existing key keeps its place in insertion order
+        if (held != null) slots.put(key, new Slot(new Entry(held.entry().fingerprint(), response), held.expiresAt()));
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        slots.remove(key);
+    }
+}
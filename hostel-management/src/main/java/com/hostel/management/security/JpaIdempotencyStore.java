@@ -0,0 +1,67 @@
+package com.hostel.management.security;
+
+import com.hostel.management.entity.IdempotencyKey;
+import com.hostel.management.repository.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} shared by every node through the {@code idempotency_keys} table.
+ * The primary key makes a claim atomic across nodes, and each call commits on its own so other
+ * nodes see a key as taken as soon as its first request starts.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "database")
+@Transactional
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+
+    public JpaIdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                               @Value("${idempotency.ttl-ms:86400000}") long ttlMs) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = Duration.ofMillis(ttlMs);
+    }
+
+    @Override
+    public Entry claim(String key, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        // A key released between our insert and our read is claimed again on the second pass
+        for (int attempt = 0; attempt < 2; attempt++) {
+            idempotencyKeyRepository.deleteIfExpired(key, now);
+            if (idempotencyKeyRepository.insertIfAbsent(key, fingerprint, now, now.plus(ttl)) == 1) return null;
+            Optional<IdempotencyKey> held = idempotencyKeyRepository.findById(key);
+            if (held.isPresent()) return toEntry(held.get());
+        }
+        return new Entry(fingerprint, null);
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        idempotencyKeyRepository.saveResponse(key, response.status(), response.contentType(), response.body());
+    }
+
+    @Override
+    public void release(String key) {
+        idempotencyKeyRepository.deleteByKeyHash(key);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-ms:600000}")
+    public void purgeExpired() {
+        idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private static Entry toEntry(IdempotencyKey k) {
+        if (k.getResponseStatus() == null) return new Entry(k.getFingerprint(), null);
+        return new Entry(k.getFingerprint(),
+                new StoredResponse(k.getResponseStatus(), k.getContentType(), k.getResponseBody()));
+    }
+}
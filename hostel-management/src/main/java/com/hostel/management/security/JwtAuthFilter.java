@@ -40,6 +40,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (PUBLIC_PATHS.stream().anyMatch(path::equalsIgnoreCase)) return true;
         // Allow public visit requests (e.g. from index.html booking form)
         if ("/api/visits".equalsIgnoreCase(path) && "POST".equalsIgnoreCase(request.getMethod())) return true;
+        // ...and the free-slot lookup that form books against
+        if ("/api/visits/slots/free".equalsIgnoreCase(path) && "GET".equalsIgnoreCase(request.getMethod())) return true;
         return false;
     }
 
@@ -0,0 +1,75 @@
+package com.hostel.management.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.management.response.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds excess POSTs to the public endpoints (visit booking, login, registration) per client IP
+ * with a 429, before the body is parsed or a database connection is taken.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimits rateLimits;
+    private final ObjectMapper objectMapper;
+    private final boolean trustForwardedFor;
+
+    public RateLimitFilter(RateLimits rateLimits,
+                           ObjectMapper objectMapper,
+                           @Value("${rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        this.rateLimits = rateLimits;
+        this.objectMapper = objectMapper;
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equalsIgnoreCase(request.getMethod()) || policyFor(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long retryAfter = rateLimits.checkClient(policyFor(request.getRequestURI()), clientIp(request));
+        if (retryAfter > 0) {
+            response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(retryAfter));
+            response.setContentType("application/json");
+            objectMapper.writeValue(response.getOutputStream(),
+                    ApiResponse.error("Too many requests. Please try again later."));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private static RateLimits.Policy policyFor(String path) {
+        if ("/api/visits".equalsIgnoreCase(path)) return RateLimits.Policy.VISITS;
+        if ("/api/auth/login".equalsIgnoreCase(path) || "/api/auth/register".equalsIgnoreCase(path)) {
+            return RateLimits.Policy.AUTH;
+        }
+        return null;
+    }
+
+    /** Uses the first X-Forwarded-For hop only when a trusted proxy sets it; clients can forge it otherwise. */
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
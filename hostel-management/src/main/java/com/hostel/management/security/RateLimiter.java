@@ -0,0 +1,69 @@
+package com.hostel.management.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free per-key token bucket, implemented as the generic cell rate algorithm: each key keeps
+ * only the time at which its bucket would be full again, and a request is admitted with a single
+ * compare-and-set on that value. A key may spend {@code capacity} requests at once, after which
+ * it earns one request every {@code 1 / ratePerMinute} minutes.
+ *
+ * <p>Memory is bounded. A key whose bucket has refilled carries no state worth keeping, so
+ * {@link #evictIdle()} drops it; and when the table is full, unseen keys share a single overflow
+ * bucket, so a flood of new clients is shed instead of growing the heap.</p>
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final long origin = System.nanoTime();
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong();
+
+    public RateLimiter(int capacity, double ratePerMinute, int maxKeys) {
+        if (capacity < 1 || ratePerMinute <= 0 || maxKeys < 1) {
+            throw new IllegalArgumentException("capacity, rate and maxKeys must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.MINUTES.toNanos(1) / ratePerMinute));
+        this.burstNanos = (capacity - 1) * intervalNanos;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token from the key's bucket. Returns 0 if the request is admitted, otherwise the
+     * number of nanoseconds until the next token is available.
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime() - origin;
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.size() < maxKeys ? buckets.computeIfAbsent(key, k -> new AtomicLong()) : overflow;
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long start = Math.max(fullAt, now);
+            long debt = start - now;
+            if (debt > burstNanos) return debt - burstNanos;
+            if (bucket.compareAndSet(fullAt, start + intervalNanos)) return 0;
+        }
+    }
+
+    /**
+     * Drops keys whose bucket has refilled. A request racing the eviction of its own key may land
+     * on the dropped bucket and be forgotten, which at worst admits one extra request.
+     */
+    public int evictIdle() {
+        long now = System.nanoTime() - origin;
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+        return before - buckets.size();
+    }
+
+    /** Number of keys currently tracked. */
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,74 @@
+package com.hostel.management.security;
+
+import com.hostel.management.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request rate limits for the unauthenticated endpoints. Each {@link Policy} has one bucket per
+ * client IP, checked by {@link RateLimitFilter} before the request body is read, and one per
+ * submitted email address, checked by the controller before any database work.
+ */
+@Component
+public class RateLimits {
+
+    /** Groups of public endpoints that share a limit. */
+    public enum Policy {
+        /** The public visit booking form. */
+        VISITS,
+        /** Login and self-registration. */
+        AUTH
+    }
+
+    private final boolean enabled;
+    private final Map<Policy, RateLimiter> byClient = new EnumMap<>(Policy.class);
+    private final Map<Policy, RateLimiter> byEmail = new EnumMap<>(Policy.class);
+
+    public RateLimits(@Value("${rate-limit.enabled:true}") boolean enabled,
+                      @Value("${rate-limit.max-keys:100000}") int maxKeys,
+                      @Value("${rate-limit.visits.capacity:5}") int visitsCapacity,
+                      @Value("${rate-limit.visits.per-minute:2}") double visitsPerMinute,
+                      @Value("${rate-limit.auth.capacity:10}") int authCapacity,
+                      @Value("${rate-limit.auth.per-minute:10}") double authPerMinute) {
+        this.enabled = enabled;
+        byClient.put(Policy.VISITS, new RateLimiter(visitsCapacity, visitsPerMinute, maxKeys));
+        byEmail.put(Policy.VISITS, new RateLimiter(visitsCapacity, visitsPerMinute, maxKeys));
+        byClient.put(Policy.AUTH, new RateLimiter(authCapacity, authPerMinute, maxKeys));
+        byEmail.put(Policy.AUTH, new RateLimiter(authCapacity, authPerMinute, maxKeys));
+    }
+
+    /** Returns 0 if the client may proceed, otherwise the whole seconds it should wait. */
+    public long checkClient(Policy policy, String clientIp) {
+        if (!enabled) return 0;
+        return toRetrySeconds(byClient.get(policy).tryAcquire(clientIp));
+    }
+
+    /** Rejects the request if the email address has been submitted too often; blank emails pass. */
+    public void requireEmailPermit(Policy policy, String email) {
+        if (!enabled || email == null || email.isBlank()) return;
+        long retryAfter = toRetrySeconds(byEmail.get(policy).tryAcquire(email.trim().toLowerCase(Locale.ROOT)));
+        if (retryAfter > 0) {
+            throw new TooManyRequestsException("Too many requests for this email address. Please try again later.",
+                    retryAfter);
+        }
+    }
+
+    /** Frees buckets that have refilled, keeping memory proportional to recently active clients. */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-ms:60000}")
+    public void evictIdle() {
+        byClient.values().forEach(RateLimiter::evictIdle);
+        byEmail.values().forEach(RateLimiter::evictIdle);
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private static long toRetrySeconds(long waitNanos) {
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+}
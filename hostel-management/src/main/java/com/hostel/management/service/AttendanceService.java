@@ -1,43 +1,89 @@
 package com.hostel.management.service;
 
 import com.hostel.management.dto.attendance.AttendanceRequestDto;
+import com.hostel.management.dto.attendance.AttendanceMonthDto;
 import com.hostel.management.dto.attendance.AttendanceResponseDto;
+import com.hostel.management.dto.attendance.GateEventBatchDto;
+import com.hostel.management.dto.attendance.RollCallRequestDto;
+import com.hostel.management.dto.attendance.RollCallResultDto;
 import com.hostel.management.entity.Attendance;
 import com.hostel.management.entity.Resident;
+import com.hostel.management.enums.SortDirection;
+import com.hostel.management.exception.BadRequestException;
+import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.exception.TooManyRequestsException;
+import com.hostel.management.repository.AttendanceJdbcRepository;
+import com.hostel.management.repository.AttendanceMonthRepository;
 import com.hostel.management.repository.AttendanceRepository;
 import com.hostel.management.repository.ResidentRepository;
+import com.hostel.management.response.CursorPage;
+import com.hostel.management.service.impl.GateEventPipeline;
+import com.hostel.management.service.impl.GateEventSpool;
+import com.hostel.management.util.DateUtil;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional
 public class AttendanceService {
 
+    private static final Set<String> STATUSES = Set.of("PRESENT", "ABSENT", "LEAVE");
+    private static final int MAX_ROLL_CALL_ENTRIES = 10_000;
+    private static final int MAX_GATE_BATCH = 5_000;
+    private static final DateTimeFormatter CLOCK_TIME = DateTimeFormatter.ofPattern("HH:mm");
+
     private final AttendanceRepository attendanceRepository;
+    private final AttendanceJdbcRepository attendanceJdbcRepository;
+    private final AttendanceMonthRepository attendanceMonthRepository;
     private final ResidentRepository residentRepository;
+    private final GateEventPipeline gateEventPipeline;
 
-    public AttendanceService(AttendanceRepository attendanceRepository, ResidentRepository residentRepository) {
+    public AttendanceService(AttendanceRepository attendanceRepository,
+                             AttendanceJdbcRepository attendanceJdbcRepository,
+                             AttendanceMonthRepository attendanceMonthRepository,
+                             ResidentRepository residentRepository,
+                             GateEventPipeline gateEventPipeline) {
         this.attendanceRepository = attendanceRepository;
+        this.attendanceJdbcRepository = attendanceJdbcRepository;
+        this.attendanceMonthRepository = attendanceMonthRepository;
         this.residentRepository = residentRepository;
+        this.gateEventPipeline = gateEventPipeline;
     }
 
+    /**
+     * Records one resident's day as a one-entry roll call, so a row a roll call or the gate
+     * pipeline already wrote for that day is updated instead of tripping the unique
+     * (resident, date) key. Fields left out of the request keep their stored values.
+     */
     public AttendanceResponseDto createAttendance(AttendanceRequestDto dto) {
         Resident resident = residentRepository.findById(dto.getResidentId())
                 .orElseThrow(() -> new RuntimeException("Resident not found"));
+        LocalDate date = dto.getDate() != null ? dto.getDate() : LocalDate.now();
 
-        Attendance attendance = new Attendance();
-        attendance.setResident(resident);
-        attendance.setDate(dto.getDate() != null ? dto.getDate() : LocalDate.now());
-        attendance.setStatus(dto.getStatus());
-        attendance.setCheckInTime(dto.getCheckInTime());
-        attendance.setCheckOutTime(dto.getCheckOutTime());
-        attendance.setRemarks(dto.getRemarks());
-
-        return mapToResponseDto(attendanceRepository.save(attendance));
+        attendanceJdbcRepository.upsert(date, List.of(new AttendanceJdbcRepository.RollCallRow(
+                resident.getId(), dto.getStatus(), dto.getCheckInTime(), dto.getCheckOutTime(), dto.getRemarks())));
+        Attendance saved = attendanceRepository.findByResidentIdAndDate(resident.getId(), date).get(0);
+        recordDay(resident.getId(), date, saved.getStatus());
+        return mapToResponseDto(saved);
     }
 
     public AttendanceResponseDto updateAttendance(Long id, AttendanceRequestDto dto) {
@@ -49,17 +95,25 @@ public class AttendanceService {
         if (dto.getCheckOutTime() != null) attendance.setCheckOutTime(dto.getCheckOutTime());
         if (dto.getRemarks() != null) attendance.setRemarks(dto.getRemarks());
 
-        return mapToResponseDto(attendanceRepository.save(attendance));
+        Attendance saved = attendanceRepository.save(attendance);
+        if (dto.getStatus() != null) recordDay(saved.getResident().getId(), saved.getDate(), saved.getStatus());
+        return mapToResponseDto(saved);
     }
 
     public void deleteAttendance(Long id) {
-        attendanceRepository.deleteById(id);
+        attendanceRepository.findById(id).ifPresent(attendance -> {
+            recordDay(attendance.getResident().getId(), attendance.getDate(), null);
+            attendanceRepository.delete(attendance);
+        });
     }
 
-    public List<AttendanceResponseDto> getAllAttendance() {
-        return attendanceRepository.findAll().stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<AttendanceResponseDto> getAllAttendance(Long after, Integer limit, SortDirection sort) {
+        Pageable pageable = CursorPage.pageable(limit);
+        List<AttendanceResponseDto> records = CursorPage.isDescending(sort)
+                ? attendanceRepository.findPageDesc(CursorPage.upperBound(after), pageable)
+                : attendanceRepository.findPageAsc(CursorPage.lowerBound(after), pageable);
+        return CursorPage.of(records, pageable, AttendanceResponseDto::getId);
     }
 
     public List<AttendanceResponseDto> getAttendanceByDate(LocalDate date) {
@@ -90,10 +144,131 @@ public class AttendanceService {
             attendance.setResident(resident);
             attendance.setDate(today);
             attendance.setStatus(status);
-            attendance.setCheckInTime(java.time.LocalTime.now().toString().substring(0, 5));
+            attendance.setCheckInTime(LocalTime.now().format(CLOCK_TIME));
+        }
+
+        Attendance saved = attendanceRepository.save(attendance);
+        recordDay(residentId, today, status);
+        return mapToResponseDto(saved);
+    }
+
+    /**
+     * Records a whole roll call in one transaction: every entry is upserted against the unique
+     * (resident, date) key in multi-row batches, so a repeated roll call overwrites rather than
+     * duplicates. A resident listed twice keeps their last entry.
+     */
+    public RollCallResultDto recordRollCall(RollCallRequestDto dto) {
+        long started = System.nanoTime();
+        LocalDate date = dto.getDate() != null ? dto.getDate() : LocalDate.now();
+        if (dto.getEntries().size() > MAX_ROLL_CALL_ENTRIES) {
+            throw new BadRequestException("A roll call can hold at most " + MAX_ROLL_CALL_ENTRIES + " entries.");
+        }
+
+        Map<Long, AttendanceJdbcRepository.RollCallRow> rows = new LinkedHashMap<>();
+        for (RollCallRequestDto.Entry e : dto.getEntries()) {
+            String status = e.getStatus().trim().toUpperCase(Locale.ROOT);
+            if (!STATUSES.contains(status)) {
+                throw new BadRequestException("Invalid attendance status '" + e.getStatus()
+                        + "' for resident " + e.getResidentId() + ".");
+            }
+            rows.put(e.getResidentId(), new AttendanceJdbcRepository.RollCallRow(
+                    e.getResidentId(), status, e.getCheckInTime(), e.getCheckOutTime(), e.getRemarks()));
+        }
+
+        Set<Long> missing = new HashSet<>(rows.keySet());
+        attendanceJdbcRepository.findExistingResidentIds(rows.keySet()).forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("Unknown resident id(s): " + missing);
         }
 
-        return mapToResponseDto(attendanceRepository.save(attendance));
+        List<AttendanceJdbcRepository.RollCallRow> batch = new ArrayList<>(rows.values());
+        attendanceJdbcRepository.upsert(date, batch);
+        attendanceJdbcRepository.markDays(date, batch);
+        return new RollCallResultDto(date, rows.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Adds the unique (resident, date) key that roll calls rely on when schema update could not,
+     * because the table already held repeated rows; those are collapsed to the latest one first.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureRollCallKey() {
+        if (attendanceJdbcRepository.hasUniqueKey()) return;
+        attendanceJdbcRepository.deleteDuplicates();
+        attendanceJdbcRepository.addUniqueKey();
+    }
+
+    /**
+     * Accepts a batch of gate card-reader events for asynchronous writing. The batch is durable
+     * once this returns; it reaches {@code attendance} at the pipeline's next flush.
+     *
+     * @return the number of events accepted
+     * @throws TooManyRequestsException if the pipeline queue cannot take the whole batch
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int ingestGateEvents(GateEventBatchDto dto) {
+        if (dto.getEvents().size() > MAX_GATE_BATCH) {
+            throw new BadRequestException("A gate event batch can hold at most " + MAX_GATE_BATCH + " events.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<GateEventSpool.Entry> entries = new ArrayList<>(dto.getEvents().size());
+        for (GateEventBatchDto.Event e : dto.getEvents()) {
+            entries.add(new GateEventSpool.Entry(e.getResidentId(), e.getDirection(), e.getAt() != null ? e.getAt() : now));
+        }
+        if (!gateEventPipeline.submit(entries)) {
+            throw new TooManyRequestsException("Gate event queue is full. Please retry shortly.", 1);
+        }
+        return entries.size();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> getGatePipelineMetrics() {
+        return gateEventPipeline.metrics();
+    }
+
+    /** Writes the gate events the pipeline dead-lettered again; see {@link GateEventPipeline#replayDeadLetters}. */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int replayGateDeadLetters() {
+        return gateEventPipeline.replayDeadLetters();
+    }
+
+    /** One resident's month as a day-by-day calendar, read from the monthly bitsets. */
+    @Transactional(readOnly = true)
+    public AttendanceMonthDto getResidentMonth(Long residentId, String month) {
+        YearMonth period = parseMonthOrCurrent(month);
+        Resident resident = residentRepository.findById(residentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resident", residentId));
+        List<Object[]> bitsets = attendanceMonthRepository.findBitsets(residentId, DateUtil.toYyyymm(period));
+        Object[] row = bitsets.isEmpty() ? new Object[] {0, 0, 0} : bitsets.get(0);
+        return toMonthDto(residentId, resident.getName(),
+                resident.getRoom() != null ? resident.getRoom().getRoomNumber() : null, period,
+                ((Number) row[0]).intValue(), ((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+    }
+
+    /** Every resident's calendar for the month, ordered by name. */
+    @Transactional(readOnly = true)
+    public List<AttendanceMonthDto> getMonthMatrix(String month) {
+        YearMonth period = parseMonthOrCurrent(month);
+        return toMonthDtos(period, attendanceMonthRepository.findMatrix(DateUtil.toYyyymm(period)));
+    }
+
+    /** Residents absent on more than {@code over} days of the month, most absences first. */
+    @Transactional(readOnly = true)
+    public List<AttendanceMonthDto> getFrequentAbsentees(String month, int over) {
+        YearMonth period = parseMonthOrCurrent(month);
+        return toMonthDtos(period, attendanceMonthRepository.findAbsentOver(DateUtil.toYyyymm(period), Math.max(0, over)));
+    }
+
+    /** Recomputes the monthly bitsets from the attendance table. */
+    public int rebuildMonthlySummary() {
+        attendanceMonthRepository.deleteAllMonths();
+        return attendanceMonthRepository.insertAllFromAttendance();
+    }
+
+    /** Builds the monthly bitsets on first start after upgrade, when attendance predates them. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialiseMonthlySummary() {
+        if (attendanceMonthRepository.count() == 0 && attendanceRepository.count() > 0) rebuildMonthlySummary();
     }
 
     public Map<String, Object> getAttendanceStats() {
@@ -114,6 +289,44 @@ public class AttendanceService {
         return stats;
     }
 
+    /** Moves the day to {@code status}'s bitset, or clears it for a null or unknown status. */
+    private void recordDay(Long residentId, LocalDate date, String status) {
+        if (residentId == null || date == null) return;
+        String normalised = status != null ? status.trim().toUpperCase(Locale.ROOT) : "";
+        int bit = 1 << (date.getDayOfMonth() - 1);
+        attendanceMonthRepository.markDay(residentId, DateUtil.toYyyymm(YearMonth.from(date)), bit,
+                "PRESENT".equals(normalised) ? bit : 0,
+                "ABSENT".equals(normalised) ? bit : 0,
+                "LEAVE".equals(normalised) ? bit : 0);
+    }
+
+    private static YearMonth parseMonthOrCurrent(String month) {
+        if (month == null || month.isBlank()) return YearMonth.now();
+        YearMonth period = DateUtil.parseMonth(month);
+        if (period == null) throw new BadRequestException("Invalid month '" + month + "'.");
+        return period;
+    }
+
+    private static List<AttendanceMonthDto> toMonthDtos(YearMonth period, List<Object[]> rows) {
+        List<AttendanceMonthDto> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(toMonthDto(((Number) row[0]).longValue(), (String) row[1], (String) row[2], period,
+                    ((Number) row[3]).intValue(), ((Number) row[4]).intValue(), ((Number) row[5]).intValue()));
+        }
+        return result;
+    }
+
+    private static AttendanceMonthDto toMonthDto(Long residentId, String name, String roomNumber, YearMonth period,
+                                                 int present, int absent, int leave) {
+        char[] days = new char[period.lengthOfMonth()];
+        for (int d = 0; d < days.length; d++) {
+            int bit = 1 << d;
+            days[d] = (present & bit) != 0 ? 'P' : (absent & bit) != 0 ? 'A' : (leave & bit) != 0 ? 'L' : '-';
+        }
+        return new AttendanceMonthDto(residentId, name, roomNumber, period.toString(), new String(days),
+                Integer.bitCount(present), Integer.bitCount(absent), Integer.bitCount(leave));
+    }
+
     private AttendanceResponseDto mapToResponseDto(Attendance attendance) {
         AttendanceResponseDto dto = new AttendanceResponseDto();
         dto.setId(attendance.getId());
@@ -1,5 +1,8 @@
 package com.hostel.management.service;
 
+import com.hostel.management.dto.cleaning.CleaningScheduleRequestDto;
+import com.hostel.management.dto.cleaning.CleaningScheduleResultDto;
+import com.hostel.management.dto.cleaning.CleaningScheduleValidationDto;
 import com.hostel.management.dto.cleaning.CleaningTaskRequestDto;
 import com.hostel.management.dto.cleaning.CleaningTaskResponseDto;
 
@@ -22,6 +25,15 @@ public interface CleaningTaskService {
     /** Get a task by ID. */
     CleaningTaskResponseDto getTaskById(Long id);
 
-    /** Get all tasks with optional dayOfWeek filter. */
-    List<CleaningTaskResponseDto> getAllTasks(String dayOfWeek);
+    /** Get all tasks with optional dayOfWeek and exact staff-name filters. */
+    List<CleaningTaskResponseDto> getAllTasks(String dayOfWeek, String staff);
+
+    /**
+     * Plan a week of cleaning visits around the existing hand-entered tasks and save them as
+     * generated tasks, unless it is a dry run.
+     */
+    CleaningScheduleResultDto generateSchedule(CleaningScheduleRequestDto requestDto);
+
+    /** Report pairs of tasks that double-book a staff member, plus weekly minutes per staff member. */
+    CleaningScheduleValidationDto validateSchedule(Integer defaultSlotMinutes);
 }
@@ -1,8 +1,13 @@
 package com.hostel.management.service;
 
+import com.hostel.management.dto.complaint.ComplaintEscalationResultDto;
 import com.hostel.management.dto.complaint.ComplaintRequestDto;
 import com.hostel.management.dto.complaint.ComplaintResponseDto;
+import com.hostel.management.dto.complaint.ComplaintSearchHitDto;
+import com.hostel.management.dto.complaint.ComplaintSearchRebuildResultDto;
 import com.hostel.management.enums.ComplaintStatus;
+import com.hostel.management.enums.SortDirection;
+import com.hostel.management.response.CursorPage;
 
 import java.util.List;
 import java.util.Map;
@@ -24,12 +29,25 @@ public interface ComplaintService {
     /** Get a complaint by ID. */
     ComplaintResponseDto getComplaintById(Long id);
 
-    /** Get all complaints with optional residentId or status filters. */
-    List<ComplaintResponseDto> getAllComplaints(Long residentId, ComplaintStatus status);
+    /** Get complaints with optional residentId and status filters, keyset-paginated by id. */
+    CursorPage<ComplaintResponseDto> getAllComplaints(Long residentId, ComplaintStatus status,
+                                                      Long after, Integer limit, SortDirection sort);
 
     /** Update only the status of a complaint. */
     ComplaintResponseDto updateStatus(Long id, ComplaintStatus status, String resolution);
 
+    /** Get up to {@code limit} open complaints, most urgent first, from the in-memory work queue. */
+    List<ComplaintResponseDto> getComplaintQueue(Integer limit);
+
+    /** Escalate the priority of open complaints that have breached their SLA window. */
+    ComplaintEscalationResultDto escalateOverdueComplaints();
+
+    /** Full-text search over complaint titles, descriptions and resolutions, best match first. */
+    List<ComplaintSearchHitDto> searchComplaints(String query, ComplaintStatus status, Integer limit);
+
+    /** Rebuild the complaint search index from the database. */
+    ComplaintSearchRebuildResultDto rebuildSearchIndex();
+
     /** Get complaint stats. */
     Map<String, Object> getComplaintStats();
 }
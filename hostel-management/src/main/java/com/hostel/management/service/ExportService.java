@@ -0,0 +1,23 @@
+package com.hostel.management.service;
+
+import com.hostel.management.enums.ExportFormat;
+import com.hostel.management.enums.PaymentStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for streaming bulk exports. Filters are validated up front; rows are
+ * written as the response body is streamed.
+ */
+public interface ExportService {
+
+    /** Export payments, optionally filtered by status and payment-date range. */
+    StreamingResponseBody exportPayments(ExportFormat format, PaymentStatus status, LocalDate from, LocalDate to);
+
+    /** Export attendance records, optionally filtered by status and date range. */
+    StreamingResponseBody exportAttendance(ExportFormat format, String status, LocalDate from, LocalDate to);
+
+    /** Export food preferences, optionally filtered by meal type and date range. */
+    StreamingResponseBody exportFoodPreferences(ExportFormat format, String mealType, LocalDate from, LocalDate to);
+}
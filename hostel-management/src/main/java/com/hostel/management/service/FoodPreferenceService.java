@@ -2,45 +2,130 @@ package com.hostel.management.service;
 
 import com.hostel.management.dto.food.FoodPreferenceRequestDto;
 import com.hostel.management.dto.food.FoodPreferenceResponseDto;
+import com.hostel.management.dto.food.FoodTemplateRequestDto;
+import com.hostel.management.dto.food.FoodTemplateResponseDto;
+import com.hostel.management.dto.food.MealCountDto;
 import com.hostel.management.entity.FoodPreference;
+import com.hostel.management.entity.FoodTemplate;
+import com.hostel.management.entity.MealTemplateCount;
 import com.hostel.management.entity.Resident;
+import com.hostel.management.enums.SortDirection;
+import com.hostel.management.exception.BadRequestException;
+import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.repository.FoodPreferenceJdbcRepository;
 import com.hostel.management.repository.FoodPreferenceRepository;
+import com.hostel.management.repository.FoodTemplateRepository;
+import com.hostel.management.repository.MealCountRepository;
+import com.hostel.management.repository.MealTemplateCountRepository;
 import com.hostel.management.repository.ResidentRepository;
+import com.hostel.management.response.CursorPage;
+import com.hostel.management.service.impl.MealCounters;
+import com.hostel.management.util.TransactionUtil;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
+/**
+ * Food preferences are resolved from two sources: a resident's weekly {@link FoodTemplate}
+ * (versioned by start date) and per-date {@link FoodPreference} rows, which are stored only
+ * where they differ from the template. Every write keeps the kitchen head-counts in step by
+ * applying the difference it makes; writes for one resident are serialised on the resident row.
+ */
 @Service
+@Transactional
 public class FoodPreferenceService {
 
+    private static final String UNSPECIFIED_MEAL_TYPE = "UNSPECIFIED";
+    private static final int DEFAULT_COUNT_DAYS = 7;
+    private static final int MAX_COUNT_DAYS = 366;
+    /** Weeks in a row a day's preference must repeat before folding it into a template saves rows. */
+    private static final int MIN_COLLAPSE_RUN = 3;
+    private static final int COLLAPSE_CHUNK = 200;
+
     private final FoodPreferenceRepository foodPreferenceRepository;
+    private final FoodPreferenceJdbcRepository foodPreferenceJdbcRepository;
+    private final FoodTemplateRepository foodTemplateRepository;
+    private final MealCountRepository mealCountRepository;
+    private final MealTemplateCountRepository mealTemplateCountRepository;
     private final ResidentRepository residentRepository;
+    private final MealCounters mealCounters;
+    private final TransactionTemplate transactionTemplate;
 
-    public FoodPreferenceService(FoodPreferenceRepository foodPreferenceRepository, ResidentRepository residentRepository) {
+    public FoodPreferenceService(FoodPreferenceRepository foodPreferenceRepository,
+                                 FoodPreferenceJdbcRepository foodPreferenceJdbcRepository,
+                                 FoodTemplateRepository foodTemplateRepository,
+                                 MealCountRepository mealCountRepository,
+                                 MealTemplateCountRepository mealTemplateCountRepository,
+                                 ResidentRepository residentRepository,
+                                 MealCounters mealCounters,
+                                 PlatformTransactionManager transactionManager) {
         this.foodPreferenceRepository = foodPreferenceRepository;
+        this.foodPreferenceJdbcRepository = foodPreferenceJdbcRepository;
+        this.foodTemplateRepository = foodTemplateRepository;
+        this.mealCountRepository = mealCountRepository;
+        this.mealTemplateCountRepository = mealTemplateCountRepository;
         this.residentRepository = residentRepository;
+        this.mealCounters = mealCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * Sets a resident's preference for one date. Fields left null keep the date's current
+     * preference, whether stored or from the template. A result equal to the template is not
+     * stored, and replaces any row the date had.
+     */
     public FoodPreferenceResponseDto createOrUpdatePreference(FoodPreferenceRequestDto dto) {
-        Resident resident = residentRepository.findById(dto.getResidentId())
+        Resident resident = residentRepository.findByIdForUpdate(dto.getResidentId())
                 .orElseThrow(() -> new RuntimeException("Resident not found"));
 
         LocalDate date = dto.getDate() != null ? dto.getDate() : LocalDate.now();
+        FoodTemplate template = activeTemplate(resident.getId(), date);
 
-        Optional<FoodPreference> existing = foodPreferenceRepository.findByResidentIdAndDate(dto.getResidentId(), date);
+        Optional<FoodPreference> existing = foodPreferenceRepository.findByResidentIdAndDate(resident.getId(), date);
 
+        Map<String, int[]> delta = new HashMap<>();
         FoodPreference preference;
         if (existing.isPresent()) {
             preference = existing.get();
+            // Take out the row's current adjustment against the template
+            addMeals(delta, preference, -1);
+            if (template != null) addMeals(delta, template, 1);
         } else {
             preference = new FoodPreference();
             preference.setResident(resident);
             preference.setDate(date);
+            if (template != null) {
+                preference.setBreakfast(template.getBreakfast());
+                preference.setLunch(template.getLunch());
+                preference.setDinner(template.getDinner());
+                preference.setMealType(template.getMealType());
+                preference.setSpecialRequirements(template.getSpecialRequirements());
+            }
         }
 
         if (dto.getBreakfast() != null) preference.setBreakfast(dto.getBreakfast());
@@ -49,58 +134,567 @@ public class FoodPreferenceService {
         if (dto.getMealType() != null) preference.setMealType(dto.getMealType());
         if (dto.getSpecialRequirements() != null) preference.setSpecialRequirements(dto.getSpecialRequirements());
 
-        return mapToResponseDto(foodPreferenceRepository.save(preference));
+        FoodPreferenceResponseDto result;
+        if (template != null && matches(preference, template)) {
+            existing.ifPresent(foodPreferenceRepository::delete);
+            result = mapTemplateToResponseDto(template, date);
+        } else {
+            FoodPreference saved = foodPreferenceRepository.save(preference);
+            addMeals(delta, saved, 1);
+            if (template != null) addMeals(delta, template, -1);
+            result = mapToResponseDto(saved);
+        }
+        countMeals(date, delta);
+        return result;
     }
 
+    /** Deletes a stored preference; the date falls back to the resident's template, if any. */
     public void deletePreference(Long id) {
-        foodPreferenceRepository.deleteById(id);
+        Optional<Long> residentId = foodPreferenceRepository.findResidentIdById(id);
+        if (residentId.isEmpty()) return;
+        // Lock before loading the row, in the same order as every other write for the resident
+        residentRepository.findByIdForUpdate(residentId.get());
+
+        foodPreferenceRepository.findById(id).ifPresent(preference -> {
+            foodPreferenceRepository.delete(preference);
+            if (preference.getDate() == null) return;
+            Map<String, int[]> delta = new HashMap<>();
+            addMeals(delta, preference, -1);
+            FoodTemplate template = activeTemplate(residentId.get(), preference.getDate());
+            if (template != null) addMeals(delta, template, 1);
+            countMeals(preference.getDate(), delta);
+        });
     }
 
-    public List<FoodPreferenceResponseDto> getAllPreferences() {
-        return foodPreferenceRepository.findAll().stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+    /** Stored preference rows only; dates covered by a template alone are not listed. */
+    @Transactional(readOnly = true)
+    public CursorPage<FoodPreferenceResponseDto> getAllPreferences(Long after, Integer limit, SortDirection sort) {
+        Pageable pageable = CursorPage.pageable(limit);
+        List<FoodPreferenceResponseDto> preferences = CursorPage.isDescending(sort)
+                ? foodPreferenceRepository.findPageDesc(CursorPage.upperBound(after), pageable)
+                : foodPreferenceRepository.findPageAsc(CursorPage.lowerBound(after), pageable);
+        return CursorPage.of(preferences, pageable, FoodPreferenceResponseDto::getId);
     }
 
+    /** Every resident's effective preference for the date: stored rows plus template-only residents. */
+    @Transactional(readOnly = true)
     public List<FoodPreferenceResponseDto> getPreferencesByDate(LocalDate date) {
-        return foodPreferenceRepository.findByDate(date).stream()
+        List<FoodPreferenceResponseDto> preferences = foodPreferenceRepository.findByDate(date).stream()
                 .map(this::mapToResponseDto)
                 .collect(Collectors.toList());
+        foodTemplateRepository.findUnoverriddenForDate(date.getDayOfWeek(), date)
+                .forEach(template -> preferences.add(mapTemplateToResponseDto(template, date)));
+        return preferences;
     }
 
+    /** Stored preference rows only, see {@link #getAllPreferences}. */
     public List<FoodPreferenceResponseDto> getPreferencesByResident(Long residentId) {
         return foodPreferenceRepository.findByResidentId(residentId).stream()
                 .map(this::mapToResponseDto)
                 .collect(Collectors.toList());
     }
 
+    /** The resident's effective preference for today, or null when neither a row nor a template applies. */
+    @Transactional(readOnly = true)
     public FoodPreferenceResponseDto getTodayPreference(Long residentId) {
-        Optional<FoodPreference> preference = foodPreferenceRepository.findByResidentIdAndDate(residentId, LocalDate.now());
-        return preference.map(this::mapToResponseDto).orElse(null);
+        LocalDate today = LocalDate.now();
+        Optional<FoodPreference> preference = foodPreferenceRepository.findByResidentIdAndDate(residentId, today);
+        if (preference.isPresent()) return mapToResponseDto(preference.get());
+        FoodTemplate template = activeTemplate(residentId, today);
+        return template != null ? mapTemplateToResponseDto(template, today) : null;
     }
 
+    /** Today's head-counts, read from the meal counters rather than the preference rows. */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> getFoodStats() {
-        Map<String, Object> stats = new HashMap<>();
         LocalDate today = LocalDate.now();
-        List<FoodPreference> todayPreferences = foodPreferenceRepository.findByDate(today);
+        List<MealCountDto> counts = mealCounters.holds(today)
+                ? mealCounters.day(today)
+                : getMealCounts(today, today);
 
-        long breakfastCount = todayPreferences.stream().filter(p -> Boolean.TRUE.equals(p.getBreakfast())).count();
-        long lunchCount = todayPreferences.stream().filter(p -> Boolean.TRUE.equals(p.getLunch())).count();
-        long dinnerCount = todayPreferences.stream().filter(p -> Boolean.TRUE.equals(p.getDinner())).count();
-        long vegCount = todayPreferences.stream().filter(p -> "VEG".equals(p.getMealType())).count();
-        long nonVegCount = todayPreferences.stream().filter(p -> "NON_VEG".equals(p.getMealType())).count();
+        long breakfastCount = 0, lunchCount = 0, dinnerCount = 0, vegCount = 0, nonVegCount = 0, total = 0;
+        for (MealCountDto c : counts) {
+            breakfastCount += c.getBreakfast();
+            lunchCount += c.getLunch();
+            dinnerCount += c.getDinner();
+            total += c.getTotal();
+            if ("VEG".equals(c.getMealType())) vegCount += c.getTotal();
+            if ("NON_VEG".equals(c.getMealType())) nonVegCount += c.getTotal();
+        }
 
+        Map<String, Object> stats = new HashMap<>();
         stats.put("date", today);
         stats.put("breakfast", breakfastCount);
         stats.put("lunch", lunchCount);
         stats.put("dinner", dinnerCount);
         stats.put("veg", vegCount);
         stats.put("nonVeg", nonVegCount);
-        stats.put("total", todayPreferences.size());
+        stats.put("total", total);
 
         return stats;
     }
 
+    /**
+     * Head-counts per date and meal type for {@code [from, to]}, for kitchen planning. Defaults
+     * to the week starting today; ranges are capped at {@value #MAX_COUNT_DAYS} days.
+     */
+    @Transactional(readOnly = true)
+    public List<MealCountDto> getMealCounts(LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(DEFAULT_COUNT_DAYS - 1);
+        if (end.isBefore(start)) {
+            throw new BadRequestException("'to' must not be before 'from'.");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_COUNT_DAYS) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_COUNT_DAYS + " days.");
+        }
+
+        // Template deltas per day of week in start order, summed up as the dates advance
+        Map<DayOfWeek, List<MealTemplateCount>> deltas = new EnumMap<>(DayOfWeek.class);
+        Map<DayOfWeek, Integer> applied = new EnumMap<>(DayOfWeek.class);
+        Map<DayOfWeek, Map<String, long[]>> running = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            deltas.put(day, new ArrayList<>());
+            applied.put(day, 0);
+            running.put(day, new TreeMap<>());
+        }
+        for (MealTemplateCount c : mealTemplateCountRepository.findByEffectiveFromLessThanEqual(end)) {
+            deltas.get(c.getDayOfWeek()).add(c);
+        }
+        deltas.values().forEach(list -> list.sort(Comparator.comparing(MealTemplateCount::getEffectiveFrom)));
+
+        Map<LocalDate, List<MealCountDto>> overrides = mealCountRepository.findRange(start, end).stream()
+                .collect(Collectors.groupingBy(MealCountDto::getDate));
+
+        List<MealCountDto> result = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            DayOfWeek day = date.getDayOfWeek();
+            List<MealTemplateCount> pending = deltas.get(day);
+            Map<String, long[]> sums = running.get(day);
+            int next = applied.get(day);
+            while (next < pending.size() && !pending.get(next).getEffectiveFrom().isAfter(date)) {
+                MealTemplateCount c = pending.get(next++);
+                addCounts(sums, c.getMealType(), c.getBreakfast(), c.getLunch(), c.getDinner(), c.getTotal());
+            }
+            applied.put(day, next);
+
+            Map<String, long[]> dateSums = new TreeMap<>();
+            sums.forEach((type, s) -> dateSums.put(type, s.clone()));
+            for (MealCountDto c : overrides.getOrDefault(date, List.of())) {
+                addCounts(dateSums, c.getMealType(), c.getBreakfast(), c.getLunch(), c.getDinner(), c.getTotal());
+            }
+            LocalDate current = date;
+            dateSums.forEach((type, s) -> {
+                if (s[0] != 0 || s[1] != 0 || s[2] != 0 || s[3] != 0) {
+                    result.add(new MealCountDto(current, type, s[0], s[1], s[2], s[3]));
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Sets a resident's weekly template for the given days from {@code effectiveFrom} (default
+     * today, never in the past) on. Each day gets a new version, or its version starting that same
+     * date is replaced; a day whose newest version starts later is refused. Stored preferences
+     * from that date on that now equal the template are removed.
+     *
+     * @return the resident's current and upcoming template versions
+     */
+    public List<FoodTemplateResponseDto> setTemplate(Long residentId, FoodTemplateRequestDto dto) {
+        Resident resident = residentRepository.findByIdForUpdate(residentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resident", residentId));
+        LocalDate from = templateStart(dto.getEffectiveFrom());
+        List<DayOfWeek> days = dto.getDaysOfWeek() == null || dto.getDaysOfWeek().isEmpty()
+                ? Arrays.asList(DayOfWeek.values())
+                : dto.getDaysOfWeek();
+
+        for (DayOfWeek day : days) {
+            FoodTemplate values = new FoodTemplate();
+            values.setActive(true);
+            values.setBreakfast(Boolean.TRUE.equals(dto.getBreakfast()));
+            values.setLunch(Boolean.TRUE.equals(dto.getLunch()));
+            values.setDinner(Boolean.TRUE.equals(dto.getDinner()));
+            values.setMealType(dto.getMealType());
+            values.setSpecialRequirements(dto.getSpecialRequirements());
+            writeTemplateVersion(resident, day, from, values);
+        }
+        return getTemplates(residentId);
+    }
+
+    /**
+     * Stops a resident's weekly template from {@code effectiveFrom} (default today) on; from then
+     * only stored preferences count.
+     *
+     * @return the resident's current and upcoming template versions
+     */
+    public List<FoodTemplateResponseDto> endTemplate(Long residentId, LocalDate effectiveFrom) {
+        Resident resident = residentRepository.findByIdForUpdate(residentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Resident", residentId));
+        LocalDate from = templateStart(effectiveFrom);
+
+        for (DayOfWeek day : DayOfWeek.values()) {
+            FoodTemplate latest = foodTemplateRepository.findLatest(residentId, day).orElse(null);
+            if (latest == null || !latest.isActive()) continue;
+            writeTemplateVersion(resident, day, from, new FoodTemplate());
+        }
+        return getTemplates(residentId);
+    }
+
+    /** The version in force today for each day of the week, followed by any that start later. */
+    @Transactional(readOnly = true)
+    public List<FoodTemplateResponseDto> getTemplates(Long residentId) {
+        if (!residentRepository.existsById(residentId)) {
+            throw new ResourceNotFoundException("Resident", residentId);
+        }
+        LocalDate today = LocalDate.now();
+        List<FoodTemplate> versions = foodTemplateRepository.findByResidentIdOrderByDayOfWeekAscEffectiveFromAsc(residentId);
+        List<FoodTemplateResponseDto> result = new ArrayList<>();
+        for (int i = 0; i < versions.size(); i++) {
+            FoodTemplate version = versions.get(i);
+            boolean superseded = i + 1 < versions.size()
+                    && versions.get(i + 1).getDayOfWeek() == version.getDayOfWeek()
+                    && !versions.get(i + 1).getEffectiveFrom().isAfter(today);
+            if (!superseded) result.add(mapTemplateToDto(version));
+        }
+        return result;
+    }
+
+    /**
+     * Folds residents' repeated preference rows into weekly templates. For each resident without
+     * templates and each day of the week, every run of at least {@value #MIN_COLLAPSE_RUN}
+     * consecutive weeks with rows becomes a template version set to the run's most common
+     * preference, and the rows equal to it are deleted. Every run is closed by an inactive
+     * version the week after its last row, so no date, past or future, gains a preference it did
+     * not have.
+     * Each resident is collapsed in its own transaction; the head-counts are rebuilt at the end.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> collapseToTemplates() {
+        int[] totals = new int[3];
+        long after = 0;
+        while (true) {
+            List<Long> residentIds = foodPreferenceRepository.findResidentIdsAfter(after, PageRequest.of(0, COLLAPSE_CHUNK));
+            if (residentIds.isEmpty()) break;
+            for (Long residentId : residentIds) {
+                addCollapsed(totals, transactionTemplate.execute(tx -> collapseResident(residentId)));
+            }
+            after = residentIds.get(residentIds.size() - 1);
+        }
+        transactionTemplate.executeWithoutResult(tx -> rebuildMealCounts());
+        return collapseResult(totals);
+    }
+
+    /**
+     * Collapses only the given residents, as {@link #collapseToTemplates()} does, in the caller's
+     * transaction, then rebuilds the head-counts.
+     */
+    public Map<String, Object> collapseToTemplates(Collection<Long> residentIds) {
+        int[] totals = new int[3];
+        for (Long residentId : residentIds) {
+            addCollapsed(totals, collapseResident(residentId));
+        }
+        rebuildMealCounts();
+        return collapseResult(totals);
+    }
+
+    /** Recomputes every meal count from the templates and preference rows and reloads the in-memory counters. */
+    public int rebuildMealCounts() {
+        mealTemplateCountRepository.deleteAllCounts();
+        mealTemplateCountRepository.insertAllFromTemplates();
+        mealCountRepository.deleteAllCounts();
+        int rows = mealCountRepository.insertAllFromPreferences();
+        reloadMealCounters();
+        return rows;
+    }
+
+    /**
+     * Adds the unique (resident, date) key that the head-counts rely on when schema update could
+     * not, because the table already held repeated rows; those are collapsed to the latest one
+     * first. Then backfills the count tables when they are missing, and loads the counters.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialiseMealCounts() {
+        boolean rebuild = false;
+        if (!foodPreferenceJdbcRepository.hasUniqueKey()) {
+            rebuild = foodPreferenceJdbcRepository.deleteDuplicates() > 0;
+            foodPreferenceJdbcRepository.addUniqueKey();
+        }
+        rebuild |= mealCountRepository.count() == 0 && foodPreferenceRepository.count() > 0;
+        rebuild |= mealTemplateCountRepository.count() == 0 && foodTemplateRepository.count() > 0;
+        if (rebuild) {
+            rebuildMealCounts();
+        } else {
+            reloadMealCounters();
+        }
+    }
+
+    /** Reloads the counters periodically, which also drops past dates from memory. */
+    @Scheduled(initialDelayString = "${food.counts.resync-ms:300000}",
+               fixedDelayString = "${food.counts.resync-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reloadMealCounters() {
+        LocalDate today = LocalDate.now();
+        List<MealTemplateCount> templateCounts = mealTemplateCountRepository.findAll();
+        List<MealCountDto> counts = mealCountRepository.findFrom(today);
+        TransactionUtil.afterCommit(() -> mealCounters.rebuild(today, templateCounts, counts));
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    /** The resident's template version for the date, or null when none applies or it is inactive. */
+    private FoodTemplate activeTemplate(Long residentId, LocalDate date) {
+        return foodTemplateRepository.findEffective(residentId, date)
+                .filter(FoodTemplate::isActive)
+                .orElse(null);
+    }
+
+    private static LocalDate templateStart(LocalDate effectiveFrom) {
+        LocalDate today = LocalDate.now();
+        if (effectiveFrom == null) return today;
+        if (effectiveFrom.isBefore(today)) {
+            throw new BadRequestException("Templates cannot start in the past.");
+        }
+        return effectiveFrom;
+    }
+
+    /**
+     * Makes {@code values} (an inactive template for "no template") the resident's version for
+     * the day from {@code from} on, and moves the head-counts by the difference: the recurring
+     * counts change from {@code from}, and stored preferences on later such days are now
+     * adjustments against the new version. The caller holds the resident lock.
+     */
+    private void writeTemplateVersion(Resident resident, DayOfWeek day, LocalDate from, FoodTemplate values) {
+        FoodTemplate latest = foodTemplateRepository.findLatest(resident.getId(), day).orElse(null);
+        if (latest != null && latest.getEffectiveFrom().isAfter(from)) {
+            throw new BadRequestException("The " + day + " template already has a version starting "
+                    + latest.getEffectiveFrom() + "; new versions must start on or after it.");
+        }
+        if (latest != null && latest.isActive() == values.isActive()
+                && (!values.isActive() || matches(latest, values))) {
+            return;
+        }
+
+        Map<String, int[]> delta = new HashMap<>();
+        if (latest != null && latest.isActive()) addMeals(delta, latest, -1);
+        if (values.isActive()) addMeals(delta, values, 1);
+
+        FoodTemplate version = latest != null && latest.getEffectiveFrom().equals(from) ? latest : new FoodTemplate();
+        version.setResident(resident);
+        version.setDayOfWeek(day);
+        version.setEffectiveFrom(from);
+        version.setActive(values.isActive());
+        version.setBreakfast(values.getBreakfast());
+        version.setLunch(values.getLunch());
+        version.setDinner(values.getDinner());
+        version.setMealType(values.getMealType());
+        version.setSpecialRequirements(values.getSpecialRequirements());
+        foodTemplateRepository.save(version);
+        countTemplateMeals(day, from, delta);
+
+        Map<String, int[]> overrideDelta = negate(delta);
+        for (FoodPreference preference : foodPreferenceRepository.findByResidentIdAndDateGreaterThanEqual(resident.getId(), from)) {
+            if (preference.getDate().getDayOfWeek() != day) continue;
+            countMeals(preference.getDate(), overrideDelta);
+            if (version.isActive() && matches(preference, version)) foodPreferenceRepository.delete(preference);
+        }
+    }
+
+    /**
+     * Collapses one resident's rows, see {@link #collapseToTemplates()}.
+     *
+     * @return template versions created and rows removed
+     */
+    private int[] collapseResident(Long residentId) {
+        Resident resident = residentRepository.findByIdForUpdate(residentId).orElse(null);
+        if (resident == null || foodTemplateRepository.existsByResidentId(residentId)) return new int[2];
+
+        Map<DayOfWeek, List<FoodPreference>> byDay = new EnumMap<>(DayOfWeek.class);
+        for (FoodPreference preference : foodPreferenceRepository.findByResidentIdOrderByDateAsc(residentId)) {
+            if (preference.getDate() != null) {
+                byDay.computeIfAbsent(preference.getDate().getDayOfWeek(), d -> new ArrayList<>()).add(preference);
+            }
+        }
+
+        int versions = 0, removed = 0;
+        for (Map.Entry<DayOfWeek, List<FoodPreference>> entry : byDay.entrySet()) {
+            List<FoodPreference> rows = entry.getValue();
+            int runStart = 0;
+            while (runStart < rows.size()) {
+                int runEnd = runStart + 1;
+                while (runEnd < rows.size()
+                        && rows.get(runEnd).getDate().equals(rows.get(runEnd - 1).getDate().plusWeeks(1))) {
+                    runEnd++;
+                }
+                List<FoodPreference> run = rows.subList(runStart, runEnd);
+                FoodPreference common = mostCommon(run);
+                if (common != null) {
+                    versions++;
+                    FoodTemplate template = new FoodTemplate();
+                    template.setResident(resident);
+                    template.setDayOfWeek(entry.getKey());
+                    template.setEffectiveFrom(run.get(0).getDate());
+                    template.setActive(true);
+                    template.setBreakfast(Boolean.TRUE.equals(common.getBreakfast()));
+                    template.setLunch(Boolean.TRUE.equals(common.getLunch()));
+                    template.setDinner(Boolean.TRUE.equals(common.getDinner()));
+                    template.setMealType(common.getMealType());
+                    template.setSpecialRequirements(common.getSpecialRequirements());
+                    foodTemplateRepository.save(template);
+
+                    List<FoodPreference> redundant = run.stream().filter(p -> matches(p, template)).collect(Collectors.toList());
+                    foodPreferenceRepository.deleteAllInBatch(redundant);
+                    removed += redundant.size();
+
+                    FoodTemplate end = new FoodTemplate();
+                    end.setResident(resident);
+                    end.setDayOfWeek(entry.getKey());
+                    end.setEffectiveFrom(run.get(run.size() - 1).getDate().plusWeeks(1));
+                    foodTemplateRepository.save(end);
+                    versions++;
+                }
+                runStart = runEnd;
+            }
+        }
+        return new int[] {versions, removed};
+    }
+
+    /** Adds one resident's {versions, rows removed} to {residents, versions, rows removed}. */
+    private static void addCollapsed(int[] totals, int[] collapsed) {
+        if (collapsed[0] > 0) totals[0]++;
+        totals[1] += collapsed[0];
+        totals[2] += collapsed[1];
+    }
+
+    private static Map<String, Object> collapseResult(int[] totals) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("residents", totals[0]);
+        result.put("templateVersions", totals[1]);
+        result.put("rowsRemoved", totals[2]);
+        return result;
+    }
+
+    /** The run's most frequent preference, or null when none repeats often enough to be worth a template. */
+    private static FoodPreference mostCommon(List<FoodPreference> run) {
+        if (run.size() < MIN_COLLAPSE_RUN) return null;
+        Map<List<Object>, Integer> frequency = new HashMap<>();
+        FoodPreference best = null;
+        int bestCount = 0;
+        for (FoodPreference p : run) {
+            int count = frequency.merge(Arrays.<Object>asList(Boolean.TRUE.equals(p.getBreakfast()), Boolean.TRUE.equals(p.getLunch()),
+                    Boolean.TRUE.equals(p.getDinner()), p.getMealType(), p.getSpecialRequirements()), 1, Integer::sum);
+            if (count > bestCount) {
+                best = p;
+                bestCount = count;
+            }
+        }
+        return bestCount >= MIN_COLLAPSE_RUN ? best : null;
+    }
+
+    private static boolean matches(FoodPreference preference, FoodTemplate template) {
+        return Boolean.TRUE.equals(preference.getBreakfast()) == Boolean.TRUE.equals(template.getBreakfast())
+                && Boolean.TRUE.equals(preference.getLunch()) == Boolean.TRUE.equals(template.getLunch())
+                && Boolean.TRUE.equals(preference.getDinner()) == Boolean.TRUE.equals(template.getDinner())
+                && Objects.equals(preference.getMealType(), template.getMealType())
+                && Objects.equals(preference.getSpecialRequirements(), template.getSpecialRequirements());
+    }
+
+    private static boolean matches(FoodTemplate a, FoodTemplate b) {
+        return Boolean.TRUE.equals(a.getBreakfast()) == Boolean.TRUE.equals(b.getBreakfast())
+                && Boolean.TRUE.equals(a.getLunch()) == Boolean.TRUE.equals(b.getLunch())
+                && Boolean.TRUE.equals(a.getDinner()) == Boolean.TRUE.equals(b.getDinner())
+                && Objects.equals(a.getMealType(), b.getMealType())
+                && Objects.equals(a.getSpecialRequirements(), b.getSpecialRequirements());
+    }
+
+    private static void addMeals(Map<String, int[]> delta, FoodPreference preference, int sign) {
+        addMeals(delta, preference.getMealType(), preference.getBreakfast(), preference.getLunch(), preference.getDinner(), sign);
+    }
+
+    private static void addMeals(Map<String, int[]> delta, FoodTemplate template, int sign) {
+        addMeals(delta, template.getMealType(), template.getBreakfast(), template.getLunch(), template.getDinner(), sign);
+    }
+
+    /** Adds {@code sign} times one preference's contribution: its meals, and 1 towards the total. */
+    private static void addMeals(Map<String, int[]> delta, String mealType, Boolean breakfast, Boolean lunch,
+                                 Boolean dinner, int sign) {
+        int[] d = delta.computeIfAbsent(mealTypeKey(mealType), t -> new int[4]);
+        if (Boolean.TRUE.equals(breakfast)) d[0] += sign;
+        if (Boolean.TRUE.equals(lunch)) d[1] += sign;
+        if (Boolean.TRUE.equals(dinner)) d[2] += sign;
+        d[3] += sign;
+    }
+
+    private static Map<String, int[]> negate(Map<String, int[]> delta) {
+        Map<String, int[]> negated = new HashMap<>();
+        delta.forEach((type, d) -> negated.put(type, new int[] {-d[0], -d[1], -d[2], -d[3]}));
+        return negated;
+    }
+
+    private static void addCounts(Map<String, long[]> sums, String mealType, long breakfast, long lunch,
+                                  long dinner, long total) {
+        long[] s = sums.computeIfAbsent(mealType, t -> new long[4]);
+        s[0] += breakfast;
+        s[1] += lunch;
+        s[2] += dinner;
+        s[3] += total;
+    }
+
+    /** Applies per-meal-type deltas to the date's counts, in the table and, once the transaction commits, in memory. */
+    private void countMeals(LocalDate date, Map<String, int[]> delta) {
+        delta.forEach((type, d) -> {
+            if (d[0] == 0 && d[1] == 0 && d[2] == 0 && d[3] == 0) return;
+            mealCountRepository.applyDelta(date, type, d[0], d[1], d[2], d[3]);
+            mealCounters.add(date, type, d[0], d[1], d[2], d[3]);
+        });
+    }
+
+    /** Applies per-meal-type deltas to the recurring counts of one day of week from {@code from} on. */
+    private void countTemplateMeals(DayOfWeek day, LocalDate from, Map<String, int[]> delta) {
+        delta.forEach((type, d) -> {
+            if (d[0] == 0 && d[1] == 0 && d[2] == 0 && d[3] == 0) return;
+            mealTemplateCountRepository.applyDelta(day.getValue(), from, type, d[0], d[1], d[2], d[3]);
+            mealCounters.addTemplate(day, from, type, d[0], d[1], d[2], d[3]);
+        });
+    }
+
+    /** Must stay in step with the normalisation in the count tables' rebuild queries. */
+    private static String mealTypeKey(String mealType) {
+        String key = mealType == null ? "" : mealType.trim().toUpperCase(Locale.ROOT);
+        return key.isEmpty() ? UNSPECIFIED_MEAL_TYPE : key;
+    }
+
+    private FoodPreferenceResponseDto mapTemplateToResponseDto(FoodTemplate template, LocalDate date) {
+        FoodPreferenceResponseDto dto = new FoodPreferenceResponseDto();
+        dto.setResidentId(template.getResident().getId());
+        dto.setResidentName(template.getResident().getName());
+        dto.setRoomNumber(template.getResident().getRoom() != null ?
+                template.getResident().getRoom().getRoomNumber() : null);
+        dto.setDate(date);
+        dto.setBreakfast(template.getBreakfast());
+        dto.setLunch(template.getLunch());
+        dto.setDinner(template.getDinner());
+        dto.setMealType(template.getMealType());
+        dto.setSpecialRequirements(template.getSpecialRequirements());
+        dto.setFromTemplate(true);
+        return dto;
+    }
+
+    private FoodTemplateResponseDto mapTemplateToDto(FoodTemplate template) {
+        FoodTemplateResponseDto dto = new FoodTemplateResponseDto();
+        dto.setId(template.getId());
+        dto.setResidentId(template.getResident().getId());
+        dto.setDayOfWeek(template.getDayOfWeek());
+        dto.setEffectiveFrom(template.getEffectiveFrom());
+        dto.setActive(template.isActive());
+        dto.setBreakfast(template.getBreakfast());
+        dto.setLunch(template.getLunch());
+        dto.setDinner(template.getDinner());
+        dto.setMealType(template.getMealType());
+        dto.setSpecialRequirements(template.getSpecialRequirements());
+        return dto;
+    }
+
     private FoodPreferenceResponseDto mapToResponseDto(FoodPreference preference) {
         FoodPreferenceResponseDto dto = new FoodPreferenceResponseDto();
         dto.setId(preference.getId());
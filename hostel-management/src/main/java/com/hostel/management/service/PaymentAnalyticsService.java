@@ -0,0 +1,26 @@
+package com.hostel.management.service;
+
+import com.hostel.management.dto.payment.MonthlyRevenueDto;
+import com.hostel.management.dto.payment.RevenueBucketDto;
+import com.hostel.management.dto.payment.RollupRebuildResultDto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Service interface for revenue and arrears analytics, answered from the payment rollup.
+ */
+public interface PaymentAnalyticsService {
+
+    /** Billed, collected and outstanding totals per month, oldest first, optionally within a range. */
+    List<MonthlyRevenueDto> getMonthlyTrend(YearMonth from, YearMonth to);
+
+    /** How collected revenue splits across payment methods, for one month or all time. */
+    List<RevenueBucketDto> getMethodMix(YearMonth month);
+
+    /** PENDING and LATE totals per room type. */
+    List<RevenueBucketDto> getOutstandingByRoomType();
+
+    /** Recompute the rollup from the payments table. */
+    RollupRebuildResultDto rebuildRollups();
+}
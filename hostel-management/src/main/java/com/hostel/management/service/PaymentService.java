@@ -1,10 +1,18 @@
 package com.hostel.management.service;
 
+import com.hostel.management.dto.payment.BillingRunResultDto;
+import com.hostel.management.dto.payment.BulkPaymentResultDto;
+import com.hostel.management.dto.payment.LateFeeSweepResultDto;
+import com.hostel.management.dto.payment.MonthlyRevenueDto;
 import com.hostel.management.dto.payment.PaymentRequestDto;
 import com.hostel.management.dto.payment.PaymentResponseDto;
+import com.hostel.management.dto.payment.PeriodBackfillResultDto;
 import com.hostel.management.enums.PaymentMethod;
 import com.hostel.management.enums.PaymentStatus;
+import com.hostel.management.enums.SortDirection;
+import com.hostel.management.response.CursorPage;
 
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
 
@@ -25,14 +33,31 @@ public interface PaymentService {
     /** Get a payment by ID. */
     PaymentResponseDto getPaymentById(Long id);
 
-    /** Get all payments with optional residentId or status filters. */
-    List<PaymentResponseDto> getAllPayments(Long residentId, PaymentStatus status);
+    /** Get payments with optional residentId, status and billing period range filters, keyset-paginated by id. */
+    CursorPage<PaymentResponseDto> getAllPayments(Long residentId, PaymentStatus status,
+                                                  YearMonth from, YearMonth to,
+                                                  Long after, Integer limit, SortDirection sort);
 
     /** Mark a single payment as paid. */
     PaymentResponseDto markAsPaid(Long id, PaymentMethod method);
 
     /** Bulk-pay all pending payments for a resident. */
-    List<PaymentResponseDto> payAllPending(Long residentId, PaymentMethod method);
+    BulkPaymentResultDto payAllPending(Long residentId, PaymentMethod method);
+
+    /** Bulk-pay every pending payment for a month, e.g. after a bank reconciliation. */
+    BulkPaymentResultDto payAllPendingForMonth(YearMonth month, PaymentMethod method);
+
+    /** Create the missing PENDING payments for every active resident for the given month. */
+    BillingRunResultDto runMonthlyBilling(YearMonth month);
+
+    /** Mark overdue pending payments as LATE and apply the late-fee policy. */
+    LateFeeSweepResultDto sweepOverduePayments();
+
+    /** Fill in the billing period of payments recorded with only a month label. */
+    PeriodBackfillResultDto backfillPeriods();
+
+    /** Billed, collected and outstanding totals per billing period within a range. */
+    List<MonthlyRevenueDto> getPeriodSummary(YearMonth from, YearMonth to);
 
     /** Get dashboard payment stats. */
     Map<String, Object> getPaymentStats();
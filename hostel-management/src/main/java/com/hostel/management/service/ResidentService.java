@@ -2,7 +2,12 @@ package com.hostel.management.service;
 
 import com.hostel.management.dto.resident.ResidentRequestDto;
 import com.hostel.management.dto.resident.ResidentResponseDto;
+import com.hostel.management.dto.resident.ResidentSearchRequestDto;
+import com.hostel.management.dto.resident.RoomAssignmentRequestDto;
+import com.hostel.management.dto.resident.RoomAssignmentResultDto;
 import com.hostel.management.enums.ResidentStatus;
+import com.hostel.management.enums.SortDirection;
+import com.hostel.management.response.CursorPage;
 
 import java.util.List;
 import java.util.Map;
@@ -24,12 +29,20 @@ public interface ResidentService {
     /** Get a single resident by ID. */
     ResidentResponseDto getResidentById(Long id);
 
-    /** Get all residents with optional name search or status filter. */
-    List<ResidentResponseDto> getAllResidents(String name, ResidentStatus status);
+    /** Get residents with optional name search and status filter, keyset-paginated by id. */
+    CursorPage<ResidentResponseDto> getAllResidents(String name, ResidentStatus status,
+                                                    Long after, Integer limit, SortDirection sort);
+
+    /** Search residents by any combination of the given filters, keyset-paginated by id. */
+    CursorPage<ResidentResponseDto> searchResidents(ResidentSearchRequestDto criteria,
+                                                    Long after, Integer limit, SortDirection sort);
 
     /** Assign a resident to a room. */
     ResidentResponseDto assignRoom(Long residentId, Long roomId);
 
+    /** Assign a batch of residents to rooms in one transaction, reporting the outcome per entry. */
+    List<RoomAssignmentResultDto> assignRooms(List<RoomAssignmentRequestDto> assignments);
+
     /** Remove a resident from their current room. */
     ResidentResponseDto removeFromRoom(Long residentId);
 
@@ -4,6 +4,8 @@ import com.hostel.management.dto.room.RoomRequestDto;
 import com.hostel.management.dto.room.RoomResponseDto;
 import com.hostel.management.enums.RoomStatus;
 import com.hostel.management.enums.RoomType;
+import com.hostel.management.enums.SortDirection;
+import com.hostel.management.response.CursorPage;
 
 import java.util.List;
 import java.util.Map;
@@ -25,11 +27,13 @@ public interface RoomService {
     /** Get a room by ID. */
     RoomResponseDto getRoomById(Long id);
 
-    /** Get all rooms with optional status/type filters. */
-    List<RoomResponseDto> getAllRooms(RoomStatus status, RoomType roomType);
+    /** Get rooms with optional status/type filters, keyset-paginated by id. */
+    CursorPage<RoomResponseDto> getAllRooms(RoomStatus status, RoomType roomType,
+                                            Long after, Integer limit, SortDirection sort);
 
-    /** Get all rooms with available capacity. */
-    List<RoomResponseDto> getAvailableRooms();
+    /** Get rooms with free beds, optionally filtered by type, status, minimum free beds and max price. */
+    List<RoomResponseDto> getAvailableRooms(RoomType roomType, RoomStatus status,
+                                            Integer minFreeBeds, Double maxPrice);
 
     /** Get dashboard stats (total, available, occupied, maintenance). */
     Map<String, Object> getRoomStats();
@@ -0,0 +1,12 @@
+package com.hostel.management.service;
+
+import java.util.Map;
+
+/**
+ * Service interface for the combined admin dashboard statistics.
+ */
+public interface StatsService {
+
+    /** Get room, resident, payment, complaint and visit stats in one call. */
+    Map<String, Object> getDashboardStats();
+}
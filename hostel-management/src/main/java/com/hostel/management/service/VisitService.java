@@ -2,8 +2,14 @@ package com.hostel.management.service;
 
 import com.hostel.management.dto.visit.VisitRequestDto;
 import com.hostel.management.dto.visit.VisitResponseDto;
+import com.hostel.management.dto.visit.VisitSlotRequestDto;
+import com.hostel.management.dto.visit.VisitSlotResponseDto;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.enums.VisitStatus;
+import com.hostel.management.response.CursorPage;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -25,11 +31,23 @@ public interface VisitService {
     VisitResponseDto getVisitById(Long id);
 
     /** Get all visits with optional status filter. */
-    List<VisitResponseDto> getAllVisits(VisitStatus status);
+    CursorPage<VisitResponseDto> getAllVisits(VisitStatus status, Long after, Integer limit, SortDirection sort);
 
     /** Update only the status and admin notes of a visit. */
     VisitResponseDto updateStatus(Long id, VisitStatus status, String adminNotes);
 
+    /** Open bookable visit slots over a range of days. */
+    List<VisitSlotResponseDto> createSlots(VisitSlotRequestDto requestDto);
+
+    /** Delete a visit slot that has no bookings. */
+    void deleteSlot(Long id);
+
+    /** Get up to {@code limit} slots with places left, starting at or after {@code from}. */
+    List<VisitSlotResponseDto> getFreeSlots(LocalDateTime from, Integer limit);
+
+    /** Get every slot on one day. */
+    List<VisitSlotResponseDto> getSlotsForDay(LocalDate date);
+
     /** Get visit stats. */
     Map<String, Object> getVisitStats();
 }
@@ -0,0 +1,241 @@
+package com.hostel.management.service.impl;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Greedy planner for a week of cleaning visits. Not a bean: each run builds its own instance.
+ *
+ * <p>Areas are placed most-constrained first (fewest eligible staff, then longest visits). Each
+ * area's visits are spread evenly over the week, with the pattern rotated onto the least-loaded
+ * days, and every visit goes to the least-loaded eligible staff member who has a free stretch
+ * of that length inside a shift that day, at the earliest such time. A visit that fits nowhere on
+ * its pattern day tries the area's other days, least loaded first; what still does not fit is
+ * reported as a shortfall. Each staff member's busy time per day is a map of disjoint intervals,
+ * so finding a gap is a walk over that day's few entries, and no two visits ever overlap.</p>
+ */
+public final class CleaningScheduler {
+
+    public record Area(String name, String building, int visitsPerWeek, int durationMinutes) {}
+
+    /** Minutes of the day a staff member is on duty. */
+    public record Shift(DayOfWeek day, int startMinute, int endMinute) {}
+
+    /** An empty {@code buildings} set means the staff member can work anywhere. */
+    public record Staff(String name, Set<String> buildings, List<Shift> shifts, int maxMinutesPerWeek) {}
+
+    public record Visit(String area, String building, String staff, DayOfWeek day, int startMinute, int endMinute) {}
+
+    public record Shortfall(String area, String building, int missingVisits) {}
+
+    /** {@code staffMinutes} includes time reserved before planning. */
+    public record Plan(List<Visit> visits, List<Shortfall> shortfalls, Map<String, Integer> staffMinutes) {}
+
+    private static final int DAYS = 7;
+
+    private final List<Worker> workers = new ArrayList<>();
+    private final Map<String, Worker> byName = new HashMap<>();
+    private final long[] dayMinutes = new long[DAYS];
+
+    public CleaningScheduler(Collection<Staff> staff) {
+        for (Staff s : staff) {
+            Worker worker = new Worker(s);
+            if (byName.putIfAbsent(key(s.name()), worker) == null) workers.add(worker);
+        }
+    }
+
+    /**
+     * Marks time a staff member is already committed to, such as hand-entered tasks, so the plan
+     * works around it. Unknown staff are ignored.
+     */
+    public void reserve(String staffName, DayOfWeek day, int startMinute, int endMinute) {
+        Worker worker = staffName != null ? byName.get(key(staffName)) : null;
+        if (worker == null || endMinute <= startMinute) return;
+        worker.occupy(day, startMinute, endMinute);
+    }
+
+    public Plan plan(List<Area> areas) {
+        List<Candidate> order = new ArrayList<>(areas.size());
+        for (Area area : areas) {
+            String building = key(area.building());
+            List<Worker> eligible = workers.stream()
+                    .filter(w -> building.isEmpty() || w.buildings.isEmpty() || w.buildings.contains(building))
+                    .collect(Collectors.toList());
+            order.add(new Candidate(area, eligible));
+        }
+        order.sort(Comparator.<Candidate>comparingInt(c -> c.eligible.size())
+                .thenComparing(c -> c.area.durationMinutes(), Comparator.reverseOrder())
+                .thenComparing(c -> c.area.visitsPerWeek(), Comparator.reverseOrder())
+                .thenComparing(c -> c.area.name()));
+
+        List<Visit> visits = new ArrayList<>();
+        List<Shortfall> shortfalls = new ArrayList<>();
+        for (Candidate c : order) {
+            int wanted = Math.min(DAYS, Math.max(0, c.area.visitsPerWeek()));
+            boolean[] used = new boolean[DAYS];
+            int missing = 0;
+            for (int day : pattern(wanted)) {
+                if (place(c, day, visits)) {
+                    used[day] = true;
+                } else {
+                    missing++;
+                }
+            }
+            while (missing > 0 && placeOnAnotherDay(c, used, visits)) missing--;
+            if (missing > 0) shortfalls.add(new Shortfall(c.area.name(), c.area.building(), missing));
+        }
+
+        Map<String, Integer> staffMinutes = new LinkedHashMap<>();
+        workers.forEach(w -> staffMinutes.put(w.name, w.minutes));
+        return new Plan(visits, shortfalls, staffMinutes);
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * {@code visits} days spaced as evenly as the week allows, rotated to start where the days
+     * they land on carry the least work so far.
+     */
+    private int[] pattern(int visits) {
+        int[] best = new int[visits];
+        long bestLoad = Long.MAX_VALUE;
+        int[] days = new int[visits];
+        for (int offset = 0; offset < DAYS && visits > 0; offset++) {
+            long load = 0;
+            for (int i = 0; i < visits; i++) {
+                days[i] = (offset + i * DAYS / visits) % DAYS;
+                load += dayMinutes[days[i]];
+            }
+            if (load < bestLoad) {
+                bestLoad = load;
+                System.arraycopy(days, 0, best, 0, visits);
+            }
+        }
+        return best;
+    }
+
+    /** Places one more visit on the least-loaded day the area has not used yet. */
+    private boolean placeOnAnotherDay(Candidate c, boolean[] used, List<Visit> visits) {
+        Integer[] days = new Integer[DAYS];
+        for (int d = 0; d < DAYS; d++) days[d] = d;
+        Arrays.sort(days, Comparator.comparingLong(d -> dayMinutes[d]));
+        for (int day : days) {
+            if (!used[day] && place(c, day, visits)) {
+                used[day] = true;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Gives the visit to the least-loaded eligible worker with room for it that day. */
+    private boolean place(Candidate c, int day, List<Visit> visits) {
+        int duration = c.area.durationMinutes();
+        c.eligible.sort(Comparator.comparingInt((Worker w) -> w.minutes).thenComparing(w -> w.name));
+        for (Worker worker : c.eligible) {
+            if (worker.maxMinutes > 0 && worker.minutes + duration > worker.maxMinutes) continue;
+            int start = worker.findGap(day, duration);
+            if (start < 0) continue;
+            worker.occupy(DayOfWeek.of(day + 1), start, start + duration);
+            dayMinutes[day] += duration;
+            visits.add(new Visit(c.area.name(), c.area.building(), worker.name, DayOfWeek.of(day + 1),
+                    start, start + duration));
+            return true;
+        }
+        return false;
+    }
+
+    private record Candidate(Area area, List<Worker> eligible) {}
+
+    private static final class Worker {
+
+        private final String name;
+        private final Set<String> buildings;
+        private final int maxMinutes;
+        /** Per day, shift start to shift end, sorted and merged. */
+        private final List<NavigableMap<Integer, Integer>> shifts = new ArrayList<>(DAYS);
+        /** Per day, busy start to busy end; intervals never overlap or touch. */
+        private final List<NavigableMap<Integer, Integer>> busy = new ArrayList<>(DAYS);
+        private int minutes;
+
+        private Worker(Staff staff) {
+            name = staff.name().trim();
+            buildings = staff.buildings() == null ? Set.of()
+                    : staff.buildings().stream().map(CleaningScheduler::key).filter(b -> !b.isEmpty())
+                            .collect(Collectors.toSet());
+            maxMinutes = staff.maxMinutesPerWeek();
+            for (int d = 0; d < DAYS; d++) {
+                shifts.add(new TreeMap<>());
+                busy.add(new TreeMap<>());
+            }
+            if (staff.shifts() != null) {
+                for (Shift shift : staff.shifts()) {
+                    if (shift.endMinute() > shift.startMinute()) {
+                        merge(shifts.get(shift.day().getValue() - 1), shift.startMinute(), shift.endMinute());
+                    }
+                }
+            }
+        }
+
+        /** Earliest start of a free stretch of {@code duration} minutes inside a shift, or -1. */
+        private int findGap(int day, int duration) {
+            NavigableMap<Integer, Integer> taken = busy.get(day);
+            for (Map.Entry<Integer, Integer> shift : shifts.get(day).entrySet()) {
+                int cursor = shift.getKey();
+                int shiftEnd = shift.getValue();
+                Map.Entry<Integer, Integer> before = taken.floorEntry(cursor);
+                if (before != null && before.getValue() > cursor) cursor = before.getValue();
+                for (Map.Entry<Integer, Integer> b : taken.tailMap(cursor, false).entrySet()) {
+                    if (b.getKey() >= shiftEnd) break;
+                    if (b.getKey() - cursor >= duration) return cursor;
+                    cursor = b.getValue();
+                }
+                if (shiftEnd - cursor >= duration) return cursor;
+            }
+            return -1;
+        }
+
+        private void occupy(DayOfWeek day, int start, int end) {
+            minutes += merge(busy.get(day.getValue() - 1), start, end);
+        }
+
+        /**
+         * Adds {@code [start, end)} to a map of disjoint intervals, merging any it overlaps or
+         * touches, and returns how many minutes were not already covered.
+         */
+        private static int merge(NavigableMap<Integer, Integer> intervals, int start, int end) {
+            int added = end - start;
+            Map.Entry<Integer, Integer> before = intervals.floorEntry(start);
+            if (before != null && before.getValue() >= start) {
+                added -= Math.max(0, Math.min(end, before.getValue()) - start);
+                start = before.getKey();
+                end = Math.max(end, before.getValue());
+                intervals.remove(before.getKey());
+            }
+            Map.Entry<Integer, Integer> next;
+            while ((next = intervals.ceilingEntry(start)) != null && next.getKey() <= end) {
+                added -= Math.max(0, Math.min(end, next.getValue()) - next.getKey());
+                end = Math.max(end, next.getValue());
+                intervals.remove(next.getKey());
+            }
+            intervals.put(start, end);
+            return Math.max(0, added);
+        }
+    }
+}
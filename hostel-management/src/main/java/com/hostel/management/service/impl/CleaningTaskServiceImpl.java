@@ -1,15 +1,33 @@
 package com.hostel.management.service.impl;
 
+import com.hostel.management.dto.cleaning.CleaningScheduleRequestDto;
+import com.hostel.management.dto.cleaning.CleaningScheduleResultDto;
+import com.hostel.management.dto.cleaning.CleaningScheduleValidationDto;
 import com.hostel.management.dto.cleaning.CleaningTaskRequestDto;
 import com.hostel.management.dto.cleaning.CleaningTaskResponseDto;
 import com.hostel.management.entity.CleaningTask;
+import com.hostel.management.exception.BadRequestException;
 import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.repository.CleaningTaskJdbcRepository;
 import com.hostel.management.repository.CleaningTaskRepository;
 import com.hostel.management.service.CleaningTaskService;
+import com.hostel.management.util.TimeSlotUtil;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -19,21 +37,29 @@ import java.util.stream.Collectors;
 @Transactional
 public class CleaningTaskServiceImpl implements CleaningTaskService {
 
+    private static final int DEFAULT_SLOT_MINUTES = 60;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
     private final CleaningTaskRepository cleaningTaskRepository;
+    private final CleaningTaskJdbcRepository cleaningTaskJdbcRepository;
 
-    public CleaningTaskServiceImpl(CleaningTaskRepository cleaningTaskRepository) {
+    public CleaningTaskServiceImpl(CleaningTaskRepository cleaningTaskRepository,
+                                   CleaningTaskJdbcRepository cleaningTaskJdbcRepository) {
         this.cleaningTaskRepository = cleaningTaskRepository;
+        this.cleaningTaskJdbcRepository = cleaningTaskJdbcRepository;
     }
 
     @Override
     public CleaningTaskResponseDto createTask(CleaningTaskRequestDto dto) {
         CleaningTask task = CleaningTask.builder()
                 .area(dto.getArea())
+                .building(dto.getBuilding())
                 .dayOfWeek(dto.getDayOfWeek())
                 .timeSlot(dto.getTimeSlot())
                 .assignedStaff(dto.getAssignedStaff())
                 .notes(dto.getNotes())
                 .completionStatus(dto.getCompletionStatus() != null ? dto.getCompletionStatus() : "Pending")
+                .autoGenerated(false)
                 .build();
         return toDto(cleaningTaskRepository.save(task));
     }
@@ -42,6 +68,7 @@ public class CleaningTaskServiceImpl implements CleaningTaskService {
     public CleaningTaskResponseDto updateTask(Long id, CleaningTaskRequestDto dto) {
         CleaningTask task = findById(id);
         if (dto.getArea() != null) task.setArea(dto.getArea());
+        if (dto.getBuilding() != null) task.setBuilding(dto.getBuilding());
         if (dto.getDayOfWeek() != null) task.setDayOfWeek(dto.getDayOfWeek());
         if (dto.getTimeSlot() != null) task.setTimeSlot(dto.getTimeSlot());
         if (dto.getAssignedStaff() != null) task.setAssignedStaff(dto.getAssignedStaff());
@@ -66,29 +93,183 @@ public class CleaningTaskServiceImpl implements CleaningTaskService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<CleaningTaskResponseDto> getAllTasks(String dayOfWeek) {
-        List<CleaningTask> tasks = (dayOfWeek != null && !dayOfWeek.isBlank())
-                ? cleaningTaskRepository.findByDayOfWeek(dayOfWeek)
-                : cleaningTaskRepository.findAll();
+    public List<CleaningTaskResponseDto> getAllTasks(String dayOfWeek, String staff) {
+        boolean byDay = dayOfWeek != null && !dayOfWeek.isBlank();
+        boolean byStaff = staff != null && !staff.isBlank();
+        List<CleaningTask> tasks;
+        if (byDay && byStaff) {
+            tasks = cleaningTaskRepository.findByAssignedStaffAndDayOfWeek(staff.trim(), dayOfWeek);
+        } else if (byStaff) {
+            tasks = cleaningTaskRepository.findByAssignedStaff(staff.trim());
+        } else if (byDay) {
+            tasks = cleaningTaskRepository.findByDayOfWeek(dayOfWeek);
+        } else {
+            tasks = cleaningTaskRepository.findAll();
+        }
         return tasks.stream().map(this::toDto).collect(Collectors.toList());
     }
 
+    @Override
+    public CleaningScheduleResultDto generateSchedule(CleaningScheduleRequestDto dto) {
+        long started = System.nanoTime();
+        boolean replace = dto.getReplaceGenerated() == null || dto.getReplaceGenerated();
+        int defaultMinutes = slotMinutes(dto.getDefaultSlotMinutes());
+
+        CleaningScheduler scheduler = new CleaningScheduler(
+                dto.getStaff().stream().map(this::toStaff).toList());
+        List<CleaningScheduler.Area> areas = dto.getAreas().stream()
+                .map(a -> new CleaningScheduler.Area(a.getName().trim(), trimToNull(a.getBuilding()),
+                        a.getVisitsPerWeek(), a.getDurationMinutes()))
+                .toList();
+
+        // A dry run leaves the old plan in place, so it only skips it instead of deleting it
+        int removed = 0;
+        if (replace && !dto.isDryRun()) removed = cleaningTaskRepository.deleteGenerated();
+        for (CleaningTask task : cleaningTaskRepository.findAll()) {
+            if (replace && Boolean.TRUE.equals(task.getAutoGenerated())) continue;
+            int[] slot = TimeSlotUtil.parseSlot(task.getTimeSlot(), defaultMinutes);
+            Set<DayOfWeek> days = TimeSlotUtil.parseDays(task.getDayOfWeek());
+            if (slot == null || days.isEmpty()) continue;
+            for (DayOfWeek day : days) scheduler.reserve(task.getAssignedStaff(), day, slot[0], slot[1]);
+        }
+
+        CleaningScheduler.Plan plan = scheduler.plan(areas);
+        List<CleaningTask> tasks = plan.visits().stream()
+                .map(v -> CleaningTask.builder()
+                        .area(v.area())
+                        .building(v.building())
+                        .dayOfWeek(TimeSlotUtil.dayName(v.day()))
+                        .timeSlot(TimeSlotUtil.formatSlot(v.startMinute(), v.endMinute()))
+                        .assignedStaff(v.staff())
+                        .completionStatus("Pending")
+                        .autoGenerated(true)
+                        .build())
+                .toList();
+        int created = dto.isDryRun() ? 0 : cleaningTaskJdbcRepository.insertAll(tasks);
+
+        return CleaningScheduleResultDto.builder()
+                .visitsRequested(areas.stream().mapToInt(CleaningScheduler.Area::visitsPerWeek).sum())
+                .visitsScheduled(plan.visits().size())
+                .tasksCreated(created)
+                .generatedTasksRemoved(removed)
+                .shortfalls(plan.shortfalls().stream()
+                        .map(s -> new CleaningScheduleResultDto.Shortfall(s.area(), s.building(), s.missingVisits()))
+                        .toList())
+                .staffMinutes(plan.staffMinutes())
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .tasks(dto.isDryRun() ? tasks.stream().map(this::toDto).toList() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CleaningScheduleValidationDto validateSchedule(Integer defaultSlotMinutes) {
+        int defaultMinutes = slotMinutes(defaultSlotMinutes);
+        List<CleaningTask> tasks = cleaningTaskRepository.findAll();
+
+        Map<String, List<Booking>> byStaffAndDay = new HashMap<>();
+        Map<String, String> displayNames = new HashMap<>();
+        Map<String, Integer> minutes = new TreeMap<>();
+        List<Long> unparsed = new ArrayList<>();
+        for (CleaningTask task : tasks) {
+            String staff = trimToNull(task.getAssignedStaff());
+            int[] slot = TimeSlotUtil.parseSlot(task.getTimeSlot(), defaultMinutes);
+            Set<DayOfWeek> days = TimeSlotUtil.parseDays(task.getDayOfWeek());
+            if (staff == null || slot == null || days.isEmpty()) {
+                unparsed.add(task.getId());
+                continue;
+            }
+            String key = staff.toLowerCase(Locale.ROOT);
+            String name = displayNames.computeIfAbsent(key, k -> staff);
+            minutes.merge(name, (slot[1] - slot[0]) * days.size(), Integer::sum);
+            for (DayOfWeek day : days) {
+                byStaffAndDay.computeIfAbsent(key + '|' + day, k -> new ArrayList<>())
+                        .add(new Booking(task, name, day, slot[0], slot[1]));
+            }
+        }
+
+        List<CleaningScheduleValidationDto.Conflict> conflicts = new ArrayList<>();
+        for (List<Booking> bookings : byStaffAndDay.values()) {
+            bookings.sort(Comparator.comparingInt(Booking::start).thenComparingInt(Booking::end));
+            // Sweep in start order, keeping only bookings that have not yet ended
+            List<Booking> active = new ArrayList<>();
+            for (Booking booking : bookings) {
+                active.removeIf(a -> a.end() <= booking.start());
+                for (Booking a : active) conflicts.add(toConflict(a, booking));
+                active.add(booking);
+            }
+        }
+        conflicts.sort(Comparator.comparing(CleaningScheduleValidationDto.Conflict::getStaff)
+                .thenComparing(c -> DayOfWeek.valueOf(c.getDayOfWeek().toUpperCase(Locale.ROOT)))
+                .thenComparing(CleaningScheduleValidationDto.Conflict::getFirstTaskId));
+
+        return CleaningScheduleValidationDto.builder()
+                .tasksChecked(tasks.size() - unparsed.size())
+                .conflicts(conflicts)
+                .unparsedTaskIds(unparsed)
+                .staffMinutes(minutes)
+                .build();
+    }
+
     // ── Helpers ──────────────────────────────────────────────────────────────
 
+    /** One task occurrence on one day; a task on several days yields one booking per day. */
+    private record Booking(CleaningTask task, String staff, DayOfWeek day, int start, int end) {}
+
     private CleaningTask findById(Long id) {
         return cleaningTaskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("CleaningTask", id));
     }
 
+    private CleaningScheduler.Staff toStaff(CleaningScheduleRequestDto.Staff s) {
+        Set<String> buildings = new HashSet<>();
+        if (s.getBuildings() != null) {
+            s.getBuildings().stream().map(CleaningTaskServiceImpl::trimToNull).filter(Objects::nonNull).forEach(buildings::add);
+        }
+        List<CleaningScheduler.Shift> shifts = new ArrayList<>();
+        for (CleaningScheduleRequestDto.Shift shift : s.getShifts()) {
+            int start = minuteOfDay(shift.getStart());
+            int end = shift.getEnd().equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : minuteOfDay(shift.getEnd());
+            if (end <= start) {
+                throw new BadRequestException("Shift for " + s.getName() + " on " + shift.getDay()
+                        + " must end after it starts.");
+            }
+            shifts.add(new CleaningScheduler.Shift(shift.getDay(), start, end));
+        }
+        int cap = s.getMaxMinutesPerWeek() != null ? s.getMaxMinutesPerWeek() : 0;
+        return new CleaningScheduler.Staff(s.getName().trim(), buildings, shifts, cap);
+    }
+
+    private CleaningScheduleValidationDto.Conflict toConflict(Booking first, Booking second) {
+        return new CleaningScheduleValidationDto.Conflict(
+                first.staff(), TimeSlotUtil.dayName(first.day()),
+                first.task().getId(), first.task().getArea(), first.task().getTimeSlot(),
+                second.task().getId(), second.task().getArea(), second.task().getTimeSlot());
+    }
+
+    private static int slotMinutes(Integer requested) {
+        return requested != null && requested > 0 ? requested : DEFAULT_SLOT_MINUTES;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
     private CleaningTaskResponseDto toDto(CleaningTask t) {
         return CleaningTaskResponseDto.builder()
                 .id(t.getId())
                 .area(t.getArea())
+                .building(t.getBuilding())
                 .dayOfWeek(t.getDayOfWeek())
                 .timeSlot(t.getTimeSlot())
                 .assignedStaff(t.getAssignedStaff())
                 .notes(t.getNotes())
                 .completionStatus(t.getCompletionStatus())
+                .autoGenerated(t.getAutoGenerated())
                 .createdAt(t.getCreatedAt())
                 .updatedAt(t.getUpdatedAt())
                 .build();
@@ -0,0 +1,264 @@
+package com.hostel.management.service.impl;
+
+import com.hostel.management.dto.complaint.ComplaintResponseDto;
+import com.hostel.management.enums.ComplaintPriority;
+import com.hostel.management.enums.ComplaintStatus;
+import com.hostel.management.util.TransactionUtil;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory work queue of open complaints, most urgent first, so staff dashboards can poll the
+ * next complaints to work on without touching the database.
+ *
+ * <p>Complaints are kept in a {@link TreeSet} ordered by priority (highest first), then age
+ * (oldest first), then id, with a map from id to entry for removal; inserts and removals are
+ * O(log n) and the top N is a walk of the first N entries. Changes made inside a transaction are
+ * applied only after it commits.</p>
+ *
+ * <p>A rebuild cannot tell whether a change committed while it ran is already in the rows it
+ * read, so it records the complaints such changes touch and re-reads them once it has swapped
+ * in; residents deleted meanwhile have their complaints dropped again after every step.</p>
+ */
+@Component
+public class ComplaintQueue {
+
+    private static final Comparator<ComplaintResponseDto> URGENCY = Comparator
+            .comparing(ComplaintResponseDto::getPriority, Comparator.reverseOrder())
+            .thenComparing(ComplaintResponseDto::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ComplaintResponseDto::getId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TreeSet<ComplaintResponseDto> queue = new TreeSet<>(URGENCY);
+    private Map<Long, ComplaintResponseDto> byId = new HashMap<>();
+    private volatile boolean ready;
+
+    /** Serialises rebuilds; held while reading the database, so never taken under {@link #lock}. */
+    private final Object rebuildLock = new Object();
+
+    /** Complaints changed since the running rebuild began, or null when none is running; guarded by the write lock. */
+    private Set<Long> changedDuringRebuild;
+
+    /** Residents deleted since the running rebuild began; guarded by the write lock. */
+    private final Set<Long> residentsRemovedDuringRebuild = new HashSet<>();
+
+    /** True once the queue has been loaded from the database. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces the whole queue with the open complaints {@code loadAll} returns. Complaints
+     * changed while it runs are then re-read with {@code reload}, until a re-read sees no further
+     * changes, so an update racing the rebuild is not lost. Call outside a transaction, so every
+     * read sees the latest committed rows.
+     */
+    public void rebuild(Supplier<? extends Collection<ComplaintResponseDto>> loadAll,
+                        Function<Set<Long>, ? extends Collection<ComplaintResponseDto>> reload) {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new HashSet<>();
+                residentsRemovedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                Collection<ComplaintResponseDto> openComplaints = loadAll.get();
+                TreeSet<ComplaintResponseDto> newQueue = new TreeSet<>(URGENCY);
+                Map<Long, ComplaintResponseDto> newById = new HashMap<>(openComplaints.size() * 2);
+                for (ComplaintResponseDto c : openComplaints) {
+                    if (!isOpen(c)) continue;
+                    newQueue.add(c);
+                    newById.put(c.getId(), c);
+                }
+
+                lock.writeLock().lock();
+                try {
+                    queue = newQueue;
+                    byId = newById;
+                    dropResidents(residentsRemovedDuringRebuild);
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                for (Set<Long> changed = takeChanged(); changed != null; changed = takeChanged()) {
+                    Collection<ComplaintResponseDto> fresh = reload.apply(changed);
+                    lock.writeLock().lock();
+                    try {
+                        changed.forEach(this::unqueue);
+                        for (ComplaintResponseDto c : fresh) {
+                            if (!isOpen(c)) continue;
+                            queue.add(c);
+                            byId.put(c.getId(), c);
+                        }
+                        dropResidents(residentsRemovedDuringRebuild);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    changedDuringRebuild = null;
+                    residentsRemovedDuringRebuild.clear();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /** Queues, re-queues or, once resolved, drops a complaint when the current transaction commits. */
+    public void put(ComplaintResponseDto complaint) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                changed(complaint.getId());
+                unqueue(complaint.getId());
+                if (isOpen(complaint)) {
+                    queue.add(complaint);
+                    byId.put(complaint.getId(), complaint);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /** Drops a complaint once the current transaction commits. */
+    public void remove(Long complaintId) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                changed(complaintId);
+                unqueue(complaintId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /** Drops every complaint of a resident once the current transaction commits. */
+    public void removeResident(Long residentId) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (changedDuringRebuild != null) residentsRemovedDuringRebuild.add(residentId);
+                dropResidents(Set.of(residentId));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /** Moves the given complaints to a new priority once the current transaction commits. */
+    public void escalate(Collection<Long> complaintIds, ComplaintPriority priority, LocalDateTime at) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (Long id : complaintIds) {
+                    changed(id);
+                    ComplaintResponseDto current = unqueue(id);
+                    if (current == null) continue;
+                    ComplaintResponseDto escalated = withPriority(current, priority, at);
+                    queue.add(escalated);
+                    byId.put(id, escalated);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /** Returns up to {@code limit} open complaints, most urgent first. */
+    public List<ComplaintResponseDto> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<ComplaintResponseDto> result = new ArrayList<>(Math.min(limit, queue.size()));
+            Iterator<ComplaintResponseDto> it = queue.iterator();
+            while (it.hasNext() && result.size() < limit) result.add(it.next());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    /** Records a change for the running rebuild, if any; the caller holds the write lock. */
+    private void changed(Long complaintId) {
+        if (changedDuringRebuild != null) changedDuringRebuild.add(complaintId);
+    }
+
+    /** Hands over the complaints changed so far, or ends the rebuild and returns null if there are none. */
+    private Set<Long> takeChanged() {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild.isEmpty()) {
+                changedDuringRebuild = null;
+                return null;
+            }
+            Set<Long> changed = changedDuringRebuild;
+            changedDuringRebuild = new HashSet<>();
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops every complaint of the given residents; the caller holds the write lock. */
+    private void dropResidents(Set<Long> residentIds) {
+        if (residentIds.isEmpty()) return;
+        queue.removeIf(c -> residentIds.contains(c.getResidentId()));
+        byId.values().removeIf(c -> residentIds.contains(c.getResidentId()));
+    }
+
+    /** Removes and returns a complaint's entry; the caller holds the write lock. */
+    private ComplaintResponseDto unqueue(Long complaintId) {
+        ComplaintResponseDto previous = byId.remove(complaintId);
+        if (previous != null) queue.remove(previous);
+        return previous;
+    }
+
+    private static boolean isOpen(ComplaintResponseDto c) {
+        return c.getStatus() != ComplaintStatus.RESOLVED;
+    }
+
+    private static ComplaintResponseDto withPriority(ComplaintResponseDto c, ComplaintPriority priority,
+                                                     LocalDateTime at) {
+        return ComplaintResponseDto.builder()
+                .id(c.getId())
+                .residentId(c.getResidentId())
+                .residentName(c.getResidentName())
+                .roomNumber(c.getRoomNumber())
+                .title(c.getTitle())
+                .description(c.getDescription())
+                .category(c.getCategory())
+                .priority(priority)
+                .status(c.getStatus())
+                .resolution(c.getResolution())
+                .complaintDate(c.getComplaintDate())
+                .resolvedDate(c.getResolvedDate())
+                .createdAt(c.getCreatedAt())
+                .updatedAt(at)
+                .build();
+    }
+}
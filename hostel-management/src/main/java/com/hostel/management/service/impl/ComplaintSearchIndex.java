@@ -0,0 +1,365 @@
+package com.hostel.management.service.impl;
+
+import com.hostel.management.dto.complaint.ComplaintResponseDto;
+import com.hostel.management.dto.complaint.ComplaintSearchHitDto;
+import com.hostel.management.enums.ComplaintStatus;
+import com.hostel.management.util.TransactionUtil;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lucene full-text index over complaint title, description, category, resolution and room number,
+ * kept on local disk and ranked with BM25.
+ *
+ * <p>Writes go to a single {@link IndexWriter} once the surrounding transaction commits and
+ * become searchable at the next near-real-time refresh; the index is committed to disk on a
+ * slower schedule, and whatever a crash loses is recovered by the startup consistency check,
+ * which compares each document's stored {@code updatedAt} with the database. Searches are
+ * answered from stored fields alone.</p>
+ *
+ * <p>Rebuilds run one at a time and write with {@code updateDocument}, so a live write landing
+ * mid-rebuild never leaves a second copy of a complaint. Complaints and residents written live
+ * during a rebuild are remembered and skipped by it: the live write is at least as new as the
+ * rebuild's read of the table.</p>
+ */
+@Component
+public class ComplaintSearchIndex {
+
+    private static final String ID = "id";
+    private static final String RESIDENT_ID = "residentId";
+    private static final String STATUS = "status";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+    private static final String RESOLUTION = "resolution";
+    private static final String ROOM = "room";
+    private static final String COMPLAINT_DATE = "complaintDate";
+    private static final String UPDATED_AT = "updatedAt";
+
+    /** Per-field boosts: a match in the title says more than one in a long description. */
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            TITLE, 3f, CATEGORY, 2f, ROOM, 2f, RESOLUTION, 1.5f, DESCRIPTION, 1f);
+
+    /** Query terms beyond this are ignored, which keeps the query small however long the input. */
+    private static final int MAX_QUERY_TERMS = 32;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    /** Set while a rebuild runs, so searchers keep the last complete view until it finishes. */
+    private volatile boolean rebuilding;
+
+    /** Held from {@link #beginRebuild} to {@link #endRebuild}, so rebuilds never interleave. */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /** Complaints and residents written live since the running rebuild began. */
+    private final Set<Long> liveComplaints = ConcurrentHashMap.newKeySet();
+    private final Set<Long> liveResidents = ConcurrentHashMap.newKeySet();
+
+    public ComplaintSearchIndex(@Value("${complaints.search.index-dir:./data/complaint-index}") String indexDir) {
+        try {
+            this.directory = FSDirectory.open(Path.of(indexDir));
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open complaint search index at " + indexDir, e);
+        }
+    }
+
+    /** Indexes or re-indexes a complaint once the current transaction commits. */
+    public void put(ComplaintResponseDto complaint) {
+        TransactionUtil.afterCommit(() -> write(() -> {
+            touched(List.of(complaint.getId()));
+            writer.updateDocument(new Term(ID, String.valueOf(complaint.getId())), toDocument(complaint));
+        }));
+    }
+
+    /** Indexes or re-indexes several complaints once the current transaction commits. */
+    public void putAll(List<ComplaintResponseDto> complaints) {
+        if (complaints.isEmpty()) return;
+        TransactionUtil.afterCommit(() -> write(() -> {
+            touched(complaints.stream().map(ComplaintResponseDto::getId).toList());
+            for (ComplaintResponseDto c : complaints) {
+                writer.updateDocument(new Term(ID, String.valueOf(c.getId())), toDocument(c));
+            }
+        }));
+    }
+
+    /** Drops a complaint once the current transaction commits. */
+    public void remove(Long complaintId) {
+        TransactionUtil.afterCommit(() -> write(() -> {
+            touched(List.of(complaintId));
+            writer.deleteDocuments(new Term(ID, String.valueOf(complaintId)));
+        }));
+    }
+
+    /** Drops several complaints once the current transaction commits. */
+    public void removeAll(Collection<Long> complaintIds) {
+        if (complaintIds.isEmpty()) return;
+        Term[] terms = complaintIds.stream().map(id -> new Term(ID, String.valueOf(id))).toArray(Term[]::new);
+        TransactionUtil.afterCommit(() -> write(() -> {
+            touched(complaintIds);
+            writer.deleteDocuments(terms);
+        }));
+    }
+
+    /** Drops every complaint of a resident once the current transaction commits. */
+    public void removeResident(Long residentId) {
+        TransactionUtil.afterCommit(() -> write(() -> {
+            if (rebuilding) liveResidents.add(residentId);
+            writer.deleteDocuments(new Term(RESIDENT_ID, String.valueOf(residentId)));
+        }));
+    }
+
+    /**
+     * The version of every indexed complaint, as id to {@link #version} of its {@code updatedAt}
+     * (0 for documents written before versions were stored), including uncommitted writes.
+     */
+    public Map<Long, Long> versions() {
+        Map<Long, Long> versions = new HashMap<>();
+        try (DirectoryReader reader = DirectoryReader.open(writer)) {
+            Set<String> fields = Set.of(ID, UPDATED_AT);
+            for (LeafReaderContext leaf : reader.leaves()) {
+                LeafReader leafReader = leaf.reader();
+                Bits live = leafReader.getLiveDocs();
+                StoredFields stored = leafReader.storedFields();
+                for (int doc = 0; doc < leafReader.maxDoc(); doc++) {
+                    if (live != null && !live.get(doc)) continue;
+                    Document d = stored.document(doc, fields);
+                    Number updatedAt = d.getField(UPDATED_AT) != null ? d.getField(UPDATED_AT).numericValue() : null;
+                    versions.put(Long.valueOf(d.get(ID)), updatedAt != null ? updatedAt.longValue() : 0L);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return versions;
+    }
+
+    /**
+     * Comparable form of a complaint's {@code updatedAt}: epoch milliseconds, so the in-memory
+     * value and the one read back from the database's microsecond column agree.
+     */
+    public static long version(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.truncatedTo(ChronoUnit.MILLIS).toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    /**
+     * Starts a rebuild: waits for any running one to finish, then clears the index while
+     * searchers keep serving the previous view. Every call must be paired with {@link #endRebuild}.
+     */
+    public void beginRebuild() {
+        rebuildLock.lock();
+        liveComplaints.clear();
+        liveResidents.clear();
+        rebuilding = true;
+        try {
+            write(writer::deleteAll);
+        } catch (RuntimeException e) {
+            rebuilding = false;
+            rebuildLock.unlock();
+            throw e;
+        }
+    }
+
+    /** Adds or replaces one chunk of complaints during a rebuild, skipping any written live since it began. */
+    public void addAll(List<ComplaintResponseDto> complaints) {
+        write(() -> {
+            for (ComplaintResponseDto c : complaints) {
+                if (liveComplaints.contains(c.getId()) || liveResidents.contains(c.getResidentId())) continue;
+                writer.updateDocument(new Term(ID, String.valueOf(c.getId())), toDocument(c));
+            }
+        });
+    }
+
+    /** Finishes a rebuild: commits it and makes it searchable. */
+    public void endRebuild() {
+        try {
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuilding = false;
+            liveComplaints.clear();
+            liveResidents.clear();
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} complaints matching any of the words in {@code text}, best
+     * first, optionally only those with the given status.
+     */
+    public List<ComplaintSearchHitDto> search(String text, ComplaintStatus status, int limit) {
+        Query query = buildQuery(text, status);
+        if (query == null) return List.of();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query, limit).scoreDocs;
+                StoredFields stored = searcher.storedFields();
+                List<ComplaintSearchHitDto> result = new ArrayList<>(hits.length);
+                for (ScoreDoc hit : hits) result.add(toHit(stored.document(hit.doc), hit.score));
+                return result;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Makes recent writes searchable; skipped while a rebuild is half-way. */
+    @Scheduled(fixedDelayString = "${complaints.search.refresh-ms:1000}")
+    public void refresh() throws IOException {
+        if (!rebuilding) searcherManager.maybeRefresh();
+    }
+
+    /** Persists recent writes to disk. */
+    @Scheduled(fixedDelayString = "${complaints.search.commit-ms:30000}")
+    public void commit() throws IOException {
+        if (!rebuilding && writer.hasUncommittedChanges()) writer.commit();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        try {
+            searcherManager.close();
+            writer.close();
+        } finally {
+            directory.close();
+        }
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private interface IndexWrite {
+        void apply() throws IOException;
+    }
+
+    /** Remembers complaints written live while a rebuild runs, see {@link #addAll}. */
+    private void touched(Collection<Long> complaintIds) {
+        if (rebuilding) liveComplaints.addAll(complaintIds);
+    }
+
+    private static void write(IndexWrite change) {
+        try {
+            change.apply();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Each distinct analysed word becomes a max-of-fields clause, so a word scores by its best
+     * field rather than once per field, and documents matching more words rank higher.
+     */
+    private Query buildQuery(String text, ComplaintStatus status) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream tokens = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && terms.size() < MAX_QUERY_TERMS) terms.add(term.toString());
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (terms.isEmpty()) return null;
+
+        BooleanQuery.Builder words = new BooleanQuery.Builder();
+        for (String term : terms) {
+            List<Query> perField = new ArrayList<>(FIELD_BOOSTS.size());
+            FIELD_BOOSTS.forEach((field, boost) -> perField.add(new BoostQuery(new TermQuery(new Term(field, term)), boost)));
+            words.add(new DisjunctionMaxQuery(perField, 0.1f), BooleanClause.Occur.SHOULD);
+        }
+        if (status == null) return words.build();
+        return new BooleanQuery.Builder()
+                .add(words.build(), BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(STATUS, status.name())), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private static Document toDocument(ComplaintResponseDto c) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, String.valueOf(c.getId()), Field.Store.YES));
+        doc.add(new StringField(RESIDENT_ID, String.valueOf(c.getResidentId()), Field.Store.NO));
+        if (c.getStatus() != null) doc.add(new StringField(STATUS, c.getStatus().name(), Field.Store.YES));
+        addText(doc, TITLE, c.getTitle(), Field.Store.YES);
+        addText(doc, DESCRIPTION, c.getDescription(), Field.Store.NO);
+        addText(doc, CATEGORY, c.getCategory(), Field.Store.YES);
+        addText(doc, RESOLUTION, c.getResolution(), Field.Store.YES);
+        addText(doc, ROOM, c.getRoomNumber(), Field.Store.YES);
+        if (c.getComplaintDate() != null) doc.add(new StoredField(COMPLAINT_DATE, c.getComplaintDate().toString()));
+        doc.add(new StoredField(UPDATED_AT, version(c.getUpdatedAt())));
+        return doc;
+    }
+
+    private static void addText(Document doc, String field, String value, Field.Store store) {
+        if (value != null && !value.isBlank()) doc.add(new TextField(field, value, store));
+    }
+
+    private static ComplaintSearchHitDto toHit(Document doc, float score) {
+        String status = doc.get(STATUS);
+        String date = doc.get(COMPLAINT_DATE);
+        return ComplaintSearchHitDto.builder()
+                .id(Long.valueOf(doc.get(ID)))
+                .title(doc.get(TITLE))
+                .category(doc.get(CATEGORY))
+                .roomNumber(doc.get(ROOM))
+                .status(status != null ? ComplaintStatus.valueOf(status) : null)
+                .resolution(doc.get(RESOLUTION))
+                .complaintDate(date != null ? LocalDate.parse(date) : null)
+                .score(score)
+                .build();
+    }
+}
@@ -1,19 +1,36 @@
 package com.hostel.management.service.impl;
 
+import com.hostel.management.dto.complaint.ComplaintEscalationResultDto;
 import com.hostel.management.dto.complaint.ComplaintRequestDto;
 import com.hostel.management.dto.complaint.ComplaintResponseDto;
+import com.hostel.management.dto.complaint.ComplaintSearchHitDto;
+import com.hostel.management.dto.complaint.ComplaintSearchRebuildResultDto;
 import com.hostel.management.entity.Complaint;
 import com.hostel.management.entity.Resident;
 import com.hostel.management.enums.ComplaintPriority;
 import com.hostel.management.enums.ComplaintStatus;
+import com.hostel.management.enums.SortDirection;
+import com.hostel.management.exception.BadRequestException;
 import com.hostel.management.exception.ResourceNotFoundException;
 import com.hostel.management.repository.ComplaintRepository;
 import com.hostel.management.repository.ResidentRepository;
+import com.hostel.management.response.CursorPage;
 import com.hostel.management.service.ComplaintService;
+import com.hostel.management.util.StatsUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -25,13 +42,31 @@ import java.util.stream.Collectors;
 @Transactional
 public class ComplaintServiceImpl implements ComplaintService {
 
+    private static final int DEFAULT_QUEUE_LIMIT = 10;
+    private static final int MAX_QUEUE_LIMIT = 100;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int SEARCH_REBUILD_CHUNK = 1000;
+
     private final ComplaintRepository complaintRepository;
     private final ResidentRepository residentRepository;
+    private final ComplaintQueue complaintQueue;
+    private final ComplaintSearchIndex searchIndex;
+    private final Duration lowSla;
+    private final Duration mediumSla;
 
     public ComplaintServiceImpl(ComplaintRepository complaintRepository,
-                                ResidentRepository residentRepository) {
+                                ResidentRepository residentRepository,
+                                ComplaintQueue complaintQueue,
+                                ComplaintSearchIndex searchIndex,
+                                @Value("${complaints.sla.low-hours:72}") long lowSlaHours,
+                                @Value("${complaints.sla.medium-hours:24}") long mediumSlaHours) {
         this.complaintRepository = complaintRepository;
         this.residentRepository = residentRepository;
+        this.complaintQueue = complaintQueue;
+        this.searchIndex = searchIndex;
+        this.lowSla = Duration.ofHours(lowSlaHours);
+        this.mediumSla = Duration.ofHours(mediumSlaHours);
     }
 
     @Override
@@ -48,7 +83,10 @@ public class ComplaintServiceImpl implements ComplaintService {
                 .complaintDate(LocalDate.now())
                 .build();
 
-        return toDto(complaintRepository.save(complaint));
+        ComplaintResponseDto saved = toDto(complaintRepository.save(complaint));
+        complaintQueue.put(saved);
+        searchIndex.put(saved);
+        return saved;
     }
 
     @Override
@@ -58,9 +96,16 @@ public class ComplaintServiceImpl implements ComplaintService {
         if (dto.getTitle() != null) complaint.setTitle(dto.getTitle());
         if (dto.getDescription() != null) complaint.setDescription(dto.getDescription());
         if (dto.getCategory() != null) complaint.setCategory(dto.getCategory());
-        if (dto.getPriority() != null) complaint.setPriority(dto.getPriority());
+        if (dto.getPriority() != null && dto.getPriority() != complaint.getPriority()) {
+            complaint.setPriority(dto.getPriority());
+            complaint.setPriorityUpdatedAt(LocalDateTime.now());
+        }
 
-        return toDto(complaintRepository.save(complaint));
+        // Flushed so @PreUpdate stamps updatedAt before it is returned and indexed
+        ComplaintResponseDto saved = toDto(complaintRepository.saveAndFlush(complaint));
+        complaintQueue.put(saved);
+        searchIndex.put(saved);
+        return saved;
     }
 
     @Override
@@ -69,6 +114,8 @@ public class ComplaintServiceImpl implements ComplaintService {
             throw new ResourceNotFoundException("Complaint", id);
         }
         complaintRepository.deleteById(id);
+        complaintQueue.remove(id);
+        searchIndex.remove(id);
     }
 
     @Override
@@ -79,18 +126,13 @@ public class ComplaintServiceImpl implements ComplaintService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ComplaintResponseDto> getAllComplaints(Long residentId, ComplaintStatus status) {
-        List<Complaint> complaints;
-        if (residentId != null && status != null) {
-            complaints = complaintRepository.findByResidentIdAndStatus(residentId, status);
-        } else if (residentId != null) {
-            complaints = complaintRepository.findByResidentId(residentId);
-        } else if (status != null) {
-            complaints = complaintRepository.findByStatus(status);
-        } else {
-            complaints = complaintRepository.findAll();
-        }
-        return complaints.stream().map(this::toDto).collect(Collectors.toList());
+    public CursorPage<ComplaintResponseDto> getAllComplaints(Long residentId, ComplaintStatus status,
+                                                             Long after, Integer limit, SortDirection sort) {
+        Pageable pageable = CursorPage.pageable(limit);
+        List<ComplaintResponseDto> complaints = CursorPage.isDescending(sort)
+                ? complaintRepository.findPageDesc(residentId, status, CursorPage.upperBound(after), pageable)
+                : complaintRepository.findPageAsc(residentId, status, CursorPage.lowerBound(after), pageable);
+        return CursorPage.of(complaints, pageable, ComplaintResponseDto::getId);
     }
 
     @Override
@@ -101,17 +143,131 @@ public class ComplaintServiceImpl implements ComplaintService {
         if (status == ComplaintStatus.RESOLVED) {
             complaint.setResolvedDate(LocalDate.now());
         }
-        return toDto(complaintRepository.save(complaint));
+        ComplaintResponseDto saved = toDto(complaintRepository.saveAndFlush(complaint));
+        complaintQueue.put(saved);
+        searchIndex.put(saved);
+        return saved;
+    }
+
+    /** Served from memory without a transaction, so frequent dashboard polling never takes a connection. */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ComplaintResponseDto> getComplaintQueue(Integer limit) {
+        if (!complaintQueue.isReady()) rebuildQueue();
+        int size = limit == null ? DEFAULT_QUEUE_LIMIT : Math.max(1, Math.min(limit, MAX_QUEUE_LIMIT));
+        return complaintQueue.top(size);
+    }
+
+    /**
+     * Raises open complaints that have sat at one priority for longer than its SLA window:
+     * MEDIUM to HIGH first, then LOW to MEDIUM, so no complaint moves two levels in one pass.
+     * Each level is one locking id scan and one bulk UPDATE, which also restarts the SLA clock.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${complaints.sla.check-ms:300000}",
+               fixedDelayString = "${complaints.sla.check-ms:300000}")
+    public ComplaintEscalationResultDto escalateOverdueComplaints() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        int toHigh = escalate(ComplaintPriority.MEDIUM, ComplaintPriority.HIGH, now.minus(mediumSla), now);
+        int toMedium = escalate(ComplaintPriority.LOW, ComplaintPriority.MEDIUM, now.minus(lowSla), now);
+        return ComplaintEscalationResultDto.builder()
+                .escalatedToMedium(toMedium)
+                .escalatedToHigh(toHigh)
+                .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    /**
+     * Reloads the complaint queue at startup and periodically, to recover from any drift. Runs
+     * without a transaction so the queue's re-reads of complaints changed mid-rebuild see them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${complaints.queue.resync-ms:300000}",
+               fixedDelayString = "${complaints.queue.resync-ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildQueue() {
+        complaintQueue.rebuild(complaintRepository::findOpen, complaintRepository::findResponsesByIds);
+    }
+
+    /** Answered entirely from the search index, so it never takes a connection. */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ComplaintSearchHitDto> searchComplaints(String query, ComplaintStatus status, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank.");
+        }
+        int size = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        return searchIndex.search(query, status, size);
+    }
+
+    /**
+     * Re-indexes every complaint in id-ordered chunks. Searches keep returning the previous
+     * index contents until the rebuild commits.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ComplaintSearchRebuildResultDto rebuildSearchIndex() {
+        long started = System.nanoTime();
+        long indexed = 0;
+        long after = 0;
+        searchIndex.beginRebuild();
+        try {
+            List<ComplaintResponseDto> chunk;
+            do {
+                chunk = complaintRepository.findPageAsc(null, null, after, PageRequest.ofSize(SEARCH_REBUILD_CHUNK));
+                if (chunk.isEmpty()) break;
+                searchIndex.addAll(chunk);
+                indexed += chunk.size();
+                after = chunk.get(chunk.size() - 1).getId();
+            } while (chunk.size() == SEARCH_REBUILD_CHUNK);
+        } finally {
+            searchIndex.endRebuild();
+        }
+        return ComplaintSearchRebuildResultDto.builder()
+                .complaintsIndexed(indexed)
+                .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    /**
+     * Repairs the on-disk search index at startup: compares every indexed complaint's
+     * {@code updatedAt} with the table in id-ordered chunks, re-indexes the ones that are missing
+     * or stale and drops the ones that no longer exist.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void verifySearchIndex() {
+        Map<Long, Long> indexed = searchIndex.versions();
+        long after = 0;
+        List<Object[]> chunk;
+        do {
+            chunk = complaintRepository.findVersions(after, PageRequest.ofSize(SEARCH_REBUILD_CHUNK));
+            List<Long> stale = new ArrayList<>();
+            for (Object[] row : chunk) {
+                Long id = (Long) row[0];
+                Long version = indexed.remove(id);
+                if (version == null || version != ComplaintSearchIndex.version((LocalDateTime) row[1])) {
+                    stale.add(id);
+                }
+            }
+            if (!stale.isEmpty()) searchIndex.putAll(complaintRepository.findResponsesByIds(stale));
+            if (!chunk.isEmpty()) after = (Long) chunk.get(chunk.size() - 1)[0];
+        } while (chunk.size() == SEARCH_REBUILD_CHUNK);
+        // Whatever is left in the index was deleted from the table while the index was not listening
+        searchIndex.removeAll(indexed.keySet());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> getComplaintStats() {
+        Map<ComplaintStatus, Long> counts = StatsUtil.countsByStatus(ComplaintStatus.class,
+                complaintRepository.countGroupedByStatus());
         return Map.of(
-                "total", complaintRepository.count(),
-                "pending", complaintRepository.countByStatus(ComplaintStatus.PENDING),
-                "inProgress", complaintRepository.countByStatus(ComplaintStatus.IN_PROGRESS),
-                "resolved", complaintRepository.countByStatus(ComplaintStatus.RESOLVED)
+                "total", StatsUtil.total(counts),
+                "pending", counts.get(ComplaintStatus.PENDING),
+                "inProgress", counts.get(ComplaintStatus.IN_PROGRESS),
+                "resolved", counts.get(ComplaintStatus.RESOLVED)
         );
     }
 
@@ -127,6 +283,16 @@ public class ComplaintServiceImpl implements ComplaintService {
                 .orElseThrow(() -> new ResourceNotFoundException("Resident", id));
     }
 
+    /** Moves open complaints from one priority to the next once they breach its SLA window. */
+    private int escalate(ComplaintPriority from, ComplaintPriority to, LocalDateTime cutoff, LocalDateTime now) {
+        List<Long> ids = complaintRepository.lockSlaBreaches(from.name(), cutoff);
+        if (ids.isEmpty()) return 0;
+        int escalated = complaintRepository.escalate(ids, to, now);
+        complaintQueue.escalate(ids, to, now);
+        searchIndex.putAll(complaintRepository.findResponsesByIds(ids));
+        return escalated;
+    }
+
     private ComplaintResponseDto toDto(Complaint c) {
         return ComplaintResponseDto.builder()
                 .id(c.getId())
@@ -0,0 +1,72 @@
+package com.hostel.management.service.impl;
+
+import com.hostel.management.enums.ExportFormat;
+import com.hostel.management.enums.PaymentStatus;
+import com.hostel.management.exception.BadRequestException;
+import com.hostel.management.repository.ExportJdbcRepository;
+import com.hostel.management.service.ExportService;
+import com.hostel.management.util.ExportWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Implementation of {@link ExportService} on top of {@link ExportJdbcRepository}'s streaming reads.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private final ExportJdbcRepository exportJdbcRepository;
+
+    public ExportServiceImpl(ExportJdbcRepository exportJdbcRepository) {
+        this.exportJdbcRepository = exportJdbcRepository;
+    }
+
+    @Override
+    public StreamingResponseBody exportPayments(ExportFormat format, PaymentStatus status,
+                                                LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return out -> {
+            try (ExportWriter writer = ExportWriter.open(format, ExportJdbcRepository.PAYMENT_COLUMNS, out)) {
+                exportJdbcRepository.streamPayments(status, from, to, writer::writeRow);
+            }
+        };
+    }
+
+    @Override
+    public StreamingResponseBody exportAttendance(ExportFormat format, String status,
+                                                  LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        String statusFilter = blankToNull(status);
+        return out -> {
+            try (ExportWriter writer = ExportWriter.open(format, ExportJdbcRepository.ATTENDANCE_COLUMNS, out)) {
+                exportJdbcRepository.streamAttendance(statusFilter, from, to, writer::writeRow);
+            }
+        };
+    }
+
+    @Override
+    public StreamingResponseBody exportFoodPreferences(ExportFormat format, String mealType,
+                                                       LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        String mealTypeFilter = blankToNull(mealType);
+        return out -> {
+            try (ExportWriter writer = ExportWriter.open(format, ExportJdbcRepository.FOOD_PREFERENCE_COLUMNS, out)) {
+                exportJdbcRepository.streamFoodPreferences(mealTypeFilter, from, to, writer::writeRow);
+            }
+        };
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'.");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value != null && !value.isBlank() ? value.trim() : null;
+    }
+}
@@ -0,0 +1,326 @@
+package com.hostel.management.service.impl;
+
+import com.hostel.management.enums.GateDirection;
+import com.hostel.management.repository.AttendanceJdbcRepository;
+import com.hostel.management.repository.AttendanceMonthRepository;
+import com.hostel.management.util.DateUtil;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingests gate card-reader events: accepted batches are appended to the {@link GateEventSpool}
+ * and a bounded in-memory queue, and a single writer thread drains the queue and folds the
+ * events into {@code attendance} with batched upserts.
+ *
+ * <p>When the queue cannot take a whole batch, the batch is refused so readers back off; a
+ * writer that cannot reach the database retries the same batch with backoff for as long as the
+ * outage lasts, so it turns into backpressure rather than lost or reordered events. Only a batch
+ * the database keeps rejecting for another reason, {@code gate.flush.max-attempts} times in a
+ * row, is moved to the spool's dead-letter file and skipped, so one bad batch cannot stall
+ * ingestion for good; {@link #replayDeadLetters} writes such batches again once the cause is
+ * fixed. Events are acknowledged only once spooled, and the spool is replayed on startup before
+ * the writer starts.</p>
+ */
+@Component
+public class GateEventPipeline {
+
+    private static final DateTimeFormatter CLOCK_TIME = DateTimeFormatter.ofPattern("HH:mm");
+    private static final long MAX_RETRY_BACKOFF_MS = 5000;
+
+    private record Queued(long seq, GateEventSpool.Entry entry) {}
+
+    private record FoldResult(int written, int droppedUnknownResident) {}
+
+    private final GateEventSpool spool;
+    private final AttendanceJdbcRepository attendanceJdbcRepository;
+    private final AttendanceMonthRepository attendanceMonthRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Queued> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int maxAttempts;
+    private final Object ingestLock = new Object();
+    private final Object replayLock = new Object();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong refusedBatches = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong droppedUnknownResident = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong replayedDeadLetters = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong totalFlushMs = new AtomicLong();
+    private volatile long lastFlushMs;
+    private volatile long maxFlushMs;
+    private volatile LocalDateTime lastFlushAt;
+    private volatile String lastError;
+    private volatile boolean running;
+    private Thread writer;
+
+    public GateEventPipeline(GateEventSpool spool,
+                             AttendanceJdbcRepository attendanceJdbcRepository,
+                             AttendanceMonthRepository attendanceMonthRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${gate.queue.capacity:50000}") int capacity,
+                             @Value("${gate.flush.batch-size:1000}") int batchSize,
+                             @Value("${gate.flush.interval-ms:200}") long flushIntervalMs,
+                             @Value("${gate.flush.max-attempts:5}") int maxAttempts) {
+        this.spool = spool;
+        this.attendanceJdbcRepository = attendanceJdbcRepository;
+        this.attendanceMonthRepository = attendanceMonthRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Spools and queues a batch as a whole.
+     *
+     * @return false, with nothing accepted, if the queue has no room for the batch
+     */
+    public boolean submit(List<GateEventSpool.Entry> entries) {
+        synchronized (ingestLock) {
+            if (queue.remainingCapacity() < entries.size()) {
+                refusedBatches.incrementAndGet();
+                return false;
+            }
+            long first = spool.append(entries);
+            for (int i = 0; i < entries.size(); i++) queue.add(new Queued(first + i, entries.get(i)));
+            accepted.addAndGet(entries.size());
+            return true;
+        }
+    }
+
+    /** Replays whatever the spool holds beyond its checkpoint, then starts the writer. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long from = spool.committed();
+        long to;
+        // Events accepted since startup are queued with higher sequence numbers; only the backlog is replayed here
+        synchronized (ingestLock) {
+            to = queue.isEmpty() ? spool.appended() : queue.peek().seq();
+        }
+        while (from < to) {
+            long end = Math.min(to, from + batchSize);
+            flushWithRetry(spool.read(from, end), end);
+            from = end;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "gate-writer");
+        writer.start();
+    }
+
+    /**
+     * Writes the dead-lettered events to {@code attendance} again on the calling thread, a batch
+     * at a time, then removes them from the dead-letter file. Writing events is idempotent, so a
+     * replay that fails part-way leaves the file as it was and can simply be run again.
+     *
+     * @return the number of events replayed
+     */
+    public int replayDeadLetters() {
+        synchronized (replayLock) {
+            List<GateEventSpool.Entry> entries = spool.readDeadLetters();
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                List<GateEventSpool.Entry> batch = entries.subList(from, Math.min(entries.size(), from + batchSize));
+                FoldResult result = transactionTemplate.execute(status -> fold(batch));
+                written.addAndGet(result.written());
+                droppedUnknownResident.addAndGet(result.droppedUnknownResident());
+            }
+            spool.removeDeadLetters(entries.size());
+            replayedDeadLetters.addAndGet(entries.size());
+            return entries.size();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /** Queue depth, spool backlog and flush latency figures. */
+    public Map<String, Object> metrics() {
+        long flushCount = flushes.get();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queueDepth", queue.size());
+        metrics.put("queueCapacity", capacity);
+        metrics.put("spoolBacklog", spool.appended() - spool.committed());
+        metrics.put("spoolBytes", spool.sizeBytes());
+        metrics.put("acceptedEvents", accepted.get());
+        metrics.put("refusedBatches", refusedBatches.get());
+        metrics.put("writtenDays", written.get());
+        metrics.put("droppedUnknownResident", droppedUnknownResident.get());
+        metrics.put("deadLetteredEvents", deadLettered.get());
+        metrics.put("replayedDeadLetters", replayedDeadLetters.get());
+        metrics.put("deadLetterBytes", spool.deadLetterBytes());
+        metrics.put("flushes", flushCount);
+        metrics.put("lastFlushMs", lastFlushMs);
+        metrics.put("maxFlushMs", maxFlushMs);
+        metrics.put("avgFlushMs", flushCount == 0 ? 0.0 : (double) totalFlushMs.get() / flushCount);
+        if (lastFlushAt != null) metrics.put("lastFlushAt", lastFlushAt);
+        if (lastError != null) metrics.put("lastError", lastError);
+        metrics.put("writerRunning", running);
+        return metrics;
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private void drainLoop() {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Queued head = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (head == null) {
+                    spool.compactIfDrained();
+                    continue;
+                }
+                batch.add(head);
+                queue.drainTo(batch, batchSize - 1);
+                List<GateEventSpool.Entry> entries = new ArrayList<>(batch.size());
+                for (Queued q : batch) entries.add(q.entry());
+                flushWithRetry(entries, batch.get(batch.size() - 1).seq() + 1);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                lastError = e.toString();
+            }
+        }
+    }
+
+    /**
+     * Writes one batch, retrying with backoff until it lands, then advances the spool checkpoint.
+     * Transient failures are retried without limit; after {@code maxAttempts} other failures the
+     * batch is dead-lettered and the checkpoint moves past it.
+     */
+    private void flushWithRetry(List<GateEventSpool.Entry> entries, long commitUpTo) {
+        long backoff = 100;
+        int failures = 0;
+        while (true) {
+            long started = System.nanoTime();
+            try {
+                FoldResult result = transactionTemplate.execute(status -> fold(entries));
+                spool.commit(commitUpTo);
+                written.addAndGet(result.written());
+                droppedUnknownResident.addAndGet(result.droppedUnknownResident());
+                recordFlush((System.nanoTime() - started) / 1_000_000);
+                return;
+            } catch (RuntimeException e) {
+                lastError = e.toString();
+                if (!isTransient(e) && ++failures >= maxAttempts) {
+                    spool.deadLetter(entries);
+                    spool.commit(commitUpTo);
+                    deadLettered.addAndGet(entries.size());
+                    return;
+                }
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    // Unflushed events stay in the spool and are replayed on the next start
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * True for failures that clear up on their own, such as a lost connection, a database that
+     * is down or a lock timeout, as opposed to ones caused by the batch itself.
+     */
+    private static boolean isTransient(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof TransientDataAccessException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof CannotCreateTransactionException
+                    || t instanceof SQLTransientException
+                    || t instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collapses the events to one row per (resident, day) — earliest check-in, latest check-out —
+     * upserts them, and recomputes the touched residents' monthly attendance bitsets.
+     */
+    private FoldResult fold(List<GateEventSpool.Entry> entries) {
+        Map<Long, Map<LocalDate, String[]>> days = new HashMap<>();
+        for (GateEventSpool.Entry e : entries) {
+            String time = e.at().format(CLOCK_TIME);
+            String[] inOut = days.computeIfAbsent(e.residentId(), id -> new HashMap<>())
+                    .computeIfAbsent(e.at().toLocalDate(), d -> new String[2]);
+            int slot = e.direction() == GateDirection.IN ? 0 : 1;
+            if (inOut[slot] == null
+                    || (slot == 0 ? time.compareTo(inOut[0]) < 0 : time.compareTo(inOut[1]) > 0)) {
+                inOut[slot] = time;
+            }
+        }
+
+        Set<Long> known = new HashSet<>(attendanceJdbcRepository.findExistingResidentIds(days.keySet()));
+        List<AttendanceJdbcRepository.GatePresence> rows = new ArrayList<>();
+        Map<YearMonth, Set<Long>> touched = new HashMap<>();
+        int dropped = 0;
+        for (Map.Entry<Long, Map<LocalDate, String[]>> resident : days.entrySet()) {
+            if (!known.contains(resident.getKey())) {
+                dropped += resident.getValue().size();
+                continue;
+            }
+            for (Map.Entry<LocalDate, String[]> day : resident.getValue().entrySet()) {
+                rows.add(new AttendanceJdbcRepository.GatePresence(resident.getKey(), day.getKey(),
+                        day.getValue()[0], day.getValue()[1]));
+                touched.computeIfAbsent(YearMonth.from(day.getKey()), m -> new HashSet<>()).add(resident.getKey());
+            }
+        }
+        if (rows.isEmpty()) return new FoldResult(0, dropped);
+
+        attendanceJdbcRepository.upsertGatePresence(rows);
+        touched.forEach((month, residentIds) -> attendanceMonthRepository.recompute(residentIds,
+                DateUtil.toYyyymm(month), month.atDay(1), month.atEndOfMonth()));
+        return new FoldResult(rows.size(), dropped);
+    }
+
+    private void recordFlush(long elapsedMs) {
+        flushes.incrementAndGet();
+        totalFlushMs.addAndGet(elapsedMs);
+        lastFlushMs = elapsedMs;
+        if (elapsedMs > maxFlushMs) maxFlushMs = elapsedMs;
+        lastFlushAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,232 @@
+package com.hostel.management.service.impl;
+
+import com.hostel.management.enums.GateDirection;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local append-only log of accepted gate events, so events survive a restart between being
+ * accepted and being written to {@code attendance}.
+ *
+ * <p>Events are fixed-size records addressed by sequence number (their index in the file). A
+ * checkpoint file holds how many leading records are already in the database; on startup the
+ * records after it are replayed. Writing events is idempotent, so a record replayed twice after a
+ * crash does no harm. Once every record is committed the file is truncated, keeping it small.</p>
+ *
+ * <p>Batches the writer gives up on are copied, in the same record format, to a dead-letter file
+ * beside the spool before being committed past. Records leave that file only once a replay has
+ * written them to the database.</p>
+ */
+@Component
+public class GateEventSpool {
+
+    /** One spooled event; {@code at} is reader-local wall-clock time. */
+    public record Entry(long residentId, GateDirection direction, LocalDateTime at) {}
+
+    /** resident id (8) + direction (1) + epoch second of the wall-clock time (8). */
+    private static final int RECORD_BYTES = 17;
+
+    private final Path checkpointFile;
+    private final boolean fsync;
+    private final FileChannel channel;
+    private final FileChannel deadLetters;
+
+    private long appended;
+    private long committed;
+
+    public GateEventSpool(@Value("${gate.spool.dir:./data/gate-spool}") String dir,
+                          @Value("${gate.spool.fsync:true}") boolean fsync) {
+        try {
+            Path directory = Files.createDirectories(Path.of(dir));
+            this.checkpointFile = directory.resolve("gate-events.checkpoint");
+            this.fsync = fsync;
+            this.channel = FileChannel.open(directory.resolve("gate-events.spool"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // A crash mid-append can leave a torn record at the end; it was never acknowledged
+            this.appended = channel.size() / RECORD_BYTES;
+            channel.truncate(appended * RECORD_BYTES);
+            this.deadLetters = FileChannel.open(directory.resolve("gate-events.dead"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            deadLetters.truncate(deadLetters.size() / RECORD_BYTES * RECORD_BYTES);
+            this.committed = Math.min(readCheckpoint(), appended);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open gate event spool in " + dir, e);
+        }
+    }
+
+    /** Appends the events and returns the sequence number of the first. */
+    public synchronized long append(List<Entry> entries) {
+        ByteBuffer buffer = encode(entries);
+        try {
+            long position = appended * RECORD_BYTES;
+            while (buffer.hasRemaining()) position += channel.write(buffer, position);
+            if (fsync) channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long first = appended;
+        appended += entries.size();
+        return first;
+    }
+
+    /** Sequence number one past the last record, as of now. */
+    public synchronized long appended() {
+        return appended;
+    }
+
+    /** Number of leading records already written to the database. */
+    public synchronized long committed() {
+        return committed;
+    }
+
+    /** Reads records {@code [from, to)}. */
+    public synchronized List<Entry> read(long from, long to) {
+        return decode(readFully(channel, from * RECORD_BYTES, (to - from) * RECORD_BYTES));
+    }
+
+    /** Appends the events to the dead-letter file; they are not replayed on startup. */
+    public synchronized void deadLetter(List<Entry> entries) {
+        ByteBuffer buffer = encode(entries);
+        try {
+            long position = deadLetters.size();
+            while (buffer.hasRemaining()) position += deadLetters.write(buffer, position);
+            if (fsync) deadLetters.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Every dead-lettered event, oldest first. */
+    public synchronized List<Entry> readDeadLetters() {
+        return decode(readFully(deadLetters, 0, deadLetterBytes()));
+    }
+
+    /**
+     * Drops the first {@code count} dead-lettered events, keeping any dead-lettered since they
+     * were read. The survivors are moved to the front before the file is cut, so a crash part-way
+     * leaves duplicates, which a replay writes harmlessly, rather than losing any.
+     */
+    public synchronized void removeDeadLetters(int count) {
+        long cut = (long) count * RECORD_BYTES;
+        ByteBuffer rest = readFully(deadLetters, cut, deadLetterBytes() - cut);
+        try {
+            long position = 0;
+            while (rest.hasRemaining()) position += deadLetters.write(rest, position);
+            deadLetters.truncate(position);
+            if (fsync) deadLetters.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Current size of the dead-letter file in bytes. */
+    public synchronized long deadLetterBytes() {
+        try {
+            return deadLetters.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Records that every record before {@code upTo} is in the database. */
+    public synchronized void commit(long upTo) {
+        committed = Math.max(committed, upTo);
+        writeCheckpoint(committed);
+    }
+
+    /**
+     * Empties the file once every record in it is committed. The checkpoint is reset first: a
+     * crash between the two steps then replays already-written records, which is harmless.
+     */
+    public synchronized void compactIfDrained() {
+        if (appended == 0 || committed < appended) return;
+        writeCheckpoint(0);
+        try {
+            channel.truncate(0);
+            if (fsync) channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        appended = 0;
+        committed = 0;
+    }
+
+    /** Current size of the spool file in bytes. */
+    public synchronized long sizeBytes() {
+        return appended * RECORD_BYTES;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        channel.close();
+        deadLetters.close();
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private static ByteBuffer readFully(FileChannel file, long position, long length) {
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        try {
+            while (buffer.hasRemaining()) {
+                int read = file.read(buffer, position);
+                if (read < 0) break;
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.flip();
+    }
+
+    private static List<Entry> decode(ByteBuffer buffer) {
+        GateDirection[] directions = GateDirection.values();
+        List<Entry> entries = new ArrayList<>(buffer.remaining() / RECORD_BYTES);
+        while (buffer.remaining() >= RECORD_BYTES) {
+            entries.add(new Entry(buffer.getLong(), directions[buffer.get()],
+                    LocalDateTime.ofEpochSecond(buffer.getLong(), 0, ZoneOffset.UTC)));
+        }
+        return entries;
+    }
+
+    private static ByteBuffer encode(List<Entry> entries) {
+        ByteBuffer buffer = ByteBuffer.allocate(entries.size() * RECORD_BYTES);
+        for (Entry e : entries) {
+            buffer.putLong(e.residentId());
+            buffer.put((byte) e.direction().ordinal());
+            buffer.putLong(e.at().toEpochSecond(ZoneOffset.UTC));
+        }
+        return buffer.flip();
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) return 0;
+        String value = Files.readString(checkpointFile, StandardCharsets.US_ASCII).trim();
+        return value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
+    /** Replaces the checkpoint atomically, so a crash leaves either the old or the new value. */
+    private void writeCheckpoint(long value) {
+        try {
+            Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            Files.writeString(temp, Long.toString(value), StandardCharsets.US_ASCII);
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
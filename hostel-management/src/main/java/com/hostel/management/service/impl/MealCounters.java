@@ -0,0 +1,179 @@
+package com.hostel.management.service.impl;
+
+import com.hostel.management.dto.food.MealCountDto;
+import com.hostel.management.entity.MealTemplateCount;
+import com.hostel.management.util.TransactionUtil;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory mirror of {@code meal_template_counts} and of {@code meal_counts} for today and later
+ * dates, so the kitchen stats are a handful of counter reads rather than a scan of the day's
+ * preferences.
+ *
+ * <p>Each counter holds one {@link LongAdder} per meal plus a total. Template deltas are kept per
+ * day of week by start date; a date's count is the sum of those started by then plus the date's
+ * own override counter. Deltas that started before the load date are folded into one entry at
+ * load time, so that sum stays a few entries long. Writes only ever add deltas, so concurrent
+ * writers take the shared side of the lock and never block each other; the adders spread
+ * contention across cells. A rebuild takes the exclusive side to swap in freshly loaded counts,
+ * which also drops past dates. Changes made inside a transaction are applied only after it
+ * commits; the periodic rebuild corrects any delta that raced one.</p>
+ */
+@Component
+public class MealCounters {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<LocalDate, Map<String, Counter>> days = new ConcurrentHashMap<>();
+    private Map<DayOfWeek, NavigableMap<LocalDate, Map<String, Counter>>> templates = emptyTemplates();
+    private volatile LocalDate from = LocalDate.MAX;
+    private volatile boolean ready;
+
+    /** True once the counters have been loaded from the database. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** True when the date can be answered from memory. */
+    public boolean holds(LocalDate date) {
+        return ready && !date.isBefore(from);
+    }
+
+    /**
+     * Replaces all counters with the given template deltas and the given per-date counts for
+     * {@code from} and later dates.
+     */
+    public void rebuild(LocalDate from, Collection<MealTemplateCount> templateCounts, Collection<MealCountDto> counts) {
+        Map<LocalDate, Map<String, Counter>> newDays = new ConcurrentHashMap<>();
+        for (MealCountDto c : counts) {
+            if (c.getDate().isBefore(from)) continue;
+            newDays.computeIfAbsent(c.getDate(), d -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(c.getMealType(), t -> new Counter())
+                    .add(c.getBreakfast(), c.getLunch(), c.getDinner(), c.getTotal());
+        }
+        Map<DayOfWeek, NavigableMap<LocalDate, Map<String, Counter>>> newTemplates = emptyTemplates();
+        for (MealTemplateCount c : templateCounts) {
+            LocalDate start = c.getEffectiveFrom().isBefore(from) ? from : c.getEffectiveFrom();
+            newTemplates.get(c.getDayOfWeek()).computeIfAbsent(start, d -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(c.getMealType(), t -> new Counter())
+                    .add(c.getBreakfast(), c.getLunch(), c.getDinner(), c.getTotal());
+        }
+
+        lock.writeLock().lock();
+        try {
+            days = newDays;
+            templates = newTemplates;
+            this.from = from;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds the given (possibly negative) deltas to one date and meal type once the current transaction commits. */
+    public void add(LocalDate date, String mealType, int breakfast, int lunch, int dinner, int total) {
+        TransactionUtil.afterCommit(() -> {
+            lock.readLock().lock();
+            try {
+                if (date.isBefore(from)) return;
+                days.computeIfAbsent(date, d -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(mealType, t -> new Counter())
+                        .add(breakfast, lunch, dinner, total);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Adds the given (possibly negative) deltas to the recurring counts of one day of week from
+     * {@code effectiveFrom} on, once the current transaction commits.
+     */
+    public void addTemplate(DayOfWeek dayOfWeek, LocalDate effectiveFrom, String mealType,
+                            int breakfast, int lunch, int dinner, int total) {
+        TransactionUtil.afterCommit(() -> {
+            lock.readLock().lock();
+            try {
+                LocalDate start = effectiveFrom.isBefore(from) ? from : effectiveFrom;
+                templates.get(dayOfWeek).computeIfAbsent(start, d -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(mealType, t -> new Counter())
+                        .add(breakfast, lunch, dinner, total);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * The date's counts per meal type, templates and overrides combined, ordered by meal type.
+     * Callers must check {@link #holds} first.
+     */
+    public List<MealCountDto> day(LocalDate date) {
+        lock.readLock().lock();
+        try {
+            Map<String, long[]> sums = new TreeMap<>();
+            templates.get(date.getDayOfWeek()).headMap(date, true).values()
+                    .forEach(types -> addTo(sums, types));
+            Map<String, Counter> overrides = days.get(date);
+            if (overrides != null) addTo(sums, overrides);
+
+            List<MealCountDto> result = new ArrayList<>();
+            sums.forEach((type, s) -> {
+                if (s[0] != 0 || s[1] != 0 || s[2] != 0 || s[3] != 0) {
+                    result.add(new MealCountDto(date, type, s[0], s[1], s[2], s[3]));
+                }
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private static Map<DayOfWeek, NavigableMap<LocalDate, Map<String, Counter>>> emptyTemplates() {
+        Map<DayOfWeek, NavigableMap<LocalDate, Map<String, Counter>>> map = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) map.put(day, new ConcurrentSkipListMap<>());
+        return map;
+    }
+
+    private static void addTo(Map<String, long[]> sums, Map<String, Counter> types) {
+        types.forEach((type, c) -> {
+            long[] s = sums.computeIfAbsent(type, t -> new long[4]);
+            s[0] += c.breakfast.sum();
+            s[1] += c.lunch.sum();
+            s[2] += c.dinner.sum();
+            s[3] += c.total.sum();
+        });
+    }
+
+    private static final class Counter {
+
+        private final LongAdder breakfast = new LongAdder();
+        private final LongAdder lunch = new LongAdder();
+        private final LongAdder dinner = new LongAdder();
+        private final LongAdder total = new LongAdder();
+
+        private void add(long b, long l, long d, long t) {
+            if (b != 0) breakfast.add(b);
+            if (l != 0) lunch.add(l);
+            if (d != 0) dinner.add(d);
+            if (t != 0) total.add(t);
+        }
+    }
+}
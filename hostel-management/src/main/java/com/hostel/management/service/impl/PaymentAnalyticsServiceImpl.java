@@ -0,0 +1,130 @@
+package com.hostel.management.service.impl;
+
+import com.hostel.management.dto.payment.MonthlyRevenueDto;
+import com.hostel.management.dto.payment.RevenueBucketDto;
+import com.hostel.management.dto.payment.RollupRebuildResultDto;
+import com.hostel.management.enums.PaymentStatus;
+import com.hostel.management.exception.BadRequestException;
+import com.hostel.management.repository.PaymentRepository;
+import com.hostel.management.repository.PaymentRollupRepository;
+import com.hostel.management.service.PaymentAnalyticsService;
+import com.hostel.management.util.DateUtil;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link PaymentAnalyticsService}. Every read aggregates the rollup, which
+ * holds at most one row per (billing period, status, method, room type), so cost grows with the
+ * number of months rather than the number of payments.
+ */
+@Service
+@Transactional
+public class PaymentAnalyticsServiceImpl implements PaymentAnalyticsService {
+
+    private static final EnumSet<PaymentStatus> OUTSTANDING = EnumSet.of(PaymentStatus.PENDING, PaymentStatus.LATE);
+
+    private final PaymentRollupRepository paymentRollupRepository;
+    private final PaymentRepository paymentRepository;
+
+    public PaymentAnalyticsServiceImpl(PaymentRollupRepository paymentRollupRepository,
+                                       PaymentRepository paymentRepository) {
+        this.paymentRollupRepository = paymentRollupRepository;
+        this.paymentRepository = paymentRepository;
+    }
+
+    /**
+     * Builds the rollup on first start against a database that already holds payments. Runs
+     * before the billing period backfill, which relies on the rollup being complete.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void initialiseRollups() {
+        if (paymentRollupRepository.count() == 0 && paymentRepository.count() > 0) {
+            rebuildRollups();
+        }
+    }
+
+    /**
+     * Billed, collected and outstanding totals per billing period. Old payments whose label never
+     * got a period cannot be placed in time, so they only appear in the status, method and room
+     * type figures.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<MonthlyRevenueDto> getMonthlyTrend(YearMonth from, YearMonth to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'.");
+        }
+
+        Map<YearMonth, MonthlyRevenueDto> byPeriod = new LinkedHashMap<>();
+        for (Object[] row : paymentRollupRepository.summarizeByPeriodAndStatus(
+                DateUtil.toYyyymm(from), DateUtil.toYyyymm(to))) {
+            YearMonth period = DateUtil.fromYyyymm(((Number) row[0]).intValue());
+            byPeriod.computeIfAbsent(period,
+                            p -> MonthlyRevenueDto.builder().month(DateUtil.formatMonth(p)).period(p).build())
+                    .add((PaymentStatus) row[1], ((Number) row[2]).longValue(), ((Number) row[3]).doubleValue());
+        }
+
+        List<MonthlyRevenueDto> trend = new ArrayList<>(byPeriod.values());
+        trend.removeIf(m -> m.getPaymentCount() == 0);
+        return trend;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RevenueBucketDto> getMethodMix(YearMonth month) {
+        return toBuckets(paymentRollupRepository.summarizePaidByMethod(DateUtil.toYyyymm(month)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RevenueBucketDto> getOutstandingByRoomType() {
+        return toBuckets(paymentRollupRepository.summarizeByRoomType(OUTSTANDING));
+    }
+
+    @Override
+    public RollupRebuildResultDto rebuildRollups() {
+        long started = System.nanoTime();
+        int backfilled = paymentRollupRepository.backfillPaymentRoomTypes();
+        paymentRollupRepository.deleteAllBuckets();
+        int buckets = paymentRollupRepository.insertAllFromPayments();
+        return RollupRebuildResultDto.builder()
+                .paymentsBackfilled(backfilled)
+                .buckets(buckets)
+                .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    /** Turns (key, count, sum) rows into buckets with their share of the summed amount. */
+    private List<RevenueBucketDto> toBuckets(List<Object[]> rows) {
+        List<RevenueBucketDto> result = new ArrayList<>(rows.size());
+        double grandTotal = 0;
+        for (Object[] row : rows) {
+            long count = ((Number) row[1]).longValue();
+            if (count <= 0) continue;
+            double amount = ((Number) row[2]).doubleValue();
+            result.add(RevenueBucketDto.builder()
+                    .key(String.valueOf(row[0]))
+                    .paymentCount(count)
+                    .totalAmount(amount)
+                    .build());
+            grandTotal += amount;
+        }
+        for (RevenueBucketDto bucket : result) {
+            bucket.setShare(grandTotal > 0 ? bucket.getTotalAmount() * 100.0 / grandTotal : 0.0);
+        }
+        return result;
+    }
+}
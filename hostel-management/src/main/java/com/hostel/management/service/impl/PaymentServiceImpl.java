@@ -1,23 +1,52 @@
 package com.hostel.management.service.impl;
 
+import com.hostel.management.dto.payment.BillingRunResultDto;
+import com.hostel.management.dto.payment.BulkPaymentResultDto;
+import com.hostel.management.dto.payment.LateFeeSweepResultDto;
+import com.hostel.management.dto.payment.MonthlyRevenueDto;
 import com.hostel.management.dto.payment.PaymentRequestDto;
 import com.hostel.management.dto.payment.PaymentResponseDto;
+import com.hostel.management.dto.payment.PeriodBackfillResultDto;
 import com.hostel.management.entity.Payment;
+import com.hostel.management.entity.PaymentRollup;
 import com.hostel.management.entity.Resident;
 import com.hostel.management.enums.PaymentMethod;
 import com.hostel.management.enums.PaymentStatus;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.exception.BadRequestException;
 import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.repository.PaymentJdbcRepository;
+import com.hostel.management.repository.PaymentJdbcRepository.BillableResident;
+import com.hostel.management.repository.PaymentJdbcRepository.NewCharge;
 import com.hostel.management.repository.PaymentRepository;
+import com.hostel.management.repository.PaymentRollupRepository;
 import com.hostel.management.repository.ResidentRepository;
+import com.hostel.management.response.CursorPage;
 import com.hostel.management.service.PaymentService;
+import com.hostel.management.util.DateUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.IntFunction;
 
 /**
  * Implementation of {@link PaymentService} containing all payment business logic.
@@ -26,22 +55,69 @@ import java.util.stream.Collectors;
 @Transactional
 public class PaymentServiceImpl implements PaymentService {
 
+    /** How many times a billing chunk is re-read after racing another writer before the run gives up. */
+    private static final int MAX_BILLING_CONFLICTS = 3;
+
     private final PaymentRepository paymentRepository;
     private final ResidentRepository residentRepository;
+    private final PaymentJdbcRepository paymentJdbcRepository;
+    private final PaymentRollupRepository paymentRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int billingChunkSize;
+    private final double breakfastPrice;
+    private final double lunchPrice;
+    private final double dinnerPrice;
+    private final int lateFeeGraceDays;
+    private final double lateFeeFlat;
+    private final double lateFeeRate;
+    private final int lateFeeChunkSize;
+    private final int settlementChunkSize;
+    private final int periodBackfillChunkSize;
 
     public PaymentServiceImpl(PaymentRepository paymentRepository,
-                              ResidentRepository residentRepository) {
+                              ResidentRepository residentRepository,
+                              PaymentJdbcRepository paymentJdbcRepository,
+                              PaymentRollupRepository paymentRollupRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${billing.chunk-size:500}") int billingChunkSize,
+                              @Value("${billing.meal-price.breakfast:0}") double breakfastPrice,
+                              @Value("${billing.meal-price.lunch:0}") double lunchPrice,
+                              @Value("${billing.meal-price.dinner:0}") double dinnerPrice,
+                              @Value("${payments.late-fee.grace-days:7}") int lateFeeGraceDays,
+                              @Value("${payments.late-fee.flat:0}") double lateFeeFlat,
+                              @Value("${payments.late-fee.percent:0}") double lateFeePercent,
+                              @Value("${payments.late-fee.chunk-size:1000}") int lateFeeChunkSize,
+                              @Value("${payments.settlement.chunk-size:1000}") int settlementChunkSize,
+                              @Value("${payments.period-backfill.chunk-size:1000}") int periodBackfillChunkSize) {
         this.paymentRepository = paymentRepository;
         this.residentRepository = residentRepository;
+        this.paymentJdbcRepository = paymentJdbcRepository;
+        this.paymentRollupRepository = paymentRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.billingChunkSize = billingChunkSize;
+        this.breakfastPrice = breakfastPrice;
+        this.lunchPrice = lunchPrice;
+        this.dinnerPrice = dinnerPrice;
+        this.lateFeeGraceDays = lateFeeGraceDays;
+        this.lateFeeFlat = lateFeeFlat;
+        this.lateFeeRate = lateFeePercent / 100.0;
+        this.lateFeeChunkSize = lateFeeChunkSize;
+        this.settlementChunkSize = settlementChunkSize;
+        this.periodBackfillChunkSize = periodBackfillChunkSize;
     }
 
     @Override
     public PaymentResponseDto createPayment(PaymentRequestDto dto) {
         Resident resident = findResidentById(dto.getResidentId());
 
-        if (paymentRepository.existsByResidentIdAndMonth(dto.getResidentId(), dto.getMonth())) {
+        YearMonth period = DateUtil.parseMonth(dto.getMonth());
+        if (period == null) {
+            throw new BadRequestException("Month '" + dto.getMonth() + "' is not a valid month, e.g. 'March 2026'.");
+        }
+        String label = DateUtil.formatMonth(period);
+        if (paymentRepository.existsByResidentIdAndPeriod(dto.getResidentId(), period)) {
             throw new BadRequestException("A payment for resident '" + resident.getName()
-                    + "' for month '" + dto.getMonth() + "' already exists.");
+                    + "' for month '" + label + "' already exists.");
         }
 
         double amount = dto.getAmount() != null ? dto.getAmount() : 0.0;
@@ -50,7 +126,8 @@ public class PaymentServiceImpl implements PaymentService {
 
         Payment payment = Payment.builder()
                 .resident(resident)
-                .month(dto.getMonth())
+                .month(label)
+                .period(period)
                 .amount(amount)
                 .foodCharge(food)
                 .lateFee(late)
@@ -59,14 +136,18 @@ public class PaymentServiceImpl implements PaymentService {
                 .method(dto.getMethod() != null ? dto.getMethod() : PaymentMethod.CASH)
                 .paymentDate(dto.getPaymentDate() != null ? dto.getPaymentDate() : LocalDate.now())
                 .paidDate(dto.getPaidDate())
+                .roomType(resident.getRoom() != null ? resident.getRoom().getRoomType().name() : PaymentRollup.UNASSIGNED)
                 .build();
 
-        return toDto(paymentRepository.save(payment));
+        Payment saved = paymentRepository.save(payment);
+        rollup(saved, 1);
+        return toDto(saved);
     }
 
     @Override
     public PaymentResponseDto updatePayment(Long id, PaymentRequestDto dto) {
-        Payment payment = findById(id);
+        Payment payment = findByIdForUpdate(id);
+        rollup(payment, -1);
 
         if (dto.getAmount() != null) payment.setAmount(dto.getAmount());
         if (dto.getFoodCharge() != null) payment.setFoodCharge(dto.getFoodCharge());
@@ -83,15 +164,15 @@ public class PaymentServiceImpl implements PaymentService {
             payment.setPaidDate(LocalDate.now());
         }
 
+        rollup(payment, 1);
         return toDto(paymentRepository.save(payment));
     }
 
     @Override
     public void deletePayment(Long id) {
-        if (!paymentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Payment", id);
-        }
-        paymentRepository.deleteById(id);
+        Payment payment = findByIdForUpdate(id);
+        rollup(payment, -1);
+        paymentRepository.delete(payment);
     }
 
     @Override
@@ -102,54 +183,229 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<PaymentResponseDto> getAllPayments(Long residentId, PaymentStatus status) {
-        List<Payment> payments;
-        if (residentId != null && status != null) {
-            payments = paymentRepository.findByResidentIdAndStatus(residentId, status);
-        } else if (residentId != null) {
-            payments = paymentRepository.findByResidentId(residentId);
-        } else if (status != null) {
-            payments = paymentRepository.findByStatus(status);
-        } else {
-            payments = paymentRepository.findAll();
-        }
-        return payments.stream().map(this::toDto).collect(Collectors.toList());
+    public CursorPage<PaymentResponseDto> getAllPayments(Long residentId, PaymentStatus status,
+                                                         YearMonth from, YearMonth to,
+                                                         Long after, Integer limit, SortDirection sort) {
+        Pageable pageable = CursorPage.pageable(limit);
+        List<PaymentResponseDto> payments = CursorPage.isDescending(sort)
+                ? paymentRepository.findPageDesc(residentId, status, from, to, CursorPage.upperBound(after), pageable)
+                : paymentRepository.findPageAsc(residentId, status, from, to, CursorPage.lowerBound(after), pageable);
+        return CursorPage.of(payments, pageable, PaymentResponseDto::getId);
     }
 
     @Override
     public PaymentResponseDto markAsPaid(Long id, PaymentMethod method) {
-        Payment payment = findById(id);
+        Payment payment = findByIdForUpdate(id);
+        rollup(payment, -1);
         payment.setStatus(PaymentStatus.PAID);
         payment.setMethod(method != null ? method : PaymentMethod.CASH);
         payment.setPaidDate(LocalDate.now());
+        rollup(payment, 1);
         return toDto(paymentRepository.save(payment));
     }
 
     @Override
-    public List<PaymentResponseDto> payAllPending(Long residentId, PaymentMethod method) {
-        List<Payment> pending = paymentRepository.findByResidentIdAndStatus(residentId, PaymentStatus.PENDING);
-        if (pending.isEmpty()) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkPaymentResultDto payAllPending(Long residentId, PaymentMethod method) {
+        BulkPaymentResultDto result = settlePending(
+                limit -> paymentRepository.lockPendingByResident(residentId, limit), method);
+        if (result.getCount() == 0) {
             throw new BadRequestException("No pending payments found for this resident.");
         }
-        LocalDate today = LocalDate.now();
-        pending.forEach(p -> {
-            p.setStatus(PaymentStatus.PAID);
-            p.setMethod(method != null ? method : PaymentMethod.CASH);
-            p.setPaidDate(today);
-        });
-        return paymentRepository.saveAll(pending).stream().map(this::toDto).collect(Collectors.toList());
+        return result;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkPaymentResultDto payAllPendingForMonth(YearMonth month, PaymentMethod method) {
+        int period = DateUtil.toYyyymm(month);
+        return settlePending(limit -> paymentRepository.lockPendingByPeriod(period, limit), method);
+    }
+
+    /**
+     * Bills every ACTIVE resident for the month in keyset-ordered chunks, each inserted as one
+     * JDBC batch and committed on its own together with its rollup delta. Residents who already
+     * have a payment for the month are excluded by the chunk query, so a run that died half-way
+     * is resumed simply by running it again. If another writer bills one of the chunk's residents
+     * in between, the unique key rejects the batch and the chunk is read again without them.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BillingRunResultDto runMonthlyBilling(YearMonth month) {
+        String label = DateUtil.formatMonth(month);
+        LocalDate periodStart = month.atDay(1);
+        long started = System.nanoTime();
+
+        int created = 0;
+        int skipped = 0;
+        int chunks = 0;
+        double billed = 0;
+        int conflicts = 0;
+        long cursor = 0;
+        while (true) {
+            List<BillableResident> chunk =
+                    paymentJdbcRepository.findBillableResidents(month, cursor, billingChunkSize);
+            if (chunk.isEmpty()) break;
+
+            List<NewCharge> charges = new ArrayList<>(chunk.size());
+            double chunkBilled = 0;
+            for (BillableResident r : chunk) {
+                double food = r.breakfasts() * breakfastPrice + r.lunches() * lunchPrice + r.dinners() * dinnerPrice;
+                if (r.rent() + food > 0) {
+                    charges.add(new NewCharge(r.residentId(), r.roomType(), r.rent(), food));
+                    chunkBilled += r.rent() + food;
+                }
+            }
+            if (!charges.isEmpty()) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> {
+                        paymentJdbcRepository.insertPendingPayments(month, periodStart, charges);
+                        rollupNewCharges(month, charges);
+                    });
+                } catch (DuplicateKeyException e) {
+                    if (++conflicts > MAX_BILLING_CONFLICTS) {
+                        throw new BadRequestException("Billing run for " + label
+                                + " kept conflicting with other payment writes. Please run it again.");
+                    }
+                    continue;
+                }
+            }
+            created += charges.size();
+            skipped += chunk.size() - charges.size();
+            billed += chunkBilled;
+            chunks++;
+            cursor = chunk.get(chunk.size() - 1).residentId();
+            if (chunk.size() < billingChunkSize) break;
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        return BillingRunResultDto.builder()
+                .month(label)
+                .paymentsCreated(created)
+                .residentsSkipped(skipped)
+                .chunks(chunks)
+                .totalBilled(billed)
+                .elapsedMs(elapsedMs)
+                .paymentsPerSecond(created * 1000.0 / elapsedMs)
+                .build();
+    }
+
+    /**
+     * Moves overdue PENDING payments to LATE and applies the late-fee policy. Each chunk is a
+     * short transaction: an indexed lookup that locks the chunk's rows, then one bulk UPDATE over
+     * those ids bracketed by the matching rollup deltas, so row locks are held only for one chunk
+     * at a time. Updated rows drop out of the PENDING range, which is how the loop advances.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${payments.late-fee.sweep-ms:3600000}",
+               fixedDelayString = "${payments.late-fee.sweep-ms:3600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LateFeeSweepResultDto sweepOverduePayments() {
+        LocalDate dueBefore = LocalDate.now().minusDays(lateFeeGraceDays);
+        long started = System.nanoTime();
+
+        int marked = 0;
+        int chunks = 0;
+        int locked;
+        do {
+            int[] counts = transactionTemplate.execute(tx -> {
+                List<Long> ids = paymentRepository.lockOverdueIds(dueBefore, lateFeeChunkSize);
+                if (ids.isEmpty()) return new int[] {0, 0};
+                paymentRollupRepository.applyForPayments(ids, -1);
+                int updated = paymentRepository.markLate(ids, lateFeeFlat, lateFeeRate);
+                paymentRollupRepository.applyForPayments(ids, 1);
+                return new int[] {ids.size(), updated};
+            });
+            locked = counts[0];
+            if (locked == 0) break;
+            marked += counts[1];
+            chunks++;
+        } while (locked == lateFeeChunkSize);
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        return LateFeeSweepResultDto.builder()
+                .dueBefore(dueBefore)
+                .paymentsMarkedLate(marked)
+                .chunks(chunks)
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    /**
+     * Gives every payment without a billing period the one parsed from its month label, and
+     * rewrites the label in the canonical "March 2026" form. Works through locked, keyset-ordered
+     * chunks that move the rows' rollup share along with the relabel. Labels that cannot be
+     * parsed, or that would give a resident two payments for one period, are left as they are.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PeriodBackfillResultDto backfillPeriods() {
+        long started = System.nanoTime();
+        int updated = 0;
+        int unparseable = 0;
+        int conflicts = 0;
+        long cursor = 0;
+        BackfillChunk chunk;
+        do {
+            long after = cursor;
+            chunk = transactionTemplate.execute(tx -> backfillChunk(after));
+            updated += chunk.updated();
+            unparseable += chunk.unparseable();
+            conflicts += chunk.conflicts();
+            cursor = chunk.lastId();
+        } while (chunk.rows() == periodBackfillChunkSize);
+
+        return PeriodBackfillResultDto.builder()
+                .paymentsUpdated(updated)
+                .unparseable(unparseable)
+                .conflicts(conflicts)
+                .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    /** Backfills payments recorded before billing periods were stored; runs after the rollup check. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillPeriodsOnStartup() {
+        backfillPeriods();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MonthlyRevenueDto> getPeriodSummary(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'.");
+        }
+        Map<YearMonth, MonthlyRevenueDto> byPeriod = new LinkedHashMap<>();
+        for (Object[] row : paymentRollupRepository.summarizeByPeriodAndStatus(
+                DateUtil.toYyyymm(from), DateUtil.toYyyymm(to))) {
+            YearMonth period = DateUtil.fromYyyymm(((Number) row[0]).intValue());
+            byPeriod.computeIfAbsent(period,
+                            p -> MonthlyRevenueDto.builder().month(DateUtil.formatMonth(p)).period(p).build())
+                    .add((PaymentStatus) row[1], ((Number) row[2]).longValue(), ((Number) row[3]).doubleValue());
+        }
+        List<MonthlyRevenueDto> summary = new ArrayList<>(byPeriod.values());
+        // Buckets drained by updates stay behind with a zero count
+        summary.removeIf(m -> m.getPaymentCount() == 0);
+        return summary;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> getPaymentStats() {
-        Double totalPaid = paymentRepository.sumTotalByStatus(PaymentStatus.PAID);
-        Double totalPending = paymentRepository.sumTotalByStatus(PaymentStatus.PENDING);
+        Map<PaymentStatus, Long> counts = new EnumMap<>(PaymentStatus.class);
+        Map<PaymentStatus, Double> totals = new EnumMap<>(PaymentStatus.class);
+        for (Object[] row : paymentRollupRepository.summarizeByStatus()) {
+            PaymentStatus status = (PaymentStatus) row[0];
+            counts.put(status, ((Number) row[1]).longValue());
+            totals.put(status, ((Number) row[2]).doubleValue());
+        }
         return Map.of(
-                "totalPaid", totalPaid != null ? totalPaid : 0.0,
-                "totalPending", totalPending != null ? totalPending : 0.0,
-                "pendingCount", paymentRepository.countByStatus(PaymentStatus.PENDING),
-                "lateCount", paymentRepository.countByStatus(PaymentStatus.LATE)
+                "totalPaid", totals.getOrDefault(PaymentStatus.PAID, 0.0),
+                "totalPending", totals.getOrDefault(PaymentStatus.PENDING, 0.0),
+                "pendingCount", counts.getOrDefault(PaymentStatus.PENDING, 0L),
+                "lateCount", counts.getOrDefault(PaymentStatus.LATE, 0L)
         );
     }
 
@@ -160,11 +416,118 @@ public class PaymentServiceImpl implements PaymentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Payment", id));
     }
 
+    private Payment findByIdForUpdate(Long id) {
+        return paymentRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment", id));
+    }
+
+    /** Adds ({@code sign} = 1) or removes ({@code sign} = -1) one payment's share of its rollup bucket. */
+    private void rollup(Payment p, int sign) {
+        PaymentMethod method = p.getMethod() != null ? p.getMethod() : PaymentMethod.CASH;
+        double total = p.getTotal() != null ? p.getTotal() : 0.0;
+        int period = p.getPeriod() != null ? DateUtil.toYyyymm(p.getPeriod()) : PaymentRollup.UNDATED;
+        paymentRollupRepository.applyDelta(period, p.getStatus().name(), method.name(),
+                p.getRoomType() != null ? p.getRoomType() : PaymentRollup.UNASSIGNED, sign,
+                BigDecimal.valueOf(sign * total));
+    }
+
+    /** Adds a billing run chunk to the rollup with one upsert per room type. */
+    private void rollupNewCharges(YearMonth period, List<NewCharge> charges) {
+        Map<String, long[]> counts = new HashMap<>();
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (NewCharge c : charges) {
+            counts.computeIfAbsent(c.roomType(), t -> new long[1])[0]++;
+            totals.merge(c.roomType(), BigDecimal.valueOf(c.amount() + c.foodCharge()), BigDecimal::add);
+        }
+        int yyyymm = DateUtil.toYyyymm(period);
+        counts.forEach((roomType, count) -> paymentRollupRepository.applyDelta(yyyymm,
+                PaymentStatus.PENDING.name(), PaymentMethod.CASH.name(), roomType, count[0], totals.get(roomType)));
+    }
+
     private Resident findResidentById(Long id) {
         return residentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Resident", id));
     }
 
+    /**
+     * Marks PENDING payments paid chunk by chunk. Each chunk locks its rows with
+     * SELECT ... FOR UPDATE, so the reported total is exactly what was settled, and then
+     * updates them in one statement, moving their rollup share along with them, before committing. Settled rows leave the PENDING set,
+     * which is how the loop advances.
+     *
+     * @param lockChunk locks and returns up to the given number of (id, total) rows
+     */
+    private BulkPaymentResultDto settlePending(IntFunction<List<Object[]>> lockChunk, PaymentMethod method) {
+        PaymentMethod paidWith = method != null ? method : PaymentMethod.CASH;
+        LocalDate today = LocalDate.now();
+        int count = 0;
+        double total = 0;
+        SettledChunk chunk;
+        do {
+            chunk = transactionTemplate.execute(tx -> {
+                List<Object[]> rows = lockChunk.apply(settlementChunkSize);
+                List<Long> ids = new ArrayList<>(rows.size());
+                double chunkTotal = 0;
+                for (Object[] row : rows) {
+                    ids.add(((Number) row[0]).longValue());
+                    chunkTotal += row[1] != null ? ((Number) row[1]).doubleValue() : 0;
+                }
+                if (!ids.isEmpty()) {
+                    paymentRollupRepository.applyForPayments(ids, -1);
+                    paymentRepository.markPaid(ids, paidWith, today);
+                    paymentRollupRepository.applyForPayments(ids, 1);
+                }
+                return new SettledChunk(ids.size(), chunkTotal);
+            });
+            count += chunk.count();
+            total += chunk.total();
+        } while (chunk.count() == settlementChunkSize);
+        return BulkPaymentResultDto.builder()
+                .count(count)
+                .totalAmount(total)
+                .method(paidWith)
+                .paidDate(today)
+                .build();
+    }
+
+    private record SettledChunk(int count, double total) {}
+
+    /** Locks and backfills the next chunk of payments without a billing period. */
+    private BackfillChunk backfillChunk(long after) {
+        List<Object[]> rows = paymentRepository.lockWithoutPeriod(after, periodBackfillChunkSize);
+        if (rows.isEmpty()) return new BackfillChunk(0, after, 0, 0, 0);
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) ids.add(((Number) row[0]).longValue());
+        paymentRollupRepository.applyForPayments(ids, -1);
+
+        int updated = 0;
+        int unparseable = 0;
+        int conflicts = 0;
+        for (Object[] row : rows) {
+            Long id = ((Number) row[0]).longValue();
+            Long residentId = ((Number) row[1]).longValue();
+            String current = (String) row[2];
+            YearMonth period = DateUtil.parseMonth(current);
+            if (period == null) {
+                unparseable++;
+                continue;
+            }
+            String label = DateUtil.formatMonth(period);
+            if (paymentRepository.existsByResidentIdAndPeriod(residentId, period)) {
+                conflicts++;
+                continue;
+            }
+            paymentRepository.setPeriod(id, period, label);
+            updated++;
+        }
+
+        paymentRollupRepository.applyForPayments(ids, 1);
+        return new BackfillChunk(rows.size(), ids.get(ids.size() - 1), updated, unparseable, conflicts);
+    }
+
+    private record BackfillChunk(int rows, long lastId, int updated, int unparseable, int conflicts) {}
+
     private PaymentResponseDto toDto(Payment p) {
         return PaymentResponseDto.builder()
                 .id(p.getId())
@@ -172,6 +535,7 @@ public class PaymentServiceImpl implements PaymentService {
                 .residentName(p.getResident().getName())
                 .roomNumber(p.getResident().getRoom() != null ? p.getResident().getRoom().getRoomNumber() : null)
                 .month(p.getMonth())
+                .period(p.getPeriod())
                 .amount(p.getAmount())
                 .foodCharge(p.getFoodCharge())
                 .lateFee(p.getLateFee())
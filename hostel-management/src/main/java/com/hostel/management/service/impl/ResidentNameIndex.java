@@ -0,0 +1,271 @@
+package com.hostel.management.service.impl;
+
+import com.hostel.management.util.TransactionUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over resident names, used to answer substring name searches without a
+ * leading-wildcard {@code LIKE} scan.
+ *
+ * <p>Every lower-cased name is split into overlapping three-character grams, and each gram keeps a
+ * sorted array of the resident ids whose name contains it. A search intersects the posting lists
+ * of the fragment's grams, starting from the shortest, and confirms each candidate against the
+ * stored name. Changes made inside a transaction are applied only after it commits.</p>
+ *
+ * <p>A rebuild cannot tell whether a change committed while it ran is already in the rows it
+ * read, so it records the residents such changes touch and re-reads them once it has swapped in.</p>
+ */
+@Component
+public class ResidentNameIndex {
+
+    /** Fragments shorter than this have no trigram and must be matched in SQL. */
+    public static final int MIN_FRAGMENT_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, String> names = new HashMap<>();
+    private Map<Long, Postings> postings = new HashMap<>();
+    private volatile boolean ready;
+
+    /** Serialises rebuilds; held while reading the database, so never taken under {@link #lock}. */
+    private final Object rebuildLock = new Object();
+
+    /** Residents changed since the running rebuild began, or null when none is running; guarded by the write lock. */
+    private Set<Long> changedDuringRebuild;
+
+    /** True once the index has been loaded from the database. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** True when the fragment can be answered from the index. */
+    public boolean canSearch(String fragment) {
+        return ready && fragment != null && normalise(fragment).length() >= MIN_FRAGMENT_LENGTH;
+    }
+
+    /**
+     * Replaces the whole index with the (id, name) rows {@code loadAll} returns, which must be
+     * ordered by id. Residents changed while it runs are then re-read with {@code reload}, until
+     * a re-read sees no further changes, so a rename racing the rebuild is not lost. Call outside
+     * a transaction, so every read sees the latest committed rows.
+     */
+    public void rebuild(Supplier<List<Object[]>> loadAll, Function<Set<Long>, List<Object[]>> reload) {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                List<Object[]> idAndNameRows = loadAll.get();
+                Map<Long, String> newNames = new HashMap<>(idAndNameRows.size() * 2);
+                Map<Long, Postings> newPostings = new HashMap<>();
+                for (Object[] row : idAndNameRows) {
+                    long id = (Long) row[0];
+                    String name = normalise((String) row[1]);
+                    newNames.put(id, name);
+                    for (long gram : trigrams(name)) {
+                        newPostings.computeIfAbsent(gram, g -> new Postings()).add(id);
+                    }
+                }
+
+                lock.writeLock().lock();
+                try {
+                    names = newNames;
+                    postings = newPostings;
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                for (Set<Long> changed = takeChanged(); changed != null; changed = takeChanged()) {
+                    List<Object[]> fresh = reload.apply(changed);
+                    lock.writeLock().lock();
+                    try {
+                        changed.forEach(this::unindex);
+                        for (Object[] row : fresh) index((Long) row[0], (String) row[1]);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    changedDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /** Indexes or re-indexes a resident's name once the current transaction commits. */
+    public void put(Long residentId, String name) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                changed(residentId);
+                unindex(residentId);
+                index(residentId, name);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /** Drops a resident once the current transaction commits. */
+    public void remove(Long residentId) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                changed(residentId);
+                unindex(residentId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns the ids, in ascending order, of residents whose name contains the fragment,
+     * ignoring case. Callers must check {@link #canSearch} first.
+     */
+    public long[] search(String fragment) {
+        String needle = normalise(fragment);
+        lock.readLock().lock();
+        try {
+            Set<Long> grams = trigrams(needle);
+            Postings[] lists = new Postings[grams.size()];
+            int i = 0;
+            for (long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) return new long[0];
+                lists[i++] = list;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            Postings shortest = lists[0];
+            long[] result = new long[shortest.size];
+            int found = 0;
+            candidates:
+            for (int c = 0; c < shortest.size; c++) {
+                long id = shortest.ids[c];
+                for (int l = 1; l < lists.length; l++) {
+                    if (!lists[l].contains(id)) continue candidates;
+                }
+                // Grams can co-occur without being adjacent, so confirm the actual substring
+                if (names.get(id).contains(needle)) result[found++] = id;
+            }
+            return Arrays.copyOf(result, found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    /** Records a change for the running rebuild, if any; the caller holds the write lock. */
+    private void changed(Long residentId) {
+        if (changedDuringRebuild != null) changedDuringRebuild.add(residentId);
+    }
+
+    /** Hands over the residents changed so far, or ends the rebuild and returns null if there are none. */
+    private Set<Long> takeChanged() {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild.isEmpty()) {
+                changedDuringRebuild = null;
+                return null;
+            }
+            Set<Long> changed = changedDuringRebuild;
+            changedDuringRebuild = new HashSet<>();
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds a resident who is not indexed yet; the caller holds the write lock. */
+    private void index(Long residentId, String name) {
+        String normalised = normalise(name);
+        names.put(residentId, normalised);
+        for (long gram : trigrams(normalised)) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(residentId);
+        }
+    }
+
+    /** Removes every trace of the resident; the caller holds the write lock. */
+    private void unindex(Long residentId) {
+        String previous = names.remove(residentId);
+        if (previous == null) return;
+        for (long gram : trigrams(previous)) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(residentId) && list.size == 0) postings.remove(gram);
+        }
+    }
+
+    private static String normalise(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Packs each three-character window into one long, 16 bits per char. */
+    private static Set<Long> trigrams(String value) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + MIN_FRAGMENT_LENGTH <= value.length(); i++) {
+            grams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /** Sorted, growable array of resident ids; appends are O(1) because new ids only grow. */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            if (size == 0 || id > ids[size - 1]) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) return;
+            int insertAt = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        private boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return false;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+        }
+    }
+}
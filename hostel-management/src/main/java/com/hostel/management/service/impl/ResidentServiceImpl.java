@@ -2,21 +2,42 @@ package com.hostel.management.service.impl;
 
 import com.hostel.management.dto.resident.ResidentRequestDto;
 import com.hostel.management.dto.resident.ResidentResponseDto;
+import com.hostel.management.dto.resident.ResidentSearchRequestDto;
+import com.hostel.management.dto.resident.RoomAssignmentRequestDto;
+import com.hostel.management.dto.resident.RoomAssignmentResultDto;
 import com.hostel.management.entity.Resident;
 import com.hostel.management.entity.Room;
 import com.hostel.management.enums.ResidentStatus;
 import com.hostel.management.enums.RoomStatus;
+import com.hostel.management.enums.RoomType;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.exception.BadRequestException;
 import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.repository.AttendanceMonthRepository;
+import com.hostel.management.repository.PaymentRollupRepository;
 import com.hostel.management.repository.ResidentRepository;
-import com.hostel.management.repository.RoomRepository;
+import com.hostel.management.response.CursorPage;
 import com.hostel.management.service.ResidentService;
+import com.hostel.management.util.StatsUtil;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -26,16 +47,31 @@ import java.util.stream.Collectors;
 @Transactional
 public class ResidentServiceImpl implements ResidentService {
 
+    /** Above this many name matches an id list stops paying off and the name is matched in SQL. */
+    private static final int MAX_NAME_INDEX_IDS = 1000;
+
     private final ResidentRepository residentRepository;
-    private final RoomRepository roomRepository;
     private final RoomServiceImpl roomServiceImpl;
+    private final ResidentNameIndex nameIndex;
+    private final PaymentRollupRepository paymentRollupRepository;
+    private final AttendanceMonthRepository attendanceMonthRepository;
+    private final ComplaintQueue complaintQueue;
+    private final ComplaintSearchIndex complaintSearchIndex;
 
     public ResidentServiceImpl(ResidentRepository residentRepository,
-                               RoomRepository roomRepository,
-                               RoomServiceImpl roomServiceImpl) {
+                               RoomServiceImpl roomServiceImpl,
+                               ResidentNameIndex nameIndex,
+                               PaymentRollupRepository paymentRollupRepository,
+                               AttendanceMonthRepository attendanceMonthRepository,
+                               ComplaintQueue complaintQueue,
+                               ComplaintSearchIndex complaintSearchIndex) {
         this.residentRepository = residentRepository;
-        this.roomRepository = roomRepository;
         this.roomServiceImpl = roomServiceImpl;
+        this.nameIndex = nameIndex;
+        this.paymentRollupRepository = paymentRollupRepository;
+        this.attendanceMonthRepository = attendanceMonthRepository;
+        this.complaintQueue = complaintQueue;
+        this.complaintSearchIndex = complaintSearchIndex;
     }
 
     @Override
@@ -56,15 +92,12 @@ public class ResidentServiceImpl implements ResidentService {
                 .build();
 
         if (dto.getRoomId() != null) {
-            Room room = findRoomById(dto.getRoomId());
-            validateRoomCapacity(room);
-            resident.setRoom(room);
-            room.setCurrentOccupancy(room.getCurrentOccupancy() + 1);
-            roomServiceImpl.refreshRoomStatus(room);
-            roomRepository.save(room);
+            resident.setRoom(roomServiceImpl.reserveBed(dto.getRoomId()));
         }
 
-        return toDto(residentRepository.save(resident));
+        Resident saved = residentRepository.save(resident);
+        nameIndex.put(saved.getId(), saved.getName());
+        return toDto(saved);
     }
 
     @Override
@@ -89,30 +122,29 @@ public class ResidentServiceImpl implements ResidentService {
         if (dto.getRoomId() != null) {
             Long currentRoomId = resident.getRoom() != null ? resident.getRoom().getId() : null;
             if (!dto.getRoomId().equals(currentRoomId)) {
-                // Leave old room
-                if (currentRoomId != null) {
-                    decrementRoomOccupancy(resident.getRoom());
-                }
-                // Join new room
-                Room newRoom = findRoomById(dto.getRoomId());
-                validateRoomCapacity(newRoom);
-                resident.setRoom(newRoom);
-                newRoom.setCurrentOccupancy(newRoom.getCurrentOccupancy() + 1);
-                roomServiceImpl.refreshRoomStatus(newRoom);
-                roomRepository.save(newRoom);
+                resident.setRoom(currentRoomId != null
+                        ? roomServiceImpl.moveBed(currentRoomId, dto.getRoomId())
+                        : roomServiceImpl.reserveBed(dto.getRoomId()));
             }
         }
 
+        if (dto.getName() != null) nameIndex.put(id, resident.getName());
         return toDto(residentRepository.save(resident));
     }
 
     @Override
     public void deleteResident(Long id) {
-        Resident resident = findById(id);
+        Resident resident = findByIdForUpdate(id);
         if (resident.getRoom() != null) {
-            decrementRoomOccupancy(resident.getRoom());
+            roomServiceImpl.releaseBed(resident.getRoom().getId());
         }
+        // Payments go with the resident through the cascade, so take them out of the rollup first
+        paymentRollupRepository.applyForResident(id, -1);
+        attendanceMonthRepository.deleteByResident(id);
         residentRepository.deleteById(id);
+        nameIndex.remove(id);
+        complaintQueue.removeResident(id);
+        complaintSearchIndex.removeResident(id);
     }
 
     @Override
@@ -123,43 +155,162 @@ public class ResidentServiceImpl implements ResidentService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ResidentResponseDto> getAllResidents(String name, ResidentStatus status) {
-        List<Resident> residents;
-        if (name != null && !name.isBlank()) {
-            residents = residentRepository.findByNameContainingIgnoreCase(name);
-        } else if (status != null) {
-            residents = residentRepository.findByStatus(status);
-        } else {
-            residents = residentRepository.findAll();
+    public CursorPage<ResidentResponseDto> getAllResidents(String name, ResidentStatus status,
+                                                           Long after, Integer limit, SortDirection sort) {
+        return searchResidents(ResidentSearchRequestDto.builder().name(name).status(status).build(),
+                after, limit, sort);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ResidentResponseDto> searchResidents(ResidentSearchRequestDto criteria,
+                                                           Long after, Integer limit, SortDirection sort) {
+        if (criteria.getJoinedFrom() != null && criteria.getJoinedTo() != null
+                && criteria.getJoinedFrom().isAfter(criteria.getJoinedTo())) {
+            throw new BadRequestException("joinedFrom must not be after joinedTo.");
+        }
+
+        Pageable pageable = CursorPage.pageable(limit);
+        List<Long> nameMatches = matchNameFromIndex(criteria.getName(), after, sort);
+        if (nameMatches != null && nameMatches.isEmpty()) {
+            return CursorPage.of(List.of(), pageable, ResidentResponseDto::getId);
         }
-        return residents.stream().map(this::toDto).collect(Collectors.toList());
+        return CursorPage.of(residentRepository.search(criteria, nameMatches, after, sort, pageable),
+                pageable, ResidentResponseDto::getId);
+    }
+
+    /**
+     * Loads the name index at startup and periodically re-syncs it with the database,
+     * which also repairs any drift from writes made outside this service. Runs without a
+     * transaction so the index's re-reads of residents changed mid-rebuild see those changes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${residents.name-index.resync-ms:300000}",
+               fixedDelayString = "${residents.name-index.resync-ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildNameIndex() {
+        nameIndex.rebuild(residentRepository::findAllIdAndName, residentRepository::findIdAndNameByIdIn);
     }
 
     @Override
     public ResidentResponseDto assignRoom(Long residentId, Long roomId) {
-        Resident resident = findById(residentId);
-        Room newRoom = findRoomById(roomId);
+        // Locked before any room, so two requests for one resident cannot both take a bed
+        Resident resident = findByIdForUpdate(residentId);
+        Long currentRoomId = resident.getRoom() != null ? resident.getRoom().getId() : null;
 
-        // Leave current room
-        if (resident.getRoom() != null) {
-            decrementRoomOccupancy(resident.getRoom());
+        // Already in the requested room — nothing to reserve or release
+        if (roomId.equals(currentRoomId)) {
+            return toDto(resident);
         }
 
-        validateRoomCapacity(newRoom);
-        resident.setRoom(newRoom);
-        newRoom.setCurrentOccupancy(newRoom.getCurrentOccupancy() + 1);
-        roomServiceImpl.refreshRoomStatus(newRoom);
-        roomRepository.save(newRoom);
+        resident.setRoom(currentRoomId != null
+                ? roomServiceImpl.moveBed(currentRoomId, roomId)
+                : roomServiceImpl.reserveBed(roomId));
         return toDto(residentRepository.save(resident));
     }
 
+    @Override
+    public List<RoomAssignmentResultDto> assignRooms(List<RoomAssignmentRequestDto> assignments) {
+        // Resolve every resident and every room the batch can touch in two set-based queries,
+        // locking residents before rooms in the same order as the single-resident operations
+        Set<Long> residentIds = assignments.stream()
+                .map(RoomAssignmentRequestDto::getResidentId)
+                .collect(Collectors.toSet());
+        if (residentIds.isEmpty()) return List.of();
+        Map<Long, Resident> residents = residentRepository.findAllByIdForUpdate(residentIds).stream()
+                .collect(Collectors.toMap(Resident::getId, r -> r));
+
+        Set<Long> roomIds = new HashSet<>();
+        Set<RoomType> roomTypes = EnumSet.noneOf(RoomType.class);
+        for (RoomAssignmentRequestDto a : assignments) {
+            if (a.getRoomId() != null) roomIds.add(a.getRoomId());
+            else if (a.getRoomType() != null) roomTypes.add(a.getRoomType());
+        }
+        residents.values().stream()
+                .filter(r -> r.getRoom() != null)
+                .forEach(r -> roomIds.add(r.getRoom().getId()));
+
+        Map<Long, Room> rooms = new HashMap<>();
+        Map<RoomType, Deque<Room>> freeRoomsByType = new EnumMap<>(RoomType.class);
+        for (Room room : roomServiceImpl.lockRoomsForAllocation(roomIds, roomTypes)) {
+            rooms.put(room.getId(), room);
+            if (roomTypes.contains(room.getRoomType()) && hasFreeBed(room)) {
+                freeRoomsByType.computeIfAbsent(room.getRoomType(), t -> new ArrayDeque<>()).add(room);
+            }
+        }
+
+        // Allocate in memory against the locked rooms; dirty rows flush in JDBC batches at commit
+        Set<Long> seen = new HashSet<>();
+        List<RoomAssignmentResultDto> results = new ArrayList<>(assignments.size());
+        for (RoomAssignmentRequestDto a : assignments) {
+            Resident resident = residents.get(a.getResidentId());
+            if (resident == null) {
+                results.add(failure(a, "Resident not found with id: " + a.getResidentId()));
+                continue;
+            }
+            if (!seen.add(resident.getId())) {
+                results.add(failure(a, "Resident appears more than once in this batch."));
+                continue;
+            }
+
+            Room current = resident.getRoom() != null ? rooms.get(resident.getRoom().getId()) : null;
+            Room target;
+            if (a.getRoomId() != null) {
+                target = rooms.get(a.getRoomId());
+                if (target == null) {
+                    results.add(failure(a, "Room not found with id: " + a.getRoomId()));
+                    continue;
+                }
+                if (target == current) {
+                    results.add(success(resident, target, "Already assigned to this room."));
+                    continue;
+                }
+                if (target.getStatus() == RoomStatus.MAINTENANCE) {
+                    results.add(failure(a, "Room '" + target.getRoomNumber() + "' is under maintenance."));
+                    continue;
+                }
+                if (!hasFreeBed(target)) {
+                    results.add(failure(a, "Room '" + target.getRoomNumber() + "' is at full capacity."));
+                    continue;
+                }
+            } else if (a.getRoomType() != null) {
+                if (current != null && current.getRoomType() == a.getRoomType()) {
+                    results.add(success(resident, current, "Already assigned to a " + a.getRoomType() + " room."));
+                    continue;
+                }
+                target = nextFreeRoom(freeRoomsByType.get(a.getRoomType()));
+                if (target == null) {
+                    results.add(failure(a, "No " + a.getRoomType() + " room with a free bed is available."));
+                    continue;
+                }
+            } else {
+                results.add(failure(a, "Either roomId or roomType is required."));
+                continue;
+            }
+
+            roomServiceImpl.takeBed(target);
+            if (current != null) {
+                boolean wasFull = !hasFreeBed(current);
+                roomServiceImpl.freeBed(current);
+                // A full room was never queued or has been dropped; offer its freed bed to later entries
+                if (wasFull && hasFreeBed(current) && roomTypes.contains(current.getRoomType())) {
+                    Deque<Room> queue = freeRoomsByType.computeIfAbsent(current.getRoomType(), t -> new ArrayDeque<>());
+                    if (!queue.contains(current)) queue.addLast(current);
+                }
+            }
+            resident.setRoom(target);
+            results.add(success(resident, target, "Room assigned successfully."));
+        }
+        return results;
+    }
+
     @Override
     public ResidentResponseDto removeFromRoom(Long residentId) {
-        Resident resident = findById(residentId);
+        Resident resident = findByIdForUpdate(residentId);
         if (resident.getRoom() == null) {
             throw new BadRequestException("Resident is not assigned to any room.");
         }
-        decrementRoomOccupancy(resident.getRoom());
+        roomServiceImpl.releaseBed(resident.getRoom().getId());
         resident.setRoom(null);
         return toDto(residentRepository.save(resident));
     }
@@ -167,11 +318,13 @@ public class ResidentServiceImpl implements ResidentService {
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> getResidentStats() {
+        Map<ResidentStatus, Long> counts = StatsUtil.countsByStatus(ResidentStatus.class,
+                residentRepository.countGroupedByStatus());
         return Map.of(
-                "total", residentRepository.count(),
-                "active", residentRepository.countByStatus(ResidentStatus.ACTIVE),
-                "pending", residentRepository.countByStatus(ResidentStatus.PENDING),
-                "inactive", residentRepository.countByStatus(ResidentStatus.INACTIVE)
+                "total", StatsUtil.total(counts),
+                "active", counts.get(ResidentStatus.ACTIVE),
+                "pending", counts.get(ResidentStatus.PENDING),
+                "inactive", counts.get(ResidentStatus.INACTIVE)
         );
     }
 
@@ -182,25 +335,58 @@ public class ResidentServiceImpl implements ResidentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Resident", id));
     }
 
-    private Room findRoomById(Long roomId) {
-        return roomRepository.findById(roomId)
-                .orElseThrow(() -> new ResourceNotFoundException("Room", roomId));
+    private Resident findByIdForUpdate(Long id) {
+        return residentRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Resident", id));
     }
 
-    private void validateRoomCapacity(Room room) {
-        if (room.getStatus() == RoomStatus.MAINTENANCE) {
-            throw new BadRequestException("Room '" + room.getRoomNumber() + "' is under maintenance.");
-        }
-        if (room.getCurrentOccupancy() >= room.getCapacity()) {
-            throw new BadRequestException("Room '" + room.getRoomNumber() + "' is at full capacity.");
+    private static boolean hasFreeBed(Room room) {
+        return room.getStatus() != RoomStatus.MAINTENANCE && room.getCurrentOccupancy() < room.getCapacity();
+    }
+
+    /** Returns the first room in the queue with a free bed, discarding rooms that have filled up. */
+    private static Room nextFreeRoom(Deque<Room> queue) {
+        while (queue != null && !queue.isEmpty()) {
+            if (hasFreeBed(queue.peekFirst())) return queue.peekFirst();
+            queue.pollFirst();
         }
+        return null;
     }
 
-    private void decrementRoomOccupancy(Room room) {
-        int updated = Math.max(0, room.getCurrentOccupancy() - 1);
-        room.setCurrentOccupancy(updated);
-        roomServiceImpl.refreshRoomStatus(room);
-        roomRepository.save(room);
+    private static RoomAssignmentResultDto success(Resident resident, Room room, String message) {
+        return RoomAssignmentResultDto.builder()
+                .residentId(resident.getId())
+                .roomId(room.getId())
+                .roomNumber(room.getRoomNumber())
+                .success(true)
+                .message(message)
+                .build();
+    }
+
+    private static RoomAssignmentResultDto failure(RoomAssignmentRequestDto request, String message) {
+        return RoomAssignmentResultDto.builder()
+                .residentId(request.getResidentId())
+                .roomId(request.getRoomId())
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Resolves a name fragment to matching resident ids on the requested side of the cursor.
+     * Returns null when the name has to be matched in SQL instead: no fragment, a fragment
+     * shorter than a trigram, an index that is not loaded yet, or too many matches.
+     */
+    private List<Long> matchNameFromIndex(String name, Long after, SortDirection sort) {
+        if (!nameIndex.canSearch(name)) return null;
+        boolean descending = CursorPage.isDescending(sort);
+        List<Long> ids = new ArrayList<>();
+        for (long id : nameIndex.search(name)) {
+            if (after != null && (descending ? id >= after : id <= after)) continue;
+            if (ids.size() == MAX_NAME_INDEX_IDS) return null;
+            ids.add(id);
+        }
+        return ids;
     }
 
     private ResidentResponseDto toDto(Resident r) {
@@ -0,0 +1,214 @@
+package com.hostel.management.service.impl;
+
+import com.hostel.management.dto.room.RoomResponseDto;
+import com.hostel.management.enums.RoomStatus;
+import com.hostel.management.enums.RoomType;
+import com.hostel.management.util.TransactionUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of room availability used to answer availability queries without the database.
+ *
+ * <p>Readers work on an immutable {@link Snapshot}: rooms sorted by id, a primitive array of free
+ * beds and price per room, and one {@link BitSet} per {@link RoomType} and {@link RoomStatus}.
+ * Writers are serialised and publish a new snapshot (copy-on-write), which is cheap at hostel scale.
+ * Changes made inside a transaction are applied only after it commits.</p>
+ *
+ * <p>A rebuild cannot tell whether a change committed while it ran is already in the rows it
+ * read, so it records the rooms such changes touch and re-reads them once it has swapped in.</p>
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private final TreeMap<Long, RoomResponseDto> rooms = new TreeMap<>();
+
+    private volatile Snapshot snapshot;
+
+    /** Serialises rebuilds; held while reading the database, so never taken while holding {@code this}. */
+    private final Object rebuildLock = new Object();
+
+    /** Rooms changed since the running rebuild began, or null when none is running; guarded by {@code this}. */
+    private Set<Long> changedDuringRebuild;
+
+    /** True once the index has been loaded from the database. */
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Replaces the whole index with the rooms {@code loadAll} returns. Rooms changed while it runs
+     * are then re-read with {@code reload}, until a re-read sees no further changes, so an
+     * occupancy change racing the rebuild is neither lost nor counted twice. Call outside a
+     * transaction, so every read sees the latest committed rows.
+     */
+    public void rebuild(Supplier<? extends Collection<RoomResponseDto>> loadAll,
+                        Function<Set<Long>, ? extends Collection<RoomResponseDto>> reload) {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changedDuringRebuild = new HashSet<>();
+            }
+            try {
+                Collection<RoomResponseDto> allRooms = loadAll.get();
+                synchronized (this) {
+                    rooms.clear();
+                    allRooms.forEach(r -> rooms.put(r.getId(), r));
+                    publish();
+                }
+                for (Set<Long> changed = takeChanged(); changed != null; changed = takeChanged()) {
+                    Collection<RoomResponseDto> fresh = reload.apply(changed);
+                    synchronized (this) {
+                        changed.forEach(rooms::remove);
+                        fresh.forEach(r -> rooms.put(r.getId(), r));
+                        publish();
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    changedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    /** Inserts or replaces a room once the current transaction commits. */
+    public void put(RoomResponseDto room) {
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                changed(room.getId());
+                rooms.put(room.getId(), room);
+                publish();
+            }
+        });
+    }
+
+    /** Drops a room once the current transaction commits. */
+    public void remove(Long roomId) {
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                changed(roomId);
+                if (rooms.remove(roomId) != null) publish();
+            }
+        });
+    }
+
+    /**
+     * Applies an occupancy change once the current transaction commits. Deltas commute, so
+     * concurrent reservations land correctly regardless of the order their commits are observed in.
+     */
+    public void adjustOccupancy(Long roomId, int delta) {
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                changed(roomId);
+                RoomResponseDto room = rooms.get(roomId);
+                if (room == null) return;
+                rooms.put(roomId, withOccupancy(room, Math.max(0, room.getCurrentOccupancy() + delta)));
+                publish();
+            }
+        });
+    }
+
+    /**
+     * Returns rooms with at least {@code minFreeBeds} free beds, optionally narrowed by type,
+     * status and a maximum monthly price. Results are ordered by room id.
+     */
+    public List<RoomResponseDto> find(RoomType roomType, RoomStatus status, int minFreeBeds, Double maxPrice) {
+        Snapshot s = snapshot;
+        BitSet candidates = (BitSet) s.withFreeBeds.clone();
+        if (roomType != null) candidates.and(s.byType.get(roomType));
+        if (status != null) candidates.and(s.byStatus.get(status));
+
+        int required = Math.max(1, minFreeBeds);
+        List<RoomResponseDto> result = new ArrayList<>();
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (s.freeBeds[i] < required) continue;
+            if (maxPrice != null && s.prices[i] > maxPrice) continue;
+            result.add(s.rooms[i]);
+        }
+        return result;
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    /** Records a change for the running rebuild, if any; the caller holds {@code this}. */
+    private void changed(Long roomId) {
+        if (changedDuringRebuild != null) changedDuringRebuild.add(roomId);
+    }
+
+    /** Hands over the rooms changed so far, or ends the rebuild and returns null if there are none. */
+    private synchronized Set<Long> takeChanged() {
+        if (changedDuringRebuild.isEmpty()) {
+            changedDuringRebuild = null;
+            return null;
+        }
+        Set<Long> changed = changedDuringRebuild;
+        changedDuringRebuild = new HashSet<>();
+        return changed;
+    }
+
+    private void publish() {
+        snapshot = new Snapshot(rooms.values());
+    }
+
+    /** Mirrors {@link RoomServiceImpl#refreshRoomStatus}: MAINTENANCE is never auto-overwritten. */
+    private static RoomResponseDto withOccupancy(RoomResponseDto r, int occupancy) {
+        RoomStatus status = r.getStatus();
+        if (status != RoomStatus.MAINTENANCE) {
+            status = occupancy >= r.getCapacity() ? RoomStatus.OCCUPIED : RoomStatus.AVAILABLE;
+        }
+        return RoomResponseDto.builder()
+                .id(r.getId())
+                .roomNumber(r.getRoomNumber())
+                .roomType(r.getRoomType())
+                .pricePerMonth(r.getPricePerMonth())
+                .capacity(r.getCapacity())
+                .currentOccupancy(occupancy)
+                .availableSpots(r.getCapacity() - occupancy)
+                .facilities(r.getFacilities())
+                .imageUrl(r.getImageUrl())
+                .status(status)
+                .vacancyDate(r.getVacancyDate())
+                .createdAt(r.getCreatedAt())
+                .updatedAt(r.getUpdatedAt())
+                .build();
+    }
+
+    private static final class Snapshot {
+
+        private final RoomResponseDto[] rooms;
+        private final int[] freeBeds;
+        private final double[] prices;
+        private final BitSet withFreeBeds = new BitSet();
+        private final Map<RoomType, BitSet> byType = new EnumMap<>(RoomType.class);
+        private final Map<RoomStatus, BitSet> byStatus = new EnumMap<>(RoomStatus.class);
+
+        private Snapshot(Collection<RoomResponseDto> sortedRooms) {
+            int n = sortedRooms.size();
+            rooms = sortedRooms.toArray(new RoomResponseDto[0]);
+            freeBeds = new int[n];
+            prices = new double[n];
+            for (RoomType type : RoomType.values()) byType.put(type, new BitSet(n));
+            for (RoomStatus status : RoomStatus.values()) byStatus.put(status, new BitSet(n));
+
+            for (int i = 0; i < n; i++) {
+                RoomResponseDto r = rooms[i];
+                freeBeds[i] = r.getCapacity() - r.getCurrentOccupancy();
+                prices[i] = r.getPricePerMonth() != null ? r.getPricePerMonth() : 0.0;
+                if (freeBeds[i] > 0) withFreeBeds.set(i);
+                if (r.getRoomType() != null) byType.get(r.getRoomType()).set(i);
+                if (r.getStatus() != null) byStatus.get(r.getStatus()).set(i);
+            }
+        }
+    }
+}
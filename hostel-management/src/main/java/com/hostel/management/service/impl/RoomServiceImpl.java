@@ -5,16 +5,29 @@ import com.hostel.management.dto.room.RoomResponseDto;
 import com.hostel.management.entity.Room;
 import com.hostel.management.enums.RoomStatus;
 import com.hostel.management.enums.RoomType;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.exception.BadRequestException;
 import com.hostel.management.exception.ResourceNotFoundException;
 import com.hostel.management.repository.RoomRepository;
+import com.hostel.management.response.CursorPage;
 import com.hostel.management.service.RoomService;
+import com.hostel.management.util.StatsUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,9 +38,15 @@ import java.util.stream.Collectors;
 public class RoomServiceImpl implements RoomService {
 
     private final RoomRepository roomRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
 
-    public RoomServiceImpl(RoomRepository roomRepository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public RoomServiceImpl(RoomRepository roomRepository,
+                           RoomAvailabilityIndex availabilityIndex) {
         this.roomRepository = roomRepository;
+        this.availabilityIndex = availabilityIndex;
     }
 
     @Override
@@ -46,12 +65,14 @@ public class RoomServiceImpl implements RoomService {
                 .status(dto.getStatus() != null ? dto.getStatus() : RoomStatus.AVAILABLE)
                 .vacancyDate(dto.getVacancyDate())
                 .build();
-        return toDto(roomRepository.save(room));
+        RoomResponseDto saved = toDto(roomRepository.save(room));
+        availabilityIndex.put(saved);
+        return saved;
     }
 
     @Override
     public RoomResponseDto updateRoom(Long id, RoomRequestDto dto) {
-        Room room = findById(id);
+        Room room = findByIdForUpdate(id);
 
         // Check duplicate room number only if it changed
         if (!room.getRoomNumber().equals(dto.getRoomNumber())
@@ -70,17 +91,20 @@ public class RoomServiceImpl implements RoomService {
 
         // Recalculate status based on occupancy
         refreshRoomStatus(room);
-        return toDto(roomRepository.save(room));
+        RoomResponseDto saved = toDto(roomRepository.save(room));
+        availabilityIndex.put(saved);
+        return saved;
     }
 
     @Override
     public void deleteRoom(Long id) {
-        Room room = findById(id);
+        Room room = findByIdForUpdate(id);
         if (room.getCurrentOccupancy() > 0) {
             throw new BadRequestException("Cannot delete room '" + room.getRoomNumber()
                     + "' — it still has " + room.getCurrentOccupancy() + " resident(s).");
         }
         roomRepository.deleteById(id);
+        availabilityIndex.remove(id);
     }
 
     @Override
@@ -91,35 +115,58 @@ public class RoomServiceImpl implements RoomService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<RoomResponseDto> getAllRooms(RoomStatus status, RoomType roomType) {
-        List<Room> rooms;
-        if (status != null && roomType != null) {
-            rooms = roomRepository.findByStatusAndRoomType(status, roomType);
-        } else if (status != null) {
-            rooms = roomRepository.findByStatus(status);
-        } else if (roomType != null) {
-            rooms = roomRepository.findByRoomType(roomType);
-        } else {
-            rooms = roomRepository.findAll();
-        }
-        return rooms.stream().map(this::toDto).collect(Collectors.toList());
+    public CursorPage<RoomResponseDto> getAllRooms(RoomStatus status, RoomType roomType,
+                                                   Long after, Integer limit, SortDirection sort) {
+        Pageable pageable = CursorPage.pageable(limit);
+        List<Room> rooms = CursorPage.isDescending(sort)
+                ? roomRepository.findPageDesc(status, roomType, CursorPage.upperBound(after), pageable)
+                : roomRepository.findPageAsc(status, roomType, CursorPage.lowerBound(after), pageable);
+        return CursorPage.of(rooms.stream().map(this::toDto).collect(Collectors.toList()),
+                pageable, RoomResponseDto::getId);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<RoomResponseDto> getAvailableRooms() {
-        return roomRepository.findRoomsWithAvailableSpots()
-                .stream().map(this::toDto).collect(Collectors.toList());
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<RoomResponseDto> getAvailableRooms(RoomType roomType, RoomStatus status,
+                                                   Integer minFreeBeds, Double maxPrice) {
+        int required = minFreeBeds != null ? minFreeBeds : 1;
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.find(roomType, status, required, maxPrice);
+        }
+        // Index not loaded yet (early startup) — fall back to the database
+        return roomRepository.findRoomsWithAvailableSpots().stream()
+                .filter(r -> roomType == null || r.getRoomType() == roomType)
+                .filter(r -> status == null || r.getStatus() == status)
+                .filter(r -> r.getCapacity() - r.getCurrentOccupancy() >= required)
+                .filter(r -> maxPrice == null || r.getPricePerMonth() <= maxPrice)
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads the availability index at startup and periodically re-syncs it with the database,
+     * which also repairs any drift from writes made outside this service. Runs without a
+     * transaction so the index's re-reads of rooms changed mid-rebuild see those changes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${rooms.availability-index.resync-ms:300000}",
+               fixedDelayString = "${rooms.availability-index.resync-ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildAvailabilityIndex() {
+        availabilityIndex.rebuild(() -> roomRepository.findAll().stream().map(this::toDto).toList(),
+                ids -> roomRepository.findAllById(ids).stream().map(this::toDto).toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> getRoomStats() {
+        Map<RoomStatus, Long> counts = StatsUtil.countsByStatus(RoomStatus.class,
+                roomRepository.countGroupedByStatus());
         return Map.of(
-                "total", roomRepository.count(),
-                "available", roomRepository.countByStatus(RoomStatus.AVAILABLE),
-                "occupied", roomRepository.countByStatus(RoomStatus.OCCUPIED),
-                "maintenance", roomRepository.countByStatus(RoomStatus.MAINTENANCE)
+                "total", StatsUtil.total(counts),
+                "available", counts.get(RoomStatus.AVAILABLE),
+                "occupied", counts.get(RoomStatus.OCCUPIED),
+                "maintenance", counts.get(RoomStatus.MAINTENANCE)
         );
     }
 
@@ -130,6 +177,82 @@ public class RoomServiceImpl implements RoomService {
                 .orElseThrow(() -> new ResourceNotFoundException("Room", id));
     }
 
+    private Room findByIdForUpdate(Long id) {
+        return roomRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Room", id));
+    }
+
+    /**
+     * Takes one bed in the room with a single conditional UPDATE, so concurrent
+     * assignments can never push occupancy past capacity. Only the room's row is locked.
+     *
+     * @return the room the bed was reserved in, refreshed so it shows the new occupancy even if
+     *         the persistence context already held it
+     * @throws BadRequestException if the room is under maintenance or already full
+     */
+    public Room reserveBed(Long roomId) {
+        if (roomRepository.reserveBed(roomId) == 0) {
+            Room room = findById(roomId);
+            if (room.getStatus() == RoomStatus.MAINTENANCE) {
+                throw new BadRequestException("Room '" + room.getRoomNumber() + "' is under maintenance.");
+            }
+            throw new BadRequestException("Room '" + room.getRoomNumber() + "' is at full capacity.");
+        }
+        availabilityIndex.adjustOccupancy(roomId, 1);
+        // The bulk UPDATE bypasses the persistence context, which may hold the pre-update row
+        Room room = findById(roomId);
+        entityManager.refresh(room);
+        return room;
+    }
+
+    /**
+     * Frees one bed in the room with a single conditional UPDATE. Occupancy never drops below zero.
+     */
+    public void releaseBed(Long roomId) {
+        if (roomRepository.releaseBed(roomId) > 0) {
+            availabilityIndex.adjustOccupancy(roomId, -1);
+        }
+    }
+
+    /**
+     * Moves one bed from {@code fromRoomId} to {@code toRoomId}. Both room rows are locked in
+     * ascending id order before either conditional UPDATE runs, so concurrent A→B and B→A moves
+     * cannot deadlock. A full or maintenance target throws before the old bed is freed.
+     */
+    public Room moveBed(Long fromRoomId, Long toRoomId) {
+        roomRepository.lockInIdOrder(List.of(fromRoomId, toRoomId));
+        Room target = reserveBed(toRoomId);
+        releaseBed(fromRoomId);
+        return target;
+    }
+
+    /**
+     * Locks the rooms a bulk allocation may touch: the given rooms plus every room of the given
+     * types that still has a free bed. Callers then adjust occupancy through {@link #takeBed}
+     * and {@link #freeBed} and let the changes flush in JDBC batches at commit.
+     */
+    public List<Room> lockRoomsForAllocation(Collection<Long> roomIds, Collection<RoomType> roomTypes) {
+        // IN () is not valid SQL, so empty collections are replaced by values that match nothing
+        Collection<Long> ids = roomIds.isEmpty() ? Set.of(-1L) : roomIds;
+        Collection<RoomType> types = roomTypes.isEmpty() ? EnumSet.allOf(RoomType.class) : roomTypes;
+        return roomRepository.findForAllocation(ids, !roomTypes.isEmpty(), types);
+    }
+
+    /** Takes one bed in a room locked by {@link #lockRoomsForAllocation}. */
+    public void takeBed(Room room) {
+        room.setCurrentOccupancy(room.getCurrentOccupancy() + 1);
+        refreshRoomStatus(room);
+        availabilityIndex.adjustOccupancy(room.getId(), 1);
+    }
+
+    /** Frees one bed in a room locked by {@link #lockRoomsForAllocation}. */
+    public void freeBed(Room room) {
+        if (room.getCurrentOccupancy() == 0) return;
+        room.setCurrentOccupancy(room.getCurrentOccupancy() - 1);
+        refreshRoomStatus(room);
+        availabilityIndex.adjustOccupancy(room.getId(), -1);
+    }
+
     /**
      * Synchronises the room status with its current occupancy:
      * If occupancy hits capacity → OCCUPIED; if it drops to 0 → AVAILABLE.
@@ -0,0 +1,65 @@
+package com.hostel.management.service.impl;
+
+import com.hostel.management.service.ComplaintService;
+import com.hostel.management.service.PaymentService;
+import com.hostel.management.service.ResidentService;
+import com.hostel.management.service.RoomService;
+import com.hostel.management.service.StatsService;
+import com.hostel.management.service.VisitService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of {@link StatsService}. Each module's stats run concurrently on the
+ * stats executor, each in its own read-only transaction and on its own pooled connection.
+ */
+@Service
+public class StatsServiceImpl implements StatsService {
+
+    private final RoomService roomService;
+    private final ResidentService residentService;
+    private final PaymentService paymentService;
+    private final ComplaintService complaintService;
+    private final VisitService visitService;
+    private final ThreadPoolTaskExecutor statsExecutor;
+
+    public StatsServiceImpl(RoomService roomService,
+                            ResidentService residentService,
+                            PaymentService paymentService,
+                            ComplaintService complaintService,
+                            VisitService visitService,
+                            @Qualifier("statsExecutor") ThreadPoolTaskExecutor statsExecutor) {
+        this.roomService = roomService;
+        this.residentService = residentService;
+        this.paymentService = paymentService;
+        this.complaintService = complaintService;
+        this.visitService = visitService;
+        this.statsExecutor = statsExecutor;
+    }
+
+    @Override
+    public Map<String, Object> getDashboardStats() {
+        CompletableFuture<Map<String, Object>> rooms = async(roomService::getRoomStats);
+        CompletableFuture<Map<String, Object>> residents = async(residentService::getResidentStats);
+        CompletableFuture<Map<String, Object>> payments = async(paymentService::getPaymentStats);
+        CompletableFuture<Map<String, Object>> complaints = async(complaintService::getComplaintStats);
+        CompletableFuture<Map<String, Object>> visits = async(visitService::getVisitStats);
+
+        return Map.of(
+                "rooms", rooms.join(),
+                "residents", residents.join(),
+                "payments", payments.join(),
+                "complaints", complaints.join(),
+                "visits", visits.join()
+        );
+    }
+
+    private CompletableFuture<Map<String, Object>> async(Supplier<Map<String, Object>> stats) {
+        return CompletableFuture.supplyAsync(stats, statsExecutor);
+    }
+}
@@ -2,15 +2,32 @@ package com.hostel.management.service.impl;
 
 import com.hostel.management.dto.visit.VisitRequestDto;
 import com.hostel.management.dto.visit.VisitResponseDto;
+import com.hostel.management.dto.visit.VisitSlotRequestDto;
+import com.hostel.management.dto.visit.VisitSlotResponseDto;
 import com.hostel.management.entity.Visit;
+import com.hostel.management.entity.VisitSlot;
+import com.hostel.management.enums.SortDirection;
 import com.hostel.management.enums.VisitStatus;
+import com.hostel.management.exception.BadRequestException;
 import com.hostel.management.exception.ResourceNotFoundException;
 import com.hostel.management.repository.VisitRepository;
+import com.hostel.management.repository.VisitSlotRepository;
+import com.hostel.management.response.CursorPage;
 import com.hostel.management.service.VisitService;
+import com.hostel.management.util.StatsUtil;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -22,10 +39,21 @@ import java.util.stream.Collectors;
 @Transactional
 public class VisitServiceImpl implements VisitService {
 
+    private static final int DEFAULT_FREE_SLOT_LIMIT = 10;
+    private static final int MAX_FREE_SLOT_LIMIT = 100;
+    private static final int MAX_SLOTS_PER_REQUEST = 1000;
+    private static final DateTimeFormatter VISIT_TIME = DateTimeFormatter.ofPattern("HH:mm");
+
     private final VisitRepository visitRepository;
+    private final VisitSlotRepository visitSlotRepository;
+    private final VisitSlotIndex slotIndex;
 
-    public VisitServiceImpl(VisitRepository visitRepository) {
+    public VisitServiceImpl(VisitRepository visitRepository,
+                            VisitSlotRepository visitSlotRepository,
+                            VisitSlotIndex slotIndex) {
         this.visitRepository = visitRepository;
+        this.visitSlotRepository = visitSlotRepository;
+        this.slotIndex = slotIndex;
     }
 
     @Override
@@ -40,6 +68,7 @@ public class VisitServiceImpl implements VisitService {
                 .visitTime(dto.getVisitTime())
                 .status(VisitStatus.NEW)
                 .build();
+        if (dto.getSlotId() != null) bookSlot(visit, dto.getSlotId());
         return toDto(visitRepository.save(visit));
     }
 
@@ -53,15 +82,19 @@ public class VisitServiceImpl implements VisitService {
         if (dto.getMessage() != null) visit.setMessage(dto.getMessage());
         if (dto.getVisitDate() != null) visit.setVisitDate(dto.getVisitDate());
         if (dto.getVisitTime() != null) visit.setVisitTime(dto.getVisitTime());
+        Long currentSlotId = visit.getSlot() != null ? visit.getSlot().getId() : null;
+        if (dto.getSlotId() != null && !dto.getSlotId().equals(currentSlotId)) {
+            bookSlot(visit, dto.getSlotId());
+            if (currentSlotId != null) releaseSlot(currentSlotId);
+        }
         return toDto(visitRepository.save(visit));
     }
 
     @Override
     public void deleteVisit(Long id) {
-        if (!visitRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Visit", id);
-        }
-        visitRepository.deleteById(id);
+        Visit visit = findById(id);
+        if (visit.getSlot() != null) releaseSlot(visit.getSlot().getId());
+        visitRepository.delete(visit);
     }
 
     @Override
@@ -72,11 +105,14 @@ public class VisitServiceImpl implements VisitService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<VisitResponseDto> getAllVisits(VisitStatus status) {
-        List<Visit> visits = (status != null)
-                ? visitRepository.findByStatus(status)
-                : visitRepository.findAll();
-        return visits.stream().map(this::toDto).collect(Collectors.toList());
+    public CursorPage<VisitResponseDto> getAllVisits(VisitStatus status,
+                                                     Long after, Integer limit, SortDirection sort) {
+        Pageable pageable = CursorPage.pageable(limit);
+        List<Visit> visits = CursorPage.isDescending(sort)
+                ? visitRepository.findPageDesc(status, CursorPage.upperBound(after), pageable)
+                : visitRepository.findPageAsc(status, CursorPage.lowerBound(after), pageable);
+        return CursorPage.of(visits.stream().map(this::toDto).collect(Collectors.toList()),
+                pageable, VisitResponseDto::getId);
     }
 
     @Override
@@ -87,14 +123,114 @@ public class VisitServiceImpl implements VisitService {
         return toDto(visitRepository.save(visit));
     }
 
+    /**
+     * Opens back-to-back slots on each requested day. Overlaps with existing slots are checked
+     * against the slot index; the unique (date, start) key backs it up in the database.
+     */
+    @Override
+    public List<VisitSlotResponseDto> createSlots(VisitSlotRequestDto dto) {
+        LocalDate toDate = dto.getToDate() != null ? dto.getToDate() : dto.getFromDate();
+        if (toDate.isBefore(dto.getFromDate())) {
+            throw new BadRequestException("To date must not be before from date.");
+        }
+        if (!dto.getEndTime().isAfter(dto.getStartTime())) {
+            throw new BadRequestException("End time must be after start time.");
+        }
+        if (dto.getFromDate().isBefore(LocalDate.now())) {
+            throw new BadRequestException("Slots cannot be opened in the past.");
+        }
+        if (!slotIndex.isReady()) rebuildSlotIndex();
+
+        List<VisitSlot> slots = new ArrayList<>();
+        for (LocalDate date = dto.getFromDate(); !date.isAfter(toDate); date = date.plusDays(1)) {
+            LocalTime start = dto.getStartTime();
+            // Compare in minutes of the day so a window ending at midnight cannot wrap around
+            while (start.toSecondOfDay() / 60 + dto.getDurationMinutes() <= dto.getEndTime().toSecondOfDay() / 60) {
+                LocalTime end = start.plusMinutes(dto.getDurationMinutes());
+                VisitSlotResponseDto conflict = slotIndex.findConflict(date, start, end);
+                if (conflict != null) {
+                    throw new BadRequestException("Slot " + date + " " + start + "-" + end
+                            + " overlaps existing slot " + conflict.getStartTime() + "-" + conflict.getEndTime() + ".");
+                }
+                if (slots.size() == MAX_SLOTS_PER_REQUEST) {
+                    throw new BadRequestException("At most " + MAX_SLOTS_PER_REQUEST + " slots can be opened at once.");
+                }
+                slots.add(VisitSlot.builder()
+                        .slotDate(date)
+                        .startTime(start)
+                        .endTime(end)
+                        .capacity(dto.getCapacity())
+                        .booked(0)
+                        .build());
+                start = end;
+            }
+        }
+        if (slots.isEmpty()) {
+            throw new BadRequestException("The time window is shorter than one slot.");
+        }
+
+        List<VisitSlotResponseDto> saved = visitSlotRepository.saveAll(slots).stream()
+                .map(this::toSlotDto).collect(Collectors.toList());
+        slotIndex.putAll(saved);
+        return saved;
+    }
+
+    @Override
+    public void deleteSlot(Long id) {
+        VisitSlot slot = visitSlotRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Visit slot", id));
+        if (slot.getBooked() > 0) {
+            throw new BadRequestException("Slot has " + slot.getBooked() + " booking(s) and cannot be deleted.");
+        }
+        visitSlotRepository.delete(slot);
+        slotIndex.remove(id);
+    }
+
+    /** Served from memory without a transaction, so the public booking form never takes a connection. */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<VisitSlotResponseDto> getFreeSlots(LocalDateTime from, Integer limit) {
+        if (!slotIndex.isReady()) rebuildSlotIndex();
+        int size = limit == null ? DEFAULT_FREE_SLOT_LIMIT : Math.max(1, Math.min(limit, MAX_FREE_SLOT_LIMIT));
+        LocalDateTime now = LocalDateTime.now();
+        return slotIndex.nextFree(from == null || from.isBefore(now) ? now : from, size);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<VisitSlotResponseDto> getSlotsForDay(LocalDate date) {
+        if (!slotIndex.isReady()) rebuildSlotIndex();
+        return slotIndex.day(date);
+    }
+
+    /**
+     * Reloads today's and future slots at startup and periodically, which also drops past days.
+     * Runs without a transaction so the index's re-reads of slots changed mid-rebuild see them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${visits.slots.resync-ms:300000}",
+               fixedDelayString = "${visits.slots.resync-ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildSlotIndex() {
+        LocalDate today = LocalDate.now();
+        slotIndex.rebuild(
+                () -> visitSlotRepository.findBySlotDateGreaterThanEqual(today).stream()
+                        .map(this::toSlotDto).collect(Collectors.toList()),
+                ids -> visitSlotRepository.findAllById(ids).stream()
+                        .filter(slot -> !slot.getSlotDate().isBefore(today))
+                        .map(this::toSlotDto).collect(Collectors.toList()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> getVisitStats() {
+        Map<VisitStatus, Long> counts = StatsUtil.countsByStatus(VisitStatus.class,
+                visitRepository.countGroupedByStatus());
         return Map.of(
-                "total", visitRepository.count(),
-                "newRequests", visitRepository.countByStatus(VisitStatus.NEW),
-                "contacted", visitRepository.countByStatus(VisitStatus.CONTACTED),
-                "closed", visitRepository.countByStatus(VisitStatus.CLOSED)
+                "total", StatsUtil.total(counts),
+                "newRequests", counts.get(VisitStatus.NEW),
+                "contacted", counts.get(VisitStatus.CONTACTED),
+                "closed", counts.get(VisitStatus.CLOSED)
         );
     }
 
@@ -105,6 +241,45 @@ public class VisitServiceImpl implements VisitService {
                 .orElseThrow(() -> new ResourceNotFoundException("Visit", id));
     }
 
+    /**
+     * Takes a place in the slot with one conditional UPDATE, so concurrent public submissions can
+     * never overbook it or book one whose start time has passed, and copies the slot's date and
+     * time onto the visit. The in-memory index can lag a cancellation, so it is not consulted.
+     */
+    private void bookSlot(Visit visit, Long slotId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (visitSlotRepository.reserve(slotId, now.toLocalDate(), now.toLocalTime()) == 0) {
+            VisitSlot slot = visitSlotRepository.findById(slotId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Visit slot", slotId));
+            if (!slot.getSlotDate().atTime(slot.getStartTime()).isAfter(now)) {
+                throw new BadRequestException("Visit slot " + slotId + " has already started.");
+            }
+            throw new BadRequestException("Visit slot " + slot.getSlotDate() + " "
+                    + slot.getStartTime().format(VISIT_TIME) + " is fully booked.");
+        }
+        slotIndex.adjustBooked(slotId, 1);
+        VisitSlot slot = visitSlotRepository.getReferenceById(slotId);
+        visit.setSlot(slot);
+        visit.setVisitDate(slot.getSlotDate());
+        visit.setVisitTime(slot.getStartTime().format(VISIT_TIME));
+    }
+
+    private void releaseSlot(Long slotId) {
+        if (visitSlotRepository.release(slotId) > 0) slotIndex.adjustBooked(slotId, -1);
+    }
+
+    private VisitSlotResponseDto toSlotDto(VisitSlot s) {
+        return VisitSlotResponseDto.builder()
+                .id(s.getId())
+                .slotDate(s.getSlotDate())
+                .startTime(s.getStartTime())
+                .endTime(s.getEndTime())
+                .capacity(s.getCapacity())
+                .booked(s.getBooked())
+                .available(s.getCapacity() - s.getBooked())
+                .build();
+    }
+
     private VisitResponseDto toDto(Visit v) {
         return VisitResponseDto.builder()
                 .id(v.getId())
@@ -115,6 +290,7 @@ public class VisitServiceImpl implements VisitService {
                 .message(v.getMessage())
                 .visitDate(v.getVisitDate())
                 .visitTime(v.getVisitTime())
+                .slotId(v.getSlot() != null ? v.getSlot().getId() : null)
                 .status(v.getStatus())
                 .adminNotes(v.getAdminNotes())
                 .createdAt(v.getCreatedAt())
@@ -0,0 +1,264 @@
+package com.hostel.management.service.impl;
+
+import com.hostel.management.dto.visit.VisitSlotResponseDto;
+import com.hostel.management.util.TransactionUtil;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory interval index of visit slots, so the booking form and slot administration never
+ * scan the {@code visits} or {@code visit_slots} tables.
+ *
+ * <p>Slots on one day never overlap, so each day keeps them in a {@link TreeMap} keyed by start
+ * time: the only slot that can overlap {@code [start, end)} is the one with the greatest start
+ * before {@code end}, an O(log n) lookup. A second map per day holds only the slots with places
+ * left, so "next free slots" is a seek plus a walk of exactly the slots returned. Past days are
+ * dropped at each rebuild. Changes made inside a transaction are applied only after it commits;
+ * the database's conditional updates remain the authority on capacity.</p>
+ *
+ * <p>A rebuild cannot tell whether a change committed while it ran is already in the rows it
+ * read, so it records the slots such changes touch and re-reads them once it has swapped in.</p>
+ */
+@Component
+public class VisitSlotIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TreeMap<LocalDate, Day> days = new TreeMap<>();
+    private Map<Long, VisitSlotResponseDto> byId = new HashMap<>();
+    private volatile boolean ready;
+
+    /** Serialises rebuilds; held while reading the database, so never taken under {@link #lock}. */
+    private final Object rebuildLock = new Object();
+
+    /** Slots changed since the running rebuild began, or null when none is running; guarded by the write lock. */
+    private Set<Long> changedDuringRebuild;
+
+    /** True once the index has been loaded from the database. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces the whole index with the slots {@code loadAll} returns. Slots changed while it runs
+     * are then re-read with {@code reload}, until a re-read sees no further changes, so a booking
+     * racing the rebuild is neither lost nor counted twice. Call outside a transaction, so every
+     * read sees the latest committed rows.
+     */
+    public void rebuild(Supplier<? extends Collection<VisitSlotResponseDto>> loadAll,
+                        Function<Set<Long>, ? extends Collection<VisitSlotResponseDto>> reload) {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                Collection<VisitSlotResponseDto> slots = loadAll.get();
+                TreeMap<LocalDate, Day> newDays = new TreeMap<>();
+                Map<Long, VisitSlotResponseDto> newById = new HashMap<>(slots.size() * 2);
+                for (VisitSlotResponseDto slot : slots) {
+                    newDays.computeIfAbsent(slot.getSlotDate(), d -> new Day()).add(slot);
+                    newById.put(slot.getId(), slot);
+                }
+
+                lock.writeLock().lock();
+                try {
+                    days = newDays;
+                    byId = newById;
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                for (Set<Long> changed = takeChanged(); changed != null; changed = takeChanged()) {
+                    Collection<VisitSlotResponseDto> fresh = reload.apply(changed);
+                    lock.writeLock().lock();
+                    try {
+                        changed.forEach(this::unindex);
+                        for (VisitSlotResponseDto slot : fresh) index(slot);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    changedDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /** Adds slots once the current transaction commits. */
+    public void putAll(Collection<VisitSlotResponseDto> slots) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (VisitSlotResponseDto slot : slots) {
+                    changed(slot.getId());
+                    unindex(slot.getId());
+                    index(slot);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /** Drops a slot once the current transaction commits. */
+    public void remove(Long slotId) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                changed(slotId);
+                unindex(slotId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /** Applies a booking (+1) or cancellation (-1) once the current transaction commits. */
+    public void adjustBooked(Long slotId, int delta) {
+        TransactionUtil.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                changed(slotId);
+                VisitSlotResponseDto current = unindex(slotId);
+                if (current == null) return;
+                index(withBooked(current, Math.max(0, Math.min(current.getCapacity(), current.getBooked() + delta))));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /** Returns the slot that overlaps {@code [start, end)} on the given day, or null if none does. */
+    public VisitSlotResponseDto findConflict(LocalDate date, LocalTime start, LocalTime end) {
+        lock.readLock().lock();
+        try {
+            Day day = days.get(date);
+            if (day == null) return null;
+            Map.Entry<LocalTime, VisitSlotResponseDto> before = day.all.lowerEntry(end);
+            return before != null && before.getValue().getEndTime().isAfter(start) ? before.getValue() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns up to {@code limit} slots with places left that start at or after {@code from}, earliest first. */
+    public List<VisitSlotResponseDto> nextFree(LocalDateTime from, int limit) {
+        lock.readLock().lock();
+        try {
+            List<VisitSlotResponseDto> result = new ArrayList<>(limit);
+            for (Map.Entry<LocalDate, Day> day : days.tailMap(from.toLocalDate(), true).entrySet()) {
+                NavigableMap<LocalTime, VisitSlotResponseDto> free = day.getKey().equals(from.toLocalDate())
+                        ? day.getValue().free.tailMap(from.toLocalTime(), true)
+                        : day.getValue().free;
+                for (VisitSlotResponseDto slot : free.values()) {
+                    result.add(slot);
+                    if (result.size() == limit) return result;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns every slot on the given day in start-time order. */
+    public List<VisitSlotResponseDto> day(LocalDate date) {
+        lock.readLock().lock();
+        try {
+            Day day = days.get(date);
+            return day == null ? List.of() : new ArrayList<>(day.all.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    /** Records a change for the running rebuild, if any; the caller holds the write lock. */
+    private void changed(Long slotId) {
+        if (changedDuringRebuild != null) changedDuringRebuild.add(slotId);
+    }
+
+    /** Hands over the slots changed so far, or ends the rebuild and returns null if there are none. */
+    private Set<Long> takeChanged() {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild.isEmpty()) {
+                changedDuringRebuild = null;
+                return null;
+            }
+            Set<Long> changed = changedDuringRebuild;
+            changedDuringRebuild = new HashSet<>();
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds a slot that is not indexed yet; the caller holds the write lock. */
+    private void index(VisitSlotResponseDto slot) {
+        days.computeIfAbsent(slot.getSlotDate(), d -> new Day()).add(slot);
+        byId.put(slot.getId(), slot);
+    }
+
+    /** Removes and returns a slot's entry; the caller holds the write lock. */
+    private VisitSlotResponseDto unindex(Long slotId) {
+        VisitSlotResponseDto previous = byId.remove(slotId);
+        if (previous == null) return null;
+        Day day = days.get(previous.getSlotDate());
+        if (day != null) {
+            day.all.remove(previous.getStartTime());
+            day.free.remove(previous.getStartTime());
+            if (day.all.isEmpty()) days.remove(previous.getSlotDate());
+        }
+        return previous;
+    }
+
+    private static VisitSlotResponseDto withBooked(VisitSlotResponseDto s, int booked) {
+        return VisitSlotResponseDto.builder()
+                .id(s.getId())
+                .slotDate(s.getSlotDate())
+                .startTime(s.getStartTime())
+                .endTime(s.getEndTime())
+                .capacity(s.getCapacity())
+                .booked(booked)
+                .available(s.getCapacity() - booked)
+                .build();
+    }
+
+    private static final class Day {
+
+        private final TreeMap<LocalTime, VisitSlotResponseDto> all = new TreeMap<>();
+        private final TreeMap<LocalTime, VisitSlotResponseDto> free = new TreeMap<>();
+
+        private void add(VisitSlotResponseDto slot) {
+            all.put(slot.getStartTime(), slot);
+            if (slot.getAvailable() > 0) free.put(slot.getStartTime(), slot);
+        }
+    }
+}
@@ -2,7 +2,13 @@ package com.hostel.management.util;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
 
 /**
  * Shared date and time formatting utilities.
@@ -11,6 +17,15 @@ public final class DateUtil {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
+
+    /** Month spellings found on older payment records, tried in order. */
+    private static final List<DateTimeFormatter> MONTH_PARSERS = Stream.of(
+                    "MMMM yyyy", "MMM yyyy", "MMMM-yyyy", "MMM-yyyy", "MMM-yy", "MMM yy",
+                    "yyyy-MM", "yyyy/MM", "MM/yyyy", "M/yyyy", "MM-yyyy")
+            .map(pattern -> new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern)
+                    .toFormatter(Locale.ENGLISH))
+            .toList();
 
     private DateUtil() {
         // Utility class — no instantiation
@@ -24,6 +39,38 @@ public final class DateUtil {
         return dateTime != null ? dateTime.format(DATETIME_FORMATTER) : null;
     }
 
+    /** Formats a month the way payment records label it, e.g. "March 2026". */
+    public static String formatMonth(YearMonth month) {
+        return month != null ? month.format(MONTH_FORMATTER) : null;
+    }
+
+    /**
+     * Parses a payment month label such as "March 2026", "2026-03" or "Mar-26"; returns null if
+     * it is in none of the known forms.
+     */
+    public static YearMonth parseMonth(String label) {
+        if (label == null) return null;
+        String trimmed = label.trim();
+        for (DateTimeFormatter parser : MONTH_PARSERS) {
+            try {
+                return YearMonth.parse(trimmed, parser);
+            } catch (DateTimeParseException e) {
+                // try the next form
+            }
+        }
+        return null;
+    }
+
+    /** Encodes a month as a sortable yyyymm number, e.g. 202603. */
+    public static Integer toYyyymm(YearMonth month) {
+        return month != null ? month.getYear() * 100 + month.getMonthValue() : null;
+    }
+
+    /** Decodes a yyyymm number produced by {@link #toYyyymm}. */
+    public static YearMonth fromYyyymm(Integer yyyymm) {
+        return yyyymm != null ? YearMonth.of(yyyymm / 100, yyyymm % 100) : null;
+    }
+
     public static LocalDate today() {
         return LocalDate.now();
     }
@@ -0,0 +1,24 @@
+package com.hostel.management.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.DayOfWeek;
+
+/**
+ * Stores a {@link DayOfWeek} as its ISO number (Monday = 1 ... Sunday = 7), which equals
+ * MySQL's {@code WEEKDAY(date) + 1} so native queries can join on it directly.
+ */
+@Converter
+public class DayOfWeekConverter implements AttributeConverter<DayOfWeek, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(DayOfWeek day) {
+        return day != null ? day.getValue() : null;
+    }
+
+    @Override
+    public DayOfWeek convertToEntityAttribute(Integer value) {
+        return value != null ? DayOfWeek.of(value) : null;
+    }
+}
@@ -0,0 +1,126 @@
+package com.hostel.management.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.hostel.management.enums.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes export rows one at a time as CSV or newline-delimited JSON. Nothing is buffered
+ * beyond the underlying writer, so memory use does not depend on the number of rows.
+ */
+public abstract class ExportWriter implements AutoCloseable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().setRootValueSeparator(null);
+
+    protected final String[] columns;
+    protected final Writer writer;
+
+    private ExportWriter(String[] columns, OutputStream out) {
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    /** Opens a writer for the format; CSV output starts with a header line of column names. */
+    public static ExportWriter open(ExportFormat format, String[] columns, OutputStream out) {
+        return format == ExportFormat.NDJSON ? new NdjsonWriter(columns, out) : new CsvWriter(columns, out);
+    }
+
+    /** Writes one row; values line up with the column names. */
+    public abstract void writeRow(Object[] values);
+
+    @Override
+    public void close() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class CsvWriter extends ExportWriter {
+
+        private CsvWriter(String[] columns, OutputStream out) {
+            super(columns, out);
+            writeRow(columns);
+        }
+
+        @Override
+        public void writeRow(Object[] values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) writer.write(',');
+                    if (values[i] != null) writer.write(escape(values[i].toString()));
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static final class NdjsonWriter extends ExportWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonWriter(String[] columns, OutputStream out) {
+            super(columns, out);
+            try {
+                this.generator = JSON_FACTORY.createGenerator(writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void writeRow(Object[] values) {
+            try {
+                generator.writeStartObject();
+                for (int i = 0; i < values.length; i++) {
+                    generator.writeFieldName(columns[i]);
+                    Object value = values[i];
+                    if (value == null) {
+                        generator.writeNull();
+                    } else if (value instanceof Boolean b) {
+                        generator.writeBoolean(b);
+                    } else if (value instanceof Long || value instanceof Integer) {
+                        generator.writeNumber(((Number) value).longValue());
+                    } else if (value instanceof Number n) {
+                        generator.writeNumber(n.doubleValue());
+                    } else {
+                        generator.writeString(value.toString());
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            super.close();
+        }
+    }
+}
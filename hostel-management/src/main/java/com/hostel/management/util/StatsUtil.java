@@ -0,0 +1,34 @@
+package com.hostel.management.util;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers for turning {@code GROUP BY status} projection rows into dashboard counters.
+ */
+public final class StatsUtil {
+
+    private StatsUtil() {
+        // Utility class — no instantiation
+    }
+
+    /**
+     * Maps (status, count) rows onto every constant of the enum, so statuses with no rows report zero.
+     */
+    public static <E extends Enum<E>> Map<E, Long> countsByStatus(Class<E> type, List<Object[]> rows) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            counts.put(constant, 0L);
+        }
+        for (Object[] row : rows) {
+            counts.put(type.cast(row[0]), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /** Sums every bucket of a {@link #countsByStatus} result. */
+    public static long total(Map<?, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,127 @@
+package com.hostel.management.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-text day and time-slot fields of cleaning tasks, e.g. "Monday", "Mon, Thu",
+ * "Daily", "08:00 AM", "8am - 9:30am" or "14:00-15:00", into values that can be compared.
+ */
+public final class TimeSlotUtil {
+
+    private static final Pattern RANGE_SEPARATOR = Pattern.compile("\\s*(?:-|–|to)\\s*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("\\s*[,/&]\\s*|\\s+and\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern MERIDIEM = Pattern.compile("\\s*([ap])\\.?m\\.?$", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> EVERY_DAY = Set.of("daily", "everyday", "every day", "all");
+
+    private static final List<DateTimeFormatter> TIME_FORMATS = List.of(
+            formatter("H:mm"),
+            formatter("h:mm a"),
+            formatter("h a"),
+            formatter("H"));
+
+    private TimeSlotUtil() {
+        // Utility class — no instantiation
+    }
+
+    /**
+     * Parses a slot into {@code {startMinute, endMinute}} of the day. A single time lasts
+     * {@code defaultMinutes}, ending at midnight at the latest.
+     *
+     * @return the slot, or null when it cannot be parsed or ends before it starts
+     */
+    public static int[] parseSlot(String slot, int defaultMinutes) {
+        if (slot == null || slot.isBlank()) return null;
+        String[] parts = RANGE_SEPARATOR.split(slot.trim(), -1);
+        if (parts.length > 2) return null;
+        Integer start = parseMinute(parts[0]);
+        if (start == null) return null;
+        if (parts.length == 1) return new int[] {start, Math.min(24 * 60, start + defaultMinutes)};
+
+        Integer end = parseMinute(parts[1]);
+        if (end == null) return null;
+        if (end == 0) end = 24 * 60;
+
+        // "9 - 5pm": a start without am/pm takes the end's, or the other one if that would not fit
+        Matcher meridiem = MERIDIEM.matcher(parts[1].trim());
+        if (!MERIDIEM.matcher(parts[0].trim()).find() && meridiem.find()) {
+            boolean pm = meridiem.group(1).equalsIgnoreCase("p");
+            for (String candidate : new String[] {pm ? " PM" : " AM", pm ? " AM" : " PM"}) {
+                Integer withMeridiem = parseMinute(parts[0].trim() + candidate);
+                if (withMeridiem != null && withMeridiem < end) {
+                    start = withMeridiem;
+                    break;
+                }
+            }
+        }
+        return end > start ? new int[] {start, end} : null;
+    }
+
+    /** Formats minutes of the day as {@code HH:mm-HH:mm}, the form generated slots are stored in. */
+    public static String formatSlot(int startMinute, int endMinute) {
+        return String.format(Locale.ROOT, "%02d:%02d-%02d:%02d",
+                startMinute / 60, startMinute % 60, endMinute / 60, endMinute % 60);
+    }
+
+    /**
+     * Parses a day field: a day name or its three-letter abbreviation, a list of them, or
+     * "Daily" for all seven.
+     *
+     * @return the days, empty when nothing could be parsed
+     */
+    public static Set<DayOfWeek> parseDays(String days) {
+        Set<DayOfWeek> result = EnumSet.noneOf(DayOfWeek.class);
+        if (days == null || days.isBlank()) return result;
+        String normalised = days.trim().toLowerCase(Locale.ROOT);
+        if (EVERY_DAY.contains(normalised)) return EnumSet.allOf(DayOfWeek.class);
+        for (String part : LIST_SEPARATOR.split(normalised)) {
+            DayOfWeek day = parseDay(part);
+            if (day == null) return EnumSet.noneOf(DayOfWeek.class);
+            result.add(day);
+        }
+        return result;
+    }
+
+    /** The day name as cleaning tasks store it, e.g. "Monday". */
+    public static String dayName(DayOfWeek day) {
+        return day.getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private static DateTimeFormatter formatter(String pattern) {
+        return new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).toFormatter(Locale.ENGLISH);
+    }
+
+    private static Integer parseMinute(String time) {
+        String value = MERIDIEM.matcher(time.trim()).replaceAll(" $1M").trim();
+        for (DateTimeFormatter format : TIME_FORMATS) {
+            try {
+                LocalTime parsed = LocalTime.parse(value, format);
+                return parsed.getHour() * 60 + parsed.getMinute();
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    private static DayOfWeek parseDay(String name) {
+        if (name.length() < 3) return null;
+        for (DayOfWeek day : DayOfWeek.values()) {
+            String full = day.name().toLowerCase(Locale.ROOT);
+            if (full.startsWith(name)) return day;
+        }
+        return null;
+    }
+}
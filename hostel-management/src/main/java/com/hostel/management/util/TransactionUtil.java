@@ -0,0 +1,31 @@
+package com.hostel.management.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for work that must be tied to the outcome of the current transaction.
+ */
+public final class TransactionUtil {
+
+    private TransactionUtil() {
+        // Utility class — no instantiation
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or immediately when no transaction
+     * is active. Rolled-back transactions never run it.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.hostel.management.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.YearMonth;
+
+/**
+ * Stores a {@link YearMonth} as an int yyyymm, which sorts and range-scans like the month it encodes.
+ */
+@Converter
+public class YearMonthConverter implements AttributeConverter<YearMonth, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(YearMonth month) {
+        return DateUtil.toYyyymm(month);
+    }
+
+    @Override
+    public YearMonth convertToEntityAttribute(Integer yyyymm) {
+        return DateUtil.fromYyyymm(yyyymm);
+    }
+}
@@ -1,12 +1,19 @@
 // API Base URL
 const API_BASE = 'http://localhost:8080/api';
 
-// Auth: include JWT in all API requests
+// Auth: include JWT in all API requests.
+// POSTs carry an Idempotency-Key, so the one retry after a dropped connection cannot apply twice.
 function apiFetch(url, options = {}) {
     const token = localStorage.getItem('token');
     const headers = { ...(options.headers || {}) };
     if (token) headers['Authorization'] = `Bearer ${token}`;
-    return fetch(url, { ...options, headers }).then(res => {
+    const isPost = (options.method || 'GET').toUpperCase() === 'POST';
+    if (isPost && !headers['Idempotency-Key'] && window.crypto?.randomUUID) {
+        headers['Idempotency-Key'] = crypto.randomUUID();
+    }
+    const send = () => fetch(url, { ...options, headers });
+    const request = isPost && headers['Idempotency-Key'] ? send().catch(() => send()) : send();
+    return request.then(res => {
         if (res.status === 401) {
             localStorage.removeItem('token');
             localStorage.removeItem('user');
@@ -16,6 +23,22 @@ function apiFetch(url, options = {}) {
     });
 }
 
+// List endpoints return keyset pages of at most PAGE_LIMIT items; this follows nextCursor to the end.
+const PAGE_LIMIT = 500;
+async function fetchAllPages(path) {
+    const items = [];
+    let after = null;
+    do {
+        const url = new URL(`${API_BASE}${path}`);
+        url.searchParams.set('limit', PAGE_LIMIT);
+        if (after != null) url.searchParams.set('after', after);
+        const result = await apiFetch(url.toString()).then(r => r.json());
+        items.push(...(result.data || []));
+        after = result.nextCursor;
+    } while (after != null);
+    return items;
+}
+
 // Check authentication
 const token = localStorage.getItem('token');
 const user = JSON.parse(localStorage.getItem('user'));
@@ -29,6 +52,7 @@ let allResidents = [];
 let allPayments = [];
 let allComplaints = [];
 let allVisits = [];
+let dashboardPendingPayments = [];
 let allCleaningTasks = [];
 let editingRoomId = null;
 let editingResidentId = null;
@@ -151,42 +175,30 @@ async function loadDashboard() {
     try {
         document.getElementById('dashboardLoading').style.display = 'block';
 
-        const [roomsRes, residentsRes, paymentsRes, complaintsRes, visitsRes] = await Promise.all([
-            apiFetch(`${API_BASE}/rooms`).then(r => r.json()).catch(() => ({ data: [] })),
-            apiFetch(`${API_BASE}/residents`).then(r => r.json()).catch(() => ({ data: [] })),
-            apiFetch(`${API_BASE}/payments`).then(r => r.json()).catch(() => ({ data: [] })),
-            apiFetch(`${API_BASE}/complaints`).then(r => r.json()).catch(() => ({ data: [] })),
-            apiFetch(`${API_BASE}/visits`).then(r => r.json()).catch(() => ({ data: [] }))
+        // Counts come from /stats; the lists below it only need their first few rows
+        const firstPage = path => apiFetch(`${API_BASE}${path}`).then(r => r.json()).then(r => r.data || []).catch(() => []);
+        const [statsRes, recentComplaints, recentPaid, pending] = await Promise.all([
+            apiFetch(`${API_BASE}/stats`).then(r => r.json()).catch(() => ({ data: {} })),
+            firstPage('/complaints?sort=DESC&limit=3'),
+            firstPage('/payments?status=PAID&sort=DESC&limit=3'),
+            firstPage('/payments?status=PENDING&limit=5')
         ]);
-
-        allRooms = roomsRes.data || [];
-        allResidents = residentsRes.data || [];
-        allPayments = paymentsRes.data || [];
-        allComplaints = complaintsRes.data || [];
-        allVisits = visitsRes.data || [];
-
-        const totalRooms = allRooms.length;
-        const availableRooms = allRooms.filter(r => r.status === 'AVAILABLE').length;
-        const totalResidents = allResidents.length;
-        const activeResidents = allResidents.filter(r => r.status === 'ACTIVE').length;
-        const pendingPayments = allPayments.filter(p => p.status === 'PENDING').length;
-        const pendingAmount = allPayments.filter(p => p.status === 'PENDING').reduce((sum, p) => sum + (p.total || p.amount || 0), 0);
-        const openComplaints = allComplaints.filter(c => c.status !== 'RESOLVED').length;
-        const newVisits = allVisits.filter(v => v.status === 'NEW').length;
-
-        document.getElementById('totalRooms').textContent = totalRooms;
-        document.getElementById('availableRooms').textContent = availableRooms;
-        document.getElementById('totalResidents').textContent = totalResidents;
-        document.getElementById('activeResidents').textContent = activeResidents;
-        document.getElementById('pendingPayments').textContent = pendingPayments;
-        document.getElementById('pendingAmount').textContent = `Rs. ${pendingAmount.toLocaleString()}`;
-        document.getElementById('openComplaints').textContent = openComplaints;
-        document.getElementById('newVisits').textContent = newVisits;
+        const { rooms = {}, residents = {}, payments = {}, complaints = {}, visits = {} } = statsRes.data || {};
+        dashboardPendingPayments = pending;
+
+        document.getElementById('totalRooms').textContent = rooms.total || 0;
+        document.getElementById('availableRooms').textContent = rooms.available || 0;
+        document.getElementById('totalResidents').textContent = residents.total || 0;
+        document.getElementById('activeResidents').textContent = residents.active || 0;
+        document.getElementById('pendingPayments').textContent = payments.pendingCount || 0;
+        document.getElementById('pendingAmount').textContent = `Rs. ${(payments.totalPending || 0).toLocaleString()}`;
+        document.getElementById('openComplaints').textContent = (complaints.total || 0) - (complaints.resolved || 0);
+        document.getElementById('newVisits').textContent = visits.newRequests || 0;
 
         document.getElementById('dashboardLoading').style.display = 'none';
 
-        loadRecentActivities();
-        loadPendingPaymentsOverview();
+        loadRecentActivities(recentComplaints, recentPaid);
+        loadPendingPaymentsOverview(pending, payments.pendingCount || 0);
         updateLastRefresh();
     } catch (error) {
         console.error('Error loading dashboard:', error);
@@ -194,10 +206,10 @@ async function loadDashboard() {
     }
 }
 
-function loadRecentActivities() {
+function loadRecentActivities(recentComplaints, recentPaid) {
     const activities = [];
 
-    allComplaints.slice(0, 3).forEach(c => {
+    recentComplaints.forEach(c => {
         activities.push({
             icon: 'exclamation-circle', color: 'orange',
             text: `Complaint: "${c.title}" from ${c.residentName || 'Resident'}`,
@@ -205,7 +217,7 @@ function loadRecentActivities() {
         });
     });
 
-    allPayments.filter(p => p.status === 'PAID').slice(0, 3).forEach(p => {
+    recentPaid.forEach(p => {
         activities.push({
             icon: 'check-circle', color: 'green',
             text: `Payment: Rs. ${(p.total || p.amount || 0).toLocaleString()} from ${p.residentName || 'Resident'}`,
@@ -231,8 +243,7 @@ function loadRecentActivities() {
     }
 }
 
-function loadPendingPaymentsOverview() {
-    const pending = allPayments.filter(p => p.status === 'PENDING');
+function loadPendingPaymentsOverview(pending, pendingCount) {
     const container = document.getElementById('pendingPaymentsList');
 
     if (pending.length > 0) {
@@ -250,7 +261,7 @@ function loadPendingPaymentsOverview() {
                     `).join('')}
                 </tbody>
             </table>
-            ${pending.length > 5 ? `<p style="text-align: center; margin-top: 15px;"><a href="#" onclick="document.querySelector('[data-section=payments]').click();" style="color: #6366f1;">View all ${pending.length} pending payments</a></p>` : ''}
+            ${pendingCount > 5 ? `<p style="text-align: center; margin-top: 15px;"><a href="#" onclick="document.querySelector('[data-section=payments]').click();" style="color: #6366f1;">View all ${pendingCount} pending payments</a></p>` : ''}
         `;
     } else {
         container.innerHTML = `<div class="empty-state"><i class="fas fa-check-circle" style="color: #22c55e;"></i><p>All payments up to date!</p></div>`;
@@ -260,9 +271,7 @@ function loadPendingPaymentsOverview() {
 // Load Rooms
 async function loadRooms() {
     try {
-        const response = await apiFetch(`${API_BASE}/rooms`);
-        const result = await response.json();
-        allRooms = result.data || [];
+        allRooms = await fetchAllPages('/rooms');
         const tbody = document.getElementById('roomsTableBody');
 
         if (allRooms.length > 0) {
@@ -292,9 +301,7 @@ async function loadRooms() {
 // Load Residents
 async function loadResidents() {
     try {
-        const response = await apiFetch(`${API_BASE}/residents`);
-        const result = await response.json();
-        allResidents = result.data || [];
+        allResidents = await fetchAllPages('/residents');
         const tbody = document.getElementById('residentsTableBody');
 
         if (allResidents.length > 0) {
@@ -324,9 +331,7 @@ async function loadResidents() {
 // Load Payments
 async function loadPayments() {
     try {
-        const response = await apiFetch(`${API_BASE}/payments`);
-        const result = await response.json();
-        allPayments = result.data || [];
+        allPayments = await fetchAllPages('/payments');
         const tbody = document.getElementById('paymentsTableBody');
 
         const totalPending = allPayments.filter(p => p.status === 'PENDING').reduce((sum, p) => sum + (p.total || p.amount || 0), 0);
@@ -378,9 +383,7 @@ async function loadPayments() {
 // Load Complaints
 async function loadComplaints() {
     try {
-        const response = await apiFetch(`${API_BASE}/complaints`);
-        const result = await response.json();
-        allComplaints = result.data || [];
+        allComplaints = await fetchAllPages('/complaints');
         const tbody = document.getElementById('complaintsTableBody');
 
         if (allComplaints.length > 0) {
@@ -410,9 +413,7 @@ async function loadComplaints() {
 // Load Visits
 async function loadVisits() {
     try {
-        const response = await apiFetch(`${API_BASE}/visits`);
-        const result = await response.json();
-        allVisits = result.data || [];
+        allVisits = await fetchAllPages('/visits');
         const tbody = document.getElementById('visitsTableBody');
 
         if (allVisits.length > 0) {
@@ -501,7 +502,7 @@ function showAddCleaningModal() {
 }
 
 async function showPaymentCollectModal(paymentId) {
-    const payment = allPayments.find(p => p.id === paymentId);
+    const payment = allPayments.find(p => p.id === paymentId) || dashboardPendingPayments.find(p => p.id === paymentId);
     if (!payment) return;
 
     let modal = document.getElementById('collectPaymentModal');
@@ -571,10 +572,9 @@ async function loadAvailableRoomsForSelect(selectId) {
 
 async function loadResidentsForSelect(selectId) {
     try {
-        const response = await apiFetch(`${API_BASE}/residents`);
-        const result = await response.json();
+        const residents = await fetchAllPages('/residents');
         const select = document.getElementById(selectId);
-        select.innerHTML = '<option value="">Select Resident</option>' + (result.data || []).map(r => `<option value="${r.id}">${r.name} ${r.roomNumber ? '- Room ' + r.roomNumber : ''}</option>`).join('');
+        select.innerHTML = '<option value="">Select Resident</option>' + residents.map(r => `<option value="${r.id}">${r.name} ${r.roomNumber ? '- Room ' + r.roomNumber : ''}</option>`).join('');
     } catch (error) { console.error('Error:', error); }
 }
 
@@ -782,15 +782,14 @@ let allAttendance = [];
 
 async function loadAttendance() {
     try {
-        // Get all attendance records
-        const response = await apiFetch(`${API_BASE}/attendance`);
+        // Get today's attendance records
+        const today = new Date().toISOString().split('T')[0];
+        const response = await apiFetch(`${API_BASE}/attendance/date/${today}`);
         const result = await response.json();
         allAttendance = result.data || [];
 
-        // Get all residents to show unmarked ones too
-        const residentsRes = await apiFetch(`${API_BASE}/residents`);
-        const residentsData = await residentsRes.json();
-        const allResidentsList = residentsData.data || [];
+        // Get active residents to show unmarked ones too
+        const allResidentsList = await fetchAllPages('/residents?status=ACTIVE');
 
         // Set default date to today
         const dateInput = document.getElementById('attendanceDate');
@@ -824,14 +823,8 @@ async function loadAttendance() {
             </div>
         `;
 
-        // Get today's date
-        const today = new Date().toISOString().split('T')[0];
-
-        // Filter attendance for today
-        const todayAttendance = allAttendance.filter(a => a.date === today);
-
         // Create a map of resident IDs who have attendance marked today
-        const markedResidentIds = new Set(todayAttendance.map(a => a.residentId));
+        const markedResidentIds = new Set(allAttendance.map(a => a.residentId));
 
         // Get unmarked active residents
         const unmarkedResidents = allResidentsList.filter(r =>
@@ -843,8 +836,8 @@ async function loadAttendance() {
         let tableContent = '';
 
         // Show marked attendance first
-        if (todayAttendance.length > 0) {
-            tableContent += todayAttendance.map(a => `
+        if (allAttendance.length > 0) {
+            tableContent += allAttendance.map(a => `
                 <tr>
                     <td><strong>${a.residentName || 'N/A'}</strong></td>
                     <td>${a.roomNumber || 'N/A'}</td>
@@ -941,23 +934,22 @@ async function markAllPresent() {
 
     try {
         // Get all active residents
-        const residentsRes = await apiFetch(`${API_BASE}/residents`);
-        const residentsData = await residentsRes.json();
-        const activeResidents = (residentsData.data || []).filter(r => r.status === 'ACTIVE');
+        const activeResidents = await fetchAllPages('/residents?status=ACTIVE');
 
+        if (activeResidents.length === 0) { showToast('No active residents to mark', 'warning'); return; }
         showToast('Marking attendance...', 'warning');
 
-        // Mark each resident as present
-        let successCount = 0;
-        for (const resident of activeResidents) {
-            try {
-                const response = await apiFetch(`${API_BASE}/attendance/mark/${resident.id}?status=PRESENT`, { method: 'POST' });
-                const result = await response.json();
-                if (result.success) successCount++;
-            } catch (e) { console.error('Error marking', resident.id, e); }
-        }
-
-        showToast(`Marked ${successCount} residents as present!`);
+        // Record the whole roll call in one request
+        const checkInTime = new Date().toTimeString().substring(0, 5);
+        const response = await apiFetch(`${API_BASE}/attendance/roll-call`, {
+            method: 'POST', headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({
+                entries: activeResidents.map(r => ({ residentId: r.id, status: 'PRESENT', checkInTime }))
+            })
+        });
+        const result = await response.json();
+        if (result.success) { showToast(`Marked ${result.data.recorded} residents as present!`); }
+        else { showToast(result.message || 'Failed to mark all present', 'error'); }
         loadAttendance();
     } catch (error) {
         console.error('Error:', error);
@@ -984,9 +976,7 @@ let allFoodPreferences = [];
 
 async function loadFoodPreferences() {
     try {
-        const response = await apiFetch(`${API_BASE}/food`);
-        const result = await response.json();
-        allFoodPreferences = result.data || [];
+        allFoodPreferences = await fetchAllPages('/food');
 
         // Set default date to today
         const dateInput = document.getElementById('foodDate');
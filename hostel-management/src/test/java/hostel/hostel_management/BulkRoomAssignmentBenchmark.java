@@ -0,0 +1,117 @@
+package hostel.hostel_management;
+
+import com.hostel.management.HostelManagementApplication;
+import com.hostel.management.dto.resident.RoomAssignmentRequestDto;
+import com.hostel.management.entity.Resident;
+import com.hostel.management.entity.Room;
+import com.hostel.management.enums.ResidentStatus;
+import com.hostel.management.enums.RoomStatus;
+import com.hostel.management.enums.RoomType;
+import com.hostel.management.repository.ResidentRepository;
+import com.hostel.management.repository.RoomRepository;
+import com.hostel.management.service.ResidentService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compares {@link ResidentService#assignRooms} for an intake batch with the same batch sent as
+ * one {@link ResidentService#assignRoom} call per resident. Boots the application context against
+ * the configured database, creates its own rooms and residents and deletes them afterwards.
+ * Not a unit test, so the build does not run it:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) hostel.hostel_management.BulkRoomAssignmentBenchmark [batch] [rounds]
+ * </pre>
+ *
+ * Each round assigns a fresh batch both ways into fresh rooms of four beds, so neither side
+ * benefits from rooms the other already filled. The first round is a warm-up and is not reported.
+ */
+public class BulkRoomAssignmentBenchmark {
+
+	private static final int BEDS_PER_ROOM = 4;
+
+	public static void main(String[] args) {
+		int batch = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(HostelManagementApplication.class)
+				.web(WebApplicationType.NONE)
+				.run()) {
+			ResidentService residentService = ctx.getBean(ResidentService.class);
+			ResidentRepository residentRepository = ctx.getBean(ResidentRepository.class);
+			RoomRepository roomRepository = ctx.getBean(RoomRepository.class);
+
+			for (int round = 0; round <= rounds; round++) {
+				List<Long> rooms = new ArrayList<>();
+				List<Long> residents = new ArrayList<>();
+				try {
+					List<RoomAssignmentRequestDto> single = fixture(batch, residentRepository, roomRepository, rooms, residents);
+					List<RoomAssignmentRequestDto> bulk = fixture(batch, residentRepository, roomRepository, rooms, residents);
+
+					long start = System.nanoTime();
+					for (RoomAssignmentRequestDto a : single) {
+						residentService.assignRoom(a.getResidentId(), a.getRoomId());
+					}
+					long singleNanos = System.nanoTime() - start;
+
+					start = System.nanoTime();
+					residentService.assignRooms(bulk);
+					long bulkNanos = System.nanoTime() - start;
+
+					if (round > 0) {
+						System.out.printf("round=%d batch=%d single=%,d ms (%,.0f/s) bulk=%,d ms (%,.0f/s) speedup=%.1fx%n",
+								round, batch,
+								singleNanos / 1_000_000, batch * 1e9 / singleNanos,
+								bulkNanos / 1_000_000, batch * 1e9 / bulkNanos,
+								(double) singleNanos / bulkNanos);
+					}
+				} finally {
+					residentRepository.deleteAllById(residents);
+					roomRepository.deleteAllById(rooms);
+				}
+			}
+		}
+	}
+
+	/** Creates {@code batch} unassigned residents and enough empty rooms, and pairs them up. */
+	private static List<RoomAssignmentRequestDto> fixture(int batch, ResidentRepository residentRepository,
+	                                                      RoomRepository roomRepository,
+	                                                      List<Long> rooms, List<Long> residents) {
+		String tag = UUID.randomUUID().toString().substring(0, 8);
+		List<Room> newRooms = new ArrayList<>();
+		for (int i = 0; i < (batch + BEDS_PER_ROOM - 1) / BEDS_PER_ROOM; i++) {
+			newRooms.add(Room.builder()
+					.roomNumber("B-" + tag + "-" + i)
+					.roomType(RoomType.SHARED)
+					.pricePerMonth(1000.0)
+					.capacity(BEDS_PER_ROOM)
+					.currentOccupancy(0)
+					.status(RoomStatus.AVAILABLE)
+					.build());
+		}
+		List<Resident> newResidents = new ArrayList<>();
+		for (int i = 0; i < batch; i++) {
+			newResidents.add(Resident.builder()
+					.name("Bench " + tag + " " + i)
+					.rating(3)
+					.status(ResidentStatus.ACTIVE)
+					.build());
+		}
+		roomRepository.saveAll(newRooms).forEach(r -> rooms.add(r.getId()));
+		List<Resident> saved = residentRepository.saveAll(newResidents);
+
+		List<RoomAssignmentRequestDto> assignments = new ArrayList<>(batch);
+		for (int i = 0; i < batch; i++) {
+			Long residentId = saved.get(i).getId();
+			residents.add(residentId);
+			assignments.add(new RoomAssignmentRequestDto(residentId, newRooms.get(i / BEDS_PER_ROOM).getId(), null));
+		}
+		return assignments;
+	}
+}
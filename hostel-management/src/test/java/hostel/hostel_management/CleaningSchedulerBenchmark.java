@@ -0,0 +1,100 @@
+package hostel.hostel_management;
+
+import com.hostel.management.service.impl.CleaningScheduler;
+import com.hostel.management.service.impl.CleaningScheduler.Area;
+import com.hostel.management.service.impl.CleaningScheduler.Plan;
+import com.hostel.management.service.impl.CleaningScheduler.Shift;
+import com.hostel.management.service.impl.CleaningScheduler.Shortfall;
+import com.hostel.management.service.impl.CleaningScheduler.Staff;
+import com.hostel.management.service.impl.CleaningScheduler.Visit;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Times {@link CleaningScheduler#plan} for a hostel-sized week: by default 800 areas over eight
+ * buildings and 60 staff, some of them limited to one building, with a fifth of their time
+ * already reserved by hand-entered tasks. The planner needs no database, so this runs without
+ * the application context. Not a unit test, so the build does not run it:
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes hostel.hostel_management.CleaningSchedulerBenchmark [areas] [staff] [rounds]
+ * </pre>
+ *
+ * The inputs come from a fixed seed, so every round plans the same week. A few warm-up rounds
+ * are not reported; the plan of the last round is checked for double-booked staff.
+ */
+public class CleaningSchedulerBenchmark {
+
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int BUILDINGS = 8;
+
+	public static void main(String[] args) {
+		int areaCount = args.length > 0 ? Integer.parseInt(args[0]) : 800;
+		int staffCount = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+		Random random = new Random(42);
+		List<Area> areas = new ArrayList<>(areaCount);
+		for (int a = 0; a < areaCount; a++) {
+			areas.add(new Area("Area " + a, "Block " + random.nextInt(BUILDINGS),
+					1 + random.nextInt(7), 15 + 5 * random.nextInt(7)));
+		}
+		List<Staff> staff = new ArrayList<>(staffCount);
+		List<int[]> reservations = new ArrayList<>();
+		for (int s = 0; s < staffCount; s++) {
+			int start = (6 + random.nextInt(6)) * 60;
+			List<Shift> shifts = new ArrayList<>();
+			for (DayOfWeek day : DayOfWeek.values()) {
+				if (random.nextInt(7) == 0) continue;
+				shifts.add(new Shift(day, start, start + 8 * 60));
+				// One hand-entered task of 90 minutes somewhere in the shift
+				int taskStart = start + 15 * random.nextInt(26);
+				reservations.add(new int[] {s, day.ordinal(), taskStart, taskStart + 90});
+			}
+			Set<String> buildings = random.nextInt(3) == 0 ? Set.of("Block " + random.nextInt(BUILDINGS)) : Set.of();
+			staff.add(new Staff("Staff " + s, buildings, shifts, 40 * 60));
+		}
+
+		Plan plan = null;
+		long[] nanos = new long[rounds];
+		for (int round = -WARMUP_ROUNDS; round < rounds; round++) {
+			long start = System.nanoTime();
+			CleaningScheduler scheduler = new CleaningScheduler(staff);
+			for (int[] r : reservations) {
+				scheduler.reserve(staff.get(r[0]).name(), DayOfWeek.values()[r[1]], r[2], r[3]);
+			}
+			plan = scheduler.plan(areas);
+			if (round >= 0) nanos[round] = System.nanoTime() - start;
+		}
+
+		Arrays.sort(nanos);
+		int wanted = areas.stream().mapToInt(Area::visitsPerWeek).sum();
+		int missing = plan.shortfalls().stream().mapToInt(Shortfall::missingVisits).sum();
+		System.out.printf("areas=%d staff=%d visits=%d/%d shortfall=%d overlaps=%d min=%.1f ms median=%.1f ms max=%.1f ms%n",
+				areaCount, staffCount, plan.visits().size(), wanted, missing, overlaps(plan.visits()),
+				nanos[0] / 1e6, nanos[rounds / 2] / 1e6, nanos[rounds - 1] / 1e6);
+	}
+
+	/** Pairs of visits that put the same person in two places at once; should be zero. */
+	private static int overlaps(List<Visit> visits) {
+		List<Visit> sorted = new ArrayList<>(visits);
+		sorted.sort(Comparator.comparing(Visit::staff).thenComparing(Visit::day).thenComparingInt(Visit::startMinute));
+		int overlaps = 0;
+		for (int i = 1; i < sorted.size(); i++) {
+			Visit previous = sorted.get(i - 1);
+			Visit current = sorted.get(i);
+			if (previous.staff().equals(current.staff()) && previous.day() == current.day()
+					&& current.startMinute() < previous.endMinute()) {
+				overlaps++;
+			}
+		}
+		return overlaps;
+	}
+}
@@ -0,0 +1,177 @@
+package hostel.hostel_management;
+
+import com.hostel.management.service.impl.CleaningScheduler;
+import com.hostel.management.service.impl.CleaningScheduler.Area;
+import com.hostel.management.service.impl.CleaningScheduler.Plan;
+import com.hostel.management.service.impl.CleaningScheduler.Shift;
+import com.hostel.management.service.impl.CleaningScheduler.Shortfall;
+import com.hostel.management.service.impl.CleaningScheduler.Staff;
+import com.hostel.management.service.impl.CleaningScheduler.Visit;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link CleaningScheduler}; no Spring context. Times are minutes of the day.
+ */
+class CleaningSchedulerTests {
+
+	private static final int HOUR = 60;
+
+	@Test
+	void visitTakesTheEarliestGapAroundReservedTime() {
+		CleaningScheduler scheduler = new CleaningScheduler(List.of(staff("Ann", null, monday(8 * HOUR, 12 * HOUR))));
+		scheduler.reserve("ann", DayOfWeek.MONDAY, 9 * HOUR, 10 * HOUR);
+
+		Plan plan = scheduler.plan(List.of(area("Kitchen", 1, 60), area("Lobby", 1, 60)));
+
+		assertTrue(plan.shortfalls().isEmpty());
+		assertEquals(List.of(
+				new Visit("Kitchen", "", "Ann", DayOfWeek.MONDAY, 8 * HOUR, 9 * HOUR),
+				new Visit("Lobby", "", "Ann", DayOfWeek.MONDAY, 10 * HOUR, 11 * HOUR)), plan.visits());
+		assertEquals(180, plan.staffMinutes().get("Ann"), "reserved time counts towards the week");
+	}
+
+	@Test
+	void gapTooShortForTheVisitIsSkipped() {
+		CleaningScheduler scheduler = new CleaningScheduler(List.of(staff("Ann", null, monday(8 * HOUR, 12 * HOUR))));
+		scheduler.reserve("Ann", DayOfWeek.MONDAY, 8 * HOUR + 30, 11 * HOUR + 30);
+
+		Plan plan = scheduler.plan(List.of(area("Kitchen", 1, 45)));
+
+		assertTrue(plan.visits().isEmpty(), "neither the 30 minutes before nor the 30 after fit 45");
+		assertEquals(List.of(new Shortfall("Kitchen", "", 1)), plan.shortfalls());
+	}
+
+	@Test
+	void overlappingAndTouchingReservationsMergeWithoutDoubleCounting() {
+		CleaningScheduler scheduler = new CleaningScheduler(List.of(staff("Ann", null, monday(8 * HOUR, 12 * HOUR))));
+		scheduler.reserve("Ann", DayOfWeek.MONDAY, 8 * HOUR, 10 * HOUR);
+		scheduler.reserve("Ann", DayOfWeek.MONDAY, 9 * HOUR, 11 * HOUR);
+		scheduler.reserve("Ann", DayOfWeek.MONDAY, 9 * HOUR + 20, 9 * HOUR + 40);
+		scheduler.reserve("Ann", DayOfWeek.MONDAY, 11 * HOUR, 11 * HOUR + 40);
+
+		Plan plan = scheduler.plan(List.of(area("Kitchen", 1, 30)));
+
+		assertEquals(220, plan.staffMinutes().get("Ann"), "08:00-11:40 once, not the sum of the reservations");
+		assertEquals(List.of(new Shortfall("Kitchen", "", 1)), plan.shortfalls(), "only 20 minutes are left");
+	}
+
+	@Test
+	void shiftsThatOverlapMergeIntoOneStretch() {
+		Staff ann = staff("Ann", null, List.of(
+				new Shift(DayOfWeek.MONDAY, 8 * HOUR, 9 * HOUR),
+				new Shift(DayOfWeek.MONDAY, 8 * HOUR + 30, 10 * HOUR)));
+
+		Plan plan = new CleaningScheduler(List.of(ann)).plan(List.of(area("Kitchen", 1, 120)));
+
+		assertEquals(List.of(new Visit("Kitchen", "", "Ann", DayOfWeek.MONDAY, 8 * HOUR, 10 * HOUR)), plan.visits());
+	}
+
+	@Test
+	void visitsThatFitNowhereAreReportedAsShortfall() {
+		CleaningScheduler scheduler = new CleaningScheduler(List.of(staff("Ann", null, monday(8 * HOUR, 9 * HOUR))));
+
+		Plan plan = scheduler.plan(List.of(area("Kitchen", 3, 60)));
+
+		assertEquals(1, plan.visits().size());
+		assertEquals(List.of(new Shortfall("Kitchen", "", 2)), plan.shortfalls());
+	}
+
+	@Test
+	void visitMissingItsPatternDayMovesToAnotherDay() {
+		// Ann works Wednesdays only; a single weekly visit starts out on the quietest day, Monday
+		Staff ann = staff("Ann", null, List.of(new Shift(DayOfWeek.WEDNESDAY, 8 * HOUR, 12 * HOUR)));
+
+		Plan plan = new CleaningScheduler(List.of(ann)).plan(List.of(area("Kitchen", 1, 60)));
+
+		assertTrue(plan.shortfalls().isEmpty());
+		assertEquals(DayOfWeek.WEDNESDAY, plan.visits().get(0).day());
+	}
+
+	@Test
+	void weeklyCapAndBuildingsLimitWhoCanTakeAVisit() {
+		Staff capped = new Staff("Ann", Set.of(), everyDay(8 * HOUR, 16 * HOUR), 90);
+		Staff elsewhere = staff("Ben", Set.of("Block B"), everyDay(8 * HOUR, 16 * HOUR));
+
+		Plan plan = new CleaningScheduler(List.of(capped, elsewhere))
+				.plan(List.of(new Area("Kitchen", "Block A", 2, 60)));
+
+		assertEquals(1, plan.visits().size(), "Ann's cap leaves room for one hour");
+		assertEquals("Ann", plan.visits().get(0).staff());
+		assertEquals(List.of(new Shortfall("Kitchen", "Block A", 1)), plan.shortfalls());
+		assertEquals(0, plan.staffMinutes().get("Ben"));
+	}
+
+	@Test
+	void visitsGoToTheLeastLoadedStaff() {
+		List<Staff> staff = List.of(
+				staff("Ann", null, everyDay(8 * HOUR, 16 * HOUR)),
+				staff("Ben", null, everyDay(8 * HOUR, 16 * HOUR)));
+
+		Plan plan = new CleaningScheduler(staff).plan(List.of(area("Kitchen", 7, 60), area("Lobby", 7, 60)));
+
+		assertTrue(plan.shortfalls().isEmpty());
+		assertEquals(7 * HOUR, plan.staffMinutes().get("Ann"));
+		assertEquals(7 * HOUR, plan.staffMinutes().get("Ben"));
+	}
+
+	@Test
+	void busyWeekNeverDoubleBooksOrLeavesAShift() {
+		List<Staff> staff = new ArrayList<>();
+		for (int s = 0; s < 6; s++) {
+			int start = (s % 2 == 0 ? 8 : 12) * HOUR;
+			staff.add(staff("Staff " + s, s < 2 ? null : Set.of("Block " + (s % 3)), everyDay(start, start + 8 * HOUR)));
+		}
+		List<Area> areas = new ArrayList<>();
+		for (int a = 0; a < 60; a++) {
+			areas.add(new Area("Area " + a, "Block " + (a % 3), 1 + a % 7, 15 + (a * 7) % 46));
+		}
+
+		Plan plan = new CleaningScheduler(staff).plan(areas);
+
+		List<Visit> visits = plan.visits();
+		for (int i = 0; i < visits.size(); i++) {
+			Visit v = visits.get(i);
+			Staff who = staff.stream().filter(s -> s.name().equals(v.staff())).findFirst().orElseThrow();
+			assertTrue(who.shifts().stream().anyMatch(sh -> sh.day() == v.day()
+					&& sh.startMinute() <= v.startMinute() && v.endMinute() <= sh.endMinute()), "inside a shift: " + v);
+			for (int j = i + 1; j < visits.size(); j++) {
+				Visit w = visits.get(j);
+				boolean overlaps = v.staff().equals(w.staff()) && v.day() == w.day()
+						&& v.startMinute() < w.endMinute() && w.startMinute() < v.endMinute();
+				assertFalse(overlaps, v + " overlaps " + w);
+			}
+		}
+		int wanted = areas.stream().mapToInt(Area::visitsPerWeek).sum();
+		int missing = plan.shortfalls().stream().mapToInt(Shortfall::missingVisits).sum();
+		assertEquals(wanted, visits.size() + missing, "every wanted visit is placed or reported");
+	}
+
+	// ── Helpers ──────────────────────────────────────────────────────────────
+
+	private static Area area(String name, int visitsPerWeek, int minutes) {
+		return new Area(name, "", visitsPerWeek, minutes);
+	}
+
+	private static Staff staff(String name, Set<String> buildings, List<Shift> shifts) {
+		return new Staff(name, buildings, shifts, 0);
+	}
+
+	private static List<Shift> monday(int start, int end) {
+		return List.of(new Shift(DayOfWeek.MONDAY, start, end));
+	}
+
+	private static List<Shift> everyDay(int start, int end) {
+		List<Shift> shifts = new ArrayList<>();
+		for (DayOfWeek day : DayOfWeek.values()) shifts.add(new Shift(day, start, end));
+		return shifts;
+	}
+}
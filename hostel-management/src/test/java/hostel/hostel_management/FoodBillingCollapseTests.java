@@ -0,0 +1,133 @@
+package hostel.hostel_management;
+
+import com.hostel.management.entity.FoodPreference;
+import com.hostel.management.entity.FoodTemplate;
+import com.hostel.management.entity.Resident;
+import com.hostel.management.enums.ResidentStatus;
+import com.hostel.management.repository.FoodPreferenceRepository;
+import com.hostel.management.repository.FoodTemplateRepository;
+import com.hostel.management.repository.PaymentJdbcRepository;
+import com.hostel.management.repository.PaymentJdbcRepository.BillableResident;
+import com.hostel.management.repository.ResidentRepository;
+import com.hostel.management.service.FoodPreferenceService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that folding preference rows into weekly templates does not change anyone's effective
+ * meals: a month bills the same before and after, and no later week gains a meal. Runs against
+ * the configured MySQL database, but each test collapses only the resident it creates and runs in
+ * a transaction that is rolled back afterwards, so no other data is touched.
+ */
+@SpringBootTest(classes = com.hostel.management.HostelManagementApplication.class)
+@Transactional
+class FoodBillingCollapseTests {
+
+	@Autowired
+	private FoodPreferenceService foodPreferenceService;
+
+	@Autowired
+	private PaymentJdbcRepository paymentJdbcRepository;
+
+	@Autowired
+	private ResidentRepository residentRepository;
+
+	@Autowired
+	private FoodPreferenceRepository foodPreferenceRepository;
+
+	@Autowired
+	private FoodTemplateRepository foodTemplateRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void collapseKeepsTheMonthsFoodCharge() {
+		YearMonth period = YearMonth.now().minusMonths(3);
+		Resident resident = createResident();
+
+		List<FoodPreference> rows = new ArrayList<>();
+		for (LocalDate date = period.atDay(1); !date.isAfter(period.atEndOfMonth()); date = date.plusDays(1)) {
+			// The 10th departs from its weekday's pattern, so it stays behind as an override row
+			boolean dinner = date.getDayOfMonth() == 10 ? date.getDayOfWeek() == DayOfWeek.SUNDAY
+					: date.getDayOfWeek() != DayOfWeek.SUNDAY;
+			rows.add(preference(resident, date, date.getDayOfWeek() != DayOfWeek.SUNDAY, dinner));
+		}
+		foodPreferenceRepository.saveAllAndFlush(rows);
+
+		BillableResident before = billable(resident.getId(), period);
+		foodPreferenceService.collapseToTemplates(List.of(resident.getId()));
+		BillableResident after = billable(resident.getId(), period);
+
+		assertFalse(foodTemplateRepository.findByResidentIdOrderByDayOfWeekAscEffectiveFromAsc(resident.getId()).isEmpty(),
+				"the rows were folded into templates");
+		assertTrue(foodPreferenceRepository.findByResidentId(resident.getId()).size() < rows.size(),
+				"collapsed rows were removed");
+		assertEquals(period.lengthOfMonth(), before.breakfasts());
+		assertEquals(before.breakfasts(), after.breakfasts(), "breakfasts billed");
+		assertEquals(before.lunches(), after.lunches(), "lunches billed");
+		assertEquals(before.dinners(), after.dinners(), "dinners billed");
+	}
+
+	@Test
+	void runReachingThisWeekDoesNotContinueIntoTheFuture() {
+		LocalDate today = LocalDate.now();
+		Resident resident = createResident();
+
+		List<FoodPreference> rows = new ArrayList<>();
+		for (int weeksAgo = 3; weeksAgo >= 0; weeksAgo--) {
+			rows.add(preference(resident, today.minusWeeks(weeksAgo), true, true));
+		}
+		foodPreferenceRepository.saveAllAndFlush(rows);
+
+		foodPreferenceService.collapseToTemplates(List.of(resident.getId()));
+		entityManager.flush();
+
+		assertTrue(foodTemplateRepository.findEffective(resident.getId(), today).filter(FoodTemplate::isActive).isPresent(),
+				"this week still comes from the template");
+		assertTrue(foodTemplateRepository.findEffective(resident.getId(), today.plusWeeks(1)).filter(FoodTemplate::isActive).isEmpty(),
+				"next week has no meal the resident did not ask for");
+	}
+
+	private Resident createResident() {
+		return residentRepository.saveAndFlush(Resident.builder()
+				.name("Collapse " + UUID.randomUUID().toString().substring(0, 8))
+				.rating(3)
+				.status(ResidentStatus.ACTIVE)
+				.build());
+	}
+
+	private static FoodPreference preference(Resident resident, LocalDate date, boolean lunch, boolean dinner) {
+		FoodPreference preference = new FoodPreference();
+		preference.setResident(resident);
+		preference.setDate(date);
+		preference.setBreakfast(true);
+		preference.setLunch(lunch);
+		preference.setDinner(dinner);
+		preference.setMealType("VEG");
+		return preference;
+	}
+
+	/** The billing query's view of the resident; JDBC reads the test transaction's connection. */
+	private BillableResident billable(long residentId, YearMonth period) {
+		entityManager.flush();
+		List<BillableResident> chunk = paymentJdbcRepository.findBillableResidents(period, residentId - 1, 1);
+		assertEquals(1, chunk.size());
+		assertEquals(residentId, chunk.get(0).residentId());
+		return chunk.get(0);
+	}
+}
@@ -0,0 +1,113 @@
+package hostel.hostel_management;
+
+import com.hostel.management.HostelManagementApplication;
+import com.hostel.management.dto.payment.PaymentResponseDto;
+import com.hostel.management.entity.Payment;
+import com.hostel.management.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares the payment list page read as a JPQL constructor projection (what the list endpoints
+ * use) with the same page loaded as fetch-joined entities and mapped field by field (what they
+ * used before). Both run in a read-only transaction, as the service methods do. Boots the
+ * application context against the configured database and only reads from it.
+ * Not a unit test, so the build does not run it:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) hostel.hostel_management.ListProjectionBenchmark [pageSize] [iterations]
+ * </pre>
+ *
+ * Reports wall time and bytes allocated by the calling thread per page, which includes the JDBC
+ * driver's row decoding for both sides.
+ */
+public class ListProjectionBenchmark {
+
+	private static final String ENTITY_PAGE = "SELECT p FROM Payment p JOIN FETCH p.resident r "
+			+ "LEFT JOIN FETCH r.room WHERE p.id > :after ORDER BY p.id ASC";
+
+	public static void main(String[] args) {
+		int pageSize = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+		try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(HostelManagementApplication.class)
+				.web(WebApplicationType.NONE)
+				.run()) {
+			PaymentRepository paymentRepository = ctx.getBean(PaymentRepository.class);
+			EntityManager em = SharedEntityManagerCreator.createSharedEntityManager(ctx.getBean(EntityManagerFactory.class));
+			TransactionTemplate readOnly = new TransactionTemplate(ctx.getBean(PlatformTransactionManager.class));
+			readOnly.setReadOnly(true);
+
+			Supplier<List<PaymentResponseDto>> projection = () -> readOnly.execute(status ->
+					paymentRepository.findPageAsc(null, null, null, null, 0L, PageRequest.ofSize(pageSize)));
+			Supplier<List<PaymentResponseDto>> entities = () -> readOnly.execute(status ->
+					em.createQuery(ENTITY_PAGE, Payment.class)
+							.setParameter("after", 0L)
+							.setMaxResults(pageSize)
+							.getResultList().stream()
+							.map(ListProjectionBenchmark::toDto)
+							.toList());
+
+			int rows = projection.get().size();
+			measure(projection, iterations);
+			measure(entities, iterations);
+			System.out.printf("pageSize=%d rows=%d%n", pageSize, rows);
+			report("projection", measure(projection, iterations), iterations);
+			report("entities  ", measure(entities, iterations), iterations);
+		}
+	}
+
+	/** Returns {elapsed nanos, allocated bytes} for {@code iterations} calls. */
+	private static long[] measure(Supplier<List<PaymentResponseDto>> page, int iterations) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long sink = 0;
+		long bytes = threads.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			sink += page.get().size();
+		}
+		long nanos = System.nanoTime() - start;
+		bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+		return new long[] { nanos + (sink == -1 ? 1 : 0), bytes };
+	}
+
+	private static void report(String label, long[] result, int iterations) {
+		System.out.printf("%s %,.2f ms/page %,d KB allocated/page%n",
+				label, result[0] / 1e6 / iterations, result[1] / 1024 / iterations);
+	}
+
+	/** Same mapping PaymentServiceImpl applies to single payments. */
+	private static PaymentResponseDto toDto(Payment p) {
+		return PaymentResponseDto.builder()
+				.id(p.getId())
+				.residentId(p.getResident().getId())
+				.residentName(p.getResident().getName())
+				.roomNumber(p.getResident().getRoom() != null ? p.getResident().getRoom().getRoomNumber() : null)
+				.month(p.getMonth())
+				.period(p.getPeriod())
+				.amount(p.getAmount())
+				.foodCharge(p.getFoodCharge())
+				.lateFee(p.getLateFee())
+				.total(p.getTotal())
+				.status(p.getStatus())
+				.method(p.getMethod())
+				.paymentDate(p.getPaymentDate())
+				.paidDate(p.getPaidDate())
+				.createdAt(p.getCreatedAt())
+				.updatedAt(p.getUpdatedAt())
+				.build();
+	}
+}
@@ -0,0 +1,262 @@
+package hostel.hostel_management;
+
+import com.hostel.management.entity.Attendance;
+import com.hostel.management.entity.Complaint;
+import com.hostel.management.entity.FoodPreference;
+import com.hostel.management.entity.Payment;
+import com.hostel.management.entity.Resident;
+import com.hostel.management.entity.Room;
+import com.hostel.management.enums.ComplaintPriority;
+import com.hostel.management.enums.ComplaintStatus;
+import com.hostel.management.enums.PaymentStatus;
+import com.hostel.management.enums.ResidentStatus;
+import com.hostel.management.enums.RoomStatus;
+import com.hostel.management.enums.RoomType;
+import com.hostel.management.enums.SortDirection;
+import com.hostel.management.repository.ComplaintRepository;
+import com.hostel.management.repository.PaymentRepository;
+import com.hostel.management.repository.ResidentRepository;
+import com.hostel.management.response.CursorPage;
+import com.hostel.management.service.AttendanceService;
+import com.hostel.management.service.ComplaintService;
+import com.hostel.management.service.FoodPreferenceService;
+import com.hostel.management.service.PaymentService;
+import com.hostel.management.service.ResidentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the list endpoints and the entity finders behind the by-resident, by-status and
+ * by-date endpoints issue one SQL statement whatever the number of rows, i.e. that resident and
+ * room come back in the same query rather than one lazy select per row.
+ *
+ * <p>Each test seeds {@link #ROWS} residents, each in a room of their own, with a payment,
+ * complaint, attendance and food row apiece, then clears the persistence context so a lazy walk
+ * would have to go back to the database. Runs against the configured MySQL database with
+ * Hibernate statistics on, in a transaction that is rolled back afterwards.</p>
+ */
+@SpringBootTest(classes = com.hostel.management.HostelManagementApplication.class,
+		properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ListQueryStatementCountTests {
+
+	private static final int ROWS = 20;
+
+	/** A date nothing else in the database is recorded against. */
+	private static final LocalDate DATE = LocalDate.of(1999, 1, 4);
+
+	private static final YearMonth PERIOD = YearMonth.from(DATE);
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private ResidentService residentService;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private ComplaintService complaintService;
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private FoodPreferenceService foodPreferenceService;
+
+	@Autowired
+	private ResidentRepository residentRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	private Statistics statistics;
+
+	private final List<Resident> residents = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		String run = UUID.randomUUID().toString().substring(0, 8);
+		for (int i = 0; i < ROWS; i++) {
+			Room room = Room.builder()
+					.roomNumber("N1-" + run + "-" + i)
+					.roomType(RoomType.SHARED)
+					.pricePerMonth(1000.0)
+					.capacity(1)
+					.currentOccupancy(1)
+					.status(RoomStatus.OCCUPIED)
+					.build();
+			entityManager.persist(room);
+			Resident resident = Resident.builder()
+					.name("Statements " + run + " " + i)
+					.rating(3)
+					.status(ResidentStatus.ACTIVE)
+					.room(room)
+					.build();
+			entityManager.persist(resident);
+			residents.add(resident);
+
+			entityManager.persist(Payment.builder()
+					.resident(resident).month("January 1999").period(PERIOD)
+					.amount(1000.0).foodCharge(0.0).lateFee(0.0).total(1000.0)
+					.status(PaymentStatus.PENDING).roomType(RoomType.SHARED.name())
+					.paymentDate(DATE).build());
+			entityManager.persist(Complaint.builder()
+					.resident(resident).title("Statements " + i)
+					.priority(ComplaintPriority.LOW).status(ComplaintStatus.PENDING)
+					.complaintDate(DATE).build());
+
+			Attendance attendance = new Attendance();
+			attendance.setResident(resident);
+			attendance.setDate(DATE);
+			attendance.setStatus("PRESENT");
+			entityManager.persist(attendance);
+
+			FoodPreference preference = new FoodPreference();
+			preference.setResident(resident);
+			preference.setDate(DATE);
+			preference.setBreakfast(true);
+			preference.setLunch(true);
+			preference.setDinner(true);
+			preference.setMealType("VEG");
+			entityManager.persist(preference);
+		}
+		entityManager.flush();
+	}
+
+	// ── List endpoints ───────────────────────────────────────────────────────
+
+	@Test
+	void residentListIsOneStatement() {
+		assertOneStatementPerPage(limit -> residentService.getAllResidents(null, null, null, limit, SortDirection.DESC));
+	}
+
+	@Test
+	void paymentListIsOneStatement() {
+		assertOneStatementPerPage(limit -> paymentService.getAllPayments(null, null, null, null, null, limit, SortDirection.DESC));
+	}
+
+	@Test
+	void complaintListIsOneStatement() {
+		assertOneStatementPerPage(limit -> complaintService.getAllComplaints(null, null, null, limit, SortDirection.DESC));
+	}
+
+	@Test
+	void attendanceListIsOneStatement() {
+		assertOneStatementPerPage(limit -> attendanceService.getAllAttendance(null, limit, SortDirection.DESC));
+	}
+
+	@Test
+	void foodPreferenceListIsOneStatement() {
+		assertOneStatementPerPage(limit -> foodPreferenceService.getAllPreferences(null, limit, SortDirection.DESC));
+	}
+
+	// ── Entity finder paths ──────────────────────────────────────────────────
+
+	@Test
+	void attendanceByDateIsOneStatement() {
+		assertOneStatement(() -> attendanceService.getAttendanceByDate(DATE), ROWS);
+	}
+
+	@Test
+	void attendanceByResidentIsOneStatement() {
+		assertOneStatement(() -> attendanceService.getAttendanceByResident(firstResidentId()), 1);
+	}
+
+	@Test
+	void foodPreferencesByDateIsOneStatementPlusTemplates() {
+		// The date listing also reads template-only residents, a second query of its own
+		assertEquals(2, statementsFor(() -> foodPreferenceService.getPreferencesByDate(DATE), ROWS),
+				"statements for the food preferences of a date");
+	}
+
+	@Test
+	void foodPreferencesByResidentIsOneStatement() {
+		assertOneStatement(() -> foodPreferenceService.getPreferencesByResident(firstResidentId()), 1);
+	}
+
+	@Test
+	void paymentFindersAreOneStatement() {
+		assertOneStatement(() -> walk(paymentRepository.findByResidentId(firstResidentId()), Payment::getResident), 1);
+		assertOneStatement(() -> walk(paymentRepository.findByStatus(PaymentStatus.PENDING), Payment::getResident), ROWS);
+	}
+
+	@Test
+	void complaintFindersAreOneStatement() {
+		assertOneStatement(() -> walk(complaintRepository.findByResidentId(firstResidentId()), Complaint::getResident), 1);
+		assertOneStatement(() -> walk(complaintRepository.findByStatus(ComplaintStatus.PENDING), Complaint::getResident), ROWS);
+	}
+
+	@Test
+	void residentFinderIsOneStatement() {
+		assertOneStatement(() -> walk(residentRepository.findByStatus(ResidentStatus.ACTIVE), resident -> resident), ROWS);
+	}
+
+	// ── Helpers ──────────────────────────────────────────────────────────────
+
+	/** A one-row page and the largest page must both cost exactly one prepared statement. */
+	private void assertOneStatementPerPage(IntFunction<CursorPage<?>> list) {
+		assertEquals(1, statementsFor(() -> list.apply(1).getItems(), 1), "statements for a one-row page");
+		assertEquals(1, statementsFor(() -> list.apply(CursorPage.MAX_LIMIT).getItems(), ROWS),
+				"statements for the largest page");
+	}
+
+	private void assertOneStatement(Supplier<? extends Collection<?>> call, int minimumRows) {
+		assertEquals(1, statementsFor(call, minimumRows), "statements for the finder");
+	}
+
+	/**
+	 * Runs the call against an empty persistence context, so any association the query did not
+	 * fetch is loaded with a statement of its own, and checks it saw the seeded rows.
+	 */
+	private long statementsFor(Supplier<? extends Collection<?>> call, int minimumRows) {
+		entityManager.clear();
+		statistics.clear();
+		Collection<?> rows = call.get();
+		long statements = statistics.getPrepareStatementCount();
+		assertTrue(rows.size() >= minimumRows, "expected at least " + minimumRows + " rows, got " + rows.size());
+		return statements;
+	}
+
+	/** Reads what the entities' {@code toDto} mappers read: resident name and room number. */
+	private static <T> List<T> walk(List<T> rows, Function<T, Resident> resident) {
+		for (T row : rows) {
+			Resident r = resident.apply(row);
+			r.getName();
+			if (r.getRoom() != null) r.getRoom().getRoomNumber();
+		}
+		return rows;
+	}
+
+	private Long firstResidentId() {
+		return residents.get(0).getId();
+	}
+}
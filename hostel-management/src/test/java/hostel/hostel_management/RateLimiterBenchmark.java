@@ -0,0 +1,65 @@
+package hostel.hostel_management;
+
+import com.hostel.management.security.RateLimiter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput benchmark for {@link RateLimiter#tryAcquire}, the only work the rate-limit filter
+ * adds to a request. Not a unit test, so the build does not run it:
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes hostel.hostel_management.RateLimiterBenchmark [threads] [keys]
+ * </pre>
+ *
+ * Keys are drawn round-robin from a pool of pre-built IP strings, so the figure includes the
+ * hash lookup and the compare-and-set but not string building.
+ */
+public class RateLimiterBenchmark {
+
+	private static final int WARMUP_SECONDS = 3;
+	private static final int MEASURE_SECONDS = 5;
+
+	public static void main(String[] args) throws InterruptedException {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		int keyCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+		String[] keys = new String[keyCount];
+		for (int i = 0; i < keyCount; i++) {
+			keys[i] = "10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255);
+		}
+		RateLimiter limiter = new RateLimiter(5, 2, keyCount * 2);
+
+		run(limiter, keys, threads, WARMUP_SECONDS);
+		long ops = run(limiter, keys, threads, MEASURE_SECONDS);
+		double nanosPerOp = (double) MEASURE_SECONDS * 1_000_000_000L * threads / ops;
+		System.out.printf("threads=%d keys=%d ops/s=%,d ns/op per thread=%.1f%n",
+				threads, keyCount, ops / MEASURE_SECONDS, nanosPerOp);
+	}
+
+	private static long run(RateLimiter limiter, String[] keys, int threads, int seconds) throws InterruptedException {
+		LongAdder total = new LongAdder();
+		CountDownLatch done = new CountDownLatch(threads);
+		long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+		for (int t = 0; t < threads; t++) {
+			int offset = t * 7919;
+			Thread worker = new Thread(() -> {
+				long ops = 0;
+				long sink = 0;
+				int i = offset % keys.length;
+				while ((ops & 1023) != 0 || System.nanoTime() < deadline) {
+					sink += limiter.tryAcquire(keys[i]);
+					if (++i == keys.length) i = 0;
+					ops++;
+				}
+				total.add(ops + (sink == 42 ? 1 : 0));
+				done.countDown();
+			});
+			worker.start();
+		}
+		done.await();
+		return total.sum();
+	}
+}
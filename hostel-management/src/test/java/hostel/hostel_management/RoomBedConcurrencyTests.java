@@ -0,0 +1,205 @@
+package hostel.hostel_management;
+
+import com.hostel.management.entity.Resident;
+import com.hostel.management.entity.Room;
+import com.hostel.management.enums.ResidentStatus;
+import com.hostel.management.enums.RoomStatus;
+import com.hostel.management.enums.RoomType;
+import com.hostel.management.exception.BadRequestException;
+import com.hostel.management.exception.ResourceNotFoundException;
+import com.hostel.management.repository.ResidentRepository;
+import com.hostel.management.repository.RoomRepository;
+import com.hostel.management.service.ResidentService;
+import com.hostel.management.service.impl.RoomServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress tests for the conditional bed UPDATEs in {@link RoomServiceImpl} and the resident
+ * operations built on them. Like the context-load test they run against the configured MySQL
+ * database; the residents and rooms they create are deleted afterwards.
+ */
+@SpringBootTest(classes = com.hostel.management.HostelManagementApplication.class)
+class RoomBedConcurrencyTests {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private RoomServiceImpl roomService;
+
+	@Autowired
+	private RoomRepository roomRepository;
+
+	@Autowired
+	private ResidentService residentService;
+
+	@Autowired
+	private ResidentRepository residentRepository;
+
+	private final List<Long> createdRooms = new ArrayList<>();
+
+	private final List<Long> createdResidents = new ArrayList<>();
+
+	@AfterEach
+	void deleteRoomsAndResidents() {
+		// Residents first, they reference the rooms; ids the test already deleted are skipped
+		residentRepository.deleteAllById(createdResidents);
+		roomRepository.deleteAllById(createdRooms);
+	}
+
+	@Test
+	void parallelReservesNeverExceedCapacity() throws Exception {
+		int capacity = 3;
+		Long roomId = createRoom(capacity, 0);
+
+		Callable<Boolean> reserve = () -> {
+			try {
+				roomService.reserveBed(roomId);
+				return true;
+			} catch (BadRequestException full) {
+				return false;
+			}
+		};
+		List<Boolean> outcomes = runConcurrently(Collections.nCopies(THREADS * 4, reserve));
+
+		long reserved = outcomes.stream().filter(ok -> ok).count();
+		Room room = roomRepository.findById(roomId).orElseThrow();
+		assertEquals(capacity, reserved);
+		assertEquals(capacity, room.getCurrentOccupancy());
+		assertEquals(RoomStatus.OCCUPIED, room.getStatus());
+	}
+
+	@Test
+	void oppositeMovesDoNotDeadlock() throws Exception {
+		int beds = THREADS * 8;
+		Long a = createRoom(beds * 2, beds);
+		Long b = createRoom(beds * 2, beds);
+
+		// Half the moves go A→B and half B→A; a lock-order inversion would fail some with a deadlock
+		List<Callable<Boolean>> moves = new ArrayList<>();
+		for (int i = 0; i < THREADS * 4; i++) {
+			moves.add(() -> move(a, b));
+			moves.add(() -> move(b, a));
+		}
+		List<Boolean> outcomes = runConcurrently(moves);
+
+		assertTrue(outcomes.stream().allMatch(ok -> ok));
+		int total = roomRepository.findById(a).orElseThrow().getCurrentOccupancy()
+				+ roomRepository.findById(b).orElseThrow().getCurrentOccupancy();
+		assertEquals(beds * 2, total);
+	}
+
+	@Test
+	void parallelResidentOperationsKeepOccupancyInStep() throws Exception {
+		int capacity = 3;
+		List<Long> rooms = new ArrayList<>();
+		for (int i = 0; i < 6; i++) rooms.add(createRoom(capacity, 0));
+		// More residents than beds, so assignments also race for the last free bed
+		List<Long> residents = new ArrayList<>();
+		for (int i = 0; i < 40; i++) residents.add(createResident());
+
+		// Assign, move, remove and, rarely, delete random residents; the seed keeps a failure reproducible
+		Random random = new Random(42);
+		List<Callable<Boolean>> operations = new ArrayList<>();
+		for (int i = 0; i < 4000; i++) {
+			Long residentId = residents.get(random.nextInt(residents.size()));
+			Long roomId = rooms.get(random.nextInt(rooms.size()));
+			int kind = random.nextInt(200);
+			if (kind == 0) {
+				operations.add(() -> attempt(() -> residentService.deleteResident(residentId)));
+			} else if (kind < 70) {
+				operations.add(() -> attempt(() -> residentService.removeFromRoom(residentId)));
+			} else {
+				operations.add(() -> attempt(() -> residentService.assignRoom(residentId, roomId)));
+			}
+		}
+		List<Boolean> outcomes = runConcurrently(operations);
+
+		assertTrue(outcomes.contains(true), "some operations succeeded");
+		for (Long roomId : rooms) {
+			Room room = roomRepository.findById(roomId).orElseThrow();
+			int residentsInRoom = residentRepository.findByRoomId(roomId).size();
+			assertTrue(room.getCurrentOccupancy() <= capacity, "occupancy within capacity");
+			assertEquals(residentsInRoom, room.getCurrentOccupancy(), "occupancy matches the residents in room " + roomId);
+			assertEquals(residentsInRoom == capacity ? RoomStatus.OCCUPIED : RoomStatus.AVAILABLE, room.getStatus());
+		}
+	}
+
+	/** Runs a resident operation, treating the refusals the API returns to callers as a normal outcome. */
+	private static boolean attempt(Runnable operation) {
+		try {
+			operation.run();
+			return true;
+		} catch (BadRequestException | ResourceNotFoundException refused) {
+			return false;
+		}
+	}
+
+	private boolean move(Long from, Long to) {
+		roomService.moveBed(from, to);
+		return true;
+	}
+
+	private Long createRoom(int capacity, int occupancy) {
+		Room room = roomRepository.save(Room.builder()
+				.roomNumber("T-" + UUID.randomUUID().toString().substring(0, 8))
+				.roomType(RoomType.SHARED)
+				.pricePerMonth(1000.0)
+				.capacity(capacity)
+				.currentOccupancy(occupancy)
+				.status(RoomStatus.AVAILABLE)
+				.build());
+		createdRooms.add(room.getId());
+		return room.getId();
+	}
+
+	private Long createResident() {
+		Resident resident = residentRepository.save(Resident.builder()
+				.name("Concurrency " + UUID.randomUUID().toString().substring(0, 8))
+				.rating(3)
+				.status(ResidentStatus.ACTIVE)
+				.build());
+		createdResidents.add(resident.getId());
+		return resident.getId();
+	}
+
+	/** Runs the tasks on {@link #THREADS} threads released together and returns their results in order. */
+	private static <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<T>> futures = new ArrayList<>(tasks.size());
+			for (Callable<T> task : tasks) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					return task.call();
+				}));
+			}
+			start.countDown();
+			List<T> results = new ArrayList<>(tasks.size());
+			for (Future<T> f : futures) {
+				results.add(f.get(60, TimeUnit.SECONDS));
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
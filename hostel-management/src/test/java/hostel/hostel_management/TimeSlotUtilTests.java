@@ -0,0 +1,95 @@
+package hostel.hostel_management;
+
+import com.hostel.management.util.TimeSlotUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the free-text day and slot parsing behind cleaning schedules; no Spring context.
+ */
+class TimeSlotUtilTests {
+
+	private static final int HOUR = 60;
+
+	@Test
+	void parsesRangesInEitherClock() {
+		assertArrayEquals(new int[] {14 * HOUR, 15 * HOUR}, TimeSlotUtil.parseSlot("14:00-15:00", 30));
+		assertArrayEquals(new int[] {8 * HOUR, 9 * HOUR + 30}, TimeSlotUtil.parseSlot("8am - 9:30am", 30));
+		assertArrayEquals(new int[] {8 * HOUR, 9 * HOUR + 30}, TimeSlotUtil.parseSlot("08:00 AM – 09:30 AM", 30));
+		assertArrayEquals(new int[] {9 * HOUR, 10 * HOUR}, TimeSlotUtil.parseSlot("9 to 10", 30));
+		assertArrayEquals(new int[] {13 * HOUR, 14 * HOUR}, TimeSlotUtil.parseSlot("1 p.m. - 2 p.m.", 30));
+	}
+
+	@Test
+	void startWithoutMeridiemTakesTheEndsOrTheOtherOne() {
+		// "9 PM" would start after 5pm, so the start falls back to the morning
+		assertArrayEquals(new int[] {9 * HOUR, 17 * HOUR}, TimeSlotUtil.parseSlot("9 - 5pm", 30));
+		assertArrayEquals(new int[] {13 * HOUR, 15 * HOUR}, TimeSlotUtil.parseSlot("1 - 3pm", 30));
+		assertArrayEquals(new int[] {10 * HOUR, 11 * HOUR}, TimeSlotUtil.parseSlot("10-11am", 30));
+	}
+
+	@Test
+	void singleTimeLastsTheDefaultAndStopsAtMidnight() {
+		assertArrayEquals(new int[] {8 * HOUR, 8 * HOUR + 45}, TimeSlotUtil.parseSlot("08:00 AM", 45));
+		assertArrayEquals(new int[] {0, 30}, TimeSlotUtil.parseSlot("12am", 30));
+		assertArrayEquals(new int[] {23 * HOUR + 30, 24 * HOUR}, TimeSlotUtil.parseSlot("23:30", 60));
+	}
+
+	@Test
+	void endAtMidnightCountsAsEndOfDay() {
+		assertArrayEquals(new int[] {22 * HOUR, 24 * HOUR}, TimeSlotUtil.parseSlot("22:00-00:00", 30));
+	}
+
+	@Test
+	void rejectsWhatCannotBeASlot() {
+		assertNull(TimeSlotUtil.parseSlot(null, 30));
+		assertNull(TimeSlotUtil.parseSlot("  ", 30));
+		assertNull(TimeSlotUtil.parseSlot("morning", 30));
+		assertNull(TimeSlotUtil.parseSlot("10:00-09:00", 30), "ends before it starts");
+		assertNull(TimeSlotUtil.parseSlot("10:00-10:00", 30), "empty");
+		assertNull(TimeSlotUtil.parseSlot("8-9-10", 30), "more than one separator");
+		assertNull(TimeSlotUtil.parseSlot("25:00", 30));
+	}
+
+	@Test
+	void formatsSlotsAsStored() {
+		assertEquals("08:00-09:30", TimeSlotUtil.formatSlot(8 * HOUR, 9 * HOUR + 30));
+		assertEquals("22:00-24:00", TimeSlotUtil.formatSlot(22 * HOUR, 24 * HOUR));
+		int[] roundTrip = TimeSlotUtil.parseSlot(TimeSlotUtil.formatSlot(6 * HOUR + 5, 7 * HOUR), 30);
+		assertArrayEquals(new int[] {6 * HOUR + 5, 7 * HOUR}, roundTrip);
+	}
+
+	@Test
+	void parsesDayNamesListsAndEveryDay() {
+		assertEquals(EnumSet.of(DayOfWeek.MONDAY), TimeSlotUtil.parseDays("Monday"));
+		assertEquals(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), TimeSlotUtil.parseDays("Mon, Thu"));
+		assertEquals(EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.FRIDAY), TimeSlotUtil.parseDays("Tue and Fri"));
+		assertEquals(EnumSet.of(DayOfWeek.THURSDAY, DayOfWeek.SATURDAY), TimeSlotUtil.parseDays("thu/SAT"));
+		assertEquals(EnumSet.of(DayOfWeek.WEDNESDAY, DayOfWeek.SUNDAY), TimeSlotUtil.parseDays(" Wed & Sun "));
+		assertEquals(EnumSet.allOf(DayOfWeek.class), TimeSlotUtil.parseDays("Daily"));
+		assertEquals(EnumSet.allOf(DayOfWeek.class), TimeSlotUtil.parseDays("Every day"));
+	}
+
+	@Test
+	void rejectsDaysThatAreUnknownOrAmbiguous() {
+		assertTrue(TimeSlotUtil.parseDays(null).isEmpty());
+		assertTrue(TimeSlotUtil.parseDays("").isEmpty());
+		assertTrue(TimeSlotUtil.parseDays("Tu").isEmpty(), "too short to name one day");
+		Set<DayOfWeek> partlyValid = TimeSlotUtil.parseDays("Mon, Funday");
+		assertTrue(partlyValid.isEmpty(), "one bad name rejects the whole field");
+	}
+
+	@Test
+	void namesDaysAsTasksStoreThem() {
+		assertEquals("Monday", TimeSlotUtil.dayName(DayOfWeek.MONDAY));
+		assertEquals(EnumSet.of(DayOfWeek.SUNDAY), TimeSlotUtil.parseDays(TimeSlotUtil.dayName(DayOfWeek.SUNDAY)));
+	}
+}